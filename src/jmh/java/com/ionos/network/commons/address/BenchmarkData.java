@@ -0,0 +1,146 @@
+package com.ionos.network.commons.address;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible data sets for the benchmarks.
+ * The prefix lengths of generated networks are skewed like in
+ * real routing tables and block lists: most IPv4 networks are
+ * {@code /24}, most IPv6 networks are {@code /48}.
+ * @author Stephan Fuhrmann
+ */
+final class BenchmarkData {
+
+    /** The seed of all random generators, for comparable runs. */
+    static final long SEED = 0x1a2b3c4dL;
+
+    /** The number of elements in the per invocation arrays. */
+    static final int BATCH = 1024;
+
+    /** No instance allowed. */
+    private BenchmarkData() {
+    }
+
+    /** Creates a random generator with the common seed.
+     * @return a new random generator.
+     * */
+    static Random random() {
+        return new Random(SEED);
+    }
+
+    /** Creates random IPv4 addresses.
+     * @param random the random generator to use.
+     * @param count the number of addresses.
+     * @return the addresses.
+     * */
+    static IPv4[] ipv4(final Random random, final int count) {
+        final IPv4[] result = new IPv4[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new IPv4(random.nextInt());
+        }
+        return result;
+    }
+
+    /** Creates random IPv6 addresses. Half of them have zero hextets
+     * that get compressed when formatted.
+     * @param random the random generator to use.
+     * @param count the number of addresses.
+     * @return the addresses.
+     * */
+    static IPv6[] ipv6(final Random random, final int count) {
+        final IPv6[] result = new IPv6[count];
+        for (int i = 0; i < count; i++) {
+            final long high = random.nextLong();
+            final long low = random.nextBoolean()
+                    ? random.nextInt() & 0xffffL : random.nextLong();
+            result[i] = new IPv6(high, low);
+        }
+        return result;
+    }
+
+    /** Chooses a prefix length like in real IPv4 tables.
+     * @param random the random generator to use.
+     * @return a prefix length between 8 and 32.
+     * */
+    static int ipv4Prefix(final Random random) {
+        final int dice = random.nextInt(100);
+        if (dice < 60) {
+            return 24;
+        } else if (dice < 80) {
+            return 16 + random.nextInt(8);
+        } else if (dice < 90) {
+            return 25 + random.nextInt(8);
+        }
+        return 8 + random.nextInt(8);
+    }
+
+    /** Chooses a prefix length like in real IPv6 tables.
+     * @param random the random generator to use.
+     * @return a prefix length between 19 and 128.
+     * */
+    static int ipv6Prefix(final Random random) {
+        final int dice = random.nextInt(100);
+        if (dice < 50) {
+            return 48;
+        } else if (dice < 70) {
+            return 32;
+        } else if (dice < 85) {
+            return 64;
+        } else if (dice < 90) {
+            return 128;
+        }
+        return 19 + random.nextInt(45);
+    }
+
+    /** Creates IPv4 networks with skewed prefix lengths.
+     * All networks are in {@code 10.0.0.0/8} so that neighbors and
+     * overlaps are common like in a large CIDR list.
+     * @param random the random generator to use.
+     * @param count the number of networks.
+     * @return the networks.
+     * */
+    static List<Network<IPv4>> ipv4Networks(final Random random,
+                                            final int count) {
+        final List<Network<IPv4>> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final IPv4 ip = new IPv4(0x0a000000
+                    | random.nextInt() & 0x00ffffff);
+            result.add(new Network<>(ip, ipv4Prefix(random)));
+        }
+        return result;
+    }
+
+    /** Creates IPv6 networks with skewed prefix lengths.
+     * All networks are in {@code 2001:db8::/32}.
+     * @param random the random generator to use.
+     * @param count the number of networks.
+     * @return the networks.
+     * */
+    static List<Network<IPv6>> ipv6Networks(final Random random,
+                                            final int count) {
+        final List<Network<IPv6>> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final IPv6 ip = new IPv6(0x20010db800000000L
+                    | random.nextInt() & 0xffffffffL, random.nextLong());
+            result.add(new Network<>(ip, ipv6Prefix(random)));
+        }
+        return result;
+    }
+
+    /** Formats addresses.
+     * @param addresses the addresses to format.
+     * @param format the format to use.
+     * @param <T> the address type.
+     * @return the formatted addresses.
+     * */
+    static <T extends Address> String[] format(final T[] addresses,
+                                               final AddressFormat<T> format) {
+        final String[] result = new String[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            result[i] = format.format(addresses[i]);
+        }
+        return result;
+    }
+}
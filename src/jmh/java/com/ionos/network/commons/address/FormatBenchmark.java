@@ -0,0 +1,215 @@
+package com.ionos.network.commons.address;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.ionos.network.commons.address.BenchmarkData.BATCH;
+
+/**
+ * Benchmarks for {@link IPFormats}.
+ * Each invocation formats {@link BenchmarkData#BATCH} addresses.
+ * @author Stephan Fuhrmann
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+
+    /** The number of targets the mixed benchmarks format each
+     * address into. */
+    private static final int TARGETS = 4;
+
+    /** Random IPv4 addresses. */
+    private IPv4[] ipv4;
+
+    /** Random IPv6 addresses, half of them with zero hextets. */
+    private IPv6[] ipv6;
+
+    /** Direct buffer to format all addresses of a batch into. */
+    private ByteBuffer buffer;
+
+    /** Builder to append all addresses of a batch to. */
+    private StringBuilder builder;
+
+    /** Byte array to format all addresses of a batch into. */
+    private byte[] bytes;
+
+    /** Char array to format all addresses of a batch into. */
+    private char[] chars;
+
+    /** Creates the addresses to format. */
+    @Setup
+    public void setup() {
+        final Random random = BenchmarkData.random();
+        ipv4 = BenchmarkData.ipv4(random, BATCH);
+        ipv6 = BenchmarkData.ipv6(random, BATCH);
+        buffer = ByteBuffer.allocateDirect(BATCH
+                * "ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff".length());
+        builder = new StringBuilder(buffer.capacity());
+        bytes = new byte[buffer.capacity()];
+        chars = new char[buffer.capacity()];
+    }
+
+    /** Formats IPv4 addresses.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void dottedDecimal(final Blackhole blackhole) {
+        for (IPv4 ip : ipv4) {
+            blackhole.consume(IPFormats.DOTTED_DECIMAL.format(ip));
+        }
+    }
+
+    /** Formats IPv4 addresses in IS-IS system id notation.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void systemIdNotation(final Blackhole blackhole) {
+        for (IPv4 ip : ipv4) {
+            blackhole.consume(IPFormats.SYSTEM_ID_NOTATION.format(ip));
+        }
+    }
+
+    /** Appends IPv4 addresses to a StringBuilder.
+     * @return the builder length, so the work is not eliminated.
+     * @throws IOException never, a StringBuilder does not fail.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int dottedDecimalToStringBuilder() throws IOException {
+        builder.setLength(0);
+        for (IPv4 ip : ipv4) {
+            IPFormats.DOTTED_DECIMAL.format(ip, builder);
+        }
+        return builder.length();
+    }
+
+    /** Formats IPv6 addresses in the recommended notation.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void rfc5952(final Blackhole blackhole) {
+        for (IPv6 ip : ipv6) {
+            blackhole.consume(IPFormats.RFC_5952.format(ip));
+        }
+    }
+
+    /** Formats IPv6 addresses without compression.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void colonSeparatedHextets(final Blackhole blackhole) {
+        for (IPv6 ip : ipv6) {
+            blackhole.consume(IPFormats.COLON_SEPARATED_HEXTETS.format(ip));
+        }
+    }
+
+    /** Formats IPv6 addresses with leading zeros.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void colonSeparatedZeroedHextets(final Blackhole blackhole) {
+        for (IPv6 ip : ipv6) {
+            blackhole.consume(
+                    IPFormats.COLON_SEPARATED_ZEROED_HEXTETS.format(ip));
+        }
+    }
+
+    /** Formats IPv4 addresses into a direct buffer.
+     * @return the buffer position, so the work is not eliminated.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int dottedDecimalToBuffer() {
+        buffer.clear();
+        for (IPv4 ip : ipv4) {
+            IPFormats.DOTTED_DECIMAL.format(ip, buffer);
+        }
+        return buffer.position();
+    }
+
+    /** Formats IPv6 addresses in the recommended notation into a
+     * direct buffer.
+     * @return the buffer position, so the work is not eliminated.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int rfc5952ToBuffer() {
+        buffer.clear();
+        for (IPv6 ip : ipv6) {
+            IPFormats.RFC_5952.format(ip, buffer);
+        }
+        return buffer.position();
+    }
+
+    /** Formats IPv4 addresses into a byte array, a char array, a
+     * direct buffer and a StringBuilder in turn. Using all targets in
+     * one benchmark shows the cost of target specific code that is
+     * shared between targets.
+     * @return the sum of the lengths, so the work is not eliminated.
+     * @throws IOException never, a StringBuilder does not fail.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH * TARGETS)
+    public int dottedDecimalToMixedTargets() throws IOException {
+        buffer.clear();
+        builder.setLength(0);
+        int bytesIndex = 0;
+        int charsIndex = 0;
+        for (IPv4 ip : ipv4) {
+            bytesIndex += IPFormats.DOTTED_DECIMAL.format(ip, bytes,
+                    bytesIndex);
+            charsIndex += IPFormats.DOTTED_DECIMAL.format(ip, chars,
+                    charsIndex);
+            IPFormats.DOTTED_DECIMAL.format(ip, buffer);
+            IPFormats.DOTTED_DECIMAL.format(ip, builder);
+        }
+        return bytesIndex + charsIndex + buffer.position()
+                + builder.length();
+    }
+
+    /** Formats IPv6 addresses in the recommended notation into a byte
+     * array, a char array, a direct buffer and a StringBuilder in turn.
+     * @return the sum of the lengths, so the work is not eliminated.
+     * @throws IOException never, a StringBuilder does not fail.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH * TARGETS)
+    public int rfc5952ToMixedTargets() throws IOException {
+        buffer.clear();
+        builder.setLength(0);
+        int bytesIndex = 0;
+        int charsIndex = 0;
+        for (IPv6 ip : ipv6) {
+            bytesIndex += IPFormats.RFC_5952.format(ip, bytes, bytesIndex);
+            charsIndex += IPFormats.RFC_5952.format(ip, chars, charsIndex);
+            IPFormats.RFC_5952.format(ip, buffer);
+            IPFormats.RFC_5952.format(ip, builder);
+        }
+        return bytesIndex + charsIndex + buffer.position()
+                + builder.length();
+    }
+}
@@ -0,0 +1,294 @@
+package com.ionos.network.commons.address;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.ionos.network.commons.address.BenchmarkData.BATCH;
+
+/**
+ * Benchmarks for {@link Network} operations on CIDR lists.
+ * @author Stephan Fuhrmann
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NetworkBenchmark {
+
+    /** The number of networks in the CIDR lists. */
+    @Param({"1000", "10000"})
+    private int size;
+
+    /** IPv4 networks with skewed prefix lengths. */
+    private List<Network<IPv4>> ipv4Networks;
+
+    /** IPv6 networks with skewed prefix lengths. */
+    private List<Network<IPv6>> ipv6Networks;
+
+    /** Orders networks by address and then by prefix length. */
+    private static final Comparator<Network<IPv6>> NETWORK_ORDER =
+            Comparator.<Network<IPv6>, IPv6>comparing(Network::getAddress)
+                    .thenComparingInt(Network::getPrefix);
+
+    /** The IPv6 networks as array. */
+    private Network<IPv6>[] ipv6NetworkArray;
+
+    /** IPv4 addresses near the networks. */
+    private IPv4[] ipv4;
+
+    /** IPv6 addresses near the networks. */
+    private IPv6[] ipv6;
+
+    /** The {@link #ipv4} addresses as ints. */
+    private int[] ipv4Ints;
+
+    /** The upper bits of the {@link #ipv6} addresses. */
+    private long[] ipv6Highs;
+
+    /** The lower bits of the {@link #ipv6} addresses. */
+    private long[] ipv6Lows;
+
+    /** Receives the results of the batch tests. */
+    private boolean[] containsResults;
+
+    /** The IPv4 networks in a trie. */
+    private NetworkTrie<IPv4, Network<IPv4>> ipv4Trie;
+
+    /** The IPv4 networks in a set. */
+    private IPSet<IPv4> ipv4Set;
+
+    /** A {@code /16} network to split. */
+    private Network<IPv4> splitNetwork;
+
+    /** Start and end addresses of IPv4 ranges, alternating. */
+    private IPv4[] ranges;
+
+    /** Creates the networks and addresses. */
+    @Setup
+    public void setup() {
+        final Random random = BenchmarkData.random();
+        ipv4Networks = BenchmarkData.ipv4Networks(random, size);
+        ipv6Networks = BenchmarkData.ipv6Networks(random, size);
+        ipv6NetworkArray = toArray(ipv6Networks);
+        ipv4 = new IPv4[BATCH];
+        ipv6 = new IPv6[BATCH];
+        ranges = new IPv4[2 * BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            ipv4[i] = ipv4Networks.get(i % size).getAddress()
+                    .add(random.nextInt(512));
+            ipv6[i] = ipv6Networks.get(i % size).getAddress()
+                    .add(random.nextInt(512));
+            final IPv4 start = new IPv4(random.nextInt());
+            final IPv4 end = start.add(random.nextInt(1 << 20));
+            ranges[2 * i] = start.compareTo(end) <= 0 ? start : end;
+            ranges[2 * i + 1] = start.compareTo(end) <= 0 ? end : start;
+        }
+        ipv4Ints = new int[BATCH];
+        ipv6Highs = new long[BATCH];
+        ipv6Lows = new long[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            ipv4Ints[i] = ipv4[i].toInt();
+            ipv6Highs[i] = ipv6[i].getHighBits();
+            ipv6Lows[i] = ipv6[i].getLowBits();
+        }
+        containsResults = new boolean[BATCH];
+        ipv4Set = IPSet.of(ipv4Networks);
+        splitNetwork = new Network<>(ipv4[0], 16);
+        ipv4Trie = new NetworkTrie<>();
+        for (Network<IPv4> network : ipv4Networks) {
+            ipv4Trie.put(network, network);
+        }
+    }
+
+    /** Tests IPv4 addresses against a network.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void containsIPv4(final Blackhole blackhole) {
+        final Network<IPv4> network = ipv4Networks.get(0);
+        for (IPv4 ip : ipv4) {
+            blackhole.consume(network.contains(ip));
+        }
+    }
+
+    /** Tests IPv4 addresses as ints against a network matcher.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void matcherContainsIPv4(final Blackhole blackhole) {
+        final NetworkMatcher matcher = ipv4Networks.get(0).matcher();
+        for (int ip : ipv4Ints) {
+            blackhole.consume(matcher.contains(ip));
+        }
+    }
+
+    /** Tests a batch of IPv4 addresses as ints against a network matcher.
+     * @return the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public boolean[] matcherContainsAllIPv4() {
+        ipv4Networks.get(0).matcher().containsAll(ipv4Ints, containsResults);
+        return containsResults;
+    }
+
+    /** Tests IPv6 addresses against a network.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void containsIPv6(final Blackhole blackhole) {
+        final Network<IPv6> network = ipv6Networks.get(0);
+        for (IPv6 ip : ipv6) {
+            blackhole.consume(network.contains(ip));
+        }
+    }
+
+    /** Tests a batch of IPv6 addresses as longs against a network matcher.
+     * @return the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public boolean[] matcherContainsAllIPv6() {
+        ipv6Networks.get(0).matcher().containsAll(ipv6Highs, ipv6Lows,
+                containsResults);
+        return containsResults;
+    }
+
+    /** Tests IPv4 networks against a network.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void containsNetwork(final Blackhole blackhole) {
+        final Network<IPv4> network = ipv4Networks.get(0);
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(network.contains(ipv4Networks.get(i % size)));
+        }
+    }
+
+    /** Finds the most specific network of IPv4 addresses.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void trieLongestMatch(final Blackhole blackhole) {
+        for (IPv4 ip : ipv4) {
+            blackhole.consume(ipv4Trie.longestMatch(ip));
+        }
+    }
+
+    /** Tests IPv4 addresses against the set of all networks.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void setContains(final Blackhole blackhole) {
+        for (IPv4 ip : ipv4) {
+            blackhole.consume(ipv4Set.contains(ip));
+        }
+    }
+
+    /** Builds a set of the IPv4 CIDR list.
+     * @return the set.
+     * */
+    @Benchmark
+    public IPSet<IPv4> setOf() {
+        return IPSet.of(ipv4Networks);
+    }
+
+    /** Splits a {@code /16} network into 256 {@code /24} networks.
+     * @return the networks.
+     * */
+    @Benchmark
+    public List<Network<IPv4>> split() {
+        return splitNetwork.split(24);
+    }
+
+    /** Converts IPv4 ranges to networks.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void rangeFrom(final Blackhole blackhole) {
+        for (int i = 0; i < BATCH; i++) {
+            blackhole.consume(Network.rangeFrom(ranges[2 * i],
+                    ranges[2 * i + 1]));
+        }
+    }
+
+    /** Merges the IPv4 CIDR list.
+     * @return the merged networks.
+     * */
+    @Benchmark
+    public List<Network<IPv4>> mergeNeighborsIPv4() {
+        return Network.mergeNeighbors(ipv4Networks);
+    }
+
+    /** Sorts the IPv6 CIDR list with a comparator.
+     * @return the sorted networks.
+     * */
+    @Benchmark
+    public Network<IPv6>[] sortIPv6Networks() {
+        final Network<IPv6>[] sorted = ipv6NetworkArray.clone();
+        Arrays.sort(sorted, NETWORK_ORDER);
+        return sorted;
+    }
+
+    /** Sorts the IPv6 CIDR list with a radix sort.
+     * @return the sorted networks.
+     * */
+    @Benchmark
+    public Network<IPv6>[] radixSortIPv6Networks() {
+        final Network<IPv6>[] sorted = ipv6NetworkArray.clone();
+        IPSorts.radixSort(sorted);
+        return sorted;
+    }
+
+    /** Merges the IPv6 CIDR list.
+     * @return the merged networks.
+     * */
+    @Benchmark
+    public List<Network<IPv6>> mergeNeighborsIPv6() {
+        return Network.mergeNeighbors(ipv6Networks);
+    }
+
+    /** Removes contained networks from the IPv4 CIDR list.
+     * @return the remaining networks.
+     * */
+    @Benchmark
+    public Object mergeContainingIPv4() {
+        return Network.mergeContaining(ipv4Networks);
+    }
+
+    /** Copies networks into an array.
+     * @param networks the networks to copy.
+     * @return the networks in the same order.
+     * */
+    @SuppressWarnings("unchecked")
+    private static Network<IPv6>[] toArray(
+            final List<Network<IPv6>> networks) {
+        return networks.toArray(new Network[0]);
+    }
+}
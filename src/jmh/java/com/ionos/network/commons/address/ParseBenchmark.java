@@ -0,0 +1,179 @@
+package com.ionos.network.commons.address;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.ionos.network.commons.address.BenchmarkData.BATCH;
+
+/**
+ * Benchmarks for {@link IPParsers}.
+ * Each invocation parses {@link BenchmarkData#BATCH} addresses.
+ * @author Stephan Fuhrmann
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    /** IPv4 addresses in dotted decimal notation. */
+    private String[] ipv4;
+
+    /** IPv6 addresses in RFC 5952 notation. */
+    private String[] ipv6;
+
+    /** IPv4 and IPv6 addresses mixed. */
+    private String[] mixed;
+
+    /** Malformed addresses like in noisy log files. */
+    private String[] malformed;
+
+    /** IPv4 networks as lines. */
+    private String[] networkLines;
+
+    /** IPv4 networks as the bytes of a file with one network per line. */
+    private ByteBuffer networkFile;
+
+    /** Reads {@link #networkFile} without creating objects. */
+    private NetworkListReader networkListReader;
+
+    /** Sum of the parsed addresses to keep the reader from being
+     * optimized away. */
+    private int addressSum;
+
+    /** Creates the addresses to parse. */
+    @Setup
+    public void setup() {
+        final Random random = BenchmarkData.random();
+        ipv4 = BenchmarkData.format(BenchmarkData.ipv4(random, BATCH),
+                IPFormats.DOTTED_DECIMAL);
+        ipv6 = BenchmarkData.format(BenchmarkData.ipv6(random, BATCH),
+                IPFormats.RFC_5952);
+        mixed = new String[BATCH];
+        malformed = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            mixed[i] = random.nextBoolean() ? ipv4[i] : ipv6[i];
+            malformed[i] = mixed[i] + "x";
+        }
+        networkLines = new String[BATCH];
+        final StringBuilder file = new StringBuilder();
+        for (int i = 0; i < BATCH; i++) {
+            networkLines[i] = ipv4[i] + "/"
+                    + BenchmarkData.ipv4Prefix(random);
+            file.append(networkLines[i]).append('\n');
+        }
+        networkFile = ByteBuffer.wrap(file.toString().getBytes(
+                StandardCharsets.US_ASCII));
+        networkListReader = new NetworkListReader(
+                new NetworkListReader.Sink() {
+                    @Override
+                    public void ipv4(final int address, final int prefix) {
+                        addressSum += address + prefix;
+                    }
+
+                    @Override
+                    public void ipv6(final long high, final long low,
+                                     final int prefix) {
+                        addressSum += prefix;
+                    }
+                });
+    }
+
+    /** Parses IPv4 addresses.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void dottedDecimal(final Blackhole blackhole) {
+        for (String address : ipv4) {
+            blackhole.consume(IPParsers.DOTTED_DECIMAL.parse(address));
+        }
+    }
+
+    /** Parses IPv6 addresses.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void ipv6(final Blackhole blackhole) {
+        for (String address : ipv6) {
+            blackhole.consume(IPParsers.IPV6.parse(address));
+        }
+    }
+
+    /** Parses IPv4 and IPv6 addresses.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void defaultMixed(final Blackhole blackhole) {
+        for (String address : mixed) {
+            blackhole.consume(IPParsers.DEFAULT.parse(address));
+        }
+    }
+
+    /** Parses malformed addresses with exceptions.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void defaultMalformed(final Blackhole blackhole) {
+        for (String address : malformed) {
+            try {
+                blackhole.consume(IPParsers.DEFAULT.parse(address));
+            } catch (IllegalArgumentException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    /** Parses malformed addresses without exceptions.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void tryParseMalformed(final Blackhole blackhole) {
+        for (String address : malformed) {
+            blackhole.consume(IPParsers.DEFAULT.tryParse(address));
+        }
+    }
+
+    /** Parses network lines with the String constructor.
+     * @param blackhole consumes the results.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void networkConstructor(final Blackhole blackhole) {
+        for (String line : networkLines) {
+            blackhole.consume(new Network<IPv4>(line));
+        }
+    }
+
+    /** Parses network lines from bytes with the list reader.
+     * @return the sum of the parsed addresses.
+     * */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int networkListReader() {
+        networkFile.rewind();
+        networkListReader.read(networkFile);
+        return addressSum;
+    }
+}
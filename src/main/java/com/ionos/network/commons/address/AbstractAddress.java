@@ -1,14 +1,17 @@
 package com.ionos.network.commons.address;
 
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.Arrays;
 import java.util.Objects;
 
 /**
- * Abstract address is the base class that contains the bytes of the address.
+ * Abstract address is the base class of all addresses.
+ * The subclasses decide how the address data is stored. The serialized
+ * form is the same for all subclasses: The length of the address followed
+ * by the address bytes in network byte order.
  * @author Stephan Fuhrmann
  *
  * */
@@ -18,18 +21,24 @@ abstract class AbstractAddress implements Comparable<AbstractAddress>,
     /** The version number of this class. */
     static final long serialVersionUID = 41414698085765672L;
 
-    /** The bytes representing the address.
-     * */
-    protected byte[] address;
+    /**
+     * Creates a new address.
+     */
+    AbstractAddress() {
+    }
 
     /**
-     * Creates a new address from the address bytes.
+     * Checks the length of the address bytes given to a constructor.
      *
      * @param inAddress an address in network byte order.
      * @param inExpectedLength the number of bytes expected.
+     * @return the {@code inAddress} parameter.
      * @throws NullPointerException if the input array reference is null.
+     * @throws IllegalArgumentException if the input array does not
+     * have the expected length.
      */
-    AbstractAddress(final byte[] inAddress, final int inExpectedLength) {
+    static byte[] requireLength(final byte[] inAddress,
+                                final int inExpectedLength) {
         Objects.requireNonNull(inAddress, "address byte array is null");
         if (inAddress.length != inExpectedLength) {
             throw new IllegalArgumentException(
@@ -37,40 +46,36 @@ abstract class AbstractAddress implements Comparable<AbstractAddress>,
                     + inExpectedLength + " bytes, but address has "
                     + inAddress.length);
         }
-        this.address = Arrays.copyOf(inAddress, inAddress.length);
+        return inAddress;
     }
 
     /** Returns a copy of the address bytes.
      * @return a new copy of the address bytes.
      * */
-    public final byte[] getBytes() {
-        return Arrays.copyOf(address, address.length);
-    }
+    public abstract byte[] getBytes();
 
-    @Override
-    public int length() {
-        return address.length;
+    /** Returns the address bytes for reading. Subclasses that store
+     * their data in a byte array return the array itself, all others
+     * return a new array.
+     * @return the address bytes that may not be modified.
+     * @see #getBytesForReading(Address)
+     * */
+    byte[] bytesForReading() {
+        return getBytes();
     }
 
+    /** Restores the address data from the serialized address bytes.
+     * Is only called while deserializing an object.
+     * @param data the address bytes in network byte order with
+     *             the length of {@linkplain #length()}.
+     * */
+    abstract void readBytes(byte[] data);
+
     @Override
-    public boolean equals(final Object o) {
-        if (o == null) {
-            return false;
-        }
-        if (o == this) {
-            return true;
-        }
-        if (o instanceof AbstractAddress) {
-            final AbstractAddress other = (AbstractAddress) o;
-            return Arrays.equals(address, other.address);
-        }
-        return false;
-    }
+    public abstract boolean equals(Object o);
 
     @Override
-    public int hashCode() {
-        return Arrays.hashCode(address);
-    }
+    public abstract int hashCode();
 
     /**
      * Compares the address by comparing the address bytes.
@@ -88,6 +93,7 @@ abstract class AbstractAddress implements Comparable<AbstractAddress>,
      * @throws IOException if there's a problem in writing to the stream.
      * */
     private void writeObject(final ObjectOutputStream s) throws IOException {
+        final byte[] address = bytesForReading();
         s.writeInt(address.length);
         s.write(address);
     }
@@ -98,14 +104,19 @@ abstract class AbstractAddress implements Comparable<AbstractAddress>,
      * */
     private void readObject(final ObjectInputStream s) throws IOException {
         int length = s.readInt();
+        if (length != length()) {
+            throw new InvalidObjectException(
+                    "Address length is expected to be "
+                    + length() + " bytes, but stream has " + length);
+        }
         byte[] data = new byte[length];
         s.readFully(data);
-        address = data;
+        readBytes(data);
     }
 
     /** A performance optimized variant for
      * {@linkplain #getBytes()} that does not
-     * return a copy, but the original array.
+     * return a copy, but the original array if possible.
      * This is only allowed for reading the data.
      * @param address the address that can possibly
      *                be an instance of {@linkplain AbstractAddress}
@@ -114,7 +125,7 @@ abstract class AbstractAddress implements Comparable<AbstractAddress>,
      * */
     static byte[] getBytesForReading(final Address address) {
         if (address instanceof AbstractAddress) {
-            return ((AbstractAddress) address).address;
+            return ((AbstractAddress) address).bytesForReading();
         } else {
             return address.getBytes();
         }
@@ -0,0 +1,121 @@
+package com.ionos.network.commons.address;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** Address format that writes ASCII characters into byte arrays.
+ * Subclasses implement the format once in
+ * {@link #format(Address, byte[], int)} with plain array stores.
+ * All other format methods format into an array that is reused per
+ * thread and copy it to their target in one step. So the formatting
+ * code only ever sees byte arrays, no matter how many kinds of
+ * targets an application uses, and creates no objects.
+ * @param <T> the address class this class offers format functionality for.
+ * @author Stephan Fuhrmann
+ *
+ **/
+abstract class AbstractAsciiAddressFormat<T extends Address>
+        extends AbstractAddressFormat<T> {
+
+    /** The maximum number of characters of a formatted address. */
+    private final int maxLength;
+
+    /** The arrays each thread formats into before copying to the
+     * target. The formats never call each other, so one pair of arrays
+     * per thread and format is enough.
+     * */
+    private final ThreadLocal<Scratch> scratch;
+
+    /** Constructor of an instance.
+     * @param inMaxLength the maximum number of characters of a
+     *                    formatted address.
+     * */
+    AbstractAsciiAddressFormat(final int inMaxLength) {
+        this.maxLength = inMaxLength;
+        this.scratch = ThreadLocal.withInitial(
+                () -> new Scratch(inMaxLength));
+    }
+
+    @Override
+    public abstract int format(T address, byte[] to, int offset);
+
+    @Override
+    public String format(final T address) {
+        final byte[] bytes = scratch.get().bytes;
+        final int length = format(address, bytes, 0);
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public <A extends Appendable> A format(final T address,
+                                           final A toAppendTo)
+            throws IOException {
+        if (toAppendTo instanceof StringBuilder) {
+            // fast path: append to the builder without a temporary String
+            final Scratch arrays = scratch.get();
+            final int length = format(address, arrays.bytes, 0);
+            arrays.widen(length);
+            ((StringBuilder) toAppendTo).append(arrays.chars, 0, length);
+        } else {
+            toAppendTo.append(format(address));
+        }
+        return toAppendTo;
+    }
+
+    @Override
+    public int format(final T address, final char[] to, final int offset) {
+        final Scratch arrays = scratch.get();
+        final int length = format(address, arrays.bytes, 0);
+        if (offset < 0 || to.length - offset < length) {
+            throw new IndexOutOfBoundsException("No space for " + length
+                    + " characters at offset " + offset);
+        }
+        arrays.widen(length);
+        System.arraycopy(arrays.chars, 0, to, offset, length);
+        return length;
+    }
+
+    @Override
+    public int format(final T address, final ByteBuffer to) {
+        final int position = to.position();
+        if (to.hasArray() && to.remaining() >= maxLength) {
+            // fast path: the longest address fits into the backing array
+            final int length = format(address, to.array(),
+                    to.arrayOffset() + position);
+            to.position(position + length);
+            return length;
+        }
+        final byte[] bytes = scratch.get().bytes;
+        final int length = format(address, bytes, 0);
+        to.put(bytes, 0, length);
+        return length;
+    }
+
+    /** The arrays of one thread to format into. */
+    private static final class Scratch {
+        /** The formatted ASCII characters. */
+        private final byte[] bytes;
+
+        /** The formatted characters widened to chars. */
+        private final char[] chars;
+
+        /** Creates the arrays.
+         * @param maxLength the maximum number of characters of a
+         *                  formatted address.
+         * */
+        Scratch(final int maxLength) {
+            this.bytes = new byte[maxLength];
+            this.chars = new char[maxLength];
+        }
+
+        /** Widens the formatted characters to chars.
+         * @param length the number of characters formatted.
+         * */
+        void widen(final int length) {
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) bytes[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,858 @@
+package com.ionos.network.commons.address;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static com.ionos.network.commons.address.BitsAndBytes.BYTE_MASK;
+
+/**
+ * Compact binary encoding of {@linkplain IP IPs},
+ * {@linkplain Network networks} and {@linkplain MAC MACs} that does not
+ * depend on Java serialization.
+ * <br>
+ * Every entry starts with one tag byte telling its type, followed by
+ * the address bytes in network byte order:
+ * <table>
+ *     <caption>Encoded entries</caption>
+ *     <tr><th>Type</th><th>Tag</th><th>Following bytes</th></tr>
+ *     <tr><td>IPv4</td><td>{@code 1}</td><td>4 address bytes</td></tr>
+ *     <tr><td>IPv6</td><td>{@code 2}</td><td>16 address bytes</td></tr>
+ *     <tr><td>IPv4 network</td><td>{@code 3}</td>
+ *         <td>4 address bytes, 1 prefix byte</td></tr>
+ *     <tr><td>IPv6 network</td><td>{@code 4}</td>
+ *         <td>16 address bytes, 1 prefix byte</td></tr>
+ *     <tr><td>MAC</td><td>{@code 5}</td><td>6 address bytes</td></tr>
+ * </table>
+ * Collections are encoded as a 4 byte entry count in network byte order
+ * followed by the entries. The byte order of a {@link ByteBuffer} is
+ * ignored, the encoding is always in network byte order.
+ * <br>
+ * Writing to a {@link ByteBuffer} checks the remaining space first, so
+ * a failing write leaves the buffer unchanged.
+ * <br>
+ * The read methods either return IPs and networks of any version, or
+ * take the expected IP class and reject entries of the other version.
+ * Reading from a {@link ByteBuffer} restores the position when it
+ * rejects an entry.
+ * @see Network
+ * @see IP
+ * @see MAC
+ * @author Stephan Fuhrmann
+ */
+public final class AddressCodec {
+
+    /** Tag of an IPv4 address. */
+    private static final byte TAG_IPV4 = 1;
+
+    /** Tag of an IPv6 address. */
+    private static final byte TAG_IPV6 = 2;
+
+    /** Tag of an IPv4 network. */
+    private static final byte TAG_NETWORK_IPV4 = 3;
+
+    /** Tag of an IPv6 network. */
+    private static final byte TAG_NETWORK_IPV6 = 4;
+
+    /** Tag of a MAC address. */
+    private static final byte TAG_MAC = 5;
+
+    /** The number of bytes of the tag. */
+    private static final int TAG_BYTES = 1;
+
+    /** The number of bytes of the network prefix. */
+    private static final int PREFIX_BYTES = 1;
+
+    /** The number of bytes of the entry count of a collection. */
+    private static final int COUNT_BYTES = Integer.BYTES;
+
+    /** The number of bytes of the smallest entry of a collection. */
+    private static final int MIN_ENTRY_BYTES =
+            TAG_BYTES + IPVersion.IPV4.getAddressBytes();
+
+    /** No instance allowed. */
+    private AddressCodec() {
+    }
+
+    /** Get the number of bytes of an encoded IP.
+     * @param ip the IP to get the size for.
+     * @return the number of bytes {@link #write(IP, ByteBuffer)} writes.
+     * @throws NullPointerException if the ip is {@code null}.
+     * */
+    public static int encodedSize(final IP<?> ip) {
+        return TAG_BYTES + ip.getIPVersion().getAddressBytes();
+    }
+
+    /** Get the number of bytes of an encoded network.
+     * @param network the network to get the size for.
+     * @return the number of bytes {@link #write(Network, ByteBuffer)}
+     * writes.
+     * @throws NullPointerException if the network is {@code null}.
+     * */
+    public static int encodedSize(final Network<?> network) {
+        return TAG_BYTES + network.getIPVersion().getAddressBytes()
+                + PREFIX_BYTES;
+    }
+
+    /** Writes an IP.
+     * @param ip the IP to write.
+     * @param to the buffer to write to at its position.
+     * @throws BufferOverflowException if the buffer has not enough
+     * remaining bytes.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static void write(final IP<?> ip, final ByteBuffer to) {
+        requireRemaining(to, encodedSize(ip));
+        if (ip instanceof IPv4) {
+            to.put(TAG_IPV4);
+        } else {
+            to.put(TAG_IPV6);
+        }
+        putAddress(ip, to);
+    }
+
+    /** Writes a network.
+     * @param network the network to write.
+     * @param to the buffer to write to at its position.
+     * @throws BufferOverflowException if the buffer has not enough
+     * remaining bytes.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static void write(final Network<?> network, final ByteBuffer to) {
+        requireRemaining(to, encodedSize(network));
+        final IP<?> ip = network.getAddress();
+        if (ip instanceof IPv4) {
+            to.put(TAG_NETWORK_IPV4);
+        } else {
+            to.put(TAG_NETWORK_IPV6);
+        }
+        putAddress(ip, to);
+        to.put((byte) network.getPrefix());
+    }
+
+    /** Writes a MAC.
+     * @param mac the MAC to write.
+     * @param to the buffer to write to at its position.
+     * @throws BufferOverflowException if the buffer has not enough
+     * remaining bytes.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static void write(final MAC mac, final ByteBuffer to) {
+        final byte[] address = AbstractAddress.getBytesForReading(mac);
+        requireRemaining(to, TAG_BYTES + address.length);
+        to.put(TAG_MAC);
+        to.put(address);
+    }
+
+    /** Writes an IP.
+     * @param ip the IP to write.
+     * @param to the output to write to.
+     * @throws IOException if writing to the output fails.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static void write(final IP<?> ip, final DataOutput to)
+            throws IOException {
+        if (ip instanceof IPv4) {
+            to.writeByte(TAG_IPV4);
+        } else {
+            to.writeByte(TAG_IPV6);
+        }
+        writeAddress(ip, to);
+    }
+
+    /** Writes a network.
+     * @param network the network to write.
+     * @param to the output to write to.
+     * @throws IOException if writing to the output fails.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static void write(final Network<?> network, final DataOutput to)
+            throws IOException {
+        final IP<?> ip = network.getAddress();
+        if (ip instanceof IPv4) {
+            to.writeByte(TAG_NETWORK_IPV4);
+        } else {
+            to.writeByte(TAG_NETWORK_IPV6);
+        }
+        writeAddress(ip, to);
+        to.writeByte(network.getPrefix());
+    }
+
+    /** Writes a MAC.
+     * @param mac the MAC to write.
+     * @param to the output to write to.
+     * @throws IOException if writing to the output fails.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static void write(final MAC mac, final DataOutput to)
+            throws IOException {
+        final byte[] address = AbstractAddress.getBytesForReading(mac);
+        to.writeByte(TAG_MAC);
+        to.write(address);
+    }
+
+    /** Reads an IP of any version.
+     * @param from the buffer to read from at its position.
+     * @return the IP that was read.
+     * @throws java.nio.BufferUnderflowException if the buffer ends
+     * within the entry.
+     * @throws IllegalArgumentException if the next entry is not an IP.
+     * The position of the buffer is not changed then.
+     * @see #readIP(ByteBuffer, Class)
+     * */
+    public static IP<?> readIP(final ByteBuffer from) {
+        return getAddress(getTag(from, TAG_IPV4, TAG_IPV6), from);
+    }
+
+    /** Reads an IP of an expected version.
+     * @param from the buffer to read from at its position.
+     * @param ipClass the expected IP class, {@code IPv4.class} or
+     *                {@code IPv6.class}.
+     * @param <T> the IP address type.
+     * @return the IP that was read.
+     * @throws java.nio.BufferUnderflowException if the buffer ends
+     * within the entry.
+     * @throws IllegalArgumentException if the next entry is not an IP
+     * of the expected class. The position of the buffer is not
+     * changed then.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static <T extends IP<T>> T readIP(final ByteBuffer from,
+                                             final Class<T> ipClass) {
+        final byte tag = ipTag(ipClass);
+        return ipClass.cast(getAddress(getTag(from, tag, tag), from));
+    }
+
+    /** Reads a network of any version.
+     * @param from the buffer to read from at its position.
+     * @return the network that was read.
+     * @throws java.nio.BufferUnderflowException if the buffer ends
+     * within the entry.
+     * @throws IllegalArgumentException if the next entry is not a network
+     * or has an invalid prefix. The position of the buffer is not
+     * changed then.
+     * @see #readNetwork(ByteBuffer, Class)
+     * */
+    public static Network<?> readNetwork(final ByteBuffer from) {
+        final int start = from.position();
+        final byte tag = getTag(from, TAG_NETWORK_IPV4, TAG_NETWORK_IPV6);
+        final IP<?> ip = getAddress(tag, from);
+        try {
+            return newNetwork(ip, from.get() & BYTE_MASK);
+        } catch (IllegalArgumentException e) {
+            from.position(start);
+            throw e;
+        }
+    }
+
+    /** Reads a network of an expected version.
+     * @param from the buffer to read from at its position.
+     * @param ipClass the expected IP class of the network,
+     *                {@code IPv4.class} or {@code IPv6.class}.
+     * @param <T> the IP address type.
+     * @return the network that was read.
+     * @throws java.nio.BufferUnderflowException if the buffer ends
+     * within the entry.
+     * @throws IllegalArgumentException if the next entry is not a network
+     * of the expected class or has an invalid prefix. The position of
+     * the buffer is not changed then.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static <T extends IP<T>> Network<T> readNetwork(
+            final ByteBuffer from, final Class<T> ipClass) {
+        final byte tag = networkTag(ipClass);
+        final int start = from.position();
+        final T ip = ipClass.cast(getAddress(getTag(from, tag, tag), from));
+        try {
+            return new Network<>(ip, from.get() & BYTE_MASK);
+        } catch (IllegalArgumentException e) {
+            from.position(start);
+            throw e;
+        }
+    }
+
+    /** Reads a MAC.
+     * @param from the buffer to read from at its position.
+     * @return the MAC that was read.
+     * @throws java.nio.BufferUnderflowException if the buffer ends
+     * within the entry.
+     * @throws IllegalArgumentException if the next entry is not a MAC.
+     * The position of the buffer is not changed then.
+     * */
+    public static MAC readMAC(final ByteBuffer from) {
+        getTag(from, TAG_MAC, TAG_MAC);
+        final byte[] address = new byte[MAC.MAC_LENGTH];
+        from.get(address);
+        return new MAC(address);
+    }
+
+    /** Reads an IP of any version.
+     * @param from the input to read from.
+     * @return the IP that was read.
+     * @throws java.io.EOFException if the input ends within the entry.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if the next entry is not an IP.
+     * @see #readIP(DataInput, Class)
+     * */
+    public static IP<?> readIP(final DataInput from) throws IOException {
+        return readAddress(requireTag(from.readByte(), TAG_IPV4, TAG_IPV6),
+                from);
+    }
+
+    /** Reads an IP of an expected version.
+     * @param from the input to read from.
+     * @param ipClass the expected IP class, {@code IPv4.class} or
+     *                {@code IPv6.class}.
+     * @param <T> the IP address type.
+     * @return the IP that was read.
+     * @throws java.io.EOFException if the input ends within the entry.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if the next entry is not an IP
+     * of the expected class.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static <T extends IP<T>> T readIP(final DataInput from,
+                                             final Class<T> ipClass)
+            throws IOException {
+        final byte tag = ipTag(ipClass);
+        return ipClass.cast(readAddress(
+                requireTag(from.readByte(), tag, tag), from));
+    }
+
+    /** Reads a network of any version.
+     * @param from the input to read from.
+     * @return the network that was read.
+     * @throws java.io.EOFException if the input ends within the entry.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if the next entry is not a network
+     * or has an invalid prefix.
+     * @see #readNetwork(DataInput, Class)
+     * */
+    public static Network<?> readNetwork(final DataInput from)
+            throws IOException {
+        final byte tag = requireTag(from.readByte(),
+                TAG_NETWORK_IPV4, TAG_NETWORK_IPV6);
+        final IP<?> ip = readAddress(tag, from);
+        return newNetwork(ip, from.readUnsignedByte());
+    }
+
+    /** Reads a network of an expected version.
+     * @param from the input to read from.
+     * @param ipClass the expected IP class of the network,
+     *                {@code IPv4.class} or {@code IPv6.class}.
+     * @param <T> the IP address type.
+     * @return the network that was read.
+     * @throws java.io.EOFException if the input ends within the entry.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if the next entry is not a network
+     * of the expected class or has an invalid prefix.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static <T extends IP<T>> Network<T> readNetwork(
+            final DataInput from, final Class<T> ipClass) throws IOException {
+        final byte tag = networkTag(ipClass);
+        final T ip = ipClass.cast(readAddress(
+                requireTag(from.readByte(), tag, tag), from));
+        return new Network<>(ip, from.readUnsignedByte());
+    }
+
+    /** Reads a MAC.
+     * @param from the input to read from.
+     * @return the MAC that was read.
+     * @throws java.io.EOFException if the input ends within the entry.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if the next entry is not a MAC.
+     * */
+    public static MAC readMAC(final DataInput from) throws IOException {
+        requireTag(from.readByte(), TAG_MAC, TAG_MAC);
+        final byte[] address = new byte[MAC.MAC_LENGTH];
+        from.readFully(address);
+        return new MAC(address);
+    }
+
+    /** Writes a collection of IPs.
+     * @param ips the IPs to write.
+     * @param to the buffer to write to at its position.
+     * @throws BufferOverflowException if the buffer has not enough
+     * remaining bytes.
+     * @throws NullPointerException if one of the arguments or IPs is
+     * {@code null}.
+     * */
+    public static void writeIPs(final Collection<? extends IP<?>> ips,
+                                final ByteBuffer to) {
+        long size = COUNT_BYTES;
+        for (IP<?> ip : ips) {
+            size += encodedSize(ip);
+        }
+        requireRemaining(to, size);
+        putInt(to, ips.size());
+        for (IP<?> ip : ips) {
+            write(ip, to);
+        }
+    }
+
+    /** Writes a collection of networks.
+     * @param networks the networks to write.
+     * @param to the buffer to write to at its position.
+     * @throws BufferOverflowException if the buffer has not enough
+     * remaining bytes.
+     * @throws NullPointerException if one of the arguments or networks is
+     * {@code null}.
+     * */
+    public static void writeNetworks(
+            final Collection<? extends Network<?>> networks,
+            final ByteBuffer to) {
+        long size = COUNT_BYTES;
+        for (Network<?> network : networks) {
+            size += encodedSize(network);
+        }
+        requireRemaining(to, size);
+        putInt(to, networks.size());
+        for (Network<?> network : networks) {
+            write(network, to);
+        }
+    }
+
+    /** Writes a collection of IPs.
+     * @param ips the IPs to write.
+     * @param to the output to write to.
+     * @throws IOException if writing to the output fails.
+     * @throws NullPointerException if one of the arguments or IPs is
+     * {@code null}.
+     * */
+    public static void writeIPs(final Collection<? extends IP<?>> ips,
+                                final DataOutput to) throws IOException {
+        to.writeInt(ips.size());
+        for (IP<?> ip : ips) {
+            write(ip, to);
+        }
+    }
+
+    /** Writes a collection of networks.
+     * @param networks the networks to write.
+     * @param to the output to write to.
+     * @throws IOException if writing to the output fails.
+     * @throws NullPointerException if one of the arguments or networks is
+     * {@code null}.
+     * */
+    public static void writeNetworks(
+            final Collection<? extends Network<?>> networks,
+            final DataOutput to) throws IOException {
+        to.writeInt(networks.size());
+        for (Network<?> network : networks) {
+            write(network, to);
+        }
+    }
+
+    /** Reads a collection of IPs of any version.
+     * @param from the buffer to read from at its position.
+     * @return the IPs in the order they were written.
+     * @throws java.nio.BufferUnderflowException if the buffer ends
+     * within the collection.
+     * @throws IllegalArgumentException if an entry is not an IP.
+     * The position of the buffer is not changed then.
+     * @see #readIPs(ByteBuffer, Class)
+     * */
+    public static List<IP<?>> readIPs(final ByteBuffer from) {
+        return getList(from, AddressCodec::readIP);
+    }
+
+    /** Reads a collection of IPs of an expected version.
+     * @param from the buffer to read from at its position.
+     * @param ipClass the expected IP class, {@code IPv4.class} or
+     *                {@code IPv6.class}.
+     * @param <T> the IP address type.
+     * @return the IPs in the order they were written.
+     * @throws java.nio.BufferUnderflowException if the buffer ends
+     * within the collection.
+     * @throws IllegalArgumentException if an entry is not an IP of the
+     * expected class. The position of the buffer is not changed then.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static <T extends IP<T>> List<T> readIPs(final ByteBuffer from,
+                                                    final Class<T> ipClass) {
+        Objects.requireNonNull(ipClass, "ipClass is null");
+        return getList(from, buffer -> readIP(buffer, ipClass));
+    }
+
+    /** Reads a collection of networks of any version.
+     * @param from the buffer to read from at its position.
+     * @return the networks in the order they were written.
+     * @throws java.nio.BufferUnderflowException if the buffer ends
+     * within the collection.
+     * @throws IllegalArgumentException if an entry is not a network
+     * or has an invalid prefix. The position of the buffer is not
+     * changed then.
+     * @see #readNetworks(ByteBuffer, Class)
+     * */
+    public static List<Network<?>> readNetworks(final ByteBuffer from) {
+        return getList(from, AddressCodec::readNetwork);
+    }
+
+    /** Reads a collection of networks of an expected version.
+     * @param from the buffer to read from at its position.
+     * @param ipClass the expected IP class of the networks,
+     *                {@code IPv4.class} or {@code IPv6.class}.
+     * @param <T> the IP address type.
+     * @return the networks in the order they were written.
+     * @throws java.nio.BufferUnderflowException if the buffer ends
+     * within the collection.
+     * @throws IllegalArgumentException if an entry is not a network
+     * of the expected class or has an invalid prefix. The position of
+     * the buffer is not changed then.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static <T extends IP<T>> List<Network<T>> readNetworks(
+            final ByteBuffer from, final Class<T> ipClass) {
+        Objects.requireNonNull(ipClass, "ipClass is null");
+        return getList(from, buffer -> readNetwork(buffer, ipClass));
+    }
+
+    /** Reads a collection of IPs of any version.
+     * @param from the input to read from.
+     * @return the IPs in the order they were written.
+     * @throws java.io.EOFException if the input ends within the
+     * collection.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if an entry is not an IP.
+     * @see #readIPs(DataInput, Class)
+     * */
+    public static List<IP<?>> readIPs(final DataInput from)
+            throws IOException {
+        return readList(from, AddressCodec::readIP);
+    }
+
+    /** Reads a collection of IPs of an expected version.
+     * @param from the input to read from.
+     * @param ipClass the expected IP class, {@code IPv4.class} or
+     *                {@code IPv6.class}.
+     * @param <T> the IP address type.
+     * @return the IPs in the order they were written.
+     * @throws java.io.EOFException if the input ends within the
+     * collection.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if an entry is not an IP of the
+     * expected class.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static <T extends IP<T>> List<T> readIPs(final DataInput from,
+                                                    final Class<T> ipClass)
+            throws IOException {
+        Objects.requireNonNull(ipClass, "ipClass is null");
+        return readList(from, input -> readIP(input, ipClass));
+    }
+
+    /** Reads a collection of networks of any version.
+     * @param from the input to read from.
+     * @return the networks in the order they were written.
+     * @throws java.io.EOFException if the input ends within the
+     * collection.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if an entry is not a network
+     * or has an invalid prefix.
+     * @see #readNetworks(DataInput, Class)
+     * */
+    public static List<Network<?>> readNetworks(final DataInput from)
+            throws IOException {
+        return readList(from, AddressCodec::readNetwork);
+    }
+
+    /** Reads a collection of networks of an expected version.
+     * @param from the input to read from.
+     * @param ipClass the expected IP class of the networks,
+     *                {@code IPv4.class} or {@code IPv6.class}.
+     * @param <T> the IP address type.
+     * @return the networks in the order they were written.
+     * @throws java.io.EOFException if the input ends within the
+     * collection.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if an entry is not a network
+     * of the expected class or has an invalid prefix.
+     * @throws NullPointerException if one of the arguments is
+     * {@code null}.
+     * */
+    public static <T extends IP<T>> List<Network<T>> readNetworks(
+            final DataInput from, final Class<T> ipClass) throws IOException {
+        Objects.requireNonNull(ipClass, "ipClass is null");
+        return readList(from, input -> readNetwork(input, ipClass));
+    }
+
+    /** Gets a collection from a buffer.
+     * @param from the buffer to read from at its position.
+     * @param reader reads one entry.
+     * @param <E> the type of entries.
+     * @return the entries in the order they were written.
+     * @throws IllegalArgumentException if the count is negative or an
+     * entry is invalid. The position of the buffer is not changed then.
+     * */
+    private static <E> List<E> getList(final ByteBuffer from,
+                                       final Function<ByteBuffer, E> reader) {
+        final int start = from.position();
+        try {
+            final int count = getInt(from);
+            final List<E> result = newList(count, from.remaining());
+            for (int i = 0; i < count; i++) {
+                result.add(reader.apply(from));
+            }
+            return result;
+        } catch (IllegalArgumentException e) {
+            from.position(start);
+            throw e;
+        }
+    }
+
+    /** Reads a collection from an input.
+     * @param from the input to read from.
+     * @param reader reads one entry.
+     * @param <E> the type of entries.
+     * @return the entries in the order they were written.
+     * @throws IOException if reading from the input fails.
+     * @throws IllegalArgumentException if the count is negative or an
+     * entry is invalid.
+     * */
+    private static <E> List<E> readList(final DataInput from,
+                                        final EntryReader<E> reader)
+            throws IOException {
+        final int count = from.readInt();
+        final List<E> result = newList(count, Integer.MAX_VALUE);
+        for (int i = 0; i < count; i++) {
+            result.add(reader.read(from));
+        }
+        return result;
+    }
+
+    /** Creates a list for reading a collection.
+     * @param count the number of entries of the collection.
+     * @param remaining the number of bytes remaining for the entries.
+     *                  Limits the initial capacity if the count is
+     *                  corrupt.
+     * @param <E> the type of list elements.
+     * @return a new list with a capacity for the entries.
+     * @throws IllegalArgumentException if the count is negative.
+     * */
+    private static <E> List<E> newList(final int count, final int remaining) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative count " + count);
+        }
+        return new ArrayList<>(Math.min(count, remaining / MIN_ENTRY_BYTES));
+    }
+
+    /** Checks that a tag is one of two expected tags.
+     * @param tag the tag that was read.
+     * @param expected1 the first expected tag.
+     * @param expected2 the second expected tag.
+     * @return the tag.
+     * @throws IllegalArgumentException if the tag is not expected.
+     * */
+    private static byte requireTag(final byte tag,
+                                   final byte expected1,
+                                   final byte expected2) {
+        if (tag != expected1 && tag != expected2) {
+            throw new IllegalArgumentException("Unexpected tag " + tag
+                    + ", expected " + expected1 + " or " + expected2);
+        }
+        return tag;
+    }
+
+    /** Gets a tag from a buffer and checks that it is one of two
+     * expected tags.
+     * @param from the buffer to get from.
+     * @param expected1 the first expected tag.
+     * @param expected2 the second expected tag.
+     * @return the tag.
+     * @throws IllegalArgumentException if the tag is not expected.
+     * The position of the buffer is not changed then.
+     * */
+    private static byte getTag(final ByteBuffer from,
+                               final byte expected1,
+                               final byte expected2) {
+        final byte tag = from.get();
+        try {
+            return requireTag(tag, expected1, expected2);
+        } catch (IllegalArgumentException e) {
+            from.position(from.position() - TAG_BYTES);
+            throw e;
+        }
+    }
+
+    /** Get the tag of IPs of a class.
+     * @param ipClass the IP class.
+     * @param <T> the IP address type.
+     * @return the tag of IPs of the class.
+     * @throws IllegalArgumentException if the class is no IP class.
+     * @throws NullPointerException if the class is {@code null}.
+     * */
+    private static <T extends IP<T>> byte ipTag(final Class<T> ipClass) {
+        return IP.getIPVersion(ipClass) == IPVersion.IPV4
+                ? TAG_IPV4 : TAG_IPV6;
+    }
+
+    /** Get the tag of networks of an IP class.
+     * @param ipClass the IP class.
+     * @param <T> the IP address type.
+     * @return the tag of networks of the IP class.
+     * @throws IllegalArgumentException if the class is no IP class.
+     * @throws NullPointerException if the class is {@code null}.
+     * */
+    private static <T extends IP<T>> byte networkTag(
+            final Class<T> ipClass) {
+        return IP.getIPVersion(ipClass) == IPVersion.IPV4
+                ? TAG_NETWORK_IPV4 : TAG_NETWORK_IPV6;
+    }
+
+    /** Checks that a buffer has enough remaining bytes.
+     * @param buffer the buffer to check.
+     * @param size the number of bytes needed.
+     * @throws BufferOverflowException if there are not enough bytes.
+     * */
+    private static void requireRemaining(final ByteBuffer buffer,
+                                         final long size) {
+        Objects.requireNonNull(buffer, "buffer is null");
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+    }
+
+    /** Puts the address bytes of an IP into a buffer.
+     * @param ip the IP to put.
+     * @param to the buffer to put to.
+     * */
+    private static void putAddress(final IP<?> ip, final ByteBuffer to) {
+        if (ip instanceof IPv4) {
+            putInt(to, ((IPv4) ip).toInt());
+        } else {
+            final IPv6 ipv6 = (IPv6) ip;
+            putLong(to, ipv6.getHighBits());
+            putLong(to, ipv6.getLowBits());
+        }
+    }
+
+    /** Writes the address bytes of an IP to an output.
+     * @param ip the IP to write.
+     * @param to the output to write to.
+     * @throws IOException if writing to the output fails.
+     * */
+    private static void writeAddress(final IP<?> ip, final DataOutput to)
+            throws IOException {
+        if (ip instanceof IPv4) {
+            to.writeInt(((IPv4) ip).toInt());
+        } else {
+            final IPv6 ipv6 = (IPv6) ip;
+            to.writeLong(ipv6.getHighBits());
+            to.writeLong(ipv6.getLowBits());
+        }
+    }
+
+    /** Creates a network of any version.
+     * @param ip the network address.
+     * @param prefix the prefix length.
+     * @return the network.
+     * @throws IllegalArgumentException if the prefix is invalid.
+     * */
+    private static Network<?> newNetwork(final IP<?> ip, final int prefix) {
+        if (ip instanceof IPv4) {
+            return new Network<>((IPv4) ip, prefix);
+        }
+        return new Network<>((IPv6) ip, prefix);
+    }
+
+    /** Gets the address bytes of an IP from a buffer.
+     * @param tag the tag of the entry, telling the IP version.
+     * @param from the buffer to get from.
+     * @return the IP.
+     * */
+    private static IP<?> getAddress(final byte tag, final ByteBuffer from) {
+        if (tag == TAG_IPV4 || tag == TAG_NETWORK_IPV4) {
+            return new IPv4(getInt(from));
+        }
+        final long high = getLong(from);
+        return new IPv6(high, getLong(from));
+    }
+
+    /** Reads the address bytes of an IP from an input.
+     * @param tag the tag of the entry, telling the IP version.
+     * @param from the input to read from.
+     * @return the IP.
+     * @throws IOException if reading from the input fails.
+     * */
+    private static IP<?> readAddress(final byte tag, final DataInput from)
+            throws IOException {
+        if (tag == TAG_IPV4 || tag == TAG_NETWORK_IPV4) {
+            return new IPv4(from.readInt());
+        }
+        final long high = from.readLong();
+        return new IPv6(high, from.readLong());
+    }
+
+    /** Puts an int in network byte order.
+     * @param to the buffer to put to.
+     * @param value the value to put.
+     * */
+    private static void putInt(final ByteBuffer to, final int value) {
+        to.putInt(to.order() == ByteOrder.BIG_ENDIAN
+                ? value : Integer.reverseBytes(value));
+    }
+
+    /** Puts a long in network byte order.
+     * @param to the buffer to put to.
+     * @param value the value to put.
+     * */
+    private static void putLong(final ByteBuffer to, final long value) {
+        to.putLong(to.order() == ByteOrder.BIG_ENDIAN
+                ? value : Long.reverseBytes(value));
+    }
+
+    /** Gets an int in network byte order.
+     * @param from the buffer to get from.
+     * @return the value.
+     * */
+    private static int getInt(final ByteBuffer from) {
+        final int value = from.getInt();
+        return from.order() == ByteOrder.BIG_ENDIAN
+                ? value : Integer.reverseBytes(value);
+    }
+
+    /** Gets a long in network byte order.
+     * @param from the buffer to get from.
+     * @return the value.
+     * */
+    private static long getLong(final ByteBuffer from) {
+        final long value = from.getLong();
+        return from.order() == ByteOrder.BIG_ENDIAN
+                ? value : Long.reverseBytes(value);
+    }
+
+    /** Reads one entry of a collection from an input.
+     * @param <E> the type of entries.
+     * */
+    @FunctionalInterface
+    private interface EntryReader<E> {
+        /** Reads an entry.
+         * @param from the input to read from.
+         * @return the entry.
+         * @throws IOException if reading from the input fails.
+         * */
+        E read(DataInput from) throws IOException;
+    }
+}
@@ -2,33 +2,35 @@ package com.ionos.network.commons.address;
 
 import java.util.Comparator;
 
-import static com.ionos.network.commons.address.BitsAndBytes.BYTE_MASK;
-
 /** Provides address {@linkplain Comparator} instances. */
 public final class AddressComparators {
 
     /**
      * Compares the addresses component by component. Each component is
-     * regarded as being an <em>unsigned</em> byte.
+     * regarded as being an <em>unsigned</em> byte. If the addresses differ
+     * in length and one is a prefix of the other, the shorter address is
+     * less.
      */
     public static final Comparator<Address> UNSIGNED_BYTE_COMPARATOR =
             (o1, o2) -> {
-                byte[] o1Address = AbstractAddress.getBytesForReading(o1);
-                byte[] o2Address = AbstractAddress.getBytesForReading(o2);
-
-                for (int i = 0; i < o1Address.length; i++) {
-                    int v1 = o1Address[i] & BYTE_MASK;
-                    int v2 = o2Address[i] & BYTE_MASK;
-                    if (v1 == v2) {
-                        continue;
-                    }
-                    if (v1 < v2) {
-                        return -1;
-                    } else {
-                        return 1;
+                if (o1 instanceof IPv4 && o2 instanceof IPv4) {
+                    return Integer.compareUnsigned(((IPv4) o1).toInt(),
+                            ((IPv4) o2).toInt());
+                }
+                if (o1 instanceof IPv6 && o2 instanceof IPv6) {
+                    final IPv6 ip1 = (IPv6) o1;
+                    final IPv6 ip2 = (IPv6) o2;
+                    final int high = Long.compareUnsigned(ip1.getHighBits(),
+                            ip2.getHighBits());
+                    if (high != 0) {
+                        return high;
                     }
+                    return Long.compareUnsigned(ip1.getLowBits(),
+                            ip2.getLowBits());
                 }
-                return 0;
+                return Integer.signum(ByteArrays.compareUnsigned(
+                        AbstractAddress.getBytesForReading(o1),
+                        AbstractAddress.getBytesForReading(o2)));
             };
 
     private AddressComparators() {
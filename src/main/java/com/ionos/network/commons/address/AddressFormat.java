@@ -1,6 +1,8 @@
 package com.ionos.network.commons.address;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
 /** Formats addresses to human readable form.
  * @param <T> the concrete type of address that is being passed
@@ -30,4 +32,89 @@ public interface AddressFormat<T extends Address> {
      * @throws NullPointerException if the address was {@code null}.
      * */
     <A extends Appendable> A format(T address, A toAppendTo) throws IOException;
+
+    /** Formats an address into a byte array as ASCII characters.
+     * <br>
+     * The default implementation formats the address to a String first.
+     * Formats like {@linkplain IPFormats#RFC_5952} write directly into
+     * the array without creating any objects.
+     * @param address the address to format.
+     * @param to the array to write the characters to.
+     * @param offset the index in {@code to} to write the first
+     *               character at.
+     * @return the number of bytes written.
+     * @throws IndexOutOfBoundsException if the formatted address does not
+     * fit into the array. The array may be partially written then.
+     * @throws NullPointerException if the address or array was
+     * {@code null}.
+     * */
+    default int format(final T address, final byte[] to, final int offset) {
+        final String text = format(address);
+        final int length = text.length();
+        if (offset < 0 || to.length - offset < length) {
+            throw new IndexOutOfBoundsException("No space for " + length
+                    + " characters at offset " + offset);
+        }
+        for (int i = 0; i < length; i++) {
+            to[offset + i] = (byte) text.charAt(i);
+        }
+        return length;
+    }
+
+    /** Formats an address into a char array.
+     * <br>
+     * The default implementation formats the address to a String first.
+     * Formats like {@linkplain IPFormats#RFC_5952} format into a reused
+     * byte array and copy it into the array without creating any
+     * objects.
+     * @param address the address to format.
+     * @param to the array to write the characters to.
+     * @param offset the index in {@code to} to write the first
+     *               character at.
+     * @return the number of characters written.
+     * @throws IndexOutOfBoundsException if the formatted address does not
+     * fit into the array. The array may be partially written then.
+     * @throws NullPointerException if the address or array was
+     * {@code null}.
+     * */
+    default int format(final T address, final char[] to, final int offset) {
+        final String text = format(address);
+        final int length = text.length();
+        if (offset < 0 || to.length - offset < length) {
+            throw new IndexOutOfBoundsException("No space for " + length
+                    + " characters at offset " + offset);
+        }
+        text.getChars(0, length, to, offset);
+        return length;
+    }
+
+    /** Formats an address into a byte buffer as ASCII characters.
+     * The characters are written at the current position of the buffer,
+     * and the position is advanced by the number of bytes written.
+     * <br>
+     * The default implementation formats the address to a String first.
+     * Formats like {@linkplain IPFormats#RFC_5952} format into a reused
+     * byte array and copy it into the buffer without creating any
+     * objects.
+     * @param address the address to format.
+     * @param to the buffer to write the characters to.
+     * @return the number of bytes written.
+     * @throws BufferOverflowException if the formatted address does not
+     * fit into the remaining bytes of the buffer. The position of
+     * the buffer is not changed then.
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+     * @throws NullPointerException if the address or buffer was
+     * {@code null}.
+     * */
+    default int format(final T address, final ByteBuffer to) {
+        final String text = format(address);
+        final int length = text.length();
+        if (to.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            to.put((byte) text.charAt(i));
+        }
+        return length;
+    }
 }
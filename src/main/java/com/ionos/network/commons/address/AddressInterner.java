@@ -0,0 +1,140 @@
+package com.ionos.network.commons.address;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded cache of canonical address instances.
+ * Interning equal addresses through the same interner returns the same
+ * instance, so tables holding many duplicate addresses keep only one
+ * object per address.
+ * <br>
+ * The interner has a fixed number of slots and never grows. Each address
+ * maps to one slot by its hash code. An address replaces the address
+ * stored in its slot, so the interner only evicts when two addresses
+ * share a slot. Interning is lock-free, thread safe and allocates
+ * nothing. Since slots can be overwritten concurrently, two equal
+ * addresses interned at the same time may occasionally get different
+ * instances. The addresses are still equal then.
+ * <br>
+ * Example:
+ * <pre>
+ * AddressInterner&lt;IPv4&gt; interner =
+ *     new AddressInterner&lt;&gt;(1 &lt;&lt; 16);
+ * AddressParser&lt;IPv4&gt; parser = interner.interning(
+ *     IPParsers.DOTTED_DECIMAL);
+ * IPv4 ip = parser.parse("192.168.1.1");
+ * </pre>
+ * @param <A> the type of addresses to intern.
+ * @author Stephan Fuhrmann
+ */
+public final class AddressInterner<A extends Address> {
+
+    /** The golden ratio as a 32 bit fraction, spreads hash codes. */
+    private static final int GOLDEN_RATIO = 0x9e3779b9;
+
+    /** The maximum number of slots. */
+    private static final int MAX_CAPACITY = 1 << (Integer.SIZE - 2);
+
+    /** The slots of the cache. */
+    private final AtomicReferenceArray<A> slots;
+
+    /** The right shift to get a slot index from a spread hash code. */
+    private final int shift;
+
+    /** Creates an interner.
+     * @param capacity the number of slots. It is rounded up to the next
+     *                 power of two.
+     * @throws IllegalArgumentException if the capacity is not positive
+     * or too big.
+     * */
+    public AddressInterner(final int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal capacity "
+                    + capacity);
+        }
+        final int bits = Integer.SIZE
+                - Integer.numberOfLeadingZeros(capacity - 1);
+        this.slots = new AtomicReferenceArray<>(1 << bits);
+        // shifting by 32 is a no-op in Java, one slot needs all bits gone
+        this.shift = bits == 0 ? Integer.SIZE - 1 : Integer.SIZE - bits;
+    }
+
+    /** Get the number of slots.
+     * @return the maximum number of addresses the interner holds.
+     * */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /** Get the canonical instance of an address.
+     * @param address the address to intern.
+     * @return an instance equal to {@code address}: a previously
+     * interned one if it is still in the cache, or else
+     * {@code address} itself.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public A intern(final A address) {
+        Objects.requireNonNull(address, "address is null");
+        final int index = slotIndex(address.hashCode());
+        final A cached = slots.get(index);
+        if (cached != null && cached.equals(address)) {
+            return cached;
+        }
+        slots.lazySet(index, address);
+        return address;
+    }
+
+    /** Removes all addresses from the cache. */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    /** Wraps a parser so that it returns interned addresses.
+     * @param parser the parser to wrap.
+     * @return a parser returning the addresses of {@code parser}
+     * interned in this interner.
+     * @throws NullPointerException if the parser is {@code null}.
+     * */
+    public AddressParser<A> interning(final AddressParser<A> parser) {
+        Objects.requireNonNull(parser, "parser is null");
+        return new AddressParser<A>() {
+            @Override
+            public A parse(final String address) {
+                return intern(parser.parse(address));
+            }
+
+            @Override
+            public byte[] parseAsBytes(final String address) {
+                return parser.parseAsBytes(address);
+            }
+
+            @Override
+            public Optional<A> tryParse(final String address) {
+                return parser.tryParse(address).map(
+                        AddressInterner.this::intern);
+            }
+
+            @Override
+            public int tryParseAsBytes(final CharSequence address,
+                                       final int start,
+                                       final int end,
+                                       final byte[] to,
+                                       final int offset) {
+                return parser.tryParseAsBytes(address, start, end,
+                        to, offset);
+            }
+        };
+    }
+
+    /** Get the slot of a hash code.
+     * @param hashCode the hash code of an address.
+     * @return the index of the slot.
+     * */
+    private int slotIndex(final int hashCode) {
+        return (hashCode * GOLDEN_RATIO) >>> shift & (slots.length() - 1);
+    }
+}
@@ -1,6 +1,13 @@
 package com.ionos.network.commons.address;
 
+import java.util.Optional;
+
 /** Parses addresses to machine readable form.
+ * <br>
+ * The {@code parse} methods throw an exception for malformed input.
+ * The {@code tryParse} methods report malformed input with their return
+ * value instead and are meant for noisy input like log files where
+ * malformed addresses are common.
  * @param <T> the address type that is being returned by the
  * {@link #parse(String)} method.
  * @author Stephan Fuhrmann
@@ -8,11 +15,18 @@ package com.ionos.network.commons.address;
  * */
 public interface AddressParser<T extends Address> {
 
+    /** The value returned by
+     * {@link #tryParseAsBytes(CharSequence, int, int, byte[], int)}
+     * for malformed input.
+     * */
+    int INVALID = -1;
+
     /** Parses an address from a text representation.
      * @param address the text representation of the address to parse.
      * @return the parsed address as an object.
      * @throws NullPointerException if the address was {@code null}.
      * @throws IllegalArgumentException if the input address was malformed.
+     * @see #tryParse(String)
      * */
     T parse(String address);
 
@@ -21,6 +35,60 @@ public interface AddressParser<T extends Address> {
      * @return the parsed address as a byte array in network byte order.
      * @throws NullPointerException if the address was {@code null}.
      * @throws IllegalArgumentException if the input address was malformed.
+     * @see #tryParseAsBytes(CharSequence, int, int, byte[], int)
      * */
     byte[] parseAsBytes(String address);
+
+    /** Parses an address from a text representation without throwing
+     * an exception for malformed input.
+     * The parsers of this library implement this method without
+     * creating an exception. The default implementation
+     * catches the exception of {@link #parse(String)}.
+     * @param address the text representation of the address to parse.
+     * @return the parsed address, or an empty optional if the
+     * input address was malformed.
+     * @throws NullPointerException if the address was {@code null}.
+     * */
+    default Optional<T> tryParse(final String address) {
+        try {
+            return Optional.of(parse(address));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** Parses an address from a part of a text representation into a
+     * caller supplied array without throwing an exception for
+     * malformed input.
+     * The parsers of this library implement this method without
+     * creating any objects, so the array can be reused for many
+     * addresses. The default implementation
+     * catches the exception of {@link #parseAsBytes(String)}.
+     * @param address the characters to parse the address from.
+     * @param start the index of the first character of the address.
+     * @param end the index after the last character of the address.
+     * @param to the array to write the address to in network byte order.
+     * @param offset the index in {@code to} to write the first byte to.
+     * @return the number of bytes written, or {@link #INVALID} if the
+     * input address was malformed. The array may have been partially
+     * written for malformed input.
+     * @throws NullPointerException if the address or array was
+     * {@code null}.
+     * @throws IndexOutOfBoundsException if the address does not fit
+     * into the array.
+     * */
+    default int tryParseAsBytes(final CharSequence address,
+                                final int start,
+                                final int end,
+                                final byte[] to,
+                                final int offset) {
+        final byte[] result;
+        try {
+            result = parseAsBytes(address.subSequence(start, end).toString());
+        } catch (IllegalArgumentException e) {
+            return INVALID;
+        }
+        System.arraycopy(result, 0, to, offset, result.length);
+        return result.length;
+    }
 }
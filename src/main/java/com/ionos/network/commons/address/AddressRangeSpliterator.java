@@ -0,0 +1,269 @@
+package com.ionos.network.commons.address;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/** A spliterator over a range of equally sized, aligned address blocks.
+ * With a block size of one address this returns the
+ * {@linkplain IP IPs} of a range, with bigger blocks it returns the
+ * {@linkplain Network subnets} of a network.
+ * <br>
+ * The remaining range is kept as the first and last block index in
+ * primitive 128 bit counters. Splitting halves the remaining range
+ * in constant time without creating any addresses.
+ * <br>
+ * The spliterator is {@link #SIZED} and {@link #SUBSIZED} where the
+ * number of remaining blocks fits into a long. Ranges with
+ * {@link Long#MAX_VALUE} or more blocks report an estimated size of
+ * {@link Long#MAX_VALUE} and become sized when split small enough.
+ * @param <T> the type of IP address of the blocks.
+ * @param <E> the type of elements returned for each block.
+ * @author Stephan Fuhrmann
+ * */
+final class AddressRangeSpliterator<T extends IP<T>, E>
+        implements Spliterator<E> {
+
+    /** Characteristics of all instances. */
+    private static final int BASE_CHARACTERISTICS =
+            ORDERED | DISTINCT | NONNULL | IMMUTABLE;
+
+    /** The IP version of the addresses. */
+    private final IPVersion ipVersion;
+
+    /** The number of address bits in one block, between 0 and 128. */
+    private final int blockBits;
+
+    /** Creates the element for the first address of a block. */
+    private final Function<? super T, ? extends E> factory;
+
+    /** The order of the elements, or {@code null} if not sorted. */
+    private final Comparator<? super E> comparator;
+
+    /** The upper bits of the next block index. */
+    private long nextHigh;
+
+    /** The lower bits of the next block index. */
+    private long nextLow;
+
+    /** The upper bits of the last block index, inclusive. */
+    private long lastHigh;
+
+    /** The lower bits of the last block index, inclusive. */
+    private long lastLow;
+
+    /** Whether all blocks were returned. */
+    private boolean exhausted;
+
+    /** Creates a spliterator without blocks.
+     * @param inIPVersion the IP version of the addresses.
+     * @param inBlockBits the number of address bits in one block.
+     * @param inFactory creates the element for a block address.
+     * @param inComparator the order of the elements, or {@code null}.
+     * */
+    private AddressRangeSpliterator(
+            final IPVersion inIPVersion,
+            final int inBlockBits,
+            final Function<? super T, ? extends E> inFactory,
+            final Comparator<? super E> inComparator) {
+        this.ipVersion = inIPVersion;
+        this.blockBits = inBlockBits;
+        this.factory = inFactory;
+        this.comparator = inComparator;
+    }
+
+    /** Creates a spliterator over the first part of the remaining
+     * blocks of another spliterator.
+     * @param other the spliterator to take the first block from.
+     * @param inLastHigh the upper bits of the last block index.
+     * @param inLastLow the lower bits of the last block index.
+     * */
+    private AddressRangeSpliterator(
+            final AddressRangeSpliterator<T, E> other,
+            final long inLastHigh,
+            final long inLastLow) {
+        this(other.ipVersion, other.blockBits, other.factory,
+                other.comparator);
+        this.nextHigh = other.nextHigh;
+        this.nextLow = other.nextLow;
+        this.lastHigh = inLastHigh;
+        this.lastLow = inLastLow;
+    }
+
+    /** Creates a spliterator over the blocks from the block of the
+     * first address to the block of the last address.
+     * @param first the first address, inclusive.
+     * @param last the last address, inclusive.
+     * @param blockBits the number of address bits in one block,
+     *                  {@code 0} for single addresses.
+     * @param factory creates the element for a block address.
+     * @param comparator the order of the elements, or {@code null}
+     *                   if the elements are not sorted.
+     * @param <T> the type of IP address of the blocks.
+     * @param <E> the type of elements returned for each block.
+     * @return a new spliterator.
+     * */
+    static <T extends IP<T>, E> AddressRangeSpliterator<T, E> of(
+            final T first,
+            final T last,
+            final int blockBits,
+            final Function<? super T, ? extends E> factory,
+            final Comparator<? super E> comparator) {
+        final AddressRangeSpliterator<T, E> result =
+                new AddressRangeSpliterator<T, E>(first.getIPVersion(),
+                        blockBits, factory, comparator);
+        final long firstHigh = UInt128.high(first);
+        final long firstLow = UInt128.low(first);
+        final long lastHigh = UInt128.high(last);
+        final long lastLow = UInt128.low(last);
+        result.nextHigh = shiftRightHigh(firstHigh, blockBits);
+        result.nextLow = shiftRightLow(firstHigh, firstLow, blockBits);
+        result.lastHigh = shiftRightHigh(lastHigh, blockBits);
+        result.lastLow = shiftRightLow(lastHigh, lastLow, blockBits);
+        return result;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super E> consumer) {
+        if (exhausted) {
+            return false;
+        }
+        consumer.accept(element());
+        increment();
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super E> consumer) {
+        while (!exhausted) {
+            consumer.accept(element());
+            increment();
+        }
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        if (exhausted || nextHigh == lastHigh && nextLow == lastLow) {
+            return null;
+        }
+        // mid = next + (last - next) / 2
+        final long diffLow = lastLow - nextLow;
+        final long diffHigh = lastHigh - nextHigh
+                - (Long.compareUnsigned(lastLow, nextLow) < 0 ? 1 : 0);
+        final long halfLow = diffLow >>> 1 | diffHigh << (Long.SIZE - 1);
+        final long halfHigh = diffHigh >>> 1;
+        final long midLow = nextLow + halfLow;
+        final long midHigh = nextHigh + halfHigh
+                + (Long.compareUnsigned(midLow, nextLow) < 0 ? 1 : 0);
+
+        final AddressRangeSpliterator<T, E> prefix =
+                new AddressRangeSpliterator<>(this, midHigh, midLow);
+        nextLow = midLow + 1;
+        nextHigh = nextLow == 0 ? midHigh + 1 : midHigh;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (exhausted) {
+            return 0;
+        }
+        final long size = exactSize();
+        return size >= 0 ? size : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        int result = BASE_CHARACTERISTICS;
+        if (exhausted || exactSize() >= 0) {
+            result |= SIZED | SUBSIZED;
+        }
+        if (comparator != null) {
+            result |= SORTED;
+        }
+        return result;
+    }
+
+    @Override
+    public Comparator<? super E> getComparator() {
+        if (comparator == null) {
+            throw new IllegalStateException("not sorted");
+        }
+        return comparator;
+    }
+
+    /** Get the number of remaining blocks if it fits into a long.
+     * Must not be called when exhausted.
+     * @return the number of remaining blocks, or -1 if there are
+     * {@link Long#MAX_VALUE} or more.
+     * */
+    private long exactSize() {
+        final long diffLow = lastLow - nextLow;
+        final long diffHigh = lastHigh - nextHigh
+                - (Long.compareUnsigned(lastLow, nextLow) < 0 ? 1 : 0);
+        if (diffHigh != 0 || diffLow < 0 || diffLow == Long.MAX_VALUE) {
+            return -1;
+        }
+        return diffLow + 1;
+    }
+
+    /** Creates the element of the next block.
+     * @return the element.
+     * */
+    private E element() {
+        final long high;
+        final long low;
+        if (blockBits == 0) {
+            high = nextHigh;
+            low = nextLow;
+        } else if (blockBits >= Long.SIZE) {
+            // shifts are modulo 64, a block of 128 bits has index 0
+            high = blockBits == 2 * Long.SIZE
+                    ? 0L : nextLow << (blockBits - Long.SIZE);
+            low = 0L;
+        } else {
+            high = nextHigh << blockBits | nextLow >>> (Long.SIZE - blockBits);
+            low = nextLow << blockBits;
+        }
+        return factory.apply(UInt128.<T>toIP(ipVersion, high, low));
+    }
+
+    /** Moves to the next block. */
+    private void increment() {
+        if (nextHigh == lastHigh && nextLow == lastLow) {
+            exhausted = true;
+        } else {
+            nextLow++;
+            if (nextLow == 0) {
+                nextHigh++;
+            }
+        }
+    }
+
+    /** Shifts a 128 bit value right and returns the upper bits.
+     * @param high the upper bits of the value.
+     * @param bits the number of bits to shift, between 0 and 128.
+     * @return the upper bits of the shifted value.
+     * */
+    private static long shiftRightHigh(final long high, final int bits) {
+        return bits >= Long.SIZE ? 0L : high >>> bits;
+    }
+
+    /** Shifts a 128 bit value right and returns the lower bits.
+     * @param high the upper bits of the value.
+     * @param low the lower bits of the value.
+     * @param bits the number of bits to shift, between 0 and 128.
+     * @return the lower bits of the shifted value.
+     * */
+    private static long shiftRightLow(final long high,
+                                      final long low,
+                                      final int bits) {
+        if (bits == 0) {
+            return low;
+        } else if (bits >= Long.SIZE) {
+            return bits == 2 * Long.SIZE ? 0L : high >>> (bits - Long.SIZE);
+        }
+        return low >>> bits | high << (Long.SIZE - bits);
+    }
+}
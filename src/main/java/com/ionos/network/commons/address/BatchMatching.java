@@ -0,0 +1,114 @@
+package com.ionos.network.commons.address;
+
+/**
+ * The loops of the batch methods of {@link NetworkMatcher}.
+ * An address is in a network if {@code (ip & mask) == base}.
+ * <br>
+ * This is the scalar baseline. The multi-release JAR contains a version
+ * of this class for Java 17 and newer that uses the Vector API when the
+ * {@code jdk.incubator.vector} module is present.
+ * @author Stephan Fuhrmann
+ */
+final class BatchMatching {
+
+    /** No instances. */
+    private BatchMatching() {
+    }
+
+    /** Tests an array of IPv4 addresses.
+     * @param ips the addresses.
+     * @param mask the subnet mask.
+     * @param base the network address.
+     * @param out receives at each index whether the address matches.
+     * */
+    static void containsAll(final int[] ips,
+                            final int mask,
+                            final int base,
+                            final boolean[] out) {
+        for (int i = 0; i < ips.length; i++) {
+            out[i] = (ips[i] & mask) == base;
+        }
+    }
+
+    /** Tests an array of IPv4 addresses.
+     * @param ips the addresses.
+     * @param mask the subnet mask.
+     * @param base the network address.
+     * @param words receives the bit of each matching index, in the
+     *              layout of {@link java.util.BitSet#valueOf(long[])}.
+     * */
+    static void containsAll(final int[] ips,
+                            final int mask,
+                            final int base,
+                            final long[] words) {
+        for (int i = 0; i < ips.length; i++) {
+            final int difference = ips[i] & mask ^ base;
+            // the sign bit of (d | -d) is set for all d except zero
+            final long match = ~(difference | -difference)
+                    >>> (Integer.SIZE - 1);
+            words[i / Long.SIZE] |= match << i;
+        }
+    }
+
+    /** Counts the matching IPv4 addresses.
+     * @param ips the addresses.
+     * @param mask the subnet mask.
+     * @param base the network address.
+     * @return the number of matching addresses.
+     * */
+    static int count(final int[] ips, final int mask, final int base) {
+        int result = 0;
+        for (final int ip : ips) {
+            final int difference = ip & mask ^ base;
+            result += ~(difference | -difference) >>> (Integer.SIZE - 1);
+        }
+        return result;
+    }
+
+    /** Tests arrays of IPv6 addresses.
+     * @param highs the upper 64 bits of the addresses.
+     * @param lows the lower 64 bits of the addresses.
+     * @param maskHigh the upper 64 bits of the subnet mask.
+     * @param maskLow the lower 64 bits of the subnet mask.
+     * @param baseHigh the upper 64 bits of the network address.
+     * @param baseLow the lower 64 bits of the network address.
+     * @param out receives at each index whether the address matches.
+     * */
+    static void containsAll(final long[] highs,
+                            final long[] lows,
+                            final long maskHigh,
+                            final long maskLow,
+                            final long baseHigh,
+                            final long baseLow,
+                            final boolean[] out) {
+        for (int i = 0; i < highs.length; i++) {
+            out[i] = ((highs[i] & maskHigh ^ baseHigh)
+                    | (lows[i] & maskLow ^ baseLow)) == 0;
+        }
+    }
+
+    /** Counts the matching IPv6 addresses.
+     * @param highs the upper 64 bits of the addresses.
+     * @param lows the lower 64 bits of the addresses.
+     * @param maskHigh the upper 64 bits of the subnet mask.
+     * @param maskLow the lower 64 bits of the subnet mask.
+     * @param baseHigh the upper 64 bits of the network address.
+     * @param baseLow the lower 64 bits of the network address.
+     * @return the number of matching addresses.
+     * */
+    static int count(final long[] highs,
+                     final long[] lows,
+                     final long maskHigh,
+                     final long maskLow,
+                     final long baseHigh,
+                     final long baseLow) {
+        int result = 0;
+        for (int i = 0; i < highs.length; i++) {
+            final long difference = (highs[i] & maskHigh ^ baseHigh)
+                    | (lows[i] & maskLow ^ baseLow);
+            result += (int) (~(difference | -difference)
+                    >>> (Long.SIZE - 1));
+        }
+        return result;
+    }
+}
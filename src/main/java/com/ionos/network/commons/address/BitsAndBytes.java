@@ -26,27 +26,53 @@ final class BitsAndBytes {
     /** The number of bits per byte. */
     static final int BITS_PER_BYTE = 8;
 
-    /** Bits to mask to get the modulo of 8. */
-    static final int BIT_MASK_TRIPLE = 0x07;
-
-    /** Bits to shift to divide by 8. */
-    static final int BIT_SHIFT_BYTE = 3;
-
     /** The number of bits of a nibble. */
     static final int BITS_PER_NIBBLE = 4;
 
     /** The bits to mask a nibble. */
     static final int BIT_MASK_NIBBLE = 0xf;
 
-    /** Maximum decimal value for one digit. */
-    static final int DECIMAL_MAX_DIGIT = 9;
-
     /** Hexadecimal value of 'A'. */
     static final int HEXADECIMAL_A_VALUE = 10;
 
     /** Maximum value for a hexadecimal digit. */
     static final int HEXADECIMAL_MAX_DIGIT = 15;
 
+    /** The hex digits of the values 0 to 15. */
+    private static final char[] HEX_DIGITS =
+            "0123456789abcdef".toCharArray();
+
+    /** The two hex digits of each unsigned byte value. The digits of
+     * value {@code v} are at index {@code 2 * v} and {@code 2 * v + 1}.
+     * */
+    private static final char[] HEX_BYTE_DIGITS =
+            new char[2 * (UBYTE_MAX_VALUE + 1)];
+
+    static {
+        for (int i = 0; i <= UBYTE_MAX_VALUE; i++) {
+            HEX_BYTE_DIGITS[2 * i] = HEX_DIGITS[i >>> BITS_PER_NIBBLE];
+            HEX_BYTE_DIGITS[2 * i + 1] = HEX_DIGITS[i & BIT_MASK_NIBBLE];
+        }
+    }
+
+    /** First multiplier of the MurmurHash3 32 bit finalizer. */
+    private static final int MURMUR_INT_C1 = 0x85ebca6b;
+
+    /** Second multiplier of the MurmurHash3 32 bit finalizer. */
+    private static final int MURMUR_INT_C2 = 0xc2b2ae35;
+
+    /** Middle shift of the MurmurHash3 32 bit finalizer. */
+    private static final int MURMUR_INT_SHIFT = 13;
+
+    /** First multiplier of the MurmurHash3 64 bit finalizer. */
+    private static final long MURMUR_LONG_C1 = 0xff51afd7ed558ccdL;
+
+    /** Second multiplier of the MurmurHash3 64 bit finalizer. */
+    private static final long MURMUR_LONG_C2 = 0xc4ceb9fe1a85ec53L;
+
+    /** Shift of the MurmurHash3 64 bit finalizer. */
+    private static final int MURMUR_LONG_SHIFT = 33;
+
     /** No instance allowed. */
     private BitsAndBytes() {
     }
@@ -63,51 +89,6 @@ final class BitsAndBytes {
         return result;
     }
 
-    /**
-     * Get the highest bit set.
-     *
-     * @param data the array to find the highest bit set in.
-     *             The first byte starts with the most significant bit.
-     * @return the highest bit number (starting with 0),
-     * or -1 if <code>data</code> has no bit set.
-     * @see Integer#highestOneBit(int)
-     */
-    static int getHighestBitSet(final byte[] data) {
-        final int high = data.length << BIT_SHIFT_BYTE;
-        int result = -1;
-        for (int i = high - 1; i >= 0; i--) {
-            if ((data[(high - 1 - i) >> BIT_SHIFT_BYTE] //NOSONAR
-                    & 1 << (i & BIT_MASK_TRIPLE)) != 0) {
-                result = i;
-                break;
-            }
-        }
-        return result;
-    }
-
-    /**
-     * Get the lowest bit set.
-     *
-     * @param data the array to find the lowest bit set in.
-     *             The first byte starts with
-     *             the most significant bit.
-     * @return the lowest set bit number (starting with 0),
-     * or -1 if <code>data</code> has no bit set.
-     * @see Integer#lowestOneBit(int)
-     */
-    static int getLowestBitSet(final byte[] data) {
-        final int high = data.length << BIT_SHIFT_BYTE;
-        int result = -1;
-        for (int i = 0; i < high; i++) {
-            if ((data[(high - 1 - i) >> BIT_SHIFT_BYTE] //NOSONAR
-                    & 1 << (i & BIT_MASK_TRIPLE)) != 0) {
-                result = i;
-                break;
-            }
-        }
-        return result;
-    }
-
     /** Appends two bytes to an Appendable as hex.
      * There are leading zeros appended.
      * @param to the Appendable to append to.
@@ -119,12 +100,12 @@ final class BitsAndBytes {
                                           final byte upper,
                                           final byte lower)
             throws IOException {
-        to.append(BitsAndBytes.toHexDigit(upper >>> BITS_PER_NIBBLE
-                & BIT_MASK_NIBBLE));
-        to.append(BitsAndBytes.toHexDigit(upper & BIT_MASK_NIBBLE));
-        to.append(BitsAndBytes.toHexDigit(lower >>> BITS_PER_NIBBLE
-                & BIT_MASK_NIBBLE));
-        to.append(BitsAndBytes.toHexDigit(lower & BIT_MASK_NIBBLE));
+        final int u = (upper & BYTE_MASK) << 1;
+        final int l = (lower & BYTE_MASK) << 1;
+        to.append(HEX_BYTE_DIGITS[u])
+                .append(HEX_BYTE_DIGITS[u + 1])
+                .append(HEX_BYTE_DIGITS[l])
+                .append(HEX_BYTE_DIGITS[l + 1]);
     }
 
     /** Appends two bytes to an Appendable as hex.
@@ -138,22 +119,33 @@ final class BitsAndBytes {
                           final byte upper,
                           final byte lower)
             throws IOException {
-        boolean leading = false;
-        if (upper >>> BITS_PER_NIBBLE != 0) {
-            to.append(BitsAndBytes.toHexDigit(upper >>> BITS_PER_NIBBLE
-                    & BIT_MASK_NIBBLE));
-            leading = true;
-        }
-        if (leading || upper != 0) {
-            to.append(BitsAndBytes.toHexDigit(upper
-                    & BIT_MASK_NIBBLE));
-            leading = true;
-        }
-        if (leading || lower >>> BITS_PER_NIBBLE != 0) {
-            to.append(BitsAndBytes.toHexDigit(lower >>> BITS_PER_NIBBLE
-                    & BIT_MASK_NIBBLE));
+        final int u = (upper & BYTE_MASK) << 1;
+        final int l = (lower & BYTE_MASK) << 1;
+        if (upper != 0) {
+            if ((upper & BYTE_MASK) > BIT_MASK_NIBBLE) {
+                to.append(HEX_BYTE_DIGITS[u]);
+            }
+            to.append(HEX_BYTE_DIGITS[u + 1]).append(HEX_BYTE_DIGITS[l]);
+        } else if ((lower & BYTE_MASK) > BIT_MASK_NIBBLE) {
+            to.append(HEX_BYTE_DIGITS[l]);
         }
-        to.append(BitsAndBytes.toHexDigit(lower & BIT_MASK_NIBBLE));
+        to.append(HEX_BYTE_DIGITS[l + 1]);
+    }
+
+    /** Get the upper hex digit of a byte.
+     * @param value the byte, only the lower 8 bits are used.
+     * @return the hex digit of bits 4 to 7.
+     * */
+    static char hexDigitHigh(final int value) {
+        return HEX_BYTE_DIGITS[(value & BYTE_MASK) << 1];
+    }
+
+    /** Get the lower hex digit of a byte.
+     * @param value the byte, only the lower 8 bits are used.
+     * @return the hex digit of bits 0 to 3.
+     * */
+    static char hexDigitLow(final int value) {
+        return HEX_BYTE_DIGITS[((value & BYTE_MASK) << 1) + 1];
     }
 
     /** Convert the passed in value to a hex digit.
@@ -162,11 +154,8 @@ final class BitsAndBytes {
      * @see #toInt(char)
      * */
     static char toHexDigit(final int value) {
-        if (value >= 0 && value <= DECIMAL_MAX_DIGIT) {
-            return (char) ('0' + value);
-        } else if (value >= HEXADECIMAL_A_VALUE
-                && value <= HEXADECIMAL_MAX_DIGIT) {
-            return (char) ('a' - HEXADECIMAL_A_VALUE + value);
+        if (value >= 0 && value <= HEXADECIMAL_MAX_DIGIT) {
+            return HEX_DIGITS[value];
         } else {
             throw new IllegalArgumentException("Integer '"
                     + value + "' is not in the range [0-15] and"
@@ -180,6 +169,23 @@ final class BitsAndBytes {
      * @see #toHexDigit(int)
      * */
     static int toInt(final char hexDigit) {
+        final int result = hexValue(hexDigit);
+        if (result < 0) {
+            throw new IllegalArgumentException("Char '"
+                    + hexDigit + "' is not in the set [0-9a-fA-F] and"
+                    + " can not be interpreted as hex");
+        }
+        return result;
+    }
+
+    /** Convert the passed in value to a hex digit without throwing
+     * an exception for other characters.
+     * @param hexDigit the hex digit to convert to an int.
+     * @return a value between 0 and 15, or -1 if the character is
+     * no hex digit.
+     * @see #toInt(char)
+     * */
+    static int hexValue(final char hexDigit) {
         if (hexDigit >= '0' && hexDigit <= '9') {
             return hexDigit - '0';
         } else if (hexDigit >= 'a' && hexDigit <= 'f') {
@@ -187,9 +193,7 @@ final class BitsAndBytes {
         } else if (hexDigit >= 'A' && hexDigit <= 'F') {
             return hexDigit - 'A' + HEXADECIMAL_A_VALUE;
         } else {
-            throw new IllegalArgumentException("Char '"
-                    + hexDigit + "' is not in the set [0-9a-fA-F] and"
-                    + " can not be interpreted as hex");
+            return -1;
         }
     }
 
@@ -219,6 +223,69 @@ final class BitsAndBytes {
         return true;
     }
 
+    /** Reads a big endian int from a byte array.
+     * @param data the array to read from.
+     * @param offset the offset of the most significant byte.
+     * @return the int made up of the four bytes at {@code offset}.
+     * @see #putInt(byte[], int, int)
+     * */
+    static int getInt(final byte[] data, final int offset) {
+        return ByteArrays.getInt(data, offset);
+    }
+
+    /** Reads a big endian long from a byte array.
+     * @param data the array to read from.
+     * @param offset the offset of the most significant byte.
+     * @return the long made up of the eight bytes at {@code offset}.
+     * @see #putLong(byte[], int, long)
+     * */
+    static long getLong(final byte[] data, final int offset) {
+        return ByteArrays.getLong(data, offset);
+    }
+
+    /** Writes an int to a byte array in big endian byte order.
+     * @param data the array to write to.
+     * @param offset the offset to write the most significant byte to.
+     * @param value the value to write.
+     * @see #getInt(byte[], int)
+     * */
+    static void putInt(final byte[] data, final int offset, final int value) {
+        ByteArrays.putInt(data, offset, value);
+    }
+
+    /** Writes a long to a byte array in big endian byte order.
+     * @param data the array to write to.
+     * @param offset the offset to write the most significant byte to.
+     * @param value the value to write.
+     * @see #getLong(byte[], int)
+     * */
+    static void putLong(final byte[] data, final int offset, final long value) {
+        ByteArrays.putLong(data, offset, value);
+    }
+
+    /** Gets an int with a number of leading bits set to 1.
+     * @param bits the number of leading bits to set, between 0 and 32.
+     * @return an int with the first {@code bits} bits set. Example:
+     * For 24 bits this is {@code 0xffffff00}.
+     * */
+    static int leadingBitsInt(final int bits) {
+        if (bits == 0) {
+            return 0;
+        }
+        return -1 << (Integer.SIZE - bits);
+    }
+
+    /** Gets a long with a number of leading bits set to 1.
+     * @param bits the number of leading bits to set, between 0 and 64.
+     * @return a long with the first {@code bits} bits set.
+     * */
+    static long leadingBitsLong(final int bits) {
+        if (bits == 0) {
+            return 0L;
+        }
+        return -1L << (Long.SIZE - bits);
+    }
+
     /** Sets a number of leading bits to 1.
      * @param data the array where to set the first {@code bits} to one.
      * @param bits the number of bits to set to one.
@@ -238,4 +305,36 @@ final class BitsAndBytes {
                             << (BITS_PER_BYTE - remainingBits));
         }
     }
+
+    /** Spreads the bits of an int over all bits of a hash code
+     * with the MurmurHash3 finalizer. Used for hash tables keyed by
+     * IPv4 addresses, which often differ only in a few bits.
+     * @param value the value to hash.
+     * @return the hash code.
+     * */
+    static int mix(final int value) {
+        int h = value;
+        h ^= h >>> Short.SIZE;
+        h *= MURMUR_INT_C1;
+        h ^= h >>> MURMUR_INT_SHIFT;
+        h *= MURMUR_INT_C2;
+        return h ^ h >>> Short.SIZE;
+    }
+
+    /** Spreads the bits of a 128 bit value over all bits of a hash code
+     * with the MurmurHash3 finalizer.
+     * Used for hash tables keyed by IPv6 addresses.
+     * @param high the upper bits of the value.
+     * @param low the lower bits of the value.
+     * @return the hash code.
+     * */
+    static int mix(final long high, final long low) {
+        long h = high * MURMUR_LONG_C2 ^ low;
+        h ^= h >>> MURMUR_LONG_SHIFT;
+        h *= MURMUR_LONG_C1;
+        h ^= h >>> MURMUR_LONG_SHIFT;
+        h *= MURMUR_LONG_C2;
+        h ^= h >>> MURMUR_LONG_SHIFT;
+        return (int) (h ^ h >>> Integer.SIZE);
+    }
 }
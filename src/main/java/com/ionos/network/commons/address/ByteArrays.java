@@ -0,0 +1,91 @@
+package com.ionos.network.commons.address;
+
+import static com.ionos.network.commons.address.BitsAndBytes.BITS_PER_BYTE;
+import static com.ionos.network.commons.address.BitsAndBytes.BYTE_MASK;
+
+/** Reads, writes and compares primitive values in byte arrays.
+ * <br>
+ * This is the Java 8 baseline. It works byte by byte, since assembling
+ * a word from single bytes costs more than the comparisons it saves.
+ * The multi-release JAR contains a version of this class for Java 9 and
+ * newer that uses {@link java.util.Arrays#compareUnsigned(byte[], byte[])}
+ * and byte array view var handles, which the JIT compiles to single
+ * memory accesses and vectorized comparisons.
+ * @author Stephan Fuhrmann
+ */
+final class ByteArrays {
+
+    /** No instances. */
+    private ByteArrays() {
+    }
+
+    /** Reads a big endian int from a byte array.
+     * @param data the array to read from.
+     * @param offset the offset of the most significant byte.
+     * @return the int made up of the four bytes at {@code offset}.
+     * */
+    static int getInt(final byte[] data, final int offset) {
+        int result = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            result = result << BITS_PER_BYTE | data[offset + i] & BYTE_MASK;
+        }
+        return result;
+    }
+
+    /** Reads a big endian long from a byte array.
+     * @param data the array to read from.
+     * @param offset the offset of the most significant byte.
+     * @return the long made up of the eight bytes at {@code offset}.
+     * */
+    static long getLong(final byte[] data, final int offset) {
+        long result = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            result = result << BITS_PER_BYTE | data[offset + i] & BYTE_MASK;
+        }
+        return result;
+    }
+
+    /** Writes an int to a byte array in big endian byte order.
+     * @param data the array to write to.
+     * @param offset the offset to write the most significant byte to.
+     * @param value the value to write.
+     * */
+    static void putInt(final byte[] data, final int offset, final int value) {
+        int shift = Integer.SIZE;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            shift -= BITS_PER_BYTE;
+            data[offset + i] = (byte) (value >>> shift);
+        }
+    }
+
+    /** Writes a long to a byte array in big endian byte order.
+     * @param data the array to write to.
+     * @param offset the offset to write the most significant byte to.
+     * @param value the value to write.
+     * */
+    static void putLong(final byte[] data, final int offset, final long value) {
+        int shift = Long.SIZE;
+        for (int i = 0; i < Long.BYTES; i++) {
+            shift -= BITS_PER_BYTE;
+            data[offset + i] = (byte) (value >>> shift);
+        }
+    }
+
+    /** Compares two byte arrays lexicographically, each byte
+     * regarded as unsigned. If one array is a prefix of the other, the
+     * shorter array is less.
+     * @param left the first array.
+     * @param right the second array.
+     * @return a negative number, zero or a positive number if
+     * {@code left} is less than, equal to or greater than {@code right}.
+     * */
+    static int compareUnsigned(final byte[] left, final byte[] right) {
+        final int length = Math.min(left.length, right.length);
+        for (int i = 0; i < length; i++) {
+            if (left[i] != right[i]) {
+                return (left[i] & BYTE_MASK) - (right[i] & BYTE_MASK);
+            }
+        }
+        return left.length - right.length;
+    }
+}
@@ -0,0 +1,545 @@
+package com.ionos.network.commons.address;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A thread-safe map from {@linkplain Network networks} to values that
+ * finds the networks containing an IP address.
+ * The networks are stored in a persistent path-compressed binary trie.
+ * Nodes are never modified after they are created. A change copies only
+ * the nodes on the path to the changed network and shares all other
+ * nodes with the previous version.
+ * <br>
+ * Reading never locks or waits: a lookup reads the current
+ * {@linkplain Snapshot snapshot} once and walks it with the same
+ * lookup code as {@link NetworkTrie}. Changes build a new version and
+ * swap it in with a compare-and-set, retrying if another writer was
+ * faster.
+ * A {@link Batch} applies many changes as one swap, so readers see
+ * either all or none of them.
+ * <br>
+ * Example:
+ * <pre>{@code
+ * ConcurrentNetworkTrie<IPv4, String> trie = new ConcurrentNetworkTrie<>();
+ * trie.batch()
+ *     .put(new Network<>("10.0.0.0/8"), "private")
+ *     .put(new Network<>("10.1.0.0/16"), "datacenter")
+ *     .apply();
+ * trie.longestMatch(new IPv4("10.1.2.3")); // "datacenter"
+ * }</pre>
+ * @param <T> the IP address type of the networks.
+ * @param <V> the type of the values stored.
+ * @see NetworkTrie
+ * @author Stephan Fuhrmann
+ */
+public final class ConcurrentNetworkTrie<T extends IP<T>, V> {
+
+    /** The current version of the trie. */
+    private final AtomicReference<Snapshot<T, V>> current;
+
+    /** Creates a new empty trie. */
+    public ConcurrentNetworkTrie() {
+        current = new AtomicReference<>(new Snapshot<>(null, 0));
+    }
+
+    /**
+     * Get the current version of the trie.
+     * The snapshot does not change when the trie is changed later.
+     * Use it for multiple lookups that need to see the same networks.
+     * @return the current version.
+     */
+    public Snapshot<T, V> snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Get the number of networks stored.
+     * @return the number of networks that have a value associated.
+     */
+    public int size() {
+        return current.get().size();
+    }
+
+    /**
+     * Checks whether there are no networks stored.
+     * @return {@code true} if there are no networks stored.
+     */
+    public boolean isEmpty() {
+        return current.get().isEmpty();
+    }
+
+    /**
+     * Get the value associated with exactly the given network.
+     * @param network the network to get the value for.
+     * @return the value of the network, or {@code null} if there
+     * is no value for this network.
+     * @throws NullPointerException if the network is {@code null}.
+     */
+    public V get(final Network<T> network) {
+        return current.get().get(network);
+    }
+
+    /**
+     * Finds the value of the most specific network containing the IP.
+     * @param ip the IP address to find the network for.
+     * @return the value of the network with the longest prefix
+     * that contains the IP, or {@code null} if no network contains the IP.
+     * @throws NullPointerException if the IP is {@code null}.
+     */
+    public V longestMatch(final T ip) {
+        return current.get().longestMatch(ip);
+    }
+
+    /**
+     * Finds the values of all networks containing the IP.
+     * @param ip the IP address to find the networks for.
+     * @return the values of the networks containing the IP, ordered
+     * from the shortest to the longest prefix. Is empty if no network
+     * contains the IP.
+     * @throws NullPointerException if the IP is {@code null}.
+     */
+    public List<V> allMatches(final T ip) {
+        return current.get().allMatches(ip);
+    }
+
+    /**
+     * Associates a value with a network.
+     * @param network the network to associate the value with.
+     * @param value the value to store for the network.
+     * @return the value that was previously stored for exactly
+     * this network, or {@code null} if there was none.
+     * @throws NullPointerException if the network or value is {@code null}.
+     */
+    public V put(final Network<T> network, final V value) {
+        Objects.requireNonNull(network, "network is null");
+        Objects.requireNonNull(value, "value is null");
+        return update(Collections.singletonList(
+                new Change<>(network, value)));
+    }
+
+    /**
+     * Removes the value associated with exactly the given network.
+     * Networks contained in the given network are not removed.
+     * @param network the network to remove.
+     * @return the value that was stored for the network, or {@code null}
+     * if there was none.
+     * @throws NullPointerException if the network is {@code null}.
+     */
+    public V remove(final Network<T> network) {
+        Objects.requireNonNull(network, "network is null");
+        return update(Collections.singletonList(
+                new Change<>(network, null)));
+    }
+
+    /** Removes all networks from the trie. */
+    public void clear() {
+        current.set(new Snapshot<>(null, 0));
+    }
+
+    /**
+     * Starts collecting changes to apply at once.
+     * @return a new empty batch of changes for this trie.
+     */
+    public Batch<T, V> batch() {
+        return new Batch<>(this);
+    }
+
+    /** Applies changes to the current version and swaps the result in.
+     * @param changes the changes to apply in order.
+     * @return the value the network of the last change had before,
+     * or {@code null}.
+     * */
+    private V update(final List<Change<T, V>> changes) {
+        while (true) {
+            final Snapshot<T, V> before = current.get();
+            final Updater<T, V> updater = new Updater<>(before);
+            for (final Change<T, V> change : changes) {
+                updater.apply(change);
+            }
+            final Snapshot<T, V> after = updater.toSnapshot();
+            if (current.compareAndSet(before, after)) {
+                return updater.previous;
+            }
+        }
+    }
+
+    /**
+     * An immutable version of a {@link ConcurrentNetworkTrie}.
+     * @param <T> the IP address type of the networks.
+     * @param <V> the type of the values stored.
+     */
+    public static final class Snapshot<T extends IP<T>, V> {
+
+        /** The root node or {@code null} if the snapshot is empty. */
+        private final Node<T, V> root;
+
+        /** The number of networks that have a value. */
+        private final int size;
+
+        /** Creates a snapshot.
+         * @param inRoot the root node, or {@code null}.
+         * @param inSize the number of networks that have a value.
+         * */
+        private Snapshot(final Node<T, V> inRoot, final int inSize) {
+            this.root = inRoot;
+            this.size = inSize;
+        }
+
+        /**
+         * Get the number of networks stored.
+         * @return the number of networks that have a value associated.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Checks whether there are no networks stored.
+         * @return {@code true} if there are no networks stored.
+         */
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Get the value associated with exactly the given network.
+         * @param network the network to get the value for.
+         * @return the value of the network, or {@code null} if there
+         * is no value for this network.
+         * @throws NullPointerException if the network is {@code null}.
+         */
+        public V get(final Network<T> network) {
+            return TrieLookup.get(root, network);
+        }
+
+        /**
+         * Finds the value of the most specific network containing the IP.
+         * @param ip the IP address to find the network for.
+         * @return the value of the network with the longest prefix
+         * that contains the IP, or {@code null} if no network contains
+         * the IP.
+         * @throws NullPointerException if the IP is {@code null}.
+         */
+        public V longestMatch(final T ip) {
+            return TrieLookup.longestMatch(root, ip);
+        }
+
+        /**
+         * Finds the values of all networks containing the IP.
+         * @param ip the IP address to find the networks for.
+         * @return the values of the networks containing the IP, ordered
+         * from the shortest to the longest prefix. Is empty if no network
+         * contains the IP.
+         * @throws NullPointerException if the IP is {@code null}.
+         */
+        public List<V> allMatches(final T ip) {
+            return TrieLookup.allMatches(root, ip);
+        }
+    }
+
+    /**
+     * Changes to a {@link ConcurrentNetworkTrie} that are applied at once.
+     * The changes are applied in the order they were added.
+     * A batch is not thread-safe and can be applied multiple times.
+     * @param <T> the IP address type of the networks.
+     * @param <V> the type of the values stored.
+     * @see ConcurrentNetworkTrie#batch()
+     */
+    public static final class Batch<T extends IP<T>, V> {
+
+        /** The trie to apply the changes to. */
+        private final ConcurrentNetworkTrie<T, V> trie;
+
+        /** The changes in order. */
+        private final List<Change<T, V>> changes = new ArrayList<>();
+
+        /** Creates an empty batch.
+         * @param inTrie the trie to apply the changes to.
+         * */
+        private Batch(final ConcurrentNetworkTrie<T, V> inTrie) {
+            this.trie = inTrie;
+        }
+
+        /**
+         * Adds associating a value with a network.
+         * @param network the network to associate the value with.
+         * @param value the value to store for the network.
+         * @return this batch.
+         * @throws NullPointerException if the network or value is
+         * {@code null}.
+         */
+        public Batch<T, V> put(final Network<T> network, final V value) {
+            Objects.requireNonNull(network, "network is null");
+            Objects.requireNonNull(value, "value is null");
+            changes.add(new Change<>(network, value));
+            return this;
+        }
+
+        /**
+         * Adds removing the value of exactly the given network.
+         * @param network the network to remove.
+         * @return this batch.
+         * @throws NullPointerException if the network is {@code null}.
+         */
+        public Batch<T, V> remove(final Network<T> network) {
+            Objects.requireNonNull(network, "network is null");
+            changes.add(new Change<>(network, null));
+            return this;
+        }
+
+        /**
+         * Get the number of changes in this batch.
+         * @return the number of changes added.
+         */
+        public int size() {
+            return changes.size();
+        }
+
+        /**
+         * Applies all changes to the trie in one atomic step.
+         * Readers see either none or all of the changes.
+         */
+        public void apply() {
+            if (!changes.isEmpty()) {
+                trie.update(changes);
+            }
+        }
+    }
+
+    /** A single change.
+     * @param <T> the IP address type of the networks.
+     * @param <V> the type of the values stored.
+     * */
+    private static final class Change<T extends IP<T>, V> {
+        /** The network to change. */
+        private final Network<T> network;
+
+        /** The new value, or {@code null} to remove the network. */
+        private final V value;
+
+        /** Creates a change.
+         * @param inNetwork the network to change.
+         * @param inValue the new value, or {@code null} to remove.
+         * */
+        Change(final Network<T> inNetwork, final V inValue) {
+            this.network = inNetwork;
+            this.value = inValue;
+        }
+    }
+
+    /** Applies changes to a version by copying paths.
+     * @param <T> the IP address type of the networks.
+     * @param <V> the type of the values stored.
+     * */
+    private static final class Updater<T extends IP<T>, V> {
+        /** The root of the new version. */
+        private Node<T, V> root;
+
+        /** The size of the new version. */
+        private int size;
+
+        /** The value before the last change, or {@code null}. */
+        private V previous;
+
+        /** Creates an updater.
+         * @param start the version to start from.
+         * */
+        Updater(final Snapshot<T, V> start) {
+            this.root = start.root;
+            this.size = start.size;
+        }
+
+        /** Applies a change.
+         * @param change the change to apply.
+         * */
+        void apply(final Change<T, V> change) {
+            final T key = change.network.getAddress();
+            final int prefix = change.network.getPrefix();
+            previous = null;
+            if (change.value != null) {
+                root = put(root, key, prefix, change.value);
+                if (previous == null) {
+                    size++;
+                }
+            } else {
+                root = remove(root, key, prefix);
+                if (previous != null) {
+                    size--;
+                }
+            }
+        }
+
+        /** Get the resulting version.
+         * @return the new version.
+         * */
+        Snapshot<T, V> toSnapshot() {
+            return new Snapshot<>(root, size);
+        }
+
+        /** Associates a value with a network below a node.
+         * @param node the node to start at, or {@code null}.
+         * @param key the network address.
+         * @param prefix the prefix length of the network.
+         * @param value the value to store.
+         * @return the copy of the node that contains the network.
+         * */
+        private Node<T, V> put(final Node<T, V> node,
+                               final T key,
+                               final int prefix,
+                               final V value) {
+            if (node == null) {
+                return new Node<>(key, prefix, value, null, null);
+            }
+            final int common = Math.min(
+                    Math.min(node.address.commonPrefixLength(key), prefix),
+                    node.prefix);
+            if (common == node.prefix) {
+                if (prefix == node.prefix) {
+                    // exactly this network
+                    previous = node.value;
+                    return new Node<>(node.address, node.prefix, value,
+                            node.left, node.right);
+                }
+                // the node contains the network, go deeper
+                final boolean bit = key.testBit(node.prefix);
+                return node.withChild(bit,
+                        put(node.child(bit), key, prefix, value));
+            }
+            if (common == prefix) {
+                // the network contains the node
+                return new Node<T, V>(key, prefix, value, null, null)
+                        .withChild(node.address.testBit(prefix), node);
+            }
+            // the network and the node differ at bit 'common'
+            return new Node<T, V>(key.clearHostBits(common), common, null,
+                    null, null)
+                    .withChild(node.address.testBit(common), node)
+                    .withChild(key.testBit(common),
+                            new Node<>(key, prefix, value, null, null));
+        }
+
+        /** Removes the value of a network below a node.
+         * @param node the node to start at, or {@code null}.
+         * @param key the network address.
+         * @param prefix the prefix length of the network.
+         * @return the copy of the node without the network, or
+         * the node itself if the network is not below it.
+         * */
+        private Node<T, V> remove(final Node<T, V> node,
+                                  final T key,
+                                  final int prefix) {
+            if (node == null
+                    || node.prefix > prefix
+                    || !node.address.hasSamePrefix(key, node.prefix)) {
+                return node;
+            }
+            if (node.prefix == prefix) {
+                if (node.value == null || !node.address.equals(key)) {
+                    return node;
+                }
+                previous = node.value;
+                return compact(node, null, node.left, node.right);
+            }
+            final boolean bit = key.testBit(node.prefix);
+            final Node<T, V> child = node.child(bit);
+            final Node<T, V> newChild = remove(child, key, prefix);
+            if (newChild == child) {
+                return node;
+            }
+            return bit
+                    ? compact(node, node.value, node.left, newChild)
+                    : compact(node, node.value, newChild, node.right);
+        }
+
+        /** Creates a copy of a node, dropping it if it is not needed
+         * for branching.
+         * @param node the node to copy.
+         * @param value the new value, or {@code null}.
+         * @param left the new left child, or {@code null}.
+         * @param right the new right child, or {@code null}.
+         * @return the copy, the only child or {@code null}.
+         * */
+        private Node<T, V> compact(final Node<T, V> node,
+                                   final V value,
+                                   final Node<T, V> left,
+                                   final Node<T, V> right) {
+            if (value == null && (left == null || right == null)) {
+                return left != null ? left : right;
+            }
+            return new Node<>(node.address, node.prefix, value, left, right);
+        }
+    }
+
+    /** An immutable node in the trie.
+     * @param <T> the IP address type of the networks.
+     * @param <V> the type of the values stored.
+     * */
+    private static final class Node<T extends IP<T>, V>
+            implements TrieNode<T, V> {
+        /** The network address of this node. */
+        private final T address;
+
+        /** The prefix length of this node. */
+        private final int prefix;
+
+        /** The value or {@code null} if this node is only branching. */
+        private final V value;
+
+        /** The child for a cleared bit after the prefix. */
+        private final Node<T, V> left;
+
+        /** The child for a set bit after the prefix. */
+        private final Node<T, V> right;
+
+        /** Creates a node.
+         * @param inAddress the network address.
+         * @param inPrefix the prefix length.
+         * @param inValue the value, or {@code null}.
+         * @param inLeft the child for a cleared bit, or {@code null}.
+         * @param inRight the child for a set bit, or {@code null}.
+         * */
+        Node(final T inAddress, final int inPrefix, final V inValue,
+             final Node<T, V> inLeft, final Node<T, V> inRight) {
+            this.address = inAddress;
+            this.prefix = inPrefix;
+            this.value = inValue;
+            this.left = inLeft;
+            this.right = inRight;
+        }
+
+        @Override
+        public T getAddress() {
+            return address;
+        }
+
+        @Override
+        public int getPrefix() {
+            return prefix;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public Node<T, V> child(final boolean bit) {
+            return bit ? right : left;
+        }
+
+        /** Get a copy with a replaced child.
+         * @param bit the bit after the prefix.
+         * @param child the new child for the bit.
+         * @return the copy of this node.
+         * */
+        Node<T, V> withChild(final boolean bit, final Node<T, V> child) {
+            return bit
+                    ? new Node<>(address, prefix, value, left, child)
+                    : new Node<>(address, prefix, value, child, right);
+        }
+    }
+}
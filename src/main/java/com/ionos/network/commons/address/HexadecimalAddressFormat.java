@@ -55,16 +55,13 @@ public final class HexadecimalAddressFormat<T extends Address>
                 toAppendTo.append(separator);
             }
 
-            toAppendTo.append(BitsAndBytes.toHexDigit(
-                    val >>> BitsAndBytes.BITS_PER_NIBBLE
-                            & BitsAndBytes.BIT_MASK_NIBBLE));
+            toAppendTo.append(BitsAndBytes.hexDigitHigh(val));
             charIndex++;
 
             if (charIndex % separatorInterval == 0) {
                 toAppendTo.append(separator);
             }
-            toAppendTo.append(BitsAndBytes.toHexDigit(
-                    val & BitsAndBytes.BIT_MASK_NIBBLE));
+            toAppendTo.append(BitsAndBytes.hexDigitLow(val));
             charIndex++;
         }
 
@@ -1,6 +1,7 @@
 package com.ionos.network.commons.address;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -66,36 +67,61 @@ public final class HexadecimalAddressParser<T extends Address>
     @Override
     public byte[] parseAsBytes(final String address) {
         byte[] result = new byte[addressLength];
+        if (tryParseAsBytes(address, 0, address.length(), result, 0)
+                == INVALID) {
+            throw new IllegalArgumentException("Illegal address '"
+                    + address + "', expected " + addressLength
+                    + " hex bytes with a '" + separator
+                    + "' after every " + separatorInterval + " digits");
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<T> tryParse(final String address) {
+        byte[] result = new byte[addressLength];
+        if (tryParseAsBytes(address, 0, address.length(), result, 0)
+                == INVALID) {
+            return Optional.empty();
+        }
+        return Optional.of(factory.apply(result));
+    }
+
+    @Override
+    public int tryParseAsBytes(final CharSequence address,
+                               final int start,
+                               final int end,
+                               final byte[] to,
+                               final int offset) {
         int expectLength = addressLength * 2
                 + (2 * addressLength - 1) / separatorInterval;
-        if (address.length() != expectLength) {
-            throw new IllegalArgumentException("Illegal address "
-                    + address +  " length, expected " + expectLength);
+        if (end - start != expectLength) {
+            return INVALID;
         }
 
         // check separators
         for (int charIndex = separatorInterval;
              charIndex < expectLength;
              charIndex += 1 + separatorInterval) {
-            char curSeparator = address.charAt(charIndex);
-            if (separator != curSeparator) {
-                throw new IllegalArgumentException("Illegal separator '"
-                        + curSeparator + "' in address " + address);
+            if (separator != address.charAt(start + charIndex)) {
+                return INVALID;
             }
         }
 
         // parse the bytes
         for (int byteIndex = 0; byteIndex < addressLength; byteIndex++) {
-            char firstChar = address.charAt(2 * byteIndex
-                    + (2 * byteIndex) / separatorInterval);
-            char secondChar = address.charAt((2 * byteIndex + 1)
-                    + (2 * byteIndex + 1) / separatorInterval);
-            int byteValue = BitsAndBytes.toInt(firstChar)
-                    << BitsAndBytes.BITS_PER_NIBBLE
-                    | BitsAndBytes.toInt(secondChar);
-            result[byteIndex] = (byte) byteValue;
+            int upper = BitsAndBytes.hexValue(address.charAt(start
+                    + 2 * byteIndex + (2 * byteIndex) / separatorInterval));
+            int lower = BitsAndBytes.hexValue(address.charAt(start
+                    + (2 * byteIndex + 1)
+                    + (2 * byteIndex + 1) / separatorInterval));
+            if (upper < 0 || lower < 0) {
+                return INVALID;
+            }
+            to[offset + byteIndex] =
+                    (byte) (upper << BitsAndBytes.BITS_PER_NIBBLE | lower);
         }
 
-        return result;
+        return addressLength;
     }
 }
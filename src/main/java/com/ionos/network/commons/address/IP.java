@@ -4,12 +4,10 @@ import java.io.Serializable;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 
-import static com.ionos.network.commons.address.BitsAndBytes.BYTE_MASK;
-import static com.ionos.network.commons.address.BitsAndBytes.BITS_PER_BYTE;
-
 /**
  * An abstract IP address.
- * Stores the address bytes and has methods to calculate with IPs.
+ * Has methods to calculate with IPs. The subclasses store the address
+ * in primitive fields.
  * The IP class has some methods for calculation with IP numbers, for example
  * {@link #add(byte[])}, {@link #add(long)},
  * {@link AbstractAddress#compareTo(AbstractAddress)}.
@@ -30,13 +28,11 @@ public abstract class IP<T extends IP<T>>
     private static final long serialVersionUID = 5338854380391791729L;
 
     /**
-     * Creates a new IP address from the address bytes.
-     *
-     * @param inAddress a 4 or 16 byte address in network byte order.
-     * @param inLength the number of expected bytes.
+     * Creates a new IP address. The address data is stored in the
+     * subclasses, so there is no protected constructor that takes the
+     * address bytes and no protected address field anymore.
      */
-    protected IP(final byte[] inAddress, final int inLength) {
-        super(inAddress, inLength);
+    IP() {
     }
 
     /**
@@ -91,13 +87,7 @@ public abstract class IP<T extends IP<T>>
      * Example: For the input {@code 255.255.0.0}
      * will return {@code 0.0.255.255}.
      */
-    public T invert() {
-        final byte[] inverted = new byte[address.length];
-        for (int i = 0; i < inverted.length; i++) {
-            inverted[i] = (byte) ~address[i];
-        }
-        return newInstance(inverted);
-    }
+    public abstract T invert();
 
     /**
      * Add the given values to the base address, creating a new {@link IP}
@@ -115,37 +105,7 @@ public abstract class IP<T extends IP<T>>
      * @throws IllegalArgumentException if the offset array is larger than
      * the address itself.
      */
-    public T add(final byte[] offset) {
-        final T result = newInstance(address);
-
-        if (offset.length > address.length) {
-            throw new IllegalArgumentException(
-                    "Offset array is larger than the address itself");
-        }
-
-        int carry = 0;
-        int addressOffset = 0;
-        for (int i = 0; i < offset.length && i < address.length; i++) {
-            // from lsb to msb
-            int offsetVal = BYTE_MASK & offset[offset.length - 1 - i];
-            addressOffset = address.length - 1 - i;
-            // from lsb
-            int addressVal = BYTE_MASK & address[addressOffset];
-
-            int sum = offsetVal + addressVal + carry;
-            carry = sum >> BITS_PER_BYTE;
-            result.address[addressOffset] = (byte) sum;
-        }
-
-        while (carry != 0 && addressOffset > 0) {
-            addressOffset--;
-            int sum = (BYTE_MASK & result.address[addressOffset]) + carry;
-            carry = sum >> BITS_PER_BYTE;
-            result.address[addressOffset] = (byte) sum;
-        }
-
-        return result;
-    }
+    public abstract T add(byte[] offset);
 
     /**
      * Bitwise AND the address and the mask given in the byte array.
@@ -158,16 +118,10 @@ public abstract class IP<T extends IP<T>>
      * given in the values.
      * Example: {@code new IPv4("192.168.1.1").and(new byte[] {255,0})
      * .equals(new IPv4("192.168.1.0"))}
+     * @throws IllegalArgumentException if the mask array is larger than
+     * the address itself.
      */
-    public T and(final byte[] mask) {
-        final T result = newInstance(address);
-
-        for (int i = 0; i < mask.length; i++) {
-            result.address[address.length - 1 - i] &= mask[mask.length - 1 - i];
-        }
-
-        return result;
-    }
+    public abstract T and(byte[] mask);
 
     /**
      * Add the given offset to the base address, creating a new
@@ -180,28 +134,62 @@ public abstract class IP<T extends IP<T>>
      * Example: <code>new IP("192.168.1.1").add(1)
      * .equals(new IP("192.168.1.2"))</code>
      */
-    public T add(final long offset) {
-        final T result = newInstance(address);
-        long myOffset = offset;
-
-        int carry = 0;
-        int i = 0;
-        while ((myOffset != 0 || carry != 0) && i < address.length) {
-            // from LSB
-            int offsetValue = BYTE_MASK & (int) myOffset;
-            int addressOffset = address.length - 1 - i;
-            // from LSB
-            int addressValue = BYTE_MASK & address[addressOffset];
-
-            int sum = offsetValue + addressValue + carry;
-            carry = sum >> BITS_PER_BYTE;
-            result.address[addressOffset] = (byte) sum;
-
-            myOffset >>>= BITS_PER_BYTE;
-            i++;
-        }
+    public abstract T add(long offset);
 
-        return result;
+    /**
+     * Clears all bits after the first {@code prefixBits} bits.
+     * @param prefixBits the number of leading bits to keep.
+     * @return the first address of the network with the given prefix
+     * that contains this address.
+     */
+    abstract T clearHostBits(int prefixBits);
+
+    /**
+     * Sets all bits after the first {@code prefixBits} bits.
+     * @param prefixBits the number of leading bits to keep.
+     * @return the last address of the network with the given prefix
+     * that contains this address.
+     */
+    abstract T setHostBits(int prefixBits);
+
+    /**
+     * Compares the first {@code prefixBits} bits of this and another
+     * address.
+     * @param other the other address to compare with.
+     * @param prefixBits the number of leading bits to compare.
+     * @return {@code true} if both addresses have the same IP version
+     * and the same first {@code prefixBits} bits.
+     */
+    abstract boolean hasSamePrefix(IP<?> other, int prefixBits);
+
+    /**
+     * Tests a single bit of the address.
+     * @param index the index of the bit, starting with 0 for the most
+     *              significant bit of the first byte in network byte order.
+     * @return {@code true} if the bit is set.
+     */
+    abstract boolean testBit(int index);
+
+    /**
+     * Counts the leading bits that are equal in this and another address.
+     * @param other the other address to compare with.
+     * @return the number of leading bits that are equal, between 0 and
+     * the number of bits of the address.
+     */
+    abstract int commonPrefixLength(T other);
+
+    /** Checks the length of a byte array passed to an operation.
+     * @param data the array to check.
+     * @param name the name of the array for the exception message.
+     * @throws IllegalArgumentException if the array is larger than
+     * the address itself.
+     * */
+    final void requireNotLongerThanAddress(final byte[] data,
+                                           final String name) {
+        if (data.length > length()) {
+            throw new IllegalArgumentException(
+                    name + " array is larger than the address itself");
+        }
     }
 
     /**
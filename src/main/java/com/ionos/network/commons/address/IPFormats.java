@@ -1,9 +1,11 @@
 package com.ionos.network.commons.address;
 
-import java.io.IOException;
-
+import static com.ionos.network.commons.address.BitsAndBytes.BITS_PER_BYTE;
+import static com.ionos.network.commons.address.BitsAndBytes.BITS_PER_NIBBLE;
+import static com.ionos.network.commons.address.BitsAndBytes.BIT_MASK_NIBBLE;
 import static com.ionos.network.commons.address.BitsAndBytes.BYTE_MASK;
-import static com.ionos.network.commons.address.BitsAndBytes.appendHex;
+import static com.ionos.network.commons.address.BitsAndBytes.UBYTE_MAX_VALUE;
+import static com.ionos.network.commons.address.BitsAndBytes.USHORT_MAX_VALUE;
 
 /**
  * Text formatting alternatives for IP address in multiple notations.
@@ -13,28 +15,82 @@ import static com.ionos.network.commons.address.BitsAndBytes.appendHex;
  **/
 public final class IPFormats {
 
+    /** The number of 16 bit groups in an IPv6 address. */
+    private static final int HEXTETS = IPVersion.IPV6.getAddressBytes() / 2;
+
+    /** Maximum digits of a decimal byte. */
+    private static final int MAX_DIGITS_DEC_BYTE = 3;
+
+    /** Maximum hex digits of a hextet. */
+    private static final int MAX_DIGITS_HEXTET = Short.SIZE / BITS_PER_NIBBLE;
+
+    /** The radix of decimal numbers. */
+    private static final int DECIMAL_RADIX = 10;
+
+    /** The value of the hundreds digit of a decimal number. */
+    private static final int DECIMAL_HUNDRED = DECIMAL_RADIX * DECIMAL_RADIX;
+
+    /** Maximum length of an IPv4 address in dotted decimal notation. */
+    private static final int MAX_LENGTH_DOTTED_DECIMAL =
+            IPVersion.IPV4.getAddressBytes() * (MAX_DIGITS_DEC_BYTE + 1) - 1;
+
+    /** Number of digits of an IPv4 address in system id notation. */
+    private static final int DIGITS_SYSTEM_ID =
+            IPVersion.IPV4.getAddressBytes() * MAX_DIGITS_DEC_BYTE;
+
+    /** Maximum length of an IPv4 address in system id notation.
+     * Every two digits are followed by a space, except the last two.
+     * */
+    private static final int MAX_LENGTH_SYSTEM_ID =
+            DIGITS_SYSTEM_ID + DIGITS_SYSTEM_ID / 2 - 1;
+
+    /** The three decimal digits with leading zeros of each unsigned
+     * byte value. The digits of value {@code v} start at index
+     * {@code 3 * v}.
+     * */
+    private static final byte[] DECIMAL_BYTE_DIGITS =
+            new byte[(UBYTE_MAX_VALUE + 1) * MAX_DIGITS_DEC_BYTE];
+
+    static {
+        for (int i = 0; i <= UBYTE_MAX_VALUE; i++) {
+            final int digits = i * MAX_DIGITS_DEC_BYTE;
+            DECIMAL_BYTE_DIGITS[digits] = (byte) ('0' + i / DECIMAL_HUNDRED);
+            DECIMAL_BYTE_DIGITS[digits + 1] =
+                    (byte) ('0' + i / DECIMAL_RADIX % DECIMAL_RADIX);
+            DECIMAL_BYTE_DIGITS[digits + 2] =
+                    (byte) ('0' + i % DECIMAL_RADIX);
+        }
+    }
+
+    /** Maximum length of an IPv6 address in hextet notation. */
+    private static final int MAX_LENGTH_HEXTETS =
+            HEXTETS * (MAX_DIGITS_HEXTET + 1) - 1;
+
     /** IP formatter in dotted decimal notation, like {@code 172.20.0.11}.
      * @see <a href="https://en.wikipedia.org/wiki/Dot-decimal_notation">
      *     Dot-decimal notation</a>
      * @see IPParsers#DOTTED_DECIMAL
      * */
     public static final AddressFormat<IPv4> DOTTED_DECIMAL =
-            new AbstractAddressFormat<IPv4>() {
+            new AbstractAsciiAddressFormat<IPv4>(
+                    MAX_LENGTH_DOTTED_DECIMAL) {
                 @Override
-                public <A extends Appendable> A format(
-                        final IPv4 ip,
-                        final A toAppendTo)
-                        throws IOException {
-                    final byte[] address = ip.address;
+                public int format(final IPv4 ip,
+                                  final byte[] to,
+                                  final int offset) {
+                    final int address = ip.toInt();
+                    int index = offset;
                     // decimals with dot separators
-                    for (int i = 0; i < address.length; i++) {
-                        if (i > 0) {
-                            toAppendTo.append('.');
+                    for (int shift = Integer.SIZE - BITS_PER_BYTE;
+                         shift >= 0;
+                         shift -= BITS_PER_BYTE) {
+                        if (shift < Integer.SIZE - BITS_PER_BYTE) {
+                            to[index++] = (byte) '.';
                         }
-                        toAppendTo.append(Integer.toString(
-                                BYTE_MASK & address[i]));
+                        index = putDecimal(to, index,
+                                BYTE_MASK & address >>> shift);
                     }
-                    return toAppendTo;
+                    return index - offset;
                 }
     };
 
@@ -45,21 +101,13 @@ public final class IPFormats {
      * */
     public static final AddressFormat<IPv6>
             COLON_SEPARATED_HEXTETS =
-            new AbstractAddressFormat<IPv6>() {
+            new AbstractAsciiAddressFormat<IPv6>(MAX_LENGTH_HEXTETS) {
                 @Override
-                public <A extends Appendable> A format(
-                        final IPv6 ip,
-                        final A toAppendTo)
-                        throws IOException {
-                    final byte[] address = ip.address;
-                    // everything else goes HEX with word components
-                    for (int i = 0; i < address.length; i += 2) {
-                        if (i > 0) {
-                            toAppendTo.append(':');
-                        }
-                        appendHex(toAppendTo, address[i], address[i + 1]);
-                    }
-                    return toAppendTo;
+                public int format(final IPv6 ip,
+                                  final byte[] to,
+                                  final int offset) {
+                    return putHextets(ip, 0, HEXTETS, to, offset)
+                            - offset;
                 }
     };
 
@@ -83,30 +131,30 @@ public final class IPFormats {
      * */
     public static final AddressFormat<IPv6>
             RFC_5952 =
-            new AbstractAddressFormat<IPv6>() {
-                /** Find the maximum run of zero bytes in the address.
+            new AbstractAsciiAddressFormat<IPv6>(MAX_LENGTH_HEXTETS) {
+                /** Find the maximum run of zero hextets in the address.
                  * @param address the address to find the maximum sequence in.
-                 * @return a two-element array of offset and length in bytes.
-                 * Can both be
-                 * {@code -1} if no zero bnytes are found.
+                 * @return the offset of the run in hextets in the upper
+                 * 16 bits and the length of the run in hextets in the
+                 * lower 16 bits. Is {@code 0} if no zero hextets are
+                 * found.
                  * */
-                private int[] findCompressionOffsetAndLength(
-                        final byte[] address) {
+                private int findCompressionOffsetAndLength(
+                        final IPv6 address) {
                     // offset of longest 0-run
-                    int maxOfs = -1;
+                    int maxOfs = 0;
                     // length of longest 0-run
-                    int maxLen = -1;
+                    int maxLen = 0;
                     // start offset of current run
                     int curOfs = -1;
                     // length of current run
                     int curLen = 0;
-                    for (int i = 0; i < address.length; i += 2) {
-                        if (address[i] == 0
-                                    && address[i + 1] == 0) {
+                    for (int i = 0; i < HEXTETS; i++) {
+                        if (address.getHextet(i) == 0) {
                             if (curOfs == -1) {
                                 curOfs = i;
                             }
-                            curLen += 2;
+                            curLen++;
 
                             if (curLen > maxLen) {
                                 maxOfs = curOfs;
@@ -117,85 +165,66 @@ public final class IPFormats {
                            curOfs = -1;
                         }
                     }
-                    return new int[] {maxOfs, maxLen};
+                    return maxOfs << Short.SIZE | maxLen;
                 }
 
                 @Override
-                public <A extends Appendable> A format(
-                        final IPv6 ip,
-                        final A toAppendTo)
-                        throws IOException {
-                    final byte[] address = ip.address;
-
-                    final int[] offsetLength =
-                            findCompressionOffsetAndLength(address);
+                public int format(final IPv6 ip,
+                                  final byte[] to,
+                                  final int offset) {
+                    final int offsetLength =
+                            findCompressionOffsetAndLength(ip);
 
                     // offset of longest 0-run
-                    int maxOfs = offsetLength[0];
+                    final int maxOfs = offsetLength >>> Short.SIZE;
                     // length of longest 0-run
-                    int maxLen = offsetLength[1];
+                    final int maxLen = offsetLength & USHORT_MAX_VALUE;
 
-                    if (maxLen <= 2) {
-                        return COLON_SEPARATED_HEXTETS
-                                .format(ip, toAppendTo);
+                    if (maxLen <= 1) {
+                        return putHextets(ip, 0, HEXTETS, to, offset)
+                                - offset;
                     }
                     // left part
-                    for (int i = 0; i < maxOfs; i += 2) {
-                        if (i > 0) {
-                            toAppendTo.append(':');
-                        }
-                        appendHex(toAppendTo, address[i], address[i + 1]);
-                    }
-                    toAppendTo.append(':');
+                    int index = putHextets(ip, 0, maxOfs, to, offset);
+                    to[index++] = (byte) ':';
+                    to[index++] = (byte) ':';
 
                     // right part
-                    for (int i = maxOfs + maxLen; i < address.length; i += 2) {
-                        toAppendTo.append(':');
-                        appendHex(toAppendTo, address[i], address[i + 1]);
-                    }
-                    if (maxOfs + maxLen == address.length) {
-                        toAppendTo.append(':');
-                    }
-                    return toAppendTo;
+                    index = putHextets(ip, maxOfs + maxLen, HEXTETS,
+                            to, index);
+                    return index - offset;
                 }
             };
 
-    /** Maximum digits of a decimal byte. */
-    private static final int MAX_DIGITS_DEC_BYTE = 3;
-
     /** IP formatter in system id notation as used in IS-IS, like
      * {@code 00 10 01 00 10 01}.
      * */
     public static final AddressFormat<IPv4> SYSTEM_ID_NOTATION =
-            new AbstractAddressFormat<IPv4>() {
+            new AbstractAsciiAddressFormat<IPv4>(
+                    MAX_LENGTH_SYSTEM_ID) {
                     @Override
-                    public <A extends Appendable> A format(
-                            final IPv4 ip,
-                            final A toAppendTo)
-                            throws IOException {
-                        final byte[] address = ip.address;
+                    public int format(final IPv4 ip,
+                                      final byte[] to,
+                                      final int offset) {
+                        final int address = ip.toInt();
+                        int index = offset;
                         int count = 0;
 
-                        for (byte b : address) {
-                            String str = Integer.toString(b & BYTE_MASK);
-                            for (int i = str.length();
-                                 i < MAX_DIGITS_DEC_BYTE;
-                                 i++) {
-                                if (count > 0 && count % 2 == 0) {
-                                    toAppendTo.append(' ');
-                                }
-                                count++;
-                                toAppendTo.append('0');
-                            }
-                            for (char c : str.toCharArray()) {
+                        for (int shift = Integer.SIZE - BITS_PER_BYTE;
+                             shift >= 0;
+                             shift -= BITS_PER_BYTE) {
+                            final int digits = (BYTE_MASK & address >>> shift)
+                                    * MAX_DIGITS_DEC_BYTE;
+                            for (int i = 0; i < MAX_DIGITS_DEC_BYTE; i++) {
                                 if (count > 0 && count % 2 == 0) {
-                                    toAppendTo.append(' ');
+                                    to[index++] = (byte) ' ';
                                 }
                                 count++;
-                                toAppendTo.append(c);
+                                to[index++] =
+                                        DECIMAL_BYTE_DIGITS[digits + i];
                             }
                         }
-                        return toAppendTo;
+                        return index - offset;
                     }
             };
 
@@ -203,4 +232,58 @@ public final class IPFormats {
     private IPFormats() {
         // no instance allowed
     }
+
+    /** Stores an unsigned value as decimal without leading zeros.
+     * @param to the array to write the characters to.
+     * @param index the index in the array to write the first digit at.
+     * @param value the value between 0 and 255 to store.
+     * @return the index after the last digit.
+     * */
+    private static int putDecimal(final byte[] to,
+                                  final int index,
+                                  final int value) {
+        final int digits = value * MAX_DIGITS_DEC_BYTE;
+        int result = index;
+        if (value >= DECIMAL_HUNDRED) {
+            to[result++] = DECIMAL_BYTE_DIGITS[digits];
+        }
+        if (value >= DECIMAL_RADIX) {
+            to[result++] = DECIMAL_BYTE_DIGITS[digits + 1];
+        }
+        to[result++] = DECIMAL_BYTE_DIGITS[digits + 2];
+        return result;
+    }
+
+    /** Stores a range of hextets as hex without leading zeros,
+     * separated by colons.
+     * @param ip the address to take the hextets from.
+     * @param from the index of the first hextet, inclusive.
+     * @param until the index of the last hextet, exclusive.
+     * @param to the array to write the characters to.
+     * @param index the index in the array to write the first
+     *              character at.
+     * @return the index after the last character.
+     * */
+    private static int putHextets(final IPv6 ip,
+                                  final int from,
+                                  final int until,
+                                  final byte[] to,
+                                  final int index) {
+        int result = index;
+        for (int i = from; i < until; i++) {
+            if (i > from) {
+                to[result++] = (byte) ':';
+            }
+            final int hextet = ip.getHextet(i);
+            int shift = Short.SIZE - BITS_PER_NIBBLE;
+            while (shift > 0 && hextet >>> shift == 0) {
+                shift -= BITS_PER_NIBBLE;
+            }
+            for (; shift >= 0; shift -= BITS_PER_NIBBLE) {
+                to[result++] = (byte) BitsAndBytes.hexDigitLow(
+                        hextet >>> shift & BIT_MASK_NIBBLE);
+            }
+        }
+        return result;
+    }
 }
@@ -1,11 +1,10 @@
 package com.ionos.network.commons.address;
 
-import java.util.StringTokenizer;
+import java.util.Optional;
 
 import static com.ionos.network.commons.address.BitsAndBytes.BITS_PER_BYTE;
-import static com.ionos.network.commons.address.BitsAndBytes.USHORT_MAX_VALUE;
+import static com.ionos.network.commons.address.BitsAndBytes.BITS_PER_NIBBLE;
 import static com.ionos.network.commons.address.BitsAndBytes.BYTE_MASK;
-import static com.ionos.network.commons.address.BitsAndBytes.HEX_RADIX;
 
 /**
  * IP parser implementations to parse addresses from text notation.
@@ -20,19 +19,31 @@ public final class IPParsers {
 
     /**
      * Parses an IP address in every possible known format.
+     * Addresses containing a colon before the first dot are parsed
+     * as IPv6 addresses, all others as IPv4 addresses.
      */
     public static final AddressParser<IP> DEFAULT = new AddressParser<IP>() {
         private AddressParser<? extends IP> guess(final String address) {
-            AddressParser<? extends IP> result = guessIPv6(address);
+            final AddressParser<? extends IP> result =
+                    find(address, 0, address.length());
             if (result == null) {
-                boolean dot = address.contains(".");
-                if (dot) {
+                throw throwAddressFormatUnknown(address);
+            }
+            return result;
+        }
+
+        private AddressParser<? extends IP> find(final CharSequence address,
+                                                 final int start,
+                                                 final int end) {
+            for (int i = start; i < end; i++) {
+                final char c = address.charAt(i);
+                if (c == ':') {
+                    return IPV6;
+                } else if (c == '.') {
                     return DOTTED_DECIMAL;
-                } else {
-                    throw throwAddressFormatUnknown(address);
                 }
             }
-            return result;
+            return null;
         }
 
         public IP parse(final String address) {
@@ -45,93 +56,387 @@ public final class IPParsers {
             AddressParser<? extends IP> parser = guess(address);
             return parser.parseAsBytes(address);
         }
-    };
-
-
-    /**
-     * Parses an IPV6 address in every possible known format.
-     */
-    public static final AddressParser<IPv6> IPV6 = new AddressParser<IPv6>() {
 
-        public IPv6 parse(final String address) {
-            AddressParser<IPv6> parser = guessIPv6(address);
-            if (parser != null) {
-                return parser.parse(address);
-            } else {
-                throw throwAddressFormatUnknown(address);
+        @Override
+        public Optional<IP> tryParse(final String address) {
+            final AddressParser<? extends IP> parser =
+                    find(address, 0, address.length());
+            if (parser == null) {
+                return Optional.empty();
             }
+            return Optional.ofNullable(parser.tryParse(address).orElse(null));
         }
 
         @Override
-        public byte[] parseAsBytes(final String address) {
-            AddressParser<? extends IP> parser = guessIPv6(address);
-            if (parser != null) {
-                return parser.parseAsBytes(address);
-            } else {
-                throw throwAddressFormatUnknown(address);
+        public int tryParseAsBytes(final CharSequence address,
+                                   final int start,
+                                   final int end,
+                                   final byte[] to,
+                                   final int offset) {
+            final AddressParser<? extends IP> parser =
+                    find(address, start, end);
+            if (parser == null) {
+                return INVALID;
             }
+            return parser.tryParseAsBytes(address, start, end, to, offset);
         }
     };
 
+    /** Form flag of IPv6 addresses containing a {@code ::}. */
+    private static final int IPV6_COMPRESSED = 1;
+
+    /** Form flag of IPv6 addresses ending with a IPv4 address. */
+    private static final int IPV6_EMBEDDED_IPV4 = 2;
+
+    /** Form of IPv6 addresses that is accepted by parsers for any form. */
+    private static final int IPV6_ANY_FORM = -1;
+
+    /** Result of {@link #scanIPv6(CharSequence, int, int, byte[], int)}
+     * for malformed addresses. */
+    private static final int IPV6_MALFORMED = -1;
+
+    /** The number of hextets in a IPv6 address. */
+    private static final int IPV6_HEXTETS = 8;
+
+    /** The number of hextets a embedded IPv4 address replaces. */
+    private static final int IPV4_HEXTETS = 2;
+
+    /**
+     * Parses an IPV6 address in every possible known format.
+     * The address is parsed in a single pass.
+     * @see #RFC4291_1
+     * @see #RFC4291_2
+     * @see #RFC4291_3_FULL
+     * @see #RFC4291_3_COMPRESSED
+     */
+    public static final AddressParser<IPv6> IPV6 =
+            new IPv6Parser(IPV6_ANY_FORM);
+
     /**
      * Parses a IPv4 address in the decimal dot format.
      * @see IPFormats#DOTTED_DECIMAL
+     * @see #parseIPv4(CharSequence, int, int)
      */
     public static final AddressParser<IPv4> DOTTED_DECIMAL =
-            new AbstractIPv4Parser() {
+            new AddressParser<IPv4>() {
+                @Override
+                public IPv4 parse(final String address) {
+                    return new IPv4(parseIPv4(address, 0, address.length()));
+                }
+
                 @Override
                 public byte[] parseAsBytes(final String address) {
-                    StringTokenizer stringTokenizer = new StringTokenizer(
-                            address, ".");
-                    if (stringTokenizer.countTokens()
-                            != IPVersion.IPV4.getAddressBytes()) {
-                        throw throwWrongNumberOfComponents(address);
-                    }
                     byte[] result = new byte[IPVersion.IPV4.getAddressBytes()];
+                    BitsAndBytes.putInt(result, 0,
+                            parseIPv4(address, 0, address.length()));
+                    return result;
+                }
 
-                    for (int i = 0; stringTokenizer.hasMoreTokens(); i++) {
-                        String component = stringTokenizer.nextToken();
-                        int val = Integer.parseInt(component);
+                @Override
+                public Optional<IPv4> tryParse(final String address) {
+                    final long result =
+                            tryParseIPv4(address, 0, address.length());
+                    if (result == INVALID_IPV4) {
+                        return Optional.empty();
+                    }
+                    return Optional.of(new IPv4((int) result));
+                }
 
-                        if (val < 0 || val > BYTE_MASK) {
-                            throw throwOutOfRange(component, address);
-                        }
-                        result[i] = (byte) val;
+                @Override
+                public int tryParseAsBytes(final CharSequence address,
+                                           final int start,
+                                           final int end,
+                                           final byte[] to,
+                                           final int offset) {
+                    final long result = tryParseIPv4(address, start, end);
+                    if (result == INVALID_IPV4) {
+                        return INVALID;
                     }
-                    return result;
+                    BitsAndBytes.putInt(to, offset, (int) result);
+                    return IPVersion.IPV4.getAddressBytes();
                 }
             };
 
-    private static byte[] parseColonHexVariableLength(final String address) {
-        int numbers = new StringTokenizer(address, ":", false).countTokens();
-        StringTokenizer stringTokenizer =
-                new StringTokenizer(address, ":", true);
-
-        boolean expectNumber = true;
-        byte[] result = new byte[2 * numbers];
-        int i = 0;
-        while (stringTokenizer.hasMoreTokens()) {
-            String component = stringTokenizer.nextToken();
-            if (component.length() == 0
-                    || component.length() > IPV6_BLOCK_MAX) {
-                throw throwOutOfRange(component, address);
+    /**
+     * The value returned by the {@code tryParseIPv4} methods for input
+     * that is not a IPv4 address in the decimal dot format.
+     * @see #tryParseIPv4(CharSequence, int, int)
+     */
+    public static final long INVALID_IPV4 = -1L;
+
+    /** The number of dots in a IPv4 address in the decimal dot format. */
+    private static final int IPV4_DOTS = 3;
+
+    /** The radix for decimal numbers. */
+    private static final int DECIMAL_RADIX = 10;
+
+    /** Mask for the 32 bits of an unsigned int in a long. */
+    private static final long UINT_MASK = 0xffffffffL;
+
+    /**
+     * Parses a IPv4 address in the decimal dot format from a part of
+     * a character sequence. The address is parsed in a single pass
+     * without creating any objects.
+     * @param address the characters to parse the address from.
+     * @param start the index of the first character of the address.
+     * @param end the index after the last character of the address.
+     * @return the address bits as an int, see {@link IPv4#IPv4(int)}.
+     * @throws NullPointerException if the address was {@code null}.
+     * @throws IllegalArgumentException if the input address was malformed.
+     * @see #tryParseIPv4(CharSequence, int, int)
+     */
+    public static int parseIPv4(final CharSequence address,
+                                final int start,
+                                final int end) {
+        final long result = tryParseIPv4(address, start, end);
+        if (result == INVALID_IPV4) {
+            throw throwMalformed(address.subSequence(start, end).toString());
+        }
+        return (int) result;
+    }
+
+    /**
+     * Parses a IPv4 address in the decimal dot format from a part of
+     * a character sequence without throwing an exception for
+     * malformed input. The address is parsed in a single pass
+     * without creating any objects.
+     * @param address the characters to parse the address from.
+     * @param start the index of the first character of the address.
+     * @param end the index after the last character of the address.
+     * @return the address bits as an unsigned int value, or
+     * {@link #INVALID_IPV4} if the characters are no IPv4 address.
+     * Cast the value to an int to get the address bits.
+     * @throws NullPointerException if the address was {@code null}.
+     */
+    public static long tryParseIPv4(final CharSequence address,
+                                    final int start,
+                                    final int end) {
+        return tryParseIPv4(address, null, null, start, end);
+    }
+
+    /**
+     * Parses a IPv4 address in the decimal dot format from a part of
+     * a character array without throwing an exception for
+     * malformed input.
+     * @param address the characters to parse the address from.
+     * @param start the index of the first character of the address.
+     * @param end the index after the last character of the address.
+     * @return the address bits as an unsigned int value, or
+     * {@link #INVALID_IPV4} if the characters are no IPv4 address.
+     * @throws NullPointerException if the address was {@code null}.
+     * @see #tryParseIPv4(CharSequence, int, int)
+     */
+    public static long tryParseIPv4(final char[] address,
+                                    final int start,
+                                    final int end) {
+        return tryParseIPv4(null, address, null, start, end);
+    }
+
+    /**
+     * Parses a IPv4 address in the decimal dot format from a part of
+     * an array of ASCII characters without throwing an exception for
+     * malformed input.
+     * @param address the ASCII characters to parse the address from.
+     * @param start the index of the first character of the address.
+     * @param end the index after the last character of the address.
+     * @return the address bits as an unsigned int value, or
+     * {@link #INVALID_IPV4} if the characters are no IPv4 address.
+     * @throws NullPointerException if the address was {@code null}.
+     * @see #tryParseIPv4(CharSequence, int, int)
+     */
+    public static long tryParseIPv4(final byte[] address,
+                                    final int start,
+                                    final int end) {
+        return tryParseIPv4(null, null, address, start, end);
+    }
+
+    /** Parses a IPv4 address in the decimal dot format from exactly
+     * one of three kinds of character sources. This is the only state
+     * machine of the public {@code tryParseIPv4} methods. Each of them
+     * passes {@code null} for the other two sources, so once the
+     * method is inlined, the compiler drops the checks for the
+     * sources that are not used and the access stays monomorphic.
+     * @param sequence the characters, or {@code null}.
+     * @param chars the characters, or {@code null}.
+     * @param bytes the ASCII characters, or {@code null}.
+     * @param start the index of the first character of the address.
+     * @param end the index after the last character of the address.
+     * @return the address bits as an unsigned int value, or
+     * {@link #INVALID_IPV4} if the characters are no IPv4 address.
+     * */
+    private static long tryParseIPv4(final CharSequence sequence,
+                                     final char[] chars,
+                                     final byte[] bytes,
+                                     final int start,
+                                     final int end) {
+        int result = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = start; i < end; i++) {
+            final int c;
+            if (bytes != null) {
+                c = bytes[i];
+            } else if (chars != null) {
+                c = chars[i];
+            } else {
+                c = sequence.charAt(i);
             }
-            if (expectNumber) {
-                if (":".equals(component)) {
-                    throw throwMalformed(address);
+            if (c >= '0' && c <= '9') {
+                octet = octet * DECIMAL_RADIX + c - '0';
+                if (octet > BYTE_MASK) {
+                    return INVALID_IPV4;
                 }
-                int val = Integer.parseInt(component, HEX_RADIX);
-                if (val < 0 || val > USHORT_MAX_VALUE) {
-                    throw throwOutOfRange(component, address);
+                digits++;
+            } else if (c == '.' && digits != 0 && dots < IPV4_DOTS) {
+                result = result << BITS_PER_BYTE | octet;
+                octet = 0;
+                digits = 0;
+                dots++;
+            } else {
+                return INVALID_IPV4;
+            }
+        }
+        return toIPv4Result(result, octet, digits, dots);
+    }
+
+    /** Finishes parsing a IPv4 address after the last character.
+     * @param result the octets parsed before the last dot.
+     * @param octet the value of the last octet.
+     * @param digits the number of digits of the last octet.
+     * @param dots the number of dots seen.
+     * @return the address as an unsigned int value, or
+     * {@link #INVALID_IPV4} if the address is incomplete.
+     * */
+    private static long toIPv4Result(final int result,
+                                     final int octet,
+                                     final int digits,
+                                     final int dots) {
+        if (digits == 0 || dots != IPV4_DOTS) {
+            return INVALID_IPV4;
+        }
+        return (result << BITS_PER_BYTE | octet) & UINT_MASK;
+    }
+
+    /**
+     * Parses a IPv6 address in all forms of RFC 4291 in a single pass
+     * without creating any objects.
+     * Hextets are shifted into the 128 bit result one after the other.
+     * The hextets left of a {@code ::} are shifted to their final
+     * position at the end.
+     * @param address the characters to parse the address from.
+     * @param start the index of the first character of the address.
+     * @param end the index after the last character of the address.
+     * @param to the array to write the address bytes to.
+     * @param offset the index in {@code to} to write the first byte to.
+     * @return the form flags of the address, or {@link #IPV6_MALFORMED}.
+     * @see #IPV6_COMPRESSED
+     * @see #IPV6_EMBEDDED_IPV4
+     */
+    private static int scanIPv6(final CharSequence address,
+                                final int start,
+                                final int end,
+                                final byte[] to,
+                                final int offset) {
+        long high = 0;
+        long low = 0;
+        long leftHigh = 0;
+        long leftLow = 0;
+        int leftHextets = -1;
+        int hextets = 0;
+        int hextet = 0;
+        int digits = 0;
+        int hextetStart = start;
+        int form = 0;
+        boolean colon = false;
+
+        int i = start;
+        if (end - start >= 2
+                && address.charAt(start) == ':'
+                && address.charAt(start + 1) == ':') {
+            leftHextets = 0;
+            form |= IPV6_COMPRESSED;
+            colon = true;
+            i += 2;
+            hextetStart = i;
+        }
+        for (; i < end; i++) {
+            final char c = address.charAt(i);
+            final int digit = BitsAndBytes.hexValue(c);
+            if (digit >= 0) {
+                if (digits == IPV6_BLOCK_MAX) {
+                    return IPV6_MALFORMED;
                 }
-                result[i++] = (byte) (val >>> BITS_PER_BYTE);
-                result[i++] = (byte) val;
-            } else if (!":".equals(component)) {
-                throw throwMalformed(address);
+                hextet = hextet << BITS_PER_NIBBLE | digit;
+                digits++;
+            } else if (c == ':' && digits != 0) {
+                high = high << Short.SIZE | low >>> (Long.SIZE - Short.SIZE);
+                low = low << Short.SIZE | hextet;
+                hextets++;
+                hextet = 0;
+                digits = 0;
+                colon = true;
+                if (i + 1 < end && address.charAt(i + 1) == ':') {
+                    if (leftHextets != -1) {
+                        return IPV6_MALFORMED;
+                    }
+                    leftHextets = hextets;
+                    leftHigh = high;
+                    leftLow = low;
+                    high = 0;
+                    low = 0;
+                    hextets = 0;
+                    form |= IPV6_COMPRESSED;
+                    i++;
+                } else if (i + 1 == end) {
+                    return IPV6_MALFORMED;
+                }
+                hextetStart = i + 1;
+            } else if (c == '.' && digits != 0 && colon) {
+                // the hextet digits so far are the first IPv4 octet
+                final long ipv4 = tryParseIPv4(address, hextetStart, end);
+                if (ipv4 == INVALID_IPV4) {
+                    return IPV6_MALFORMED;
+                }
+                high = high << Integer.SIZE | low >>> Integer.SIZE;
+                low = low << Integer.SIZE | ipv4;
+                hextets += IPV4_HEXTETS;
+                digits = 0;
+                form |= IPV6_EMBEDDED_IPV4;
+                break;
+            } else {
+                return IPV6_MALFORMED;
+            }
+        }
+        if (digits != 0) {
+            high = high << Short.SIZE | low >>> (Long.SIZE - Short.SIZE);
+            low = low << Short.SIZE | hextet;
+            hextets++;
+        }
+
+        if (leftHextets == -1) {
+            if (hextets != IPV6_HEXTETS) {
+                return IPV6_MALFORMED;
             }
-            expectNumber = !expectNumber;
+            BitsAndBytes.putLong(to, offset, high);
+            BitsAndBytes.putLong(to, offset + Long.BYTES, low);
+            return form;
         }
-        return result;
+        if (leftHextets + hextets >= IPV6_HEXTETS) {
+            return IPV6_MALFORMED;
+        }
+        // move the hextets left of the '::' to the top
+        final int shift = (IPV6_HEXTETS - leftHextets) * Short.SIZE;
+        if (shift >= Long.SIZE) {
+            leftHigh = leftLow << (shift - Long.SIZE);
+            leftLow = 0;
+        } else {
+            leftHigh = leftHigh << shift | leftLow >>> (Long.SIZE - shift);
+            leftLow = leftLow << shift;
+        }
+        BitsAndBytes.putLong(to, offset, leftHigh | high);
+        BitsAndBytes.putLong(to, offset + Long.BYTES, leftLow | low);
+        return form;
     }
 
     /**
@@ -141,17 +446,7 @@ public final class IPParsers {
      * @see <a href="http://tools.ietf.org/html/rfc4291#section-2.2">
      *     RFC 4291, Section 2.2</a>
      */
-    public static final AddressParser<IPv6> RFC4291_1 =
-            new AbstractIPv6Parser() {
-                @Override
-                public byte[] parseAsBytes(final String address) {
-                    byte[] result = parseColonHexVariableLength(address);
-                    if (result.length != IPVersion.IPV6.getAddressBytes()) {
-                        throw throwWrongNumberOfComponents(address);
-                    }
-                    return result;
-                }
-            };
+    public static final AddressParser<IPv6> RFC4291_1 = new IPv6Parser(0);
 
     /**
      * Parses a IPv6 address in RFC 4291 variant 2.
@@ -161,45 +456,7 @@ public final class IPParsers {
      *     RFC 4291, Section 2.2</a>
      */
     public static final AddressParser<IPv6> RFC4291_2 =
-            new AbstractIPv6Parser() {
-                @Override
-                public byte[] parseAsBytes(final String address) {
-                    int doubleDotIndex = address.indexOf("::");
-                    if (doubleDotIndex == -1) {
-                        throw new IllegalArgumentException(
-                                "Not a RFC4291-2 address: " + address);
-                    }
-                    String left = address.substring(0, doubleDotIndex);
-                    String right = address.substring(doubleDotIndex + 2);
-
-                    byte[] leftComponents = parseColonHexVariableLength(left);
-                    byte[] rightComponents = parseColonHexVariableLength(right);
-
-                    int rightOffset = IPVersion.IPV6.getAddressBytes()
-                            - rightComponents.length;
-
-                    if (leftComponents.length + rightComponents.length
-                            >= IPVersion.IPV6.getAddressBytes()) {
-                        throw new IllegalArgumentException("Too long address "
-                                + address);
-                    }
-                    byte[] result = new byte[IPVersion.IPV6.getAddressBytes()];
-                    System.arraycopy(
-                            leftComponents,
-                            0,
-                            result,
-                            0,
-                            leftComponents.length);
-                    System.arraycopy(
-                            rightComponents,
-                            0,
-                            result,
-                            rightOffset,
-                            rightComponents.length);
-
-                    return result;
-                }
-            };
+            new IPv6Parser(IPV6_COMPRESSED);
 
     /**
      * Parses a IPv6 address in RFC 4291 variant 3, full form.
@@ -209,41 +466,7 @@ public final class IPParsers {
      *     RFC 4291, Section 2.2</a>
      */
     public static final AddressParser<IPv6> RFC4291_3_FULL =
-            new AbstractIPv6Parser() {
-                @Override
-                public byte[] parseAsBytes(final String address) {
-                    int lastColon = address.lastIndexOf(':');
-                    if (lastColon == -1) {
-                        throw throwExpected(":", address);
-                    }
-                    byte[] ipv6Part = parseColonHexVariableLength(
-                            address.substring(0, lastColon));
-                    if (ipv6Part.length != IPVersion.IPV6.getAddressBytes()
-                            - IPVersion.IPV4.getAddressBytes()) {
-                        throw throwWrongNumberOfComponents(address);
-                    }
-
-                    byte[] ipv4Part = DOTTED_DECIMAL.parseAsBytes(
-                            address.substring(lastColon + 1));
-
-                    byte[] result = new byte[IPVersion.IPV6.getAddressBytes()];
-
-                    System.arraycopy(
-                            ipv6Part,
-                            0,
-                            result,
-                            0,
-                            ipv6Part.length);
-                    System.arraycopy(ipv4Part,
-                            0,
-                            result,
-                            IPVersion.IPV6.getAddressBytes()
-                                    - IPVersion.IPV4.getAddressBytes(),
-                            ipv4Part.length);
-
-                    return result;
-                }
-            };
+            new IPv6Parser(IPV6_EMBEDDED_IPV4);
 
     /**
      * Parses a IPv6 address in RFC 4291 variant 3, compressed form.
@@ -253,84 +476,75 @@ public final class IPParsers {
      *     RFC 4291, Section 2.2</a>
      */
     public static final AddressParser<IPv6> RFC4291_3_COMPRESSED =
-            new AbstractIPv6Parser() {
-                @Override
-                public byte[] parseAsBytes(final String address) {
-                    int doubleColon = address.indexOf("::");
-                    if (doubleColon == -1) {
-                        throw throwExpected("::", address);
-                    }
-                    int lastColon = address.lastIndexOf(':');
-
-                    byte[] leftV6Components = parseColonHexVariableLength(
-                            address.substring(0, doubleColon));
-                    byte[] rightV6Components;
-                    if (lastColon > doubleColon + 1) {
-                        rightV6Components = parseColonHexVariableLength(
-                                address.substring(doubleColon + 2, lastColon));
-                    } else {
-                        rightV6Components = new byte[0];
-                    }
-                    int rightOffset = IPVersion.IPV6.getAddressBytes()
-                            - IPVersion.IPV4.getAddressBytes()
-                            - rightV6Components.length;
-                    byte[] v4Components = DOTTED_DECIMAL.parseAsBytes(
-                            address.substring(lastColon + 1));
-
-                    byte[] result = new byte[IPVersion.IPV6.getAddressBytes()];
-                    System.arraycopy(leftV6Components,
-                            0,
-                            result,
-                            0,
-                            leftV6Components.length);
-                    System.arraycopy(rightV6Components,
-                            0,
-                            result,
-                            rightOffset, rightV6Components.length);
-                    System.arraycopy(v4Components,
-                            0,
-                            result,
-                            IPVersion.IPV6.getAddressBytes()
-                                    - IPVersion.IPV4.getAddressBytes(),
-                            v4Components.length);
-
-                    return result;
-                }
-            };
+            new IPv6Parser(IPV6_COMPRESSED | IPV6_EMBEDDED_IPV4);
 
     /** No instance allowed. */
     private IPParsers() {
         // no instance allowed
     }
 
-    private abstract static class AbstractIPv4Parser
-            implements AddressParser<IPv4> {
-        public IPv4 parse(final String address) {
-            return new IPv4(parseAsBytes(address));
+    /** Parser for IPv6 addresses in one or all forms of RFC 4291. */
+    private static final class IPv6Parser implements AddressParser<IPv6> {
+        /** The accepted form flags, or {@link #IPV6_ANY_FORM}. */
+        private final int acceptedForm;
+
+        /** Creates a parser.
+         * @param inAcceptedForm the accepted form flags,
+         *                       or {@link #IPV6_ANY_FORM}.
+         * */
+        IPv6Parser(final int inAcceptedForm) {
+            this.acceptedForm = inAcceptedForm;
         }
-    }
 
-    private abstract static class AbstractIPv6Parser
-            implements AddressParser<IPv6> {
+        @Override
         public IPv6 parse(final String address) {
             return new IPv6(parseAsBytes(address));
         }
-    }
 
-    private static IllegalArgumentException throwExpected(
-            final String component,
-            final String address) {
-        return new IllegalArgumentException("Expected '"
-                + component + "' in address '"
-                + address + "', but couldn't find");
-    }
+        @Override
+        public byte[] parseAsBytes(final String address) {
+            final byte[] result = new byte[IPVersion.IPV6.getAddressBytes()];
+            final int form = scanIPv6(address, 0, address.length(),
+                    result, 0);
+            if (form == IPV6_MALFORMED) {
+                throw throwMalformed(address);
+            }
+            if (!isAccepted(form)) {
+                throw throwAddressFormatUnknown(address);
+            }
+            return result;
+        }
 
-    private static IllegalArgumentException throwOutOfRange(
-            final String component,
-            final String address) {
-        return new IllegalArgumentException("Component '"
-                + component + "' of address '"
-                + address + "' is out of range");
+        @Override
+        public Optional<IPv6> tryParse(final String address) {
+            final byte[] result = new byte[IPVersion.IPV6.getAddressBytes()];
+            if (tryParseAsBytes(address, 0, address.length(), result, 0)
+                    == INVALID) {
+                return Optional.empty();
+            }
+            return Optional.of(new IPv6(result));
+        }
+
+        @Override
+        public int tryParseAsBytes(final CharSequence address,
+                                   final int start,
+                                   final int end,
+                                   final byte[] to,
+                                   final int offset) {
+            final int form = scanIPv6(address, start, end, to, offset);
+            if (form == IPV6_MALFORMED || !isAccepted(form)) {
+                return INVALID;
+            }
+            return IPVersion.IPV6.getAddressBytes();
+        }
+
+        /** Checks whether this parser accepts a form.
+         * @param form the form flags of a parsed address.
+         * @return {@code true} if the form is accepted.
+         * */
+        private boolean isAccepted(final int form) {
+            return acceptedForm == IPV6_ANY_FORM || form == acceptedForm;
+        }
     }
 
     private static IllegalArgumentException throwMalformed(
@@ -339,36 +553,9 @@ public final class IPParsers {
                 + address + "' is malformed");
     }
 
-    private static IllegalArgumentException throwWrongNumberOfComponents(
-            final String address) {
-        return new IllegalArgumentException("Address '"
-                + address + "' has wrong number of components");
-    }
-
     private static IllegalArgumentException throwAddressFormatUnknown(
             final String address) {
         return new IllegalArgumentException("Address '"
                 + address + "' has an unknown format");
     }
-
-    private static AddressParser<IPv6> guessIPv6(
-            final String address) {
-        boolean doubleColon = address.contains("::");
-        boolean colon = address.contains(":");
-        boolean dot = address.contains(".");
-        if (doubleColon) {
-            if (dot) {
-                return RFC4291_3_COMPRESSED;
-            } else {
-                return RFC4291_2;
-            }
-        } else {
-            if (dot && colon) {
-                return RFC4291_3_FULL;
-            } else if (colon) {
-                return RFC4291_1;
-            }
-        }
-        return null;
-    }
 }
@@ -0,0 +1,402 @@
+package com.ionos.network.commons.address;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A range of consecutive IP addresses from a first to a last address,
+ * both inclusive.
+ * Unlike a {@link Network}, a range does not need to start or end at
+ * a prefix boundary. Every range can be written as a list of networks,
+ * see {@link #networkIterator()}.
+ * <br>
+ * Example:
+ * <pre>{@code
+ * IPRange<IPv4> range = new IPRange<>(
+ *     new IPv4("192.168.0.1"), new IPv4("192.168.0.6"));
+ * range.toNetworks(); // 192.168.0.1/32, 192.168.0.2/31,
+ *                     // 192.168.0.4/31, 192.168.0.6/32
+ * }</pre>
+ * Objects of the IPRange class are immutable!
+ * @param <T> the IP address type of the range.
+ * @see Network#rangeFrom(IP, IP)
+ * @author Stephan Fuhrmann
+ */
+public final class IPRange<T extends IP<T>>
+        implements Iterable<T>, Serializable {
+
+    /** The version number of this class. */
+    private static final long serialVersionUID = 7316504720981834522L;
+
+    /** The multiplier for combining hash codes. */
+    private static final int HASH_MULTIPLIER = 31;
+
+    /** The first address of the range. */
+    private final T first;
+
+    /** The last address of the range. */
+    private final T last;
+
+    /**
+     * Creates a range.
+     * @param inFirst the first address of the range, inclusive.
+     * @param inLast the last address of the range, inclusive.
+     * @throws NullPointerException if one of the addresses is
+     * {@code null}.
+     * @throws IllegalArgumentException if the first address is
+     * bigger than the last address, or the IP versions don't match.
+     */
+    public IPRange(final T inFirst, final T inLast) {
+        Objects.requireNonNull(inFirst, "start IP is null");
+        Objects.requireNonNull(inLast, "end IP is null");
+        if (inFirst.getIPVersion() != inLast.getIPVersion()) {
+            throw new IllegalArgumentException(
+                    "IP versions of start and end do not match");
+        }
+        if (UInt128.compare(UInt128.high(inFirst), UInt128.low(inFirst),
+                UInt128.high(inLast), UInt128.low(inLast)) > 0) {
+            throw new IllegalArgumentException(
+                    "start IP must be smaller or equal to end IP");
+        }
+        this.first = inFirst;
+        this.last = inLast;
+    }
+
+    /**
+     * Creates a range with the addresses of a network.
+     * @param network the network to get the addresses from.
+     * @throws NullPointerException if the network is {@code null}.
+     */
+    public IPRange(final Network<T> network) {
+        this(network.getAddress(), network.getBroadcast());
+    }
+
+    /**
+     * Get the first address.
+     * @return the first address of the range, inclusive.
+     */
+    public T getFirst() {
+        return first;
+    }
+
+    /**
+     * Get the last address.
+     * @return the last address of the range, inclusive.
+     */
+    public T getLast() {
+        return last;
+    }
+
+    /**
+     * Get the IP version.
+     * @return the IP version of the addresses of the range.
+     */
+    public IPVersion getIPVersion() {
+        return first.getIPVersion();
+    }
+
+    /**
+     * Get the number of addresses.
+     * @return the number of addresses in the range, at least 1.
+     * @see #getSizeSaturated()
+     */
+    public BigInteger getSize() {
+        final long lowDiff = UInt128.low(last) - UInt128.low(first);
+        final long highDiff = UInt128.high(last) - UInt128.high(first)
+                - borrow(UInt128.low(last), UInt128.low(first));
+        final byte[] difference = new byte[2 * Long.BYTES];
+        BitsAndBytes.putLong(difference, 0, highDiff);
+        BitsAndBytes.putLong(difference, Long.BYTES, lowDiff);
+        return new BigInteger(1, difference).add(BigInteger.ONE);
+    }
+
+    /**
+     * Get the number of addresses without allocating.
+     * @return the number of addresses in the range, or
+     * {@link Long#MAX_VALUE} if there are more.
+     * @see #getSize()
+     */
+    public long getSizeSaturated() {
+        final long lowDiff = UInt128.low(last) - UInt128.low(first);
+        final long highDiff = UInt128.high(last) - UInt128.high(first)
+                - borrow(UInt128.low(last), UInt128.low(first));
+        if (highDiff != 0 || lowDiff < 0 || lowDiff == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return lowDiff + 1;
+    }
+
+    /**
+     * Checks whether an address is in this range.
+     * @param ip the address to check.
+     * @return {@code true} if the address is between the first and the
+     * last address of this range.
+     * @throws NullPointerException if the address is {@code null}.
+     */
+    public boolean contains(final T ip) {
+        final long high = UInt128.high(ip);
+        final long low = UInt128.low(ip);
+        return UInt128.compare(UInt128.high(first), UInt128.low(first),
+                high, low) <= 0
+                && UInt128.compare(high, low,
+                UInt128.high(last), UInt128.low(last)) <= 0;
+    }
+
+    /**
+     * Checks whether a range is completely in this range.
+     * @param other the range to check.
+     * @return {@code true} if all addresses of the other range are
+     * in this range.
+     * @throws NullPointerException if the other range is {@code null}.
+     */
+    public boolean contains(final IPRange<T> other) {
+        return contains(other.first) && contains(other.last);
+    }
+
+    /**
+     * Checks whether a range has addresses in common with this range.
+     * @param other the range to check.
+     * @return {@code true} if at least one address is in both ranges.
+     * @throws NullPointerException if the other range is {@code null}.
+     */
+    public boolean overlaps(final IPRange<T> other) {
+        return compare(first, other.last) <= 0
+                && compare(other.first, last) <= 0;
+    }
+
+    /**
+     * Get the addresses that are in both ranges.
+     * @param other the other range.
+     * @return the range of the addresses in both ranges, or an empty
+     * optional if the ranges do not overlap.
+     * @throws NullPointerException if the other range is {@code null}.
+     */
+    public Optional<IPRange<T>> intersection(final IPRange<T> other) {
+        if (!overlaps(other)) {
+            return Optional.empty();
+        }
+        final T start = compare(first, other.first) >= 0
+                ? first : other.first;
+        final T end = compare(last, other.last) <= 0
+                ? last : other.last;
+        return Optional.of(new IPRange<>(start, end));
+    }
+
+    /**
+     * Get the smallest list of networks covering exactly this range.
+     * @return the networks in ascending order.
+     * @see #networkIterator()
+     */
+    public List<Network<T>> toNetworks() {
+        final List<Network<T>> result = new ArrayList<>();
+        networkIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Get the smallest list of networks covering exactly this range
+     * lazily.
+     * Each network is the biggest one that starts at the current
+     * address: its size is limited by the trailing zero bits of the
+     * address and by the highest one bit of the number of remaining
+     * addresses. A range has at most two networks per prefix length.
+     * @return an iterator over the networks in ascending order.
+     * @see #toNetworks()
+     * @see #networkStream()
+     */
+    public Iterator<Network<T>> networkIterator() {
+        return new NetworkIterator<>(this);
+    }
+
+    /**
+     * Get the smallest list of networks covering exactly this range
+     * lazily.
+     * @return a sequential ordered stream of the networks.
+     * @see #networkIterator()
+     */
+    public Stream<Network<T>> networkStream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                networkIterator(), Spliterator.ORDERED | Spliterator.DISTINCT
+                        | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Returns an iterator over the IP addresses within this range.
+     * <br>
+     * There could be more IPs in a range than your computer can process.
+     * @return an iterator from the first to the last address.
+     * @see #stream()
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(ipSpliterator());
+    }
+
+    /**
+     * Returns a stream of the IPs within this range.
+     * <br>
+     * There could be more IPs in a range than your computer can process.
+     * @return a stream from the first to the last address.
+     * @see #iterator()
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(ipSpliterator(), false);
+    }
+
+    /**
+     * Creates a spliterator over the IP addresses of this range.
+     * @return a sorted spliterator from the first to the last address.
+     */
+    private Spliterator<T> ipSpliterator() {
+        return AddressRangeSpliterator.of(first, last, 0,
+                Function.<T>identity(),
+                AddressComparators.UNSIGNED_BYTE_COMPARATOR);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IPRange)) {
+            return false;
+        }
+        final IPRange<?> other = (IPRange<?>) o;
+        return first.equals(other.first) && last.equals(other.last);
+    }
+
+    @Override
+    public int hashCode() {
+        return first.hashCode() * HASH_MULTIPLIER + last.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return first + "-" + last;
+    }
+
+    /** Compares two addresses as unsigned numbers.
+     * @param left the left address.
+     * @param right the right address.
+     * @param <T> the IP address type.
+     * @return a negative value, zero or a positive value if the left
+     * address is less, equal or greater than the right address.
+     * */
+    private static <T extends IP<T>> int compare(final T left,
+                                                 final T right) {
+        return UInt128.compare(UInt128.high(left), UInt128.low(left),
+                UInt128.high(right), UInt128.low(right));
+    }
+
+    /** Get the borrow of subtracting two unsigned longs.
+     * @param minuend the value to subtract from.
+     * @param subtrahend the value to subtract.
+     * @return 1 if the subtraction wraps, else 0.
+     * */
+    private static long borrow(final long minuend, final long subtrahend) {
+        return Long.compareUnsigned(minuend, subtrahend) < 0 ? 1 : 0;
+    }
+
+    /** Iterates the minimal networks of a range with 128 bit
+     * arithmetic on two longs.
+     * @param <T> the IP address type of the range.
+     * */
+    private static final class NetworkIterator<T extends IP<T>>
+            implements Iterator<Network<T>> {
+        /** The IP version of the range. */
+        private final IPVersion ipVersion;
+
+        /** The upper bits of the last address. */
+        private final long lastHigh;
+
+        /** The lower bits of the last address. */
+        private final long lastLow;
+
+        /** The upper bits of the next network address. */
+        private long high;
+
+        /** The lower bits of the next network address. */
+        private long low;
+
+        /** Whether the last network was returned. */
+        private boolean done;
+
+        /** Creates an iterator.
+         * @param range the range to decompose.
+         * */
+        NetworkIterator(final IPRange<T> range) {
+            this.ipVersion = range.getIPVersion();
+            this.high = UInt128.high(range.first);
+            this.low = UInt128.low(range.first);
+            this.lastHigh = UInt128.high(range.last);
+            this.lastLow = UInt128.low(range.last);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !done;
+        }
+
+        @Override
+        public Network<T> next() {
+            if (done) {
+                throw new NoSuchElementException();
+            }
+            // count = last - next + 1, zero if it wraps to 2^128
+            final long countLow = lastLow - low + 1;
+            final long countHigh = lastHigh - high - borrow(lastLow, low)
+                    + (countLow == 0 ? 1 : 0);
+            final int countBits = countHigh != 0
+                    ? 2 * Long.SIZE - 1 - Long.numberOfLeadingZeros(countHigh)
+                    : countLow != 0
+                    ? Long.SIZE - 1 - Long.numberOfLeadingZeros(countLow)
+                    : 2 * Long.SIZE;
+            final int alignBits = low != 0
+                    ? Long.numberOfTrailingZeros(low)
+                    : Long.SIZE + Long.numberOfTrailingZeros(high);
+            final int bits = Math.min(Math.min(countBits, alignBits),
+                    ipVersion.getAddressBits());
+            final Network<T> result = new Network<>(
+                    UInt128.<T>toIP(ipVersion, high, low),
+                    ipVersion.getAddressBits() - bits);
+            if (bits == countBits && isPowerOfTwo(countHigh, countLow)) {
+                // the network reaches the last address
+                done = true;
+            } else if (bits >= Long.SIZE) {
+                high += 1L << (bits - Long.SIZE);
+            } else {
+                final long next = low + (1L << bits);
+                if (Long.compareUnsigned(next, low) < 0) {
+                    high++;
+                }
+                low = next;
+            }
+            return result;
+        }
+
+        /** Checks whether a 128 bit value has at most one bit set.
+         * @param high the upper bits of the value.
+         * @param low the lower bits of the value.
+         * @return {@code true} for powers of two, and for zero which
+         * stands for 2<sup>128</sup> here.
+         * */
+        private static boolean isPowerOfTwo(final long high,
+                                            final long low) {
+            if (high == 0) {
+                return (low & (low - 1)) == 0;
+            }
+            return low == 0 && (high & (high - 1)) == 0;
+        }
+    }
+}
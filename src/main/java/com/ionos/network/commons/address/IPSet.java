@@ -0,0 +1,761 @@
+package com.ionos.network.commons.address;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import static com.ionos.network.commons.address.UInt128.compare;
+
+/**
+ * An immutable set of IP addresses of one IP version.
+ * The set is stored as a sorted array of disjoint ranges
+ * of addresses. Overlapping and adjacent ranges are joined
+ * when the set is built, so
+ * {@code 10.0.0.0/25} and {@code 10.0.0.128/25} are stored as one range.
+ * <br>
+ * The range bounds are stored in primitive arrays, one long per bound
+ * for IPv4 and two longs per bound for IPv6.
+ * Looking up an {@linkplain #contains(IP) address} or a
+ * {@linkplain #contains(Network) network} is a binary search that
+ * does not create any objects.
+ * The set operations {@link #union(IPSet)}, {@link #intersection(IPSet)}
+ * and {@link #difference(IPSet)} are linear in the number of ranges.
+ * <br>
+ * Example:
+ * <pre>{@code
+ * IPSet<IPv4> blocked = IPSet.<IPv4>builder()
+ *     .add(new Network<>("10.0.0.0/8"))
+ *     .add(new IPv4("192.168.1.1"))
+ *     .build();
+ * blocked.contains(new IPv4("10.1.2.3")); // true
+ * }</pre>
+ * @param <T> the IP address type of the set.
+ * @see Network#mergeNeighbors(Collection)
+ * @author Stephan Fuhrmann
+ */
+public final class IPSet<T extends IP<T>> {
+
+    /** Multiplier for combining hash codes. */
+    private static final int HASH_MULTIPLIER = 31;
+
+    /** The empty set. */
+    private static final IPSet<?> EMPTY =
+            new IPSet<>(null, 0, null, new long[0]);
+
+    /** The IP version of the set, or {@code null} if the set is empty. */
+    private final IPVersion ipVersion;
+
+    /** The number of ranges. */
+    private final int rangeCount;
+
+    /** The upper 64 bits of the range bounds, start and end
+     * alternating, or {@code null} for IPv4. */
+    private final long[] high;
+
+    /** The lower 64 bits of the range bounds, start and end
+     * alternating. IPv4 addresses are stored as unsigned ints. */
+    private final long[] low;
+
+    /** Creates a set.
+     * @param inIPVersion the IP version or {@code null} for the empty set.
+     * @param inRangeCount the number of ranges.
+     * @param inHigh the upper bits or {@code null} for IPv4.
+     * @param inLow the lower bits.
+     * */
+    private IPSet(final IPVersion inIPVersion,
+                  final int inRangeCount,
+                  final long[] inHigh,
+                  final long[] inLow) {
+        this.ipVersion = inIPVersion;
+        this.rangeCount = inRangeCount;
+        this.high = inHigh;
+        this.low = inLow;
+    }
+
+    /**
+     * Get the empty set.
+     * @param <T> the IP address type of the set.
+     * @return the set that contains no addresses.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends IP<T>> IPSet<T> empty() {
+        return (IPSet<T>) EMPTY;
+    }
+
+    /**
+     * Creates a builder for a new set.
+     * @param <T> the IP address type of the set.
+     * @return a new builder without any addresses.
+     */
+    public static <T extends IP<T>> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Creates a set of the addresses in networks.
+     * @param networks the networks to put into the set.
+     * @param <T> the IP address type of the set.
+     * @return a set containing all addresses of the networks.
+     * @throws NullPointerException if the collection or one of the
+     * networks is {@code null}.
+     * @throws IllegalArgumentException if the networks are of
+     * different IP versions.
+     */
+    public static <T extends IP<T>> IPSet<T> of(
+            final Collection<Network<T>> networks) {
+        final Builder<T> builder = builder();
+        for (Network<T> network : networks) {
+            builder.add(network);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Checks whether the set contains no addresses.
+     * @return {@code true} if there are no addresses in the set.
+     */
+    public boolean isEmpty() {
+        return rangeCount == 0;
+    }
+
+    /**
+     * Get the IP version of the set.
+     * @return the IP version, or {@code null} if the set is empty.
+     */
+    public IPVersion getIPVersion() {
+        return ipVersion;
+    }
+
+    /**
+     * Get the number of disjoint ranges the set consists of.
+     * @return the number of ranges.
+     */
+    public int getRangeCount() {
+        return rangeCount;
+    }
+
+    /**
+     * Get the first address of a range.
+     * @param index the index of the range, starting with the
+     *              range of the lowest addresses.
+     * @return the first address of the range, inclusive.
+     * @throws IndexOutOfBoundsException if the index is not
+     * less than {@link #getRangeCount()}.
+     */
+    public T getRangeStart(final int index) {
+        checkIndex(index);
+        return toIP(2 * index);
+    }
+
+    /**
+     * Get the last address of a range.
+     * @param index the index of the range, starting with the
+     *              range of the lowest addresses.
+     * @return the last address of the range, inclusive.
+     * @throws IndexOutOfBoundsException if the index is not
+     * less than {@link #getRangeCount()}.
+     */
+    public T getRangeEnd(final int index) {
+        checkIndex(index);
+        return toIP(2 * index + 1);
+    }
+
+    /**
+     * Checks whether the set contains an IP address.
+     * @param ip the IP address to look for.
+     * @return {@code true} if the IP is in the set.
+     * @throws NullPointerException if the IP is {@code null}.
+     */
+    public boolean contains(final T ip) {
+        Objects.requireNonNull(ip, "ip is null");
+        if (ip.getIPVersion() != ipVersion) {
+            return false;
+        }
+        final long ipHigh = UInt128.high(ip);
+        final long ipLow = UInt128.low(ip);
+        final int range = findRange(ipHigh, ipLow);
+        return range >= 0
+                && compare(ipHigh, ipLow,
+                    highAt(2 * range + 1), low[2 * range + 1]) <= 0;
+    }
+
+    /**
+     * Checks whether the set contains all addresses of a network.
+     * @param network the network to look for.
+     * @return {@code true} if all addresses of the network
+     * are in the set.
+     * @throws NullPointerException if the network is {@code null}.
+     */
+    public boolean contains(final Network<T> network) {
+        Objects.requireNonNull(network, "network is null");
+        if (network.getIPVersion() != ipVersion) {
+            return false;
+        }
+        final T start = network.getAddress();
+        final int range = findRange(UInt128.high(start), UInt128.low(start));
+        if (range < 0) {
+            return false;
+        }
+        final T end = network.getBroadcast();
+        return compare(UInt128.high(end), UInt128.low(end),
+                highAt(2 * range + 1), low[2 * range + 1]) <= 0;
+    }
+
+    /**
+     * Creates the union of this and another set.
+     * @param other the other set.
+     * @return a set containing the addresses that are in this or
+     * in the other set.
+     * @throws NullPointerException if the other set is {@code null}.
+     * @throws IllegalArgumentException if the IP versions differ.
+     */
+    public IPSet<T> union(final IPSet<T> other) {
+        checkVersion(other);
+        final RangeList result = new RangeList(rangeCount + other.rangeCount);
+        int i = 0;
+        int j = 0;
+        while (i < rangeCount || j < other.rangeCount) {
+            if (j == other.rangeCount
+                    || i < rangeCount
+                    && compare(highAt(2 * i), low[2 * i],
+                        other.highAt(2 * j), other.low[2 * j]) <= 0) {
+                result.append(this, i++);
+            } else {
+                result.append(other, j++);
+            }
+        }
+        return result.toSet(versionOf(this, other));
+    }
+
+    /**
+     * Creates the intersection of this and another set.
+     * @param other the other set.
+     * @return a set containing the addresses that are in this and
+     * in the other set.
+     * @throws NullPointerException if the other set is {@code null}.
+     * @throws IllegalArgumentException if the IP versions differ.
+     */
+    public IPSet<T> intersection(final IPSet<T> other) {
+        checkVersion(other);
+        final RangeList result = new RangeList(
+                Math.max(rangeCount, other.rangeCount));
+        int i = 0;
+        int j = 0;
+        while (i < rangeCount && j < other.rangeCount) {
+            final boolean thisStartsLater = compare(
+                    highAt(2 * i), low[2 * i],
+                    other.highAt(2 * j), other.low[2 * j]) > 0;
+            final IPSet<T> startSet = thisStartsLater ? this : other;
+            final int start = 2 * (thisStartsLater ? i : j);
+            final boolean thisEndsFirst = compare(
+                    highAt(2 * i + 1), low[2 * i + 1],
+                    other.highAt(2 * j + 1), other.low[2 * j + 1]) <= 0;
+            final IPSet<T> endSet = thisEndsFirst ? this : other;
+            final int end = 2 * (thisEndsFirst ? i : j) + 1;
+            if (compare(startSet.highAt(start), startSet.low[start],
+                    endSet.highAt(end), endSet.low[end]) <= 0) {
+                result.append(startSet.highAt(start), startSet.low[start],
+                        endSet.highAt(end), endSet.low[end]);
+            }
+            if (thisEndsFirst) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result.toSet(ipVersion);
+    }
+
+    /**
+     * Creates the difference of this and another set.
+     * @param other the other set.
+     * @return a set containing the addresses that are in this but
+     * not in the other set.
+     * @throws NullPointerException if the other set is {@code null}.
+     * @throws IllegalArgumentException if the IP versions differ.
+     */
+    public IPSet<T> difference(final IPSet<T> other) {
+        checkVersion(other);
+        final RangeList result = new RangeList(
+                rangeCount + other.rangeCount);
+        int j = 0;
+        for (int i = 0; i < rangeCount; i++) {
+            long startHigh = highAt(2 * i);
+            long startLow = low[2 * i];
+            final long endHigh = highAt(2 * i + 1);
+            final long endLow = low[2 * i + 1];
+            // skip the ranges of the other set that end before this range
+            while (j < other.rangeCount
+                    && compare(other.highAt(2 * j + 1), other.low[2 * j + 1],
+                        startHigh, startLow) < 0) {
+                j++;
+            }
+            boolean covered = false;
+            while (j < other.rangeCount
+                    && compare(other.highAt(2 * j), other.low[2 * j],
+                        endHigh, endLow) <= 0) {
+                final long cutHigh = other.highAt(2 * j);
+                final long cutLow = other.low[2 * j];
+                if (compare(cutHigh, cutLow, startHigh, startLow) > 0) {
+                    result.append(startHigh, startLow,
+                            cutLow == 0 ? cutHigh - 1 : cutHigh, cutLow - 1);
+                }
+                final long cutEndHigh = other.highAt(2 * j + 1);
+                final long cutEndLow = other.low[2 * j + 1];
+                if (compare(cutEndHigh, cutEndLow, endHigh, endLow) >= 0) {
+                    // the rest of this range is removed
+                    covered = true;
+                    break;
+                }
+                startLow = cutEndLow + 1;
+                startHigh = startLow == 0 ? cutEndHigh + 1 : cutEndHigh;
+                j++;
+            }
+            if (!covered) {
+                result.append(startHigh, startLow, endHigh, endLow);
+            }
+        }
+        return result.toSet(ipVersion);
+    }
+
+    /**
+     * Converts the set to the smallest list of networks that contain
+     * exactly the addresses of the set.
+     * @return the networks in ascending order.
+     * @see Network#rangeFrom(IP, IP)
+     */
+    public List<Network<T>> toNetworks() {
+        final List<Network<T>> result = new ArrayList<>(rangeCount);
+        for (int i = 0; i < rangeCount; i++) {
+            result.addAll(Network.rangeFrom(toIP(2 * i), toIP(2 * i + 1)));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IPSet)) {
+            return false;
+        }
+        final IPSet<?> other = (IPSet<?>) o;
+        return ipVersion == other.ipVersion
+                && rangeCount == other.rangeCount
+                && Arrays.equals(high, other.high)
+                && Arrays.equals(low, other.low);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(high) * HASH_MULTIPLIER + Arrays.hashCode(low);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder("[");
+        for (int i = 0; i < rangeCount; i++) {
+            if (i != 0) {
+                result.append(", ");
+            }
+            result.append(toIP(2 * i));
+            if (compare(highAt(2 * i), low[2 * i],
+                    highAt(2 * i + 1), low[2 * i + 1]) != 0) {
+                result.append('-').append(toIP(2 * i + 1));
+            }
+        }
+        return result.append(']').toString();
+    }
+
+    /** Finds the last range starting at or before an address.
+     * @param ipHigh the upper bits of the address.
+     * @param ipLow the lower bits of the address.
+     * @return the index of the range, or -1 if all ranges start
+     * after the address.
+     * */
+    private int findRange(final long ipHigh, final long ipLow) {
+        int from = 0;
+        int to = rangeCount - 1;
+        int result = -1;
+        while (from <= to) {
+            final int mid = (from + to) >>> 1;
+            if (compare(highAt(2 * mid), low[2 * mid], ipHigh, ipLow) <= 0) {
+                result = mid;
+                from = mid + 1;
+            } else {
+                to = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    /** Get the upper bits of a bound.
+     * @param bound the index of the bound.
+     * @return the upper 64 bits of the bound.
+     * */
+    private long highAt(final int bound) {
+        return high != null ? high[bound] : 0L;
+    }
+
+    /** Creates the address of a bound.
+     * @param bound the index of the bound.
+     * @return the address.
+     * */
+    private T toIP(final int bound) {
+        return UInt128.toIP(ipVersion, highAt(bound), low[bound]);
+    }
+
+    /** Checks the index of a range.
+     * @param index the index of the range.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= rangeCount) {
+            throw new IndexOutOfBoundsException("Range index " + index
+                    + " is not in [0," + rangeCount + ")");
+        }
+    }
+
+    /** Checks that another set has the same IP version.
+     * Empty sets match all IP versions.
+     * @param other the other set.
+     * @throws IllegalArgumentException if the IP versions differ.
+     * */
+    private void checkVersion(final IPSet<T> other) {
+        Objects.requireNonNull(other, "other is null");
+        if (ipVersion != null && other.ipVersion != null
+                && ipVersion != other.ipVersion) {
+            throw new IllegalArgumentException("IP versions "
+                    + ipVersion + " and " + other.ipVersion + " differ");
+        }
+    }
+
+    /** Get the IP version of two sets that are not both empty.
+     * @param first the first set.
+     * @param second the second set.
+     * @return the IP version.
+     * */
+    private static IPVersion versionOf(final IPSet<?> first,
+                                       final IPSet<?> second) {
+        return first.ipVersion != null ? first.ipVersion : second.ipVersion;
+    }
+
+    /** Checks whether a range starting at an address can be joined
+     * with a range ending at another address.
+     * @param endHigh the upper bits of the end address.
+     * @param endLow the lower bits of the end address.
+     * @param startHigh the upper bits of the start address.
+     * @param startLow the lower bits of the start address.
+     * @return {@code true} if the start is at most one after the end.
+     * */
+    private static boolean joins(final long endHigh,
+                                 final long endLow,
+                                 final long startHigh,
+                                 final long startLow) {
+        if (compare(startHigh, startLow, endHigh, endLow) <= 0) {
+            return true;
+        }
+        final long nextLow = endLow + 1;
+        final long nextHigh = nextLow == 0 ? endHigh + 1 : endHigh;
+        return startHigh == nextHigh && startLow == nextLow;
+    }
+
+    /** Sorts 128 bit unsigned values.
+     * @param high the upper bits, or {@code null} if all are zero.
+     * @param low the lower bits.
+     * @param length the number of values to sort.
+     * */
+    private static void sort(final long[] high,
+                             final long[] low,
+                             final int length) {
+        if (high == null) {
+            // the values are unsigned ints and sort like signed longs
+            Arrays.sort(low, 0, length);
+            return;
+        }
+        // bottom-up merge sort on both arrays at once
+        long[] fromHigh = high;
+        long[] fromLow = low;
+        long[] toHigh = new long[length];
+        long[] toLow = new long[length];
+        for (int width = 1; width < length; width *= 2) {
+            for (int left = 0; left < length; left += 2 * width) {
+                final int mid = Math.min(left + width, length);
+                final int right = Math.min(left + 2 * width, length);
+                int i = left;
+                int j = mid;
+                for (int k = left; k < right; k++) {
+                    if (j == right || i < mid
+                            && compare(fromHigh[i], fromLow[i],
+                                fromHigh[j], fromLow[j]) <= 0) {
+                        toHigh[k] = fromHigh[i];
+                        toLow[k] = fromLow[i++];
+                    } else {
+                        toHigh[k] = fromHigh[j];
+                        toLow[k] = fromLow[j++];
+                    }
+                }
+            }
+            final long[] swapHigh = fromHigh;
+            final long[] swapLow = fromLow;
+            fromHigh = toHigh;
+            fromLow = toLow;
+            toHigh = swapHigh;
+            toLow = swapLow;
+        }
+        if (fromHigh != high) {
+            System.arraycopy(fromHigh, 0, high, 0, length);
+            System.arraycopy(fromLow, 0, low, 0, length);
+        }
+    }
+
+    /** A growing list of sorted ranges that joins ranges on append. */
+    private static final class RangeList {
+        /** The upper bits of the bounds, start and end alternating. */
+        private long[] high;
+
+        /** The lower bits of the bounds, start and end alternating. */
+        private long[] low;
+
+        /** The number of ranges. */
+        private int count;
+
+        /** Creates a list.
+         * @param capacity the expected number of ranges.
+         * */
+        RangeList(final int capacity) {
+            high = new long[2 * Math.max(capacity, 1)];
+            low = new long[high.length];
+        }
+
+        /** Appends a range of a set.
+         * @param set the set to take the range from.
+         * @param index the index of the range in the set.
+         * */
+        void append(final IPSet<?> set, final int index) {
+            append(set.highAt(2 * index), set.low[2 * index],
+                    set.highAt(2 * index + 1), set.low[2 * index + 1]);
+        }
+
+        /** Appends a range. The range must not start before the
+         * last range appended.
+         * @param startHigh the upper bits of the start.
+         * @param startLow the lower bits of the start.
+         * @param endHigh the upper bits of the end.
+         * @param endLow the lower bits of the end.
+         * */
+        void append(final long startHigh,
+                    final long startLow,
+                    final long endHigh,
+                    final long endLow) {
+            final int last = 2 * count - 1;
+            if (count > 0
+                    && joins(high[last], low[last], startHigh, startLow)) {
+                if (compare(endHigh, endLow, high[last], low[last]) > 0) {
+                    high[last] = endHigh;
+                    low[last] = endLow;
+                }
+                return;
+            }
+            if (2 * count == high.length) {
+                high = Arrays.copyOf(high, 2 * high.length);
+                low = Arrays.copyOf(low, high.length);
+            }
+            high[2 * count] = startHigh;
+            low[2 * count] = startLow;
+            high[2 * count + 1] = endHigh;
+            low[2 * count + 1] = endLow;
+            count++;
+        }
+
+        /** Creates a set of the ranges.
+         * @param ipVersion the IP version of the ranges.
+         * @param <T> the IP address type of the set.
+         * @return a new set.
+         * */
+        <T extends IP<T>> IPSet<T> toSet(final IPVersion ipVersion) {
+            if (count == 0) {
+                return empty();
+            }
+            return new IPSet<>(ipVersion, count,
+                    ipVersion == IPVersion.IPV4
+                            ? null : Arrays.copyOf(high, 2 * count),
+                    Arrays.copyOf(low, 2 * count));
+        }
+    }
+
+    /**
+     * Collects addresses, ranges and networks for a new {@link IPSet}.
+     * The ranges may overlap and be added in any order.
+     * @param <T> the IP address type of the set.
+     */
+    public static final class Builder<T extends IP<T>> {
+        /** The IP version of the ranges added, or {@code null}. */
+        private IPVersion ipVersion;
+
+        /** The upper bits of the starts, or {@code null} for IPv4. */
+        private long[] startHigh;
+
+        /** The lower bits of the starts. */
+        private long[] startLow = new long[2];
+
+        /** The upper bits of the ends, or {@code null} for IPv4. */
+        private long[] endHigh;
+
+        /** The lower bits of the ends. */
+        private long[] endLow = new long[2];
+
+        /** The number of ranges added. */
+        private int count;
+
+        /** Creates a builder.
+         * @see IPSet#builder()
+         * */
+        private Builder() {
+        }
+
+        /**
+         * Adds a single address.
+         * @param ip the address to add.
+         * @return this builder.
+         * @throws NullPointerException if the address is {@code null}.
+         * @throws IllegalArgumentException if the IP version differs
+         * from the addresses added before.
+         */
+        public Builder<T> add(final T ip) {
+            return add(ip, ip);
+        }
+
+        /**
+         * Adds all addresses of a network.
+         * @param network the network to add.
+         * @return this builder.
+         * @throws NullPointerException if the network is {@code null}.
+         * @throws IllegalArgumentException if the IP version differs
+         * from the addresses added before.
+         */
+        public Builder<T> add(final Network<T> network) {
+            Objects.requireNonNull(network, "network is null");
+            return add(network.getAddress(), network.getBroadcast());
+        }
+
+        /**
+         * Adds a range of addresses.
+         * @param start the first address of the range, inclusive.
+         * @param end the last address of the range, inclusive.
+         * @return this builder.
+         * @throws NullPointerException if an address is {@code null}.
+         * @throws IllegalArgumentException if the start is after the end,
+         * or the IP version differs from the addresses added before.
+         */
+        public Builder<T> add(final T start, final T end) {
+            Objects.requireNonNull(start, "start is null");
+            Objects.requireNonNull(end, "end is null");
+            if (start.compareTo(end) > 0) {
+                throw new IllegalArgumentException(
+                        "start IP must be smaller or equal to end IP");
+            }
+            addBits(start.getIPVersion(),
+                    UInt128.high(start), UInt128.low(start),
+                    UInt128.high(end), UInt128.low(end));
+            return this;
+        }
+
+        /**
+         * Adds all addresses of a set.
+         * @param set the set to add.
+         * @return this builder.
+         * @throws NullPointerException if the set is {@code null}.
+         * @throws IllegalArgumentException if the IP version differs
+         * from the addresses added before.
+         */
+        public Builder<T> addAll(final IPSet<T> set) {
+            Objects.requireNonNull(set, "set is null");
+            for (int i = 0; i < set.rangeCount; i++) {
+                addBits(set.ipVersion, set.highAt(2 * i), set.low[2 * i],
+                        set.highAt(2 * i + 1), set.low[2 * i + 1]);
+            }
+            return this;
+        }
+
+        /**
+         * Creates the set of all addresses added so far.
+         * The builder can be used further afterwards.
+         * @return a new set.
+         */
+        public IPSet<T> build() {
+            if (count == 0) {
+                return empty();
+            }
+            // joining needs starts and ends sorted, but not as pairs
+            final long[] sortedStartHigh = startHigh != null
+                    ? Arrays.copyOf(startHigh, count) : null;
+            final long[] sortedStartLow = Arrays.copyOf(startLow, count);
+            final long[] sortedEndHigh = endHigh != null
+                    ? Arrays.copyOf(endHigh, count) : null;
+            final long[] sortedEndLow = Arrays.copyOf(endLow, count);
+            sort(sortedStartHigh, sortedStartLow, count);
+            sort(sortedEndHigh, sortedEndLow, count);
+
+            final RangeList result = new RangeList(count);
+            int first = 0;
+            for (int k = 0; k < count; k++) {
+                final long kEndHigh = sortedEndHigh != null
+                        ? sortedEndHigh[k] : 0L;
+                if (k + 1 < count && joins(kEndHigh, sortedEndLow[k],
+                        sortedStartHigh != null ? sortedStartHigh[k + 1] : 0L,
+                        sortedStartLow[k + 1])) {
+                    continue;
+                }
+                result.append(
+                        sortedStartHigh != null ? sortedStartHigh[first] : 0L,
+                        sortedStartLow[first], kEndHigh, sortedEndLow[k]);
+                first = k + 1;
+            }
+            return result.toSet(ipVersion);
+        }
+
+        /** Adds a range.
+         * @param version the IP version of the range.
+         * @param inStartHigh the upper bits of the start.
+         * @param inStartLow the lower bits of the start.
+         * @param inEndHigh the upper bits of the end.
+         * @param inEndLow the lower bits of the end.
+         * */
+        private void addBits(final IPVersion version,
+                             final long inStartHigh,
+                             final long inStartLow,
+                             final long inEndHigh,
+                             final long inEndLow) {
+            if (ipVersion == null) {
+                ipVersion = version;
+                if (version == IPVersion.IPV6) {
+                    startHigh = new long[startLow.length];
+                    endHigh = new long[endLow.length];
+                }
+            } else if (ipVersion != version) {
+                throw new IllegalArgumentException("IP version " + version
+                        + " differs from " + ipVersion);
+            }
+            if (count == startLow.length) {
+                final int capacity = 2 * count;
+                startLow = Arrays.copyOf(startLow, capacity);
+                endLow = Arrays.copyOf(endLow, capacity);
+                if (startHigh != null) {
+                    startHigh = Arrays.copyOf(startHigh, capacity);
+                    endHigh = Arrays.copyOf(endHigh, capacity);
+                }
+            }
+            if (startHigh != null) {
+                startHigh[count] = inStartHigh;
+                endHigh[count] = inEndHigh;
+            }
+            startLow[count] = inStartLow;
+            endLow[count] = inEndLow;
+            count++;
+        }
+    }
+}
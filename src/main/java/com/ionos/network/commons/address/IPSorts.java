@@ -0,0 +1,656 @@
+package com.ionos.network.commons.address;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Sorts arrays of IP addresses and networks in linear time.
+ * The sorts are radix sorts on the primitive values of the addresses,
+ * one byte per pass. IPv4 addresses are sorted least significant byte
+ * first, IPv6 addresses most significant byte first, so only as many
+ * passes are needed as it takes to split them into small buckets.
+ * Passes over bytes that are the same in all addresses, like the common
+ * prefix of a list of IPv6 addresses, are skipped. Addresses are
+ * ordered like
+ * {@link AddressComparators#UNSIGNED_BYTE_COMPARATOR}, networks by
+ * address and then by prefix length like
+ * {@link Network#mergeNeighbors(java.util.Collection)} orders them.
+ * <br>
+ * The sorts are stable and need a buffer as big as the sorted array.
+ * The methods with a {@link ForkJoinPool} split big arrays into
+ * buckets by their most significant differing byte and sort the
+ * buckets in parallel.
+ * <br>
+ * Example:
+ * <pre>{@code
+ * IPv6[] addresses = ...;
+ * IPSorts.radixSort(addresses, ForkJoinPool.commonPool());
+ * }</pre>
+ * @author Stephan Fuhrmann
+ */
+public final class IPSorts {
+
+    /** The number of bits sorted per pass. */
+    private static final int DIGIT_BITS = 8;
+
+    /** The number of buckets per pass. */
+    private static final int BUCKETS = 0x100;
+
+    /** The mask for the bits of one digit. */
+    private static final int DIGIT_MASK = BUCKETS - 1;
+
+    /** The number of digits of an {@code int}. */
+    private static final int INT_DIGITS = Integer.SIZE / DIGIT_BITS;
+
+    /** The number of digits of a {@code long}. */
+    private static final int LONG_DIGITS = Long.SIZE / DIGIT_BITS;
+
+    /** The number of digits of a pair of {@code long}s. */
+    private static final int LONG_PAIR_DIGITS = 2 * LONG_DIGITS;
+
+    /** Ranges with less elements are sorted by insertion sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+
+    /** Arrays with less elements are not sorted in parallel. */
+    private static final int PARALLEL_THRESHOLD = 0x10000;
+
+    /** No instance allowed. */
+    private IPSorts() {
+    }
+
+    /** Sorts IPv4 addresses in ascending unsigned order.
+     * @param ips the addresses as returned by {@link IPv4#toInt()}.
+     * @throws NullPointerException if the array is {@code null}.
+     * */
+    public static void radixSort(final int[] ips) {
+        sortInts(ips, null, null);
+    }
+
+    /** Sorts IPv4 addresses in ascending unsigned order in parallel.
+     * @param ips the addresses as returned by {@link IPv4#toInt()}.
+     * @param pool the pool to sort the buckets in.
+     * @throws NullPointerException if an argument is {@code null}.
+     * */
+    public static void radixSort(final int[] ips, final ForkJoinPool pool) {
+        sortInts(ips, null, Objects.requireNonNull(pool, "pool is null"));
+    }
+
+    /** Sorts IPv6 addresses given as pairs of longs in ascending
+     * unsigned order.
+     * @param highs the upper 64 bits of the addresses as returned by
+     *              {@link IPv6#getHighBits()}.
+     * @param lows the lower 64 bits of the addresses as returned by
+     *             {@link IPv6#getLowBits()}, at the same indices as
+     *             {@code highs}.
+     * @throws NullPointerException if an array is {@code null}.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     * @see IPv6#IPv6(long, long)
+     * */
+    public static void radixSort(final long[] highs, final long[] lows) {
+        sortLongPairs(highs, lows, null, null);
+    }
+
+    /** Sorts IPv6 addresses given as pairs of longs in ascending
+     * unsigned order in parallel.
+     * @param highs the upper 64 bits of the addresses as returned by
+     *              {@link IPv6#getHighBits()}.
+     * @param lows the lower 64 bits of the addresses as returned by
+     *             {@link IPv6#getLowBits()}, at the same indices as
+     *             {@code highs}.
+     * @param pool the pool to sort the buckets in.
+     * @throws NullPointerException if an argument is {@code null}.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     * @see IPv6#IPv6(long, long)
+     * */
+    public static void radixSort(final long[] highs,
+                                 final long[] lows,
+                                 final ForkJoinPool pool) {
+        sortLongPairs(highs, lows, null,
+                Objects.requireNonNull(pool, "pool is null"));
+    }
+
+    /** Sorts IPv4 addresses in ascending order.
+     * @param ips the addresses to sort.
+     * @throws NullPointerException if the array or an element is
+     * {@code null}.
+     * */
+    public static void radixSort(final IPv4[] ips) {
+        sortInts(ipv4Keys(ips), ips, null);
+    }
+
+    /** Sorts IPv4 addresses in ascending order in parallel.
+     * @param ips the addresses to sort.
+     * @param pool the pool to sort the buckets in.
+     * @throws NullPointerException if an argument or an element is
+     * {@code null}.
+     * */
+    public static void radixSort(final IPv4[] ips, final ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool is null");
+        sortInts(ipv4Keys(ips), ips, pool);
+    }
+
+    /** Sorts IPv6 addresses in ascending order.
+     * @param ips the addresses to sort.
+     * @throws NullPointerException if the array or an element is
+     * {@code null}.
+     * */
+    public static void radixSort(final IPv6[] ips) {
+        sortIPv6(ips, null);
+    }
+
+    /** Sorts IPv6 addresses in ascending order in parallel.
+     * @param ips the addresses to sort.
+     * @param pool the pool to sort the buckets in.
+     * @throws NullPointerException if an argument or an element is
+     * {@code null}.
+     * */
+    public static void radixSort(final IPv6[] ips, final ForkJoinPool pool) {
+        sortIPv6(ips, Objects.requireNonNull(pool, "pool is null"));
+    }
+
+    /** Sorts networks by address and then by prefix length.
+     * @param networks the networks to sort, all of the same IP version.
+     * @param <T> the address type of the networks.
+     * @throws NullPointerException if the array or an element is
+     * {@code null}.
+     * @throws IllegalArgumentException if the networks are of
+     * different IP versions.
+     * */
+    public static <T extends IP<T>> void radixSort(
+            final Network<T>[] networks) {
+        sortNetworks(networks, null);
+    }
+
+    /** Sorts networks by address and then by prefix length in parallel.
+     * @param networks the networks to sort, all of the same IP version.
+     * @param pool the pool to sort the buckets in.
+     * @param <T> the address type of the networks.
+     * @throws NullPointerException if an argument or an element is
+     * {@code null}.
+     * @throws IllegalArgumentException if the networks are of
+     * different IP versions.
+     * */
+    public static <T extends IP<T>> void radixSort(
+            final Network<T>[] networks, final ForkJoinPool pool) {
+        sortNetworks(networks, Objects.requireNonNull(pool, "pool is null"));
+    }
+
+    /** Sorts IPv6 addresses.
+     * @param ips the addresses to sort.
+     * @param pool the pool to sort the buckets in, or {@code null}.
+     * */
+    private static void sortIPv6(final IPv6[] ips, final ForkJoinPool pool) {
+        final long[] highs = new long[ips.length];
+        final long[] lows = new long[ips.length];
+        for (int i = 0; i < ips.length; i++) {
+            highs[i] = ips[i].getHighBits();
+            lows[i] = ips[i].getLowBits();
+        }
+        sortLongPairs(highs, lows, ips, pool);
+    }
+
+    /** Gets the primitive values of IPv4 addresses.
+     * @param ips the addresses.
+     * @return the addresses as returned by {@link IPv4#toInt()}.
+     * */
+    private static int[] ipv4Keys(final IPv4[] ips) {
+        final int[] keys = new int[ips.length];
+        for (int i = 0; i < ips.length; i++) {
+            keys[i] = ips[i].toInt();
+        }
+        return keys;
+    }
+
+    /** Sorts networks by prefix length and then stable by address.
+     * @param networks the networks to sort.
+     * @param pool the pool to sort the buckets in, or {@code null}.
+     * */
+    private static void sortNetworks(final Network<?>[] networks,
+                                     final ForkJoinPool pool) {
+        if (networks.length == 0) {
+            return;
+        }
+        final IPVersion version = networks[0].getIPVersion();
+        final int[] counts = new int[version.getAddressBits() + 2];
+        for (final Network<?> network : networks) {
+            if (network.getIPVersion() != version) {
+                throw new IllegalArgumentException("Mixed IP versions "
+                        + version + " and " + network.getIPVersion());
+            }
+            counts[network.getPrefix() + 1]++;
+        }
+        for (int i = 1; i < counts.length; i++) {
+            counts[i] += counts[i - 1];
+        }
+        final Network<?>[] byPrefix = networks.clone();
+        for (final Network<?> network : byPrefix) {
+            networks[counts[network.getPrefix()]++] = network;
+        }
+
+        if (version == IPVersion.IPV4) {
+            final int[] keys = new int[networks.length];
+            for (int i = 0; i < networks.length; i++) {
+                keys[i] = ((IPv4) networks[i].getAddress()).toInt();
+            }
+            sortInts(keys, networks, pool);
+        } else {
+            final long[] highs = new long[networks.length];
+            final long[] lows = new long[networks.length];
+            for (int i = 0; i < networks.length; i++) {
+                final IPv6 address = (IPv6) networks[i].getAddress();
+                highs[i] = address.getHighBits();
+                lows[i] = address.getLowBits();
+            }
+            sortLongPairs(highs, lows, networks, pool);
+        }
+    }
+
+    /** Sorts ints as unsigned values together with objects.
+     * @param keys the values to sort by.
+     * @param values the objects at the indices of the keys, moved
+     *               together with the keys, or {@code null}.
+     * @param pool the pool to sort the buckets in, or {@code null}.
+     * */
+    private static void sortInts(final int[] keys,
+                                 final Object[] values,
+                                 final ForkJoinPool pool) {
+        final int length = keys.length;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, values, 0, length);
+            return;
+        }
+        final int[] keyBuffer = new int[length];
+        final Object[] valueBuffer = values != null ? values.clone() : null;
+        final int[][] counts = intCounts(keys, 0, length);
+        int digit = INT_DIGITS - 1;
+        while (digit >= 0 && isTrivial(counts[digit], length)) {
+            digit--;
+        }
+        if (pool == null || length < PARALLEL_THRESHOLD || digit <= 0) {
+            lsd(keys, keyBuffer, values, valueBuffer, 0, length, counts);
+            return;
+        }
+
+        // split by the most significant differing digit into the buffers
+        final int[] starts = offsets(counts[digit], 0);
+        final int[] next = starts.clone();
+        final int shift = digit * DIGIT_BITS;
+        for (int i = 0; i < length; i++) {
+            final int position = next[keys[i] >>> shift & DIGIT_MASK]++;
+            keyBuffer[position] = keys[i];
+            if (values != null) {
+                valueBuffer[position] = values[i];
+            }
+        }
+        forEachBucket(starts, pool, (from, to) -> {
+            if (to - from < INSERTION_SORT_THRESHOLD) {
+                insertionSort(keyBuffer, valueBuffer, from, to);
+            } else {
+                lsd(keyBuffer, keys, valueBuffer, values, from, to,
+                        intCounts(keyBuffer, from, to));
+            }
+            System.arraycopy(keyBuffer, from, keys, from, to - from);
+            if (values != null) {
+                System.arraycopy(valueBuffer, from, values, from,
+                        to - from);
+            }
+        });
+    }
+
+    /** Counts the digits of unsigned ints.
+     * @param keys the values to count the digits of.
+     * @param from the first index to count.
+     * @param to the index after the last index to count.
+     * @return the number of values with each digit, by digit position
+     * starting with the least significant digit.
+     * */
+    private static int[][] intCounts(final int[] keys,
+                                     final int from,
+                                     final int to) {
+        final int[][] counts = new int[INT_DIGITS][BUCKETS];
+        for (int i = from; i < to; i++) {
+            final int key = keys[i];
+            for (int d = 0; d < INT_DIGITS; d++) {
+                counts[d][key >>> d * DIGIT_BITS & DIGIT_MASK]++;
+            }
+        }
+        return counts;
+    }
+
+    /** Sorts a range of unsigned ints digit by digit, least significant
+     * digit first. The sorted range ends up in {@code keys} and
+     * {@code values}.
+     * @param keys the values to sort by.
+     * @param keyBuffer a buffer as long as {@code keys}.
+     * @param values the objects moved with the keys, or {@code null}.
+     * @param valueBuffer a buffer as long as {@code values}, or
+     *                    {@code null}.
+     * @param from the first index of the range.
+     * @param to the index after the last index of the range.
+     * @param counts the digit counts of the range as returned by
+     *               {@link #intCounts(int[], int, int)}.
+     * */
+    private static void lsd(final int[] keys,
+                            final int[] keyBuffer,
+                            final Object[] values,
+                            final Object[] valueBuffer,
+                            final int from,
+                            final int to,
+                            final int[][] counts) {
+        int[] source = keys;
+        int[] target = keyBuffer;
+        Object[] sourceValues = values;
+        Object[] targetValues = valueBuffer;
+        for (int d = 0; d < INT_DIGITS; d++) {
+            if (isTrivial(counts[d], to - from)) {
+                continue;
+            }
+            final int[] next = offsets(counts[d], from);
+            final int shift = d * DIGIT_BITS;
+            for (int i = from; i < to; i++) {
+                final int position = next[source[i] >>> shift
+                        & DIGIT_MASK]++;
+                target[position] = source[i];
+                if (sourceValues != null) {
+                    targetValues[position] = sourceValues[i];
+                }
+            }
+            final int[] swap = source;
+            source = target;
+            target = swap;
+            final Object[] swapValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = swapValues;
+        }
+        if (source != keys) {
+            System.arraycopy(source, from, keys, from, to - from);
+            if (values != null) {
+                System.arraycopy(sourceValues, from, values, from,
+                        to - from);
+            }
+        }
+    }
+
+    /** Sorts a small range of unsigned ints.
+     * @param keys the values to sort by.
+     * @param values the objects moved with the keys, or {@code null}.
+     * @param from the first index of the range.
+     * @param to the index after the last index of the range.
+     * */
+    private static void insertionSort(final int[] keys,
+                                      final Object[] values,
+                                      final int from,
+                                      final int to) {
+        for (int i = from + 1; i < to; i++) {
+            final int key = keys[i];
+            final Object value = values != null ? values[i] : null;
+            int j = i - 1;
+            while (j >= from && Integer.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                if (values != null) {
+                    values[j + 1] = values[j];
+                }
+                j--;
+            }
+            keys[j + 1] = key;
+            if (values != null) {
+                values[j + 1] = value;
+            }
+        }
+    }
+
+    /** Sorts pairs of longs as unsigned 128 bit values together with
+     * objects.
+     * @param highs the upper bits of the values to sort by.
+     * @param lows the lower bits of the values to sort by.
+     * @param values the objects at the indices of the keys, moved
+     *               together with the keys, or {@code null}.
+     * @param pool the pool to sort the buckets in, or {@code null}.
+     * */
+    private static void sortLongPairs(final long[] highs,
+                                      final long[] lows,
+                                      final Object[] values,
+                                      final ForkJoinPool pool) {
+        if (highs.length != lows.length) {
+            throw new IllegalArgumentException("highs has length "
+                    + highs.length + ", lows has length " + lows.length);
+        }
+        final int length = highs.length;
+        final LongPairs keys = new LongPairs(highs, lows, values);
+        if (length < INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, 0, length);
+            return;
+        }
+        final LongPairs buffer = new LongPairs(new long[length],
+                new long[length], values != null ? values.clone() : null);
+        msd(keys, buffer, 0, length, LONG_PAIR_DIGITS - 1,
+                length < PARALLEL_THRESHOLD ? null : pool);
+    }
+
+    /** Sorts a range of unsigned 128 bit values digit by digit, most
+     * significant digit first. Each bucket is sorted by the following
+     * digits, so the values only move as long as buckets are big.
+     * @param keys the values to sort.
+     * @param buffer a buffer as long as {@code keys}.
+     * @param from the first index of the range.
+     * @param to the index after the last index of the range.
+     * @param digit the most significant digit to sort by.
+     * @param pool the pool to sort the buckets in, or {@code null}.
+     * */
+    private static void msd(final LongPairs keys,
+                            final LongPairs buffer,
+                            final int from,
+                            final int to,
+                            final int digit,
+                            final ForkJoinPool pool) {
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, from, to);
+            return;
+        }
+        int d = digit;
+        int[] counts = null;
+        while (d >= 0) {
+            counts = keys.count(from, to, d);
+            if (!isTrivial(counts, to - from)) {
+                break;
+            }
+            d--;
+        }
+        if (d < 0) {
+            return;
+        }
+        final int[] starts = offsets(counts, from);
+        final int[] next = starts.clone();
+        final long[] words = d < LONG_DIGITS ? keys.lows : keys.highs;
+        final int shift = d % LONG_DIGITS * DIGIT_BITS;
+        for (int i = from; i < to; i++) {
+            keys.copyTo(i, buffer,
+                    next[(int) (words[i] >>> shift) & DIGIT_MASK]++);
+        }
+        buffer.copyRangeTo(from, to, keys);
+
+        final int lower = d - 1;
+        if (pool != null) {
+            forEachBucket(starts, pool, (f, t) ->
+                    msd(keys, buffer, f, t, lower, null));
+        } else {
+            for (int b = 0; b < BUCKETS; b++) {
+                if (starts[b + 1] > starts[b]) {
+                    msd(keys, buffer, starts[b], starts[b + 1], lower,
+                            null);
+                }
+            }
+        }
+    }
+
+    /** Sorts a small range of unsigned 128 bit values.
+     * @param keys the values to sort.
+     * @param from the first index of the range.
+     * @param to the index after the last index of the range.
+     * */
+    private static void insertionSort(final LongPairs keys,
+                                      final int from,
+                                      final int to) {
+        final long[] highs = keys.highs;
+        final long[] lows = keys.lows;
+        final Object[] values = keys.values;
+        for (int i = from + 1; i < to; i++) {
+            final long high = highs[i];
+            final long low = lows[i];
+            final Object value = values != null ? values[i] : null;
+            int j = i - 1;
+            while (j >= from
+                    && UInt128.compare(highs[j], lows[j], high, low) > 0) {
+                highs[j + 1] = highs[j];
+                lows[j + 1] = lows[j];
+                if (values != null) {
+                    values[j + 1] = values[j];
+                }
+                j--;
+            }
+            highs[j + 1] = high;
+            lows[j + 1] = low;
+            if (values != null) {
+                values[j + 1] = value;
+            }
+        }
+    }
+
+    /** Checks whether all values have the same digit.
+     * @param counts the number of values with each digit.
+     * @param length the number of values.
+     * @return {@code true} if one digit has all values.
+     * */
+    private static boolean isTrivial(final int[] counts, final int length) {
+        for (final int count : counts) {
+            if (count != 0) {
+                return count == length;
+            }
+        }
+        return true;
+    }
+
+    /** Converts digit counts into the start index of each digit.
+     * @param counts the number of values with each digit.
+     * @param from the index of the first value.
+     * @return the start index of the values with each digit, followed by
+     * the index after the last value.
+     * */
+    private static int[] offsets(final int[] counts, final int from) {
+        final int[] offsets = new int[BUCKETS + 1];
+        offsets[0] = from;
+        for (int i = 0; i < BUCKETS; i++) {
+            offsets[i + 1] = offsets[i] + counts[i];
+        }
+        return offsets;
+    }
+
+    /** Sorts the buckets of a split array in parallel.
+     * @param starts the start index of each bucket followed by the
+     *               end of the last bucket.
+     * @param pool the pool to run the sorts in.
+     * @param sorter sorts one bucket.
+     * */
+    private static void forEachBucket(final int[] starts,
+                                      final ForkJoinPool pool,
+                                      final RangeSorter sorter) {
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int b = 0; b < BUCKETS; b++) {
+            final int from = starts[b];
+            final int to = starts[b + 1];
+            if (to > from) {
+                tasks.add(ForkJoinTask.adapt(() -> sorter.sort(from, to)));
+            }
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(tasks);
+        }));
+    }
+
+    /** Sorts a range of an array. */
+    @FunctionalInterface
+    private interface RangeSorter {
+        /** Sorts a range.
+         * @param from the first index of the range.
+         * @param to the index after the last index of the range.
+         * */
+        void sort(int from, int to);
+    }
+
+    /** Parallel arrays of 128 bit values and the objects moved with
+     * them. */
+    private static final class LongPairs {
+        /** The upper bits of the values. */
+        private final long[] highs;
+
+        /** The lower bits of the values. */
+        private final long[] lows;
+
+        /** The objects at the indices of the values, or {@code null}. */
+        private final Object[] values;
+
+        /** Creates parallel arrays.
+         * @param inHighs the upper bits of the values.
+         * @param inLows the lower bits of the values.
+         * @param inValues the objects, or {@code null}.
+         * */
+        private LongPairs(final long[] inHighs,
+                          final long[] inLows,
+                          final Object[] inValues) {
+            this.highs = inHighs;
+            this.lows = inLows;
+            this.values = inValues;
+        }
+
+        /** Counts the values with each digit in a range.
+         * @param from the first index of the range.
+         * @param to the index after the last index of the range.
+         * @param digit the digit position, {@code 0} is the least
+         *              significant digit.
+         * @return the number of values with each digit.
+         * */
+        private int[] count(final int from, final int to, final int digit) {
+            final int[] counts = new int[BUCKETS];
+            final long[] words = digit < LONG_DIGITS ? lows : highs;
+            final int shift = digit % LONG_DIGITS * DIGIT_BITS;
+            for (int i = from; i < to; i++) {
+                counts[(int) (words[i] >>> shift) & DIGIT_MASK]++;
+            }
+            return counts;
+        }
+
+        /** Copies one value.
+         * @param from the index of the value.
+         * @param target the arrays to copy to.
+         * @param to the index in {@code target}.
+         * */
+        private void copyTo(final int from,
+                            final LongPairs target,
+                            final int to) {
+            target.highs[to] = highs[from];
+            target.lows[to] = lows[from];
+            if (values != null) {
+                target.values[to] = values[from];
+            }
+        }
+
+        /** Copies a range of values to the same indices.
+         * @param from the first index of the range.
+         * @param to the index after the last index of the range.
+         * @param target the arrays to copy to.
+         * */
+        private void copyRangeTo(final int from,
+                                 final int to,
+                                 final LongPairs target) {
+            System.arraycopy(highs, from, target.highs, from, to - from);
+            System.arraycopy(lows, from, target.lows, from, to - from);
+            if (values != null) {
+                System.arraycopy(values, from, target.values, from,
+                        to - from);
+            }
+        }
+    }
+}
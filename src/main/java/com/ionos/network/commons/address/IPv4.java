@@ -2,9 +2,12 @@ package com.ionos.network.commons.address;
 
 import java.io.Serializable;
 
+import static com.ionos.network.commons.address.BitsAndBytes.BITS_PER_BYTE;
+import static com.ionos.network.commons.address.BitsAndBytes.BYTE_MASK;
+
 /**
  * IP for the IPv4 protocol.
- * Stores the address bytes and has methods to calculate with IPs.
+ * Stores the address in a single int and has methods to calculate with IPs.
  * <br>
  * Objects of the IPv4 class are immutable!
  *
@@ -20,16 +23,28 @@ public final class IPv4 extends IP<IPv4> implements Address, Serializable {
     private static final long serialVersionUID = 1212884661391791729L;
 
     /** The IPv4 address {@code 0.0.0.0}. */
-    public static final IPv4 IPV4_ALL_ZERO =
-            new IPv4(BitsAndBytes.newArrayOf(
-                    IPVersion.IPV4.getAddressBytes(),
-                    (byte) 0));
+    public static final IPv4 IPV4_ALL_ZERO = new IPv4(0);
 
     /** The IPv4 address {@code 255.255.255.255}. */
-    public static final IPv4 IPV4_ALL_ONE =
-            new IPv4(BitsAndBytes.newArrayOf(
-                    IPVersion.IPV4.getAddressBytes(),
-                    (byte) 255));
+    public static final IPv4 IPV4_ALL_ONE = new IPv4(-1);
+
+    /** The address bits. The most significant byte is the first
+     * byte in network byte order.
+     * Gets serialized by {@linkplain AbstractAddress}.
+     * */
+    private transient int address;
+
+    /**
+     * Creates a new IP address from the address bits.
+     *
+     * @param inAddress the 32 address bits. The most significant byte
+     *                  is the first byte in network byte order.
+     *                  Example: {@code 0xc0a80001} is {@code 192.168.0.1}.
+     * @see #toInt()
+     */
+    public IPv4(final int inAddress) {
+        this.address = inAddress;
+    }
 
     /**
      * Creates a new IP address from the address bytes.
@@ -37,7 +52,8 @@ public final class IPv4 extends IP<IPv4> implements Address, Serializable {
      * @param inAddress a 4 byte address in network byte order.
      */
     protected IPv4(final byte[] inAddress) {
-        super(inAddress, IPVersion.IPV4.getAddressBytes());
+        this(BitsAndBytes.getInt(requireLength(inAddress,
+                IPVersion.IPV4.getAddressBytes()), 0));
     }
 
     /**
@@ -48,7 +64,7 @@ public final class IPv4 extends IP<IPv4> implements Address, Serializable {
      * @see IPParsers#DOTTED_DECIMAL
      */
     public IPv4(final String inAddress) {
-        this(IPParsers.DOTTED_DECIMAL.parseAsBytes(inAddress));
+        this(IPParsers.parseIPv4(inAddress, 0, inAddress.length()));
     }
 
     /**
@@ -59,13 +75,113 @@ public final class IPv4 extends IP<IPv4> implements Address, Serializable {
             return IPVersion.IPV4;
     }
 
+    /** Get the address bits.
+     * @return the 32 address bits. The most significant byte is the first
+     * byte in network byte order.
+     * @see #IPv4(int)
+     * */
+    public int toInt() {
+        return address;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        final byte[] result = new byte[IPVersion.IPV4.getAddressBytes()];
+        BitsAndBytes.putInt(result, 0, address);
+        return result;
+    }
+
+    @Override
+    public int length() {
+        return IPVersion.IPV4.getAddressBytes();
+    }
+
     @Override
-    protected IPv4 newInstance(final byte[] address) {
-        return new IPv4(address);
+    void readBytes(final byte[] data) {
+        address = BitsAndBytes.getInt(data, 0);
+    }
+
+    @Override
+    protected IPv4 newInstance(final byte[] inAddress) {
+        return new IPv4(inAddress);
     }
 
     @Override
     protected AddressFormat<IPv4> defaultAddressFormat() {
         return IPFormats.DOTTED_DECIMAL;
     }
+
+    @Override
+    public IPv4 invert() {
+        return new IPv4(~address);
+    }
+
+    @Override
+    public IPv4 add(final byte[] offset) {
+        requireNotLongerThanAddress(offset, "Offset");
+        int value = 0;
+        for (byte b : offset) {
+            value = value << BITS_PER_BYTE | b & BYTE_MASK;
+        }
+        return new IPv4(address + value);
+    }
+
+    @Override
+    public IPv4 and(final byte[] mask) {
+        requireNotLongerThanAddress(mask, "Mask");
+        // bytes not covered by the mask stay unchanged
+        int value = -1;
+        for (byte b : mask) {
+            value = value << BITS_PER_BYTE | b & BYTE_MASK;
+        }
+        return new IPv4(address & value);
+    }
+
+    @Override
+    public IPv4 add(final long offset) {
+        return new IPv4(address + (int) offset);
+    }
+
+    @Override
+    IPv4 clearHostBits(final int prefixBits) {
+        return new IPv4(address & BitsAndBytes.leadingBitsInt(prefixBits));
+    }
+
+    @Override
+    IPv4 setHostBits(final int prefixBits) {
+        return new IPv4(address | ~BitsAndBytes.leadingBitsInt(prefixBits));
+    }
+
+    @Override
+    boolean hasSamePrefix(final IP<?> other, final int prefixBits) {
+        return other instanceof IPv4
+                && ((address ^ ((IPv4) other).address)
+                    & BitsAndBytes.leadingBitsInt(prefixBits)) == 0;
+    }
+
+    @Override
+    boolean testBit(final int index) {
+        return (address << index) < 0;
+    }
+
+    @Override
+    int commonPrefixLength(final IPv4 other) {
+        return Integer.numberOfLeadingZeros(address ^ other.address);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof IPv4) {
+            return address == ((IPv4) o).address;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return address;
+    }
 }
@@ -0,0 +1,328 @@
+package com.ionos.network.commons.address;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from IPv4 addresses to primitive longs, for example
+ * counters per address.
+ * The map uses open addressing with linear probing in parallel arrays,
+ * so there are no entry objects and neither keys nor values are boxed.
+ * None of the {@code int} methods allocate unless the map grows.
+ * <br>
+ * The map is not thread safe.
+ * @see IPv4#toInt()
+ * @see IPv4Map
+ * @author Stephan Fuhrmann
+ */
+public final class IPv4LongMap {
+
+    /** The default number of entries to expect. */
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    /** Consumer of the entries of the map.
+     * @see #forEach(EntryConsumer)
+     * */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        /** Consumes one entry.
+         * @param address the address as returned by {@link IPv4#toInt()}.
+         * @param value the value of the address.
+         * */
+        void accept(int address, long value);
+    }
+
+    /** The keys, {@code 0} marks a free slot. */
+    private int[] keys;
+
+    /** The values of the keys. */
+    private long[] values;
+
+    /** Whether there is an entry for the key {@code 0}. */
+    private boolean hasZeroKey;
+
+    /** The value of the key {@code 0}. */
+    private long zeroValue;
+
+    /** The number of entries. */
+    private int size;
+
+    /** The number of entries that triggers growing. */
+    private int maxFill;
+
+    /** Creates an empty map. */
+    public IPv4LongMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /** Creates an empty map.
+     * @param expectedSize the number of entries to hold without growing.
+     * @throws IllegalArgumentException if the expected size is negative
+     * or too big.
+     * */
+    public IPv4LongMap(final int expectedSize) {
+        allocate(OpenHashing.capacityFor(expectedSize));
+    }
+
+    /** Get the number of entries.
+     * @return the number of entries.
+     * */
+    public int size() {
+        return size;
+    }
+
+    /** Checks whether there are no entries.
+     * @return {@code true} if there are no entries.
+     * */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Get the value of an address.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @param defaultValue the value to return if there is none.
+     * @return the value, or {@code defaultValue} if there is none.
+     * */
+    public long get(final int address, final long defaultValue) {
+        if (address == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        final int i = find(address);
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    /** Get the value of an address.
+     * @param address the address.
+     * @param defaultValue the value to return if there is none.
+     * @return the value, or {@code defaultValue} if there is none.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public long get(final IPv4 address, final long defaultValue) {
+        return get(address.toInt(), defaultValue);
+    }
+
+    /** Checks whether there is a value for an address.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @return {@code true} if there is a value.
+     * */
+    public boolean containsKey(final int address) {
+        return address == 0 ? hasZeroKey : find(address) >= 0;
+    }
+
+    /** Checks whether there is a value for an address.
+     * @param address the address.
+     * @return {@code true} if there is a value.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public boolean containsKey(final IPv4 address) {
+        return containsKey(address.toInt());
+    }
+
+    /** Sets the value of an address.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @param value the new value.
+     * */
+    public void put(final int address, final long value) {
+        if (address == 0) {
+            putZero(value);
+            return;
+        }
+        final int i = slot(address);
+        if (keys[i] == 0) {
+            insert(i, address, value);
+        } else {
+            values[i] = value;
+        }
+    }
+
+    /** Sets the value of an address.
+     * @param address the address.
+     * @param value the new value.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public void put(final IPv4 address, final long value) {
+        put(address.toInt(), value);
+    }
+
+    /** Adds to the value of an address. An address without a
+     * value counts as {@code 0}.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @param delta the amount to add.
+     * @return the new value.
+     * */
+    public long addTo(final int address, final long delta) {
+        if (address == 0) {
+            final long sum = (hasZeroKey ? zeroValue : 0) + delta;
+            putZero(sum);
+            return sum;
+        }
+        final int i = slot(address);
+        if (keys[i] == 0) {
+            insert(i, address, delta);
+            return delta;
+        }
+        values[i] += delta;
+        return values[i];
+    }
+
+    /** Adds to the value of an address. An address without a
+     * value counts as {@code 0}.
+     * @param address the address.
+     * @param delta the amount to add.
+     * @return the new value.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public long addTo(final IPv4 address, final long delta) {
+        return addTo(address.toInt(), delta);
+    }
+
+    /** Removes the value of an address.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @return {@code true} if there was a value.
+     * */
+    public boolean remove(final int address) {
+        if (address == 0) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        final int i = find(address);
+        if (i < 0) {
+            return false;
+        }
+        size--;
+        shiftKeys(i);
+        return true;
+    }
+
+    /** Removes the value of an address.
+     * @param address the address.
+     * @return {@code true} if there was a value.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public boolean remove(final IPv4 address) {
+        return remove(address.toInt());
+    }
+
+    /** Removes all entries. */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    /** Calls an action for each entry in no particular order.
+     * @param action the action to call with each address and value.
+     * */
+    public void forEach(final EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /** Get the slot of a non-zero address.
+     * @param address the address.
+     * @return the slot of the address, or {@code -1} if there is none.
+     * */
+    private int find(final int address) {
+        final int i = slot(address);
+        return keys[i] == 0 ? -1 : i;
+    }
+
+    /** Get the slot holding a non-zero address or the free slot
+     * the address would go to.
+     * @param address the address.
+     * @return the slot.
+     * */
+    private int slot(final int address) {
+        final int mask = keys.length - 1;
+        int i = BitsAndBytes.mix(address) & mask;
+        while (keys[i] != 0 && keys[i] != address) {
+            i = i + 1 & mask;
+        }
+        return i;
+    }
+
+    /** Sets the value of the address {@code 0}.
+     * @param value the new value.
+     * */
+    private void putZero(final long value) {
+        if (!hasZeroKey) {
+            hasZeroKey = true;
+            size++;
+        }
+        zeroValue = value;
+    }
+
+    /** Stores a new entry into a free slot.
+     * @param i the free slot.
+     * @param address the non-zero address.
+     * @param value the value.
+     * */
+    private void insert(final int i, final int address, final long value) {
+        keys[i] = address;
+        values[i] = value;
+        if (++size >= maxFill) {
+            rehash(OpenHashing.grow(keys.length));
+        }
+    }
+
+    /** Allocates empty arrays.
+     * @param capacity the number of slots, a power of two.
+     * */
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        maxFill = OpenHashing.maxFill(capacity);
+    }
+
+    /** Moves all entries into new arrays.
+     * @param capacity the new number of slots, a power of two.
+     * */
+    private void rehash(final int capacity) {
+        final int[] oldKeys = keys;
+        final long[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                final int i = slot(oldKeys[j]);
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /** Closes the gap of a removed entry by moving following entries of
+     * the same probe sequence back.
+     * @param position the slot of the removed entry.
+     * */
+    private void shiftKeys(final int position) {
+        final int mask = keys.length - 1;
+        int gap = position;
+        int i = position;
+        while (true) {
+            i = i + 1 & mask;
+            if (keys[i] == 0) {
+                break;
+            }
+            final int home = BitsAndBytes.mix(keys[i]) & mask;
+            if (OpenHashing.canMove(home, gap, i)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+    }
+}
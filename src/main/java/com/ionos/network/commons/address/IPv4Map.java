@@ -0,0 +1,287 @@
+package com.ionos.network.commons.address;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * A hash map from IPv4 addresses to objects that stores the
+ * addresses as primitive ints.
+ * The map uses open addressing with linear probing in parallel arrays,
+ * so there are no entry objects and no boxed keys. Lookups with the
+ * {@code int} methods allocate nothing.
+ * <br>
+ * Values must not be {@code null}. The map is not thread safe.
+ * @param <V> the type of values.
+ * @see IPv4#toInt()
+ * @see IPv4LongMap
+ * @see IPv6Map
+ * @author Stephan Fuhrmann
+ */
+public final class IPv4Map<V> {
+
+    /** The default number of entries to expect. */
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    /** The keys, {@code 0} marks a free slot. */
+    private int[] keys;
+
+    /** The values of the keys, {@code null} in free slots. */
+    private V[] values;
+
+    /** The value of the key {@code 0}, or {@code null}. */
+    private V zeroValue;
+
+    /** The number of entries. */
+    private int size;
+
+    /** The number of entries that triggers growing. */
+    private int maxFill;
+
+    /** Creates an empty map. */
+    public IPv4Map() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /** Creates an empty map.
+     * @param expectedSize the number of entries to hold without growing.
+     * @throws IllegalArgumentException if the expected size is negative
+     * or too big.
+     * */
+    public IPv4Map(final int expectedSize) {
+        allocate(OpenHashing.capacityFor(expectedSize));
+    }
+
+    /** Get the number of entries.
+     * @return the number of entries.
+     * */
+    public int size() {
+        return size;
+    }
+
+    /** Checks whether there are no entries.
+     * @return {@code true} if there are no entries.
+     * */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Get the value of an address.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @return the value, or {@code null} if there is none.
+     * */
+    public V get(final int address) {
+        if (address == 0) {
+            return zeroValue;
+        }
+        final int mask = keys.length - 1;
+        for (int i = BitsAndBytes.mix(address) & mask;
+             keys[i] != 0;
+             i = i + 1 & mask) {
+            if (keys[i] == address) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    /** Get the value of an address.
+     * @param address the address.
+     * @return the value, or {@code null} if there is none.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public V get(final IPv4 address) {
+        return get(address.toInt());
+    }
+
+    /** Checks whether there is a value for an address.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @return {@code true} if there is a value.
+     * */
+    public boolean containsKey(final int address) {
+        return get(address) != null;
+    }
+
+    /** Checks whether there is a value for an address.
+     * @param address the address.
+     * @return {@code true} if there is a value.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public boolean containsKey(final IPv4 address) {
+        return get(address.toInt()) != null;
+    }
+
+    /** Sets the value of an address.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @param value the new value.
+     * @return the previous value, or {@code null} if there was none.
+     * @throws NullPointerException if the value is {@code null}.
+     * */
+    public V put(final int address, final V value) {
+        Objects.requireNonNull(value, "value is null");
+        if (address == 0) {
+            final V previous = zeroValue;
+            zeroValue = value;
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        }
+        final int mask = keys.length - 1;
+        int i = BitsAndBytes.mix(address) & mask;
+        for (; keys[i] != 0; i = i + 1 & mask) {
+            if (keys[i] == address) {
+                final V previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = address;
+        values[i] = value;
+        if (++size >= maxFill) {
+            rehash(OpenHashing.grow(keys.length));
+        }
+        return null;
+    }
+
+    /** Sets the value of an address.
+     * @param address the address.
+     * @param value the new value.
+     * @return the previous value, or {@code null} if there was none.
+     * @throws NullPointerException if the address or value is
+     * {@code null}.
+     * */
+    public V put(final IPv4 address, final V value) {
+        return put(address.toInt(), value);
+    }
+
+    /** Get the value of an address, creating it if there is none.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @param factory creates the value from the address.
+     * @return the existing or new value.
+     * @throws NullPointerException if the factory returns {@code null}.
+     * */
+    public V computeIfAbsent(final int address,
+                             final IntFunction<? extends V> factory) {
+        final V existing = get(address);
+        if (existing != null) {
+            return existing;
+        }
+        final V created = factory.apply(address);
+        put(address, created);
+        return created;
+    }
+
+    /** Removes the value of an address.
+     * @param address the address as returned by {@link IPv4#toInt()}.
+     * @return the removed value, or {@code null} if there was none.
+     * */
+    public V remove(final int address) {
+        if (address == 0) {
+            final V previous = zeroValue;
+            if (previous != null) {
+                zeroValue = null;
+                size--;
+            }
+            return previous;
+        }
+        final int mask = keys.length - 1;
+        for (int i = BitsAndBytes.mix(address) & mask;
+             keys[i] != 0;
+             i = i + 1 & mask) {
+            if (keys[i] == address) {
+                final V previous = values[i];
+                size--;
+                shiftKeys(i);
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    /** Removes the value of an address.
+     * @param address the address.
+     * @return the removed value, or {@code null} if there was none.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public V remove(final IPv4 address) {
+        return remove(address.toInt());
+    }
+
+    /** Removes all entries. */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        zeroValue = null;
+        size = 0;
+    }
+
+    /** Calls an action for each entry in no particular order.
+     * @param action the action to call with each address and value.
+     * */
+    public void forEach(final BiConsumer<? super IPv4, ? super V> action) {
+        if (zeroValue != null) {
+            action.accept(IPv4.IPV4_ALL_ZERO, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(new IPv4(keys[i]), values[i]);
+            }
+        }
+    }
+
+    /** Allocates empty arrays.
+     * @param capacity the number of slots, a power of two.
+     * */
+    @SuppressWarnings("unchecked")
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = (V[]) new Object[capacity];
+        maxFill = OpenHashing.maxFill(capacity);
+    }
+
+    /** Moves all entries into new arrays.
+     * @param capacity the new number of slots, a power of two.
+     * */
+    private void rehash(final int capacity) {
+        final int[] oldKeys = keys;
+        final V[] oldValues = values;
+        allocate(capacity);
+        final int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = BitsAndBytes.mix(oldKeys[j]) & mask;
+                while (keys[i] != 0) {
+                    i = i + 1 & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /** Closes the gap of a removed entry by moving following entries of
+     * the same probe sequence back.
+     * @param position the slot of the removed entry.
+     * */
+    private void shiftKeys(final int position) {
+        final int mask = keys.length - 1;
+        int gap = position;
+        int i = position;
+        while (true) {
+            i = i + 1 & mask;
+            if (keys[i] == 0) {
+                break;
+            }
+            final int home = BitsAndBytes.mix(keys[i]) & mask;
+            if (OpenHashing.canMove(home, gap, i)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+}
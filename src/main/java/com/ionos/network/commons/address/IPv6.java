@@ -2,9 +2,13 @@ package com.ionos.network.commons.address;
 
 import java.io.Serializable;
 
+import static com.ionos.network.commons.address.BitsAndBytes.BITS_PER_BYTE;
+import static com.ionos.network.commons.address.BitsAndBytes.BYTE_MASK;
+import static com.ionos.network.commons.address.BitsAndBytes.USHORT_MAX_VALUE;
+
 /**
  * IP for the IPv6 protocol.
- * Stores the address bytes and has methods to calculate with IPs.
+ * Stores the address in two longs and has methods to calculate with IPs.
  * <br>
  * Objects of the IPv6 class are immutable!
  *
@@ -22,15 +26,42 @@ public final class IPv6 extends IP<IPv6> implements Address, Serializable {
     private static final long serialVersionUID = 6626793331933215894L;
 
     /** The IPv6 address {@code 0::0}. */
-    public static final IPv6 IPV6_ALL_ZERO =
-            new IPv6(BitsAndBytes.newArrayOf(
-                    IPVersion.IPV6.getAddressBytes(), (byte) 0));
+    public static final IPv6 IPV6_ALL_ZERO = new IPv6(0L, 0L);
 
     /** The IPv6 address {@code ffff:...:ffff}. */
-    public static final IPv6 IPV6_ALL_ONE =
-            new IPv6(BitsAndBytes.newArrayOf(
-                    IPVersion.IPV6.getAddressBytes(),
-                    (byte) BitsAndBytes.UBYTE_MAX_VALUE));
+    public static final IPv6 IPV6_ALL_ONE = new IPv6(-1L, -1L);
+
+    /** The number of hextets in one long. */
+    private static final int HEXTETS_PER_LONG = Long.SIZE / Short.SIZE;
+
+    /** Multiplier for combining the hash codes of the two halves. */
+    private static final int HASH_MULTIPLIER = 31;
+
+    /** The upper 64 address bits.
+     * Gets serialized by {@linkplain AbstractAddress}.
+     * */
+    private transient long high;
+
+    /** The lower 64 address bits.
+     * Gets serialized by {@linkplain AbstractAddress}.
+     * */
+    private transient long low;
+
+    /**
+     * Creates a new IP address from the address bits.
+     *
+     * @param inHigh the upper 64 address bits. The most significant byte
+     *               is the first byte in network byte order.
+     *               Example: {@code 0x20010db800000000L} for
+     *               {@code 2001:db8::/64}.
+     * @param inLow the lower 64 address bits.
+     * @see #getHighBits()
+     * @see #getLowBits()
+     */
+    public IPv6(final long inHigh, final long inLow) {
+        this.high = inHigh;
+        this.low = inLow;
+    }
 
     /**
      * Creates a new IP address from the address bytes.
@@ -38,7 +69,8 @@ public final class IPv6 extends IP<IPv6> implements Address, Serializable {
      * @param inAddress a 16 byte address in network byte order.
      */
     protected IPv6(final byte[] inAddress) {
-        super(inAddress, IPVersion.IPV6.getAddressBytes());
+        requireLength(inAddress, IPVersion.IPV6.getAddressBytes());
+        readBytes(inAddress);
     }
 
     /**
@@ -60,6 +92,54 @@ public final class IPv6 extends IP<IPv6> implements Address, Serializable {
         return IPVersion.IPV6;
     }
 
+    /** Get the upper 64 address bits.
+     * @return the upper 64 address bits. The most significant byte is the
+     * first byte in network byte order.
+     * @see #IPv6(long, long)
+     * */
+    public long getHighBits() {
+        return high;
+    }
+
+    /** Get the lower 64 address bits.
+     * @return the lower 64 address bits.
+     * @see #IPv6(long, long)
+     * */
+    public long getLowBits() {
+        return low;
+    }
+
+    /** Get one of the eight 16 bit groups of the address.
+     * @param index the index of the group, starting with 0 for the
+     *              most significant group.
+     * @return the unsigned 16 bit value of the group.
+     * */
+    int getHextet(final int index) {
+        final long bits = index < HEXTETS_PER_LONG ? high : low;
+        final int shift = (HEXTETS_PER_LONG - 1 - index % HEXTETS_PER_LONG)
+                * Short.SIZE;
+        return (int) (bits >>> shift) & USHORT_MAX_VALUE;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        final byte[] result = new byte[IPVersion.IPV6.getAddressBytes()];
+        BitsAndBytes.putLong(result, 0, high);
+        BitsAndBytes.putLong(result, Long.BYTES, low);
+        return result;
+    }
+
+    @Override
+    public int length() {
+        return IPVersion.IPV6.getAddressBytes();
+    }
+
+    @Override
+    void readBytes(final byte[] data) {
+        high = BitsAndBytes.getLong(data, 0);
+        low = BitsAndBytes.getLong(data, Long.BYTES);
+    }
+
     @Override
     protected IPv6 newInstance(final byte[] address) {
         return new IPv6(address);
@@ -69,4 +149,124 @@ public final class IPv6 extends IP<IPv6> implements Address, Serializable {
     protected AddressFormat<IPv6> defaultAddressFormat() {
         return IPFormats.COLON_SEPARATED_HEXTETS;
     }
+
+    @Override
+    public IPv6 invert() {
+        return new IPv6(~high, ~low);
+    }
+
+    @Override
+    public IPv6 add(final byte[] offset) {
+        requireNotLongerThanAddress(offset, "Offset");
+        long offsetHigh = 0;
+        long offsetLow = 0;
+        for (byte b : offset) {
+            offsetHigh = offsetHigh << BITS_PER_BYTE
+                    | offsetLow >>> (Long.SIZE - BITS_PER_BYTE);
+            offsetLow = offsetLow << BITS_PER_BYTE | b & BYTE_MASK;
+        }
+        return add(offsetHigh, offsetLow);
+    }
+
+    @Override
+    public IPv6 and(final byte[] mask) {
+        requireNotLongerThanAddress(mask, "Mask");
+        // bytes not covered by the mask stay unchanged
+        long maskHigh = -1L;
+        long maskLow = -1L;
+        for (byte b : mask) {
+            maskHigh = maskHigh << BITS_PER_BYTE
+                    | maskLow >>> (Long.SIZE - BITS_PER_BYTE);
+            maskLow = maskLow << BITS_PER_BYTE | b & BYTE_MASK;
+        }
+        return new IPv6(high & maskHigh, low & maskLow);
+    }
+
+    @Override
+    public IPv6 add(final long offset) {
+        return add(0L, offset);
+    }
+
+    /** Adds a 128 bit unsigned value to this address.
+     * @param offsetHigh the upper 64 bits of the value to add.
+     * @param offsetLow the lower 64 bits of the value to add.
+     * @return the sum of this address and the offset, modulo 2^128.
+     * */
+    private IPv6 add(final long offsetHigh, final long offsetLow) {
+        final long sumLow = low + offsetLow;
+        final long carry = Long.compareUnsigned(sumLow, low) < 0 ? 1L : 0L;
+        return new IPv6(high + offsetHigh + carry, sumLow);
+    }
+
+    @Override
+    IPv6 clearHostBits(final int prefixBits) {
+        return new IPv6(high & highMask(prefixBits), low & lowMask(prefixBits));
+    }
+
+    @Override
+    IPv6 setHostBits(final int prefixBits) {
+        return new IPv6(high | ~highMask(prefixBits),
+                low | ~lowMask(prefixBits));
+    }
+
+    @Override
+    boolean hasSamePrefix(final IP<?> other, final int prefixBits) {
+        if (!(other instanceof IPv6)) {
+            return false;
+        }
+        final IPv6 that = (IPv6) other;
+        return ((high ^ that.high) & highMask(prefixBits)) == 0
+                && ((low ^ that.low) & lowMask(prefixBits)) == 0;
+    }
+
+    @Override
+    boolean testBit(final int index) {
+        if (index < Long.SIZE) {
+            return (high << index) < 0;
+        }
+        return (low << (index - Long.SIZE)) < 0;
+    }
+
+    @Override
+    int commonPrefixLength(final IPv6 other) {
+        final long highDifference = high ^ other.high;
+        if (highDifference != 0) {
+            return Long.numberOfLeadingZeros(highDifference);
+        }
+        return Long.SIZE + Long.numberOfLeadingZeros(low ^ other.low);
+    }
+
+    /** Get the mask for the upper 64 bits of a network prefix.
+     * @param prefixBits the prefix length between 0 and 128.
+     * @return the mask for the {@linkplain #high} bits.
+     * */
+    static long highMask(final int prefixBits) {
+        return BitsAndBytes.leadingBitsLong(Math.min(prefixBits, Long.SIZE));
+    }
+
+    /** Get the mask for the lower 64 bits of a network prefix.
+     * @param prefixBits the prefix length between 0 and 128.
+     * @return the mask for the {@linkplain #low} bits.
+     * */
+    static long lowMask(final int prefixBits) {
+        return BitsAndBytes.leadingBitsLong(Math.max(prefixBits - Long.SIZE,
+                0));
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof IPv6) {
+            final IPv6 other = (IPv6) o;
+            return high == other.high && low == other.low;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) * HASH_MULTIPLIER + Long.hashCode(low);
+    }
 }
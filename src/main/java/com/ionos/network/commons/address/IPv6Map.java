@@ -0,0 +1,247 @@
+package com.ionos.network.commons.address;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map from IPv6 addresses to objects that stores the
+ * addresses as two primitive longs.
+ * The map uses open addressing with linear probing in parallel arrays,
+ * so there are no entry objects and no boxed keys. Lookups with the
+ * {@code long} methods allocate nothing. They take the address halves
+ * of {@link IPv6#getHighBits()} and {@link IPv6#getLowBits()}.
+ * <br>
+ * Values must not be {@code null}. The map is not thread safe.
+ * @param <V> the type of values.
+ * @see IPv4Map
+ * @author Stephan Fuhrmann
+ */
+public final class IPv6Map<V> {
+
+    /** The default number of entries to expect. */
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    /** The upper 64 bits of the keys. */
+    private long[] highKeys;
+
+    /** The lower 64 bits of the keys. */
+    private long[] lowKeys;
+
+    /** The values of the keys, {@code null} marks a free slot. */
+    private V[] values;
+
+    /** The number of entries. */
+    private int size;
+
+    /** The number of entries that triggers growing. */
+    private int maxFill;
+
+    /** Creates an empty map. */
+    public IPv6Map() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /** Creates an empty map.
+     * @param expectedSize the number of entries to hold without growing.
+     * @throws IllegalArgumentException if the expected size is negative
+     * or too big.
+     * */
+    public IPv6Map(final int expectedSize) {
+        allocate(OpenHashing.capacityFor(expectedSize));
+    }
+
+    /** Get the number of entries.
+     * @return the number of entries.
+     * */
+    public int size() {
+        return size;
+    }
+
+    /** Checks whether there are no entries.
+     * @return {@code true} if there are no entries.
+     * */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Get the value of an address.
+     * @param high the upper 64 bits of the address.
+     * @param low the lower 64 bits of the address.
+     * @return the value, or {@code null} if there is none.
+     * */
+    public V get(final long high, final long low) {
+        return values[slot(high, low)];
+    }
+
+    /** Get the value of an address.
+     * @param address the address.
+     * @return the value, or {@code null} if there is none.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public V get(final IPv6 address) {
+        return get(address.getHighBits(), address.getLowBits());
+    }
+
+    /** Checks whether there is a value for an address.
+     * @param high the upper 64 bits of the address.
+     * @param low the lower 64 bits of the address.
+     * @return {@code true} if there is a value.
+     * */
+    public boolean containsKey(final long high, final long low) {
+        return get(high, low) != null;
+    }
+
+    /** Checks whether there is a value for an address.
+     * @param address the address.
+     * @return {@code true} if there is a value.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public boolean containsKey(final IPv6 address) {
+        return get(address) != null;
+    }
+
+    /** Sets the value of an address.
+     * @param high the upper 64 bits of the address.
+     * @param low the lower 64 bits of the address.
+     * @param value the new value.
+     * @return the previous value, or {@code null} if there was none.
+     * @throws NullPointerException if the value is {@code null}.
+     * */
+    public V put(final long high, final long low, final V value) {
+        Objects.requireNonNull(value, "value is null");
+        final int i = slot(high, low);
+        final V previous = values[i];
+        values[i] = value;
+        if (previous == null) {
+            highKeys[i] = high;
+            lowKeys[i] = low;
+            if (++size >= maxFill) {
+                rehash(OpenHashing.grow(values.length));
+            }
+        }
+        return previous;
+    }
+
+    /** Sets the value of an address.
+     * @param address the address.
+     * @param value the new value.
+     * @return the previous value, or {@code null} if there was none.
+     * @throws NullPointerException if the address or value is
+     * {@code null}.
+     * */
+    public V put(final IPv6 address, final V value) {
+        return put(address.getHighBits(), address.getLowBits(), value);
+    }
+
+    /** Removes the value of an address.
+     * @param high the upper 64 bits of the address.
+     * @param low the lower 64 bits of the address.
+     * @return the removed value, or {@code null} if there was none.
+     * */
+    public V remove(final long high, final long low) {
+        final int i = slot(high, low);
+        final V previous = values[i];
+        if (previous != null) {
+            size--;
+            shiftKeys(i);
+        }
+        return previous;
+    }
+
+    /** Removes the value of an address.
+     * @param address the address.
+     * @return the removed value, or {@code null} if there was none.
+     * @throws NullPointerException if the address is {@code null}.
+     * */
+    public V remove(final IPv6 address) {
+        return remove(address.getHighBits(), address.getLowBits());
+    }
+
+    /** Removes all entries. */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /** Calls an action for each entry in no particular order.
+     * @param action the action to call with each address and value.
+     * */
+    public void forEach(final BiConsumer<? super IPv6, ? super V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(new IPv6(highKeys[i], lowKeys[i]), values[i]);
+            }
+        }
+    }
+
+    /** Get the slot holding an address or the free slot
+     * the address would go to.
+     * @param high the upper 64 bits of the address.
+     * @param low the lower 64 bits of the address.
+     * @return the slot.
+     * */
+    private int slot(final long high, final long low) {
+        final int mask = values.length - 1;
+        int i = BitsAndBytes.mix(high, low) & mask;
+        while (values[i] != null
+                && (highKeys[i] != high || lowKeys[i] != low)) {
+            i = i + 1 & mask;
+        }
+        return i;
+    }
+
+    /** Allocates empty arrays.
+     * @param capacity the number of slots, a power of two.
+     * */
+    @SuppressWarnings("unchecked")
+    private void allocate(final int capacity) {
+        highKeys = new long[capacity];
+        lowKeys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        maxFill = OpenHashing.maxFill(capacity);
+    }
+
+    /** Moves all entries into new arrays.
+     * @param capacity the new number of slots, a power of two.
+     * */
+    private void rehash(final int capacity) {
+        final long[] oldHighKeys = highKeys;
+        final long[] oldLowKeys = lowKeys;
+        final V[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                final int i = slot(oldHighKeys[j], oldLowKeys[j]);
+                highKeys[i] = oldHighKeys[j];
+                lowKeys[i] = oldLowKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /** Closes the gap of a removed entry by moving following entries of
+     * the same probe sequence back.
+     * @param position the slot of the removed entry.
+     * */
+    private void shiftKeys(final int position) {
+        final int mask = values.length - 1;
+        int gap = position;
+        int i = position;
+        while (true) {
+            i = i + 1 & mask;
+            if (values[i] == null) {
+                break;
+            }
+            final int home = BitsAndBytes.mix(highKeys[i], lowKeys[i])
+                    & mask;
+            if (OpenHashing.canMove(home, gap, i)) {
+                highKeys[gap] = highKeys[i];
+                lowKeys[gap] = lowKeys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ionos.network.commons.address;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * The Media Access Control address of a network interface.
@@ -18,6 +19,11 @@ public final class MAC extends AbstractAddress
     /** The number of bytes in a MAC address. May change! */
     protected static final int MAC_LENGTH = 6;
 
+    /** The bytes representing the address.
+     * Gets serialized by {@linkplain AbstractAddress}.
+     * */
+    private transient byte[] address;
+
     /**
      * Creates a MAC by parsing the given String.
      *
@@ -26,7 +32,8 @@ public final class MAC extends AbstractAddress
      * not be parsed
      */
     public MAC(final String mac) {
-        super(MACParsers.DEFAULT.parseAsBytes(mac), MAC_LENGTH);
+        this.address = requireLength(MACParsers.DEFAULT.parseAsBytes(mac),
+                MAC_LENGTH);
     }
 
     /**
@@ -37,7 +44,44 @@ public final class MAC extends AbstractAddress
      * illegal length
      */
     public MAC(final byte[] mac) {
-        super(mac, MAC_LENGTH);
+        this.address = Arrays.copyOf(requireLength(mac, MAC_LENGTH),
+                MAC_LENGTH);
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return Arrays.copyOf(address, address.length);
+    }
+
+    @Override
+    byte[] bytesForReading() {
+        return address;
+    }
+
+    @Override
+    void readBytes(final byte[] data) {
+        address = data;
+    }
+
+    @Override
+    public int length() {
+        return MAC_LENGTH;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof MAC) {
+            return Arrays.equals(address, ((MAC) o).address);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(address);
     }
 
     /**
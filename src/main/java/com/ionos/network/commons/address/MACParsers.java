@@ -1,5 +1,7 @@
 package com.ionos.network.commons.address;
 
+import java.util.Optional;
+
 /**
  * Parser implementations for MAC addresses.
  * @see MAC
@@ -7,26 +9,49 @@ package com.ionos.network.commons.address;
  * */
 public final class MACParsers {
 
-    private abstract static class AbstractMacParser
-            implements AddressParser<MAC> {
-        public MAC parse(final String address) {
-            return new MAC(parseAsBytes(address));
-        }
-    }
-
     /**
      * Parses a MAC address in every possible known format.
      * @see #CISCO_CUSTOM_FORMAT
      * @see #COLON_SEPARATED_HEX_FORMAT
      */
-    public static final AddressParser<MAC> DEFAULT = new AbstractMacParser() {
+    public static final AddressParser<MAC> DEFAULT = new AddressParser<MAC>() {
+        @Override
+        public MAC parse(final String address) {
+            return new MAC(parseAsBytes(address));
+        }
+
         @Override
         public byte[] parseAsBytes(final String address) {
-            byte[] result;
-            try {
-                result = COLON_SEPARATED_HEX_FORMAT.parseAsBytes(address);
-            } catch (IllegalArgumentException e) {
-                result = CISCO_CUSTOM_FORMAT.parseAsBytes(address);
+            byte[] result = new byte[MAC.MAC_LENGTH];
+            if (tryParseAsBytes(address, 0, address.length(), result, 0)
+                    == INVALID) {
+                throw new IllegalArgumentException("Address '"
+                        + address + "' has an unknown format");
+            }
+            return result;
+        }
+
+        @Override
+        public Optional<MAC> tryParse(final String address) {
+            byte[] result = new byte[MAC.MAC_LENGTH];
+            if (tryParseAsBytes(address, 0, address.length(), result, 0)
+                    == INVALID) {
+                return Optional.empty();
+            }
+            return Optional.of(new MAC(result));
+        }
+
+        @Override
+        public int tryParseAsBytes(final CharSequence address,
+                                   final int start,
+                                   final int end,
+                                   final byte[] to,
+                                   final int offset) {
+            int result = COLON_SEPARATED_HEX_FORMAT.tryParseAsBytes(
+                    address, start, end, to, offset);
+            if (result == INVALID) {
+                result = CISCO_CUSTOM_FORMAT.tryParseAsBytes(
+                        address, start, end, to, offset);
             }
             return result;
         }
@@ -7,13 +7,15 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -75,6 +77,9 @@ public final class Network<T extends IP<T>>
         }
     }
 
+    /** The maximum number of networks {@link #split(int)} can return. */
+    private static final long MAX_SPLIT_LIST_SIZE = Integer.MAX_VALUE;
+
     /** Compares networks {@link Network#getAddress() start} IPs. */
     private static final Comparator<Network<?>> NETWORK_START_COMPARATOR =
             (network1, network2) -> {
@@ -136,22 +141,14 @@ public final class Network<T extends IP<T>>
         Objects.requireNonNull(inIP, "ip is null");
         this.prefix = requireValidPrefix(inIP.getIPVersion(), inPrefix);
 
-        final NetworkMaskData<T> maskData =
-                getNetworkMaskData(inIP.getIPVersion(), prefix);
-
-        this.ipAddress = inIP.and(
-                maskData.subnetMask
-                        .address);
+        this.ipAddress = inIP.clearHostBits(prefix);
 
         this.ipBroadcast = ipBroadcastFor(ipAddress, prefix);
     }
 
     private static <U extends IP<U>> U ipBroadcastFor(final U startAddress,
                                                    final int prefix) {
-            return startAddress.add(
-                    getNetworkMaskData(startAddress.getIPVersion(), prefix)
-                            .inverseSubnetMask
-                            .address);
+            return startAddress.setHostBits(prefix);
     }
 
     /**
@@ -361,125 +358,41 @@ public final class Network<T extends IP<T>>
      * is <code>null</code>.
      * @throws IllegalArgumentException if inStartIP is larger than
      * inEndIP, or the IP versions don't match.
+     * @see IPRange#toNetworks()
      */
     public static <T extends IP<T>> List<Network<T>> rangeFrom(
             final T inStartIP,
             final T inEndIP) {
-        Objects.requireNonNull(inStartIP, "start IP is null");
-        Objects.requireNonNull(inEndIP, "end IP is null");
-        if (inStartIP.compareTo(inEndIP) > 0) {
-            throw new IllegalArgumentException(
-                    "start IP must be smaller or equal to end IP");
-        }
-        if (!inStartIP.getIPVersion().equals(inEndIP.getIPVersion())) {
-            throw new IllegalArgumentException(
-                    "IP versions of start and end do not match");
-        }
-        if (inStartIP.equals(inEndIP)) { //NOSONAR
-            return Collections.singletonList(
-                    new Network<T>(inStartIP,
-                            inStartIP.getIPVersion().getAddressBits()));
-        }
-        // ip address bit width
-        final int adrBits = inStartIP.getIPVersion().getAddressBits();
-
-        final List<Network<T>> result = new ArrayList<>();
-
-        final T endIPExclusive = inEndIP.add(1);
-
-        // two complement negation: this is (- startIP)
-        final T firstNegated = inStartIP.invert().add(1);
-        // example: for a.b.c.0-a.b.c.255 we now have 0.0.0.255
-        final T net = endIPExclusive.add(firstNegated.address);
-        // the ip count as a byte array integer. For our example, this is 256.
-        byte[] ipcount = net.address;
-        // the increment byte array for adding the just processed network
-        final byte[] increment = new byte[ipcount.length];
-
-        // current ip position
-        T cur = inStartIP;
-        T last = null;
-
-        // go thru the IPs and add the biggest possible network.
-        while (cur.compareTo(inEndIP) <= 0
-                && (last == null || last.compareTo(cur) < 0)) {
-            int currentBit = BitsAndBytes.getLowestBitSet(cur.address);
-
-            if (currentBit == -1) {
-                currentBit = adrBits;
-            }
-            final int ipCountHigh = BitsAndBytes.getHighestBitSet(ipcount);
-            if (ipCountHigh != -1 && currentBit > ipCountHigh) {
-                // too high, need to add something else
-                currentBit = ipCountHigh;
-            }
-
-            result.add(new Network<T>(cur, adrBits - currentBit));
-
-            // book keeping work
-            if (currentBit < adrBits) {
-                final int byteOfs = (adrBits - currentBit - 1)
-                        >> BitsAndBytes.BIT_SHIFT_BYTE;
-                final int bitOfs = currentBit & BitsAndBytes.BIT_MASK_TRIPLE;
-                last = cur;
-                increment[byteOfs] |= (1 << bitOfs);
-                cur = cur.add(increment);
-                increment[byteOfs] &= ~(1 << bitOfs);
-
-                // two complement negation: this is (- startIP)
-                final T curNegated = cur.invert().add(1);
-                // example: for a.b.c.0-a.b.c.255 we now have 0.0.0.255
-                T curNetnet = endIPExclusive.add(curNegated.address);
-                // the ip count as a byte array integer.
-                // For our example, this is 256.
-                ipcount = curNetnet.address;
-            } else {
-                break;
-            }
-        }
-
-        return result;
+        return new IPRange<>(inStartIP, inEndIP).toNetworks();
     }
 
     /**
      * Merges a list of networks removing networks that are contained in
      * others.
+     * The networks are sorted once and then merged in a single pass,
+     * so this takes {@code O(n log n)} time.
      *
      * @param networks the input networks to be merged.
      * @param <T> the IP sub type the networks are in.
      * @return the list of networks without one network containing the other.
+     * The iteration order of the set is in ascending IP order.
      * @see #mergeNeighbors(Collection)
      */
     public static <T extends IP<T>> Set<Network<T>> mergeContaining(
             final Collection<Network<T>> networks) {
-        List<Network<T>> nets = new ArrayList<>(networks);
-        Set<Network<T>> result = new HashSet<>();
-
-        // sort the networks by their size. this way we only need
-        // to compare O(n*lg n) times
-        nets.sort(
-                (o1, o2) -> o2.getPrefix() - o1.getPrefix());
-
-        int increment = 0;
-        for (int i = 0; i < nets.size(); i += increment) {
-            boolean contained = false;
-
-            for (int j = i + 1; j < nets.size(); j++) {
-                if (nets.get(j).contains(nets.get(i))) {
-                    contained = true;
-                    break;
-                }
-            }
-
-            if (contained) {
-                nets.remove(i);
-                increment = 0;
-            } else {
-                result.add(nets.get(i));
-                increment = 1;
+        final List<Network<T>> nets = new ArrayList<>(networks);
+        final Set<Network<T>> result = new LinkedHashSet<>();
+
+        // sorted by start and size, a containing network comes directly
+        // before the networks it contains
+        nets.sort(NETWORK_START_COMPARATOR);
+        Network<T> last = null;
+        for (Network<T> net : nets) {
+            if (last == null || !last.contains(net)) {
+                result.add(net);
+                last = net;
             }
         }
-
         return result;
     }
 
@@ -490,83 +403,43 @@ public final class Network<T extends IP<T>>
      * Example: {@code 192.168.0.0/25}
      * and {@code 192.168.0.128/25} will
      * be merged to {@code 192.168.0.0/24}.
+     * The result is the smallest list of networks covering the same IPs.
+     * <br>
+     * The networks are sorted once and then merged in a single pass
+     * using a stack, so this takes {@code O(n log n)} time.
      *
      * @param <U> the IP subclass this network is in.
      * @param networks the input networks to be joined.
-     * @return a new network list with neighbor networks merged.
+     * @return a new network list with neighbor networks merged
+     * in ascending IP order.
      * @see #mergeContaining(Collection)
      */
     public static <U extends IP<U>> List<Network<U>> mergeNeighbors(
             final Collection<Network<U>> networks) {
-        final List<Network<U>> from = new ArrayList<>(networks);
-        final List<Network<U>> to = new ArrayList<>(networks.size());
-        from.sort(NETWORK_START_COMPARATOR);
-        boolean reduction;
-        do {
-            to.clear();
-            reduction = mergeNeighborsTryReduce(from, to);
-            if (reduction) {
-                // prepare for next iteration
-                from.clear();
-                from.addAll(to);
-            }
-        } while (reduction);
-        return to;
-    }
-
-    /** Do one reduction step over the list of networks.
-     * @param from the input list of networks. Read-only. Needs to be sorted.
-     * @param to the empty list of network that gets filled by this method.
-     * @param <U> the IP type of the networks processed.
-     * @return {@code true} if the list from was reduced somehow.
-     * @see #mergeNeighbors(Collection)
-     * */
-    private static <U extends IP<U>> boolean mergeNeighborsTryReduce(
-            final List<Network<U>> from,
-            final List<Network<U>> to) {
-        boolean reduction = false;
-        boolean skip = false;
-        for (int i = 0; i < from.size(); i++) {
-            Network<U> left = from.get(i);
-            boolean merged = false;
-
-            // the network to add after this iteration
-            Network<U> add = left;
-
-            if (skip) {
-                // left was a right network that got reduced
-                skip = false;
+        final List<Network<U>> sorted = new ArrayList<>(networks);
+        sorted.sort(NETWORK_START_COMPARATOR);
+        // the merged networks so far, the top is the last element
+        final List<Network<U>> stack = new ArrayList<>(sorted.size());
+        for (Network<U> net : sorted) {
+            if (!stack.isEmpty() && stack.get(stack.size() - 1).contains(net)) {
                 continue;
             }
-
-            if (i + 1 < from.size()) {
-                Network<U> right = from.get(i + 1);
-                // left contains right
-                if (left.getPrefix() <= right.getPrefix()
-                        && left.contains(right)) {
-                    add = left;
-                    merged = true;
-                }
-
-                if (!merged && left.getPrefix() == right.getPrefix()
-                        && left.getBroadcast()
-                        .add(1).equals(right.ipAddress)) {
-                    Network<U> joint = new Network<>(left.getAddress(),
-                            left.getPrefix() - 1);
-                    if (joint.contains(left) && joint.contains(right)) {
-                        add = joint;
-                        merged = true;
-                    }
+            Network<U> top = net;
+            // join the top with its same-sized left neighbor as long
+            // as they form a bigger network
+            while (!stack.isEmpty() && top.prefix > 0) {
+                final Network<U> below = stack.get(stack.size() - 1);
+                if (below.prefix != top.prefix
+                        || !below.ipAddress.hasSamePrefix(top.ipAddress,
+                                top.prefix - 1)) {
+                    break;
                 }
+                stack.remove(stack.size() - 1);
+                top = new Network<>(below.ipAddress, top.prefix - 1);
             }
-
-            to.add(add);
-            if (merged) {
-                skip = true;
-                reduction = true;
-            }
+            stack.add(top);
         }
-        return reduction;
+        return stack;
     }
 
     /**
@@ -627,17 +500,12 @@ public final class Network<T extends IP<T>>
      */
     public boolean contains(final Network<?> network) {
         Objects.requireNonNull(network, "Network is null");
-        byte[] thisNetMask = getSubnetMask().address;
-        byte[] thisNetworkBytes = getAddress().address;
-        byte[] otherNetworkBytes = network.getAddress().address;
 
         // bigger prefix network can not contain smaller prefix network
         if (prefix > network.prefix) {
             return false;
         }
-        return BitsAndBytes.equalsWithMask(thisNetworkBytes,
-                otherNetworkBytes,
-                thisNetMask);
+        return ipAddress.hasSamePrefix(network.ipAddress, prefix);
     }
 
     /**
@@ -648,20 +516,26 @@ public final class Network<T extends IP<T>>
      * {@code false} otherwise. Networks
      * do not contain ip addresses of different versions (IPV4 vs. IPV6).
      * This method will return {@code false} in such a case.
+     * @see #matcher()
      */
     public boolean contains(final IP<?> ip) {
         Objects.requireNonNull(ip, "IP is null");
 
-        // different IP version?
-        if (ipAddress.length() != ip.length()) {
-            return false;
-        }
-
-        byte[] netMask = getSubnetMask().address;
-        byte[] ipBytes = ip.address;
-        byte[] networkBytes = getAddress().address;
+        // different IP versions are handled by hasSamePrefix
+        return ipAddress.hasSamePrefix(ip, prefix);
+    }
 
-        return BitsAndBytes.equalsWithMask(networkBytes, ipBytes, netMask);
+    /**
+     * Creates a matcher that tests addresses against this network with
+     * precomputed primitive masks.
+     * Keep the matcher when testing many addresses, especially in
+     * batches of primitive IPv4 addresses.
+     *
+     * @return a new matcher for this network.
+     * @see #contains(IP)
+     */
+    public NetworkMatcher matcher() {
+        return new NetworkMatcher(this);
     }
 
     /**
@@ -677,10 +551,71 @@ public final class Network<T extends IP<T>>
      * @return a collection of networks, each being a
      * {@code IP/targetPrefix} network.
      * @throws IllegalArgumentException if the targetPrefix parameter
-     * does not match the ip version.
+     * does not match the ip version, or there are too many parts
+     * for a list.
+     * @see #splitStream(int)
      */
     public List<Network<T>> split(final int targetPrefix) {
-        // +++ stfu 2007-10-30: this should return an iterator instead
+        final Spliterator<Network<T>> spliterator =
+                splitSpliterator(targetPrefix);
+        final long size = spliterator.estimateSize();
+        if (size > MAX_SPLIT_LIST_SIZE) {
+            throw new IllegalArgumentException("Too many networks ("
+                    + size + "), use splitStream instead");
+        }
+        final List<Network<T>> resultCollection = new ArrayList<>((int) size);
+        spliterator.forEachRemaining(resultCollection::add);
+        return resultCollection;
+    }
+
+    /**
+     * Split the network up into smaller parts lazily.
+     * The parts are created while iterating, so even huge numbers of
+     * parts need no memory.
+     *
+     * @param targetPrefix the target prefix length of the smaller
+     *               parts in bits,
+     *               must be smaller than the original size.
+     * @return an iterator over the {@code IP/targetPrefix} networks in
+     * ascending order.
+     * @throws IllegalArgumentException if the targetPrefix parameter
+     * does not match the ip version.
+     * @see #split(int)
+     * @see #splitStream(int)
+     */
+    public Iterator<Network<T>> splitIterator(final int targetPrefix) {
+        return Spliterators.iterator(splitSpliterator(targetPrefix));
+    }
+
+    /**
+     * Split the network up into smaller parts lazily.
+     * The stream is {@linkplain Spliterator#SIZED sized} if the
+     * number of parts is less than {@link Long#MAX_VALUE}.
+     * It splits in constant time, so it scales well as a
+     * {@linkplain Stream#parallel() parallel} stream.
+     *
+     * @param targetPrefix the target prefix length of the smaller
+     *               parts in bits,
+     *               must be smaller than the original size.
+     * @return a sequential stream of the {@code IP/targetPrefix}
+     * networks in ascending order.
+     * @throws IllegalArgumentException if the targetPrefix parameter
+     * does not match the ip version.
+     * @see #split(int)
+     */
+    public Stream<Network<T>> splitStream(final int targetPrefix) {
+        return StreamSupport.stream(splitSpliterator(targetPrefix), false);
+    }
+
+    /**
+     * Creates a spliterator over the parts of this network.
+     *
+     * @param targetPrefix the target prefix length of the parts.
+     * @return a spliterator over the {@code IP/targetPrefix} networks.
+     * @throws IllegalArgumentException if the targetPrefix parameter
+     * does not match the ip version.
+     */
+    private Spliterator<Network<T>> splitSpliterator(final int targetPrefix) {
         IPVersion ipVersion = getIPVersion();
 
         if (prefix > targetPrefix) {
@@ -691,26 +626,10 @@ public final class Network<T extends IP<T>>
             throw new IllegalArgumentException(
                     "Too big for this kind of address type");
         }
-        int iterateBitLength = targetPrefix - prefix;
-        byte[] incrementBytes = new byte[ipVersion.getAddressBytes()];
-        int byteOfs = incrementBytes.length - 1
-                - ((ipVersion.getAddressBits() - targetPrefix)
-                >> BitsAndBytes.BIT_SHIFT_BYTE);
-        int bitOfs = (ipVersion.getAddressBits() - targetPrefix)
-                & BitsAndBytes.BIT_MASK_TRIPLE;
-        incrementBytes[byteOfs] = (byte) (1 << bitOfs);
-
-        List<Network<T>> resultCollection =
-                new ArrayList<>(1 << iterateBitLength);
-
-        for (T curIP = getAddress();
-             contains(curIP);
-             curIP = curIP.add(incrementBytes)) {
-            Network<T> current = new Network<>(curIP, targetPrefix);
-            resultCollection.add(current);
-        }
-
-        return resultCollection;
+        return AddressRangeSpliterator.of(ipAddress, getBroadcast(),
+                ipVersion.getAddressBits() - targetPrefix,
+                ip -> new Network<>(ip, targetPrefix),
+                null);
     }
 
     /**
@@ -726,7 +645,7 @@ public final class Network<T extends IP<T>>
      */
     @Override
     public Iterator<T> iterator() {
-        return new NetworkIPIterator<>(this);
+        return Spliterators.iterator(ipSpliterator());
     }
 
     /**
@@ -740,7 +659,18 @@ public final class Network<T extends IP<T>>
      * @see #iterator()
      */
     public Stream<T> stream() {
-        return StreamSupport.stream(new NetworkIPSpliterator<>(this), false);
+        return StreamSupport.stream(ipSpliterator(), false);
+    }
+
+    /**
+     * Creates a spliterator over the IP addresses of this network.
+     * @return a sorted spliterator from the start address to the
+     * broadcast address.
+     */
+    private Spliterator<T> ipSpliterator() {
+        return AddressRangeSpliterator.of(ipAddress, getBroadcast(), 0,
+                Function.<T>identity(),
+                AddressComparators.UNSIGNED_BYTE_COMPARATOR);
     }
 
     @Override
@@ -797,8 +727,9 @@ public final class Network<T extends IP<T>>
      * @throws IOException if there's a problem in writing to the stream.
      * */
     private void writeObject(final ObjectOutputStream s) throws IOException {
-        s.writeInt(ipAddress.address.length);
-        s.write(ipAddress.address);
+        final byte[] address = ipAddress.getBytes();
+        s.writeInt(address.length);
+        s.write(address);
         s.writeInt(prefix);
     }
 
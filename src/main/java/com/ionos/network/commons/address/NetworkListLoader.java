@@ -0,0 +1,411 @@
+package com.ionos.network.commons.address;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static com.ionos.network.commons.address.BitsAndBytes.BITS_PER_BYTE;
+import static com.ionos.network.commons.address.BitsAndBytes.BYTE_MASK;
+
+/**
+ * Loads big files of IP addresses and networks, one per line, in
+ * parallel.
+ * The file is split into chunks of about 16 MiB that end at line
+ * breaks. Each chunk is parsed by its own {@link NetworkListReader} in
+ * a {@link ForkJoinPool}. The networks of all chunks are then merged,
+ * sorted by address and prefix length like {@link Network#mergeNeighbors}
+ * does, and deduplicated.
+ * <br>
+ * The file format is described in {@link NetworkListReader}.
+ * <br>
+ * Example:
+ * <pre>{@code
+ * NetworkListLoader.Result result = NetworkListLoader.load(path);
+ * IPSet<IPv4> blocked = IPSet.of(result.getIPv4Networks());
+ * }</pre>
+ * @see NetworkListReader
+ * @author Stephan Fuhrmann
+ */
+public final class NetworkListLoader {
+
+    /** The default size of the chunks the file is split into. */
+    private static final long DEFAULT_CHUNK_SIZE = 0x1000000L;
+
+    /** The size of the buffer for finding line breaks. */
+    private static final int ALIGN_BUFFER_SIZE = 0x1000;
+
+    /** No instance allowed. */
+    private NetworkListLoader() {
+    }
+
+    /**
+     * Loads a file in the {@linkplain ForkJoinPool#commonPool()
+     * common pool}.
+     * @param file the file to load.
+     * @return the sorted and deduplicated networks of the file.
+     * @throws IOException if reading the file fails.
+     * @throws NullPointerException if the file is {@code null}.
+     */
+    public static Result load(final Path file) throws IOException {
+        return load(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads a file in a pool.
+     * @param file the file to load.
+     * @param pool the pool to parse the chunks of the file in.
+     * @return the sorted and deduplicated networks of the file.
+     * @throws IOException if reading the file fails.
+     * @throws NullPointerException if the file or pool is {@code null}.
+     */
+    public static Result load(final Path file, final ForkJoinPool pool)
+            throws IOException {
+        return load(file, pool, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Loads a file in a pool.
+     * @param file the file to load.
+     * @param pool the pool to parse the chunks of the file in.
+     * @param chunkSize the minimum size of the chunks in bytes.
+     * @return the sorted and deduplicated networks of the file.
+     * @throws IOException if reading the file fails.
+     * @throws NullPointerException if the file or pool is {@code null}.
+     */
+    static Result load(final Path file,
+                       final ForkJoinPool pool,
+                       final long chunkSize) throws IOException {
+        Objects.requireNonNull(pool, "pool is null");
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            final long[] bounds = chunkBounds(channel, chunkSize);
+            final List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+            for (int i = 0; i < bounds.length - 1; i++) {
+                final long start = bounds[i];
+                final long end = bounds[i + 1];
+                tasks.add(pool.submit(() -> readChunk(channel, start, end)));
+            }
+            final List<Chunk> chunks = new ArrayList<>(tasks.size());
+            for (final ForkJoinTask<Chunk> task : tasks) {
+                chunks.add(join(task));
+            }
+            return merge(chunks, pool);
+        }
+    }
+
+    /** Splits a file into chunks that end at line breaks.
+     * @param channel the file.
+     * @param chunkSize the minimum size of a chunk.
+     * @return the start positions of the chunks followed by the
+     * file size.
+     * @throws IOException if reading the file fails.
+     * */
+    private static long[] chunkBounds(final FileChannel channel,
+                                      final long chunkSize)
+            throws IOException {
+        final long size = channel.size();
+        final ByteBuffer buffer = ByteBuffer.allocate(ALIGN_BUFFER_SIZE);
+        final List<Long> bounds = new ArrayList<>();
+        long start = 0;
+        bounds.add(start);
+        while (start < size) {
+            start = start + chunkSize >= size
+                    ? size
+                    : nextLineStart(channel, start + chunkSize - 1, buffer);
+            bounds.add(start);
+        }
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /** Finds the start of the line after a position.
+     * @param channel the file.
+     * @param position the position to start searching a line break at.
+     * @param buffer the buffer to read into.
+     * @return the position after the next line break, or the file size.
+     * @throws IOException if reading the file fails.
+     * */
+    private static long nextLineStart(final FileChannel channel,
+                                      final long position,
+                                      final ByteBuffer buffer)
+            throws IOException {
+        long offset = position;
+        while (true) {
+            buffer.clear();
+            final int read = channel.read(buffer, offset);
+            if (read == -1) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+    }
+
+    /** Parses a chunk of a file.
+     * @param channel the file.
+     * @param start the position of the first byte of the chunk.
+     * @param end the position after the last byte of the chunk.
+     * @return the parsed networks.
+     * @throws IOException if reading the file fails.
+     * */
+    private static Chunk readChunk(final FileChannel channel,
+                                   final long start,
+                                   final long end) throws IOException {
+        final Chunk chunk = new Chunk();
+        final NetworkListReader reader = new NetworkListReader(chunk);
+        reader.read(new RangeChannel(channel, start, end));
+        chunk.lineCount = reader.getLineCount();
+        chunk.errorCount = reader.getErrorCount();
+        return chunk;
+    }
+
+    /** Waits for a task and unwraps its exception.
+     * @param task the task to wait for.
+     * @return the result of the task.
+     * @throws IOException if the task failed reading.
+     * */
+    private static Chunk join(final ForkJoinTask<Chunk> task)
+            throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while loading");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    /** Sorts and deduplicates the networks of all chunks.
+     * @param chunks the parsed chunks.
+     * @param pool the pool to sort in.
+     * @return the merged result.
+     * */
+    private static Result merge(final List<Chunk> chunks,
+                                final ForkJoinPool pool) {
+        int ipv4Count = 0;
+        int ipv6Count = 0;
+        long lineCount = 0;
+        long errorCount = 0;
+        for (final Chunk chunk : chunks) {
+            ipv4Count = Math.addExact(ipv4Count, chunk.ipv4Size);
+            ipv6Count = Math.addExact(ipv6Count, chunk.ipv6.size());
+            lineCount += chunk.lineCount;
+            errorCount += chunk.errorCount;
+        }
+
+        final long[] ipv4Keys = new long[ipv4Count];
+        @SuppressWarnings("unchecked")
+        final Network<IPv6>[] ipv6 = new Network[ipv6Count];
+        int ipv4Index = 0;
+        int ipv6Index = 0;
+        for (final Chunk chunk : chunks) {
+            System.arraycopy(chunk.ipv4, 0, ipv4Keys, ipv4Index,
+                    chunk.ipv4Size);
+            ipv4Index += chunk.ipv4Size;
+            for (final Network<IPv6> network : chunk.ipv6) {
+                ipv6[ipv6Index++] = network;
+            }
+        }
+
+        Arrays.parallelSort(ipv4Keys);
+        final List<Network<IPv4>> ipv4Networks = new ArrayList<>();
+        for (int i = 0; i < ipv4Keys.length; i++) {
+            if (i == 0 || ipv4Keys[i] != ipv4Keys[i - 1]) {
+                ipv4Networks.add(new Network<>(
+                        new IPv4((int) (ipv4Keys[i] >>> BITS_PER_BYTE)),
+                        (int) ipv4Keys[i] & BYTE_MASK));
+            }
+        }
+
+        IPSorts.radixSort(ipv6, pool);
+        final List<Network<IPv6>> ipv6Networks = new ArrayList<>();
+        for (int i = 0; i < ipv6.length; i++) {
+            if (i == 0 || !ipv6[i].equals(ipv6[i - 1])) {
+                ipv6Networks.add(ipv6[i]);
+            }
+        }
+        return new Result(ipv4Networks, ipv6Networks, lineCount,
+                errorCount);
+    }
+
+    /**
+     * The networks of a loaded file.
+     */
+    public static final class Result {
+        /** The sorted distinct IPv4 networks. */
+        private final List<Network<IPv4>> ipv4Networks;
+
+        /** The sorted distinct IPv6 networks. */
+        private final List<Network<IPv6>> ipv6Networks;
+
+        /** The number of lines of the file. */
+        private final long lineCount;
+
+        /** The number of malformed lines of the file. */
+        private final long errorCount;
+
+        /** Creates a result.
+         * @param inIPv4Networks the sorted distinct IPv4 networks.
+         * @param inIPv6Networks the sorted distinct IPv6 networks.
+         * @param inLineCount the number of lines.
+         * @param inErrorCount the number of malformed lines.
+         * */
+        private Result(final List<Network<IPv4>> inIPv4Networks,
+                       final List<Network<IPv6>> inIPv6Networks,
+                       final long inLineCount,
+                       final long inErrorCount) {
+            this.ipv4Networks = Collections.unmodifiableList(inIPv4Networks);
+            this.ipv6Networks = Collections.unmodifiableList(inIPv6Networks);
+            this.lineCount = inLineCount;
+            this.errorCount = inErrorCount;
+        }
+
+        /** Get the IPv4 networks.
+         * @return the distinct IPv4 networks ordered by address and
+         * then by prefix length.
+         * */
+        public List<Network<IPv4>> getIPv4Networks() {
+            return ipv4Networks;
+        }
+
+        /** Get the IPv6 networks.
+         * @return the distinct IPv6 networks ordered by address and
+         * then by prefix length.
+         * */
+        public List<Network<IPv6>> getIPv6Networks() {
+            return ipv6Networks;
+        }
+
+        /** Get the number of lines of the file.
+         * @return the number of lines, including blank, comment and
+         * malformed lines.
+         * */
+        public long getLineCount() {
+            return lineCount;
+        }
+
+        /** Get the number of malformed lines of the file.
+         * @return the number of lines that were neither blank, comments
+         * nor networks.
+         * */
+        public long getErrorCount() {
+            return errorCount;
+        }
+    }
+
+    /** The networks parsed from one chunk. IPv4 networks are stored as
+     * longs with the unsigned address above the prefix length, so
+     * sorting the longs orders the networks. */
+    private static final class Chunk implements NetworkListReader.Sink {
+        /** The initial capacity of {@link #ipv4}. */
+        private static final int INITIAL_CAPACITY = 1024;
+
+        /** The IPv4 networks as longs. */
+        private long[] ipv4 = new long[INITIAL_CAPACITY];
+
+        /** The number of used elements of {@link #ipv4}. */
+        private int ipv4Size;
+
+        /** The IPv6 networks. */
+        private final List<Network<IPv6>> ipv6 = new ArrayList<>();
+
+        /** The number of lines of the chunk. */
+        private long lineCount;
+
+        /** The number of malformed lines of the chunk. */
+        private long errorCount;
+
+        @Override
+        public void ipv4(final int address, final int prefix) {
+            if (ipv4Size == ipv4.length) {
+                ipv4 = Arrays.copyOf(ipv4, ipv4.length * 2);
+            }
+            ipv4[ipv4Size++] = (address & UInt128.UINT_MASK) << BITS_PER_BYTE
+                    | prefix;
+        }
+
+        @Override
+        public void ipv6(final long high, final long low,
+                         final int prefix) {
+            ipv6.add(new Network<>(new IPv6(high, low), prefix));
+        }
+    }
+
+    /** A channel reading a range of a file with positional reads, so
+     * multiple ranges of the same file can be read concurrently. */
+    private static final class RangeChannel implements ReadableByteChannel {
+        /** The file to read. */
+        private final FileChannel file;
+
+        /** The position of the next byte to read. */
+        private long position;
+
+        /** The position after the last byte to read. */
+        private final long end;
+
+        /** Creates a channel.
+         * @param inFile the file to read.
+         * @param inStart the position of the first byte to read.
+         * @param inEnd the position after the last byte to read.
+         * */
+        RangeChannel(final FileChannel inFile,
+                     final long inStart,
+                     final long inEnd) {
+            this.file = inFile;
+            this.position = inStart;
+            this.end = inEnd;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            final int limit = dst.limit();
+            dst.limit(dst.position()
+                    + (int) Math.min(dst.remaining(), end - position));
+            try {
+                final int read = file.read(dst, position);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            } finally {
+                dst.limit(limit);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return file.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // the file is closed by the loader
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.ionos.network.commons.address;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Reads lists of IP addresses and networks, one per line, for example
+ * block lists.
+ * The lines are parsed directly from the bytes without creating
+ * {@code String} or address objects and without throwing exceptions
+ * for malformed lines. The parsed networks are passed to a
+ * {@link Sink} as primitive values.
+ * <br>
+ * Each line holds a IPv4 or IPv6 address, optionally followed by a
+ * slash and a prefix length like in {@code 10.0.0.0/8}. An address
+ * without a prefix length is passed with the full length of its IP
+ * version. Host bits are cleared like in
+ * {@link Network#Network(IP, int)}.
+ * Everything after a {@code #} is a comment. Blank lines and
+ * whitespace around the address are ignored. Lines end with
+ * {@code \n} or {@code \r\n} and are read as ASCII.
+ * <br>
+ * A reader counts the lines, networks and malformed lines of all
+ * inputs it read. Objects of this class are not thread-safe.
+ * <br>
+ * Example:
+ * <pre>{@code
+ * NetworkTrie<IPv4, String> trie = new NetworkTrie<>();
+ * NetworkListReader reader = new NetworkListReader(
+ *     NetworkListReader.forNetworks(n -> trie.put(n, "blocked"), n -> { }));
+ * try (FileChannel channel = FileChannel.open(path)) {
+ *     reader.read(channel);
+ * }
+ * }</pre>
+ * @author Stephan Fuhrmann
+ */
+public final class NetworkListReader {
+
+    /** The size of the chunks channels and buffers are read in. */
+    private static final int BUFFER_SIZE = 0x10000;
+
+    /** The maximum number of digits of a prefix length. */
+    private static final int MAX_PREFIX_DIGITS = 3;
+
+    /** The radix for decimal numbers. */
+    private static final int DECIMAL_RADIX = 10;
+
+    /**
+     * Receives the networks parsed by a {@link NetworkListReader}.
+     */
+    public interface Sink {
+        /** Receives a IPv4 network.
+         * @param address the network address as returned by
+         *                {@link IPv4#toInt()}.
+         * @param prefix the prefix length, between 0 and 32.
+         * */
+        void ipv4(int address, int prefix);
+
+        /** Receives a IPv6 network.
+         * {@link IPv6#IPv6(long, long)} turns the halves into an address.
+         * @param high the upper 64 bits of the network address as
+         *             returned by {@link IPv6#getHighBits()}.
+         * @param low the lower 64 bits of the network address as
+         *            returned by {@link IPv6#getLowBits()}.
+         * @param prefix the prefix length, between 0 and 128.
+         * */
+        void ipv6(long high, long low, int prefix);
+
+        /** Receives the number of a malformed line. Does nothing by
+         * default.
+         * @param line the number of the line, starting at 1.
+         * */
+        default void malformed(long line) {
+        }
+    }
+
+    /** The receiver of the networks. */
+    private final Sink sink;
+
+    /** The view parsing IPv6 addresses reads the characters from. */
+    private final AsciiView view = new AsciiView();
+
+    /** Receives parsed IPv6 addresses. */
+    private final byte[] ipv6Bytes =
+            new byte[IPVersion.IPV6.getAddressBytes()];
+
+    /** The array for reading channels and buffers without an
+     * accessible array, or {@code null} before it is needed. */
+    private byte[] chunk;
+
+    /** The number of bytes of an incomplete line at the start of
+     * {@link #chunk}. */
+    private int carry;
+
+    /** Whether the rest of an overlong line in {@link #chunk} is
+     * being skipped. */
+    private boolean skipping;
+
+    /** The number of lines read. */
+    private long lineCount;
+
+    /** The number of networks passed to the sink. */
+    private long networkCount;
+
+    /** The number of malformed lines. */
+    private long errorCount;
+
+    /** Creates a reader.
+     * @param inSink the receiver of the parsed networks.
+     * @throws NullPointerException if the sink is {@code null}.
+     * */
+    public NetworkListReader(final Sink inSink) {
+        this.sink = Objects.requireNonNull(inSink, "sink is null");
+    }
+
+    /** Creates a sink that converts the networks to {@link Network}
+     * objects.
+     * @param ipv4 receives the IPv4 networks.
+     * @param ipv6 receives the IPv6 networks.
+     * @return a sink creating one network object per network.
+     * @throws NullPointerException if a consumer is {@code null}.
+     * */
+    public static Sink forNetworks(final Consumer<Network<IPv4>> ipv4,
+                                   final Consumer<Network<IPv6>> ipv6) {
+        Objects.requireNonNull(ipv4, "ipv4 is null");
+        Objects.requireNonNull(ipv6, "ipv6 is null");
+        return new Sink() {
+            @Override
+            public void ipv4(final int address, final int prefix) {
+                ipv4.accept(new Network<>(new IPv4(address), prefix));
+            }
+
+            @Override
+            public void ipv6(final long high, final long low,
+                             final int prefix) {
+                ipv6.accept(new Network<>(new IPv6(high, low), prefix));
+            }
+        };
+    }
+
+    /** Get the number of lines read, including blank, comment
+     * and malformed lines.
+     * @return the number of lines read.
+     * */
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    /** Get the number of networks passed to the sink.
+     * @return the number of networks read.
+     * */
+    public long getNetworkCount() {
+        return networkCount;
+    }
+
+    /** Get the number of malformed lines.
+     * @return the number of lines that were neither blank, comments
+     * nor networks.
+     * */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /** Reads all lines between the position and the limit of a buffer,
+     * for example a memory mapped file.
+     * The position of the buffer is set to its limit.
+     * Lines of buffers without an accessible array that are longer than
+     * 64 KiB are malformed.
+     * @param buffer the buffer to read.
+     * @throws NullPointerException if the buffer is {@code null}.
+     * */
+    public void read(final ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            final int offset = buffer.arrayOffset();
+            final int limit = offset + buffer.limit();
+            final int end = readLines(buffer.array(),
+                    offset + buffer.position(), limit);
+            if (end < limit) {
+                // the last line has no line break
+                readLine(buffer.array(), end, limit);
+            }
+            buffer.position(buffer.limit());
+            return;
+        }
+        final byte[] data = chunk();
+        while (buffer.hasRemaining()) {
+            final int length = Math.min(buffer.remaining(),
+                    data.length - carry);
+            buffer.get(data, carry, length);
+            readChunk(carry + length);
+        }
+        finish();
+    }
+
+    /** Reads all lines of a channel until its end.
+     * The channel is not closed.
+     * Lines longer than 64 KiB are malformed.
+     * @param channel the channel to read.
+     * @throws IOException if reading the channel fails.
+     * @throws NullPointerException if the channel is {@code null}.
+     * */
+    public void read(final ReadableByteChannel channel) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(chunk());
+        try {
+            buffer.position(carry);
+            while (channel.read(buffer) != -1) {
+                readChunk(buffer.position());
+                buffer.clear();
+                buffer.position(carry);
+            }
+        } finally {
+            finish();
+        }
+    }
+
+    /** Get the array for reading in chunks.
+     * @return the array of {@link #BUFFER_SIZE} bytes.
+     * */
+    private byte[] chunk() {
+        if (chunk == null) {
+            chunk = new byte[BUFFER_SIZE];
+        }
+        return chunk;
+    }
+
+    /** Reads the complete lines in the chunk and moves the incomplete
+     * last line to the start of the chunk.
+     * @param end the number of bytes in the chunk.
+     * */
+    private void readChunk(final int end) {
+        int start = 0;
+        if (skipping) {
+            // drop the rest of an overlong line
+            start = indexOfLineBreak(chunk, 0, end) + 1;
+            if (start == 0) {
+                carry = 0;
+                return;
+            }
+            skipping = false;
+        }
+        final int rest = readLines(chunk, start, end);
+        if (rest == 0 && end == chunk.length) {
+            // a full chunk without a line break
+            lineCount++;
+            malformedLine();
+            skipping = true;
+            carry = 0;
+            return;
+        }
+        carry = end - rest;
+        System.arraycopy(chunk, rest, chunk, 0, carry);
+    }
+
+    /** Reads the last line without a line break from the chunk and
+     * resets the chunk state. */
+    private void finish() {
+        if (carry > 0) {
+            readLine(chunk, 0, carry);
+        }
+        carry = 0;
+        skipping = false;
+    }
+
+    /** Finds the next line break in a range of an array.
+     * @param data the bytes to search.
+     * @param start the index of the first byte to search.
+     * @param end the index after the last byte to search.
+     * @return the index of the line break, or {@code -1} if there is none.
+     * */
+    private static int indexOfLineBreak(final byte[] data,
+                                        final int start,
+                                        final int end) {
+        for (int i = start; i < end; i++) {
+            if (data[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Reads all complete lines in a range of an array.
+     * @param data the bytes to read.
+     * @param start the index of the first byte to read.
+     * @param end the index after the last byte to read.
+     * @return the index after the last line break, or {@code start}
+     * if there is none.
+     * */
+    private int readLines(final byte[] data,
+                          final int start,
+                          final int end) {
+        int lineStart = start;
+        int lineBreak = indexOfLineBreak(data, lineStart, end);
+        while (lineBreak >= 0) {
+            readLine(data, lineStart, lineBreak);
+            lineStart = lineBreak + 1;
+            lineBreak = indexOfLineBreak(data, lineStart, end);
+        }
+        return lineStart;
+    }
+
+    /** Reads one line.
+     * @param data the bytes to read.
+     * @param start the index of the first byte of the line.
+     * @param end the index after the last byte of the line,
+     *            excluding the line break.
+     * */
+    private void readLine(final byte[] data,
+                          final int start,
+                          final int end) {
+        lineCount++;
+        int from = start;
+        int until = start;
+        int slash = -1;
+        boolean colon = false;
+        for (; until < end; until++) {
+            final byte c = data[until];
+            if (c == '#') {
+                break;
+            } else if (c == '/' && slash == -1) {
+                slash = until;
+            } else if (c == ':') {
+                colon = true;
+            }
+        }
+        while (from < until && isWhitespace(data[from])) {
+            from++;
+        }
+        while (until > from && isWhitespace(data[until - 1])) {
+            until--;
+        }
+        if (from == until) {
+            return;
+        }
+        if (slash == -1) {
+            slash = until;
+        }
+        final IPVersion version = colon ? IPVersion.IPV6 : IPVersion.IPV4;
+        final int prefix = slash == until
+                ? version.getAddressBits()
+                : parsePrefix(data, slash + 1, until,
+                    version.getAddressBits());
+        if (prefix < 0) {
+            malformedLine();
+            return;
+        }
+        if (colon) {
+            view.data = data;
+            if (IPParsers.IPV6.tryParseAsBytes(view, from, slash,
+                    ipv6Bytes, 0) == AddressParser.INVALID) {
+                malformedLine();
+                return;
+            }
+            final long high = BitsAndBytes.getLong(ipv6Bytes, 0);
+            final long low = BitsAndBytes.getLong(ipv6Bytes, Long.BYTES);
+            networkCount++;
+            sink.ipv6(
+                    high & BitsAndBytes.leadingBitsLong(
+                            Math.min(prefix, Long.SIZE)),
+                    low & BitsAndBytes.leadingBitsLong(
+                            Math.max(prefix - Long.SIZE, 0)),
+                    prefix);
+        } else {
+            final long address = IPParsers.tryParseIPv4(data, from, slash);
+            if (address == IPParsers.INVALID_IPV4) {
+                malformedLine();
+                return;
+            }
+            networkCount++;
+            sink.ipv4((int) address & BitsAndBytes.leadingBitsInt(prefix),
+                    prefix);
+        }
+    }
+
+    /** Parses a decimal prefix length.
+     * @param data the bytes to read.
+     * @param start the index of the first digit.
+     * @param end the index after the last digit.
+     * @param maxPrefix the maximum allowed prefix length.
+     * @return the prefix length, or {@code -1} if it is malformed.
+     * */
+    private static int parsePrefix(final byte[] data,
+                                   final int start,
+                                   final int end,
+                                   final int maxPrefix) {
+        if (start == end || end - start > MAX_PREFIX_DIGITS) {
+            return -1;
+        }
+        int prefix = 0;
+        for (int i = start; i < end; i++) {
+            final byte c = data[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            prefix = prefix * DECIMAL_RADIX + c - '0';
+        }
+        return prefix <= maxPrefix ? prefix : -1;
+    }
+
+    /** Checks whether a byte is whitespace within a line.
+     * @param c the byte to check.
+     * @return {@code true} for space, tab and carriage return.
+     * */
+    private static boolean isWhitespace(final byte c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    /** Counts a malformed line and tells the sink. */
+    private void malformedLine() {
+        errorCount++;
+        sink.malformed(lineCount);
+    }
+
+    /** Bytes as ASCII characters, reused for all lines
+     * to pass them to the {@link CharSequence} parsers. */
+    private static final class AsciiView implements CharSequence {
+        /** The bytes to read the characters from. */
+        private byte[] data;
+
+        @Override
+        public int length() {
+            return data.length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (data[index] & BitsAndBytes.BYTE_MASK);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            final StringBuilder result = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                result.append(charAt(i));
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.ionos.network.commons.address;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Tests many addresses against one network with precomputed
+ * primitive masks.
+ * The network address and the subnet mask are stored as ints for IPv4
+ * and as pairs of longs for IPv6, so a test is a single
+ * {@code (ip & mask) == base} comparison. The batch methods test whole
+ * arrays of addresses, for example the source addresses of a batch
+ * of packets, without a branch per address. On Java 17 and newer they
+ * use SIMD instructions if the {@code jdk.incubator.vector} module is
+ * added with {@code --add-modules jdk.incubator.vector}.
+ * <br>
+ * Addresses of the other IP version than the network are never
+ * contained. Objects of this class are immutable.
+ * <br>
+ * Example:
+ * <pre>{@code
+ * NetworkMatcher matcher = new Network<IPv4>("10.0.0.0/8").matcher();
+ * matcher.contains(new IPv4("10.1.2.3").toInt()); // true
+ * BitSet internal = matcher.containsAll(sourceAddresses);
+ * }</pre>
+ * @see Network#matcher()
+ * @author Stephan Fuhrmann
+ */
+public final class NetworkMatcher {
+
+    /** The IP version of the network. */
+    private final IPVersion ipVersion;
+
+    /** The IPv4 network address, or {@code 0} for IPv6. */
+    private final int ipv4Base;
+
+    /** The IPv4 subnet mask, or {@code 0} for IPv6. */
+    private final int ipv4Mask;
+
+    /** The upper bits of the IPv6 network address. */
+    private final long baseHigh;
+
+    /** The lower bits of the IPv6 network address. */
+    private final long baseLow;
+
+    /** The upper bits of the IPv6 subnet mask. */
+    private final long maskHigh;
+
+    /** The lower bits of the IPv6 subnet mask. */
+    private final long maskLow;
+
+    /** Creates a matcher.
+     * @param network the network to test addresses against.
+     * */
+    NetworkMatcher(final Network<?> network) {
+        final IP<?> address = network.getAddress();
+        final int prefix = network.getPrefix();
+        this.ipVersion = network.getIPVersion();
+        if (ipVersion == IPVersion.IPV4) {
+            this.ipv4Base = ((IPv4) address).toInt();
+            this.ipv4Mask = BitsAndBytes.leadingBitsInt(prefix);
+            this.baseHigh = 0;
+            this.baseLow = 0;
+            this.maskHigh = 0;
+            this.maskLow = 0;
+        } else {
+            this.ipv4Base = 0;
+            this.ipv4Mask = 0;
+            this.baseHigh = ((IPv6) address).getHighBits();
+            this.baseLow = ((IPv6) address).getLowBits();
+            this.maskHigh = IPv6.highMask(prefix);
+            this.maskLow = IPv6.lowMask(prefix);
+        }
+    }
+
+    /**
+     * Get the IP version.
+     * @return the IP version of the network.
+     */
+    public IPVersion getIPVersion() {
+        return ipVersion;
+    }
+
+    /**
+     * Tests whether an address is in the network.
+     * @param ip the address to test.
+     * @return {@code true} if the network contains the address.
+     * @throws NullPointerException if the address is {@code null}.
+     * @see Network#contains(IP)
+     */
+    public boolean contains(final IP<?> ip) {
+        Objects.requireNonNull(ip, "IP is null");
+        if (ip instanceof IPv4) {
+            return contains(((IPv4) ip).toInt());
+        }
+        final IPv6 ipv6 = (IPv6) ip;
+        return contains(ipv6.getHighBits(), ipv6.getLowBits());
+    }
+
+    /**
+     * Tests whether a IPv4 address is in the network.
+     * @param ip the address as returned by {@link IPv4#toInt()}.
+     * @return {@code true} if the network is a IPv4 network and
+     * contains the address.
+     */
+    public boolean contains(final int ip) {
+        return ipVersion == IPVersion.IPV4 && (ip & ipv4Mask) == ipv4Base;
+    }
+
+    /**
+     * Tests whether a IPv6 address is in the network.
+     * @param high the upper 64 bits of the address as returned by
+     *             {@link IPv6#getHighBits()}.
+     * @param low the lower 64 bits of the address as returned by
+     *            {@link IPv6#getLowBits()}.
+     * @return {@code true} if the network is a IPv6 network and
+     * contains the address.
+     */
+    public boolean contains(final long high, final long low) {
+        return ipVersion == IPVersion.IPV6
+                && (high & maskHigh) == baseHigh
+                && (low & maskLow) == baseLow;
+    }
+
+    /**
+     * Tests an array of IPv4 addresses.
+     * @param ips the addresses as returned by {@link IPv4#toInt()}.
+     * @param out receives at each index whether the network contains
+     *            the address at the same index of {@code ips}.
+     * @throws NullPointerException if an array is {@code null}.
+     * @throws IllegalArgumentException if {@code out} is shorter
+     * than {@code ips}.
+     */
+    public void containsAll(final int[] ips, final boolean[] out) {
+        if (out.length < ips.length) {
+            throw new IllegalArgumentException("out is shorter than ips");
+        }
+        if (ipVersion != IPVersion.IPV4) {
+            Arrays.fill(out, 0, ips.length, false);
+            return;
+        }
+        BatchMatching.containsAll(ips, ipv4Mask, ipv4Base, out);
+    }
+
+    /**
+     * Tests an array of IPv4 addresses.
+     * @param ips the addresses as returned by {@link IPv4#toInt()}.
+     * @return a bit set with the bits set at the indices of the addresses
+     * the network contains.
+     * @throws NullPointerException if the array is {@code null}.
+     */
+    public BitSet containsAll(final int[] ips) {
+        final long[] words = new long[(ips.length + Long.SIZE - 1)
+                / Long.SIZE];
+        if (ipVersion == IPVersion.IPV4) {
+            BatchMatching.containsAll(ips, ipv4Mask, ipv4Base, words);
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Counts the IPv4 addresses the network contains.
+     * @param ips the addresses as returned by {@link IPv4#toInt()}.
+     * @return the number of addresses the network contains.
+     * @throws NullPointerException if the array is {@code null}.
+     */
+    public int count(final int[] ips) {
+        if (ipVersion != IPVersion.IPV4) {
+            return 0;
+        }
+        return BatchMatching.count(ips, ipv4Mask, ipv4Base);
+    }
+
+    /**
+     * Tests arrays of IPv6 addresses.
+     * @param highs the upper 64 bits of the addresses as returned by
+     *              {@link IPv6#getHighBits()}.
+     * @param lows the lower 64 bits of the addresses as returned by
+     *             {@link IPv6#getLowBits()}, at the same indices as
+     *             {@code highs}.
+     * @param out receives at each index whether the network contains
+     *            the address at the same index of {@code highs}
+     *            and {@code lows}.
+     * @throws NullPointerException if an array is {@code null}.
+     * @throws IllegalArgumentException if {@code highs} and {@code lows}
+     * differ in length or {@code out} is shorter than them.
+     */
+    public void containsAll(final long[] highs,
+                            final long[] lows,
+                            final boolean[] out) {
+        checkLengths(highs, lows);
+        if (out.length < highs.length) {
+            throw new IllegalArgumentException("out is shorter than highs");
+        }
+        if (ipVersion != IPVersion.IPV6) {
+            Arrays.fill(out, 0, highs.length, false);
+            return;
+        }
+        BatchMatching.containsAll(highs, lows,
+                maskHigh, maskLow, baseHigh, baseLow, out);
+    }
+
+    /**
+     * Counts the IPv6 addresses the network contains.
+     * @param highs the upper 64 bits of the addresses as returned by
+     *              {@link IPv6#getHighBits()}.
+     * @param lows the lower 64 bits of the addresses as returned by
+     *             {@link IPv6#getLowBits()}, at the same indices as
+     *             {@code highs}.
+     * @return the number of addresses the network contains.
+     * @throws NullPointerException if an array is {@code null}.
+     * @throws IllegalArgumentException if {@code highs} and {@code lows}
+     * differ in length.
+     */
+    public int count(final long[] highs, final long[] lows) {
+        checkLengths(highs, lows);
+        if (ipVersion != IPVersion.IPV6) {
+            return 0;
+        }
+        return BatchMatching.count(highs, lows,
+                maskHigh, maskLow, baseHigh, baseLow);
+    }
+
+    /**
+     * Checks that the two halves of IPv6 addresses have the same length.
+     * @param highs the upper 64 bits of the addresses.
+     * @param lows the lower 64 bits of the addresses.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    private static void checkLengths(final long[] highs, final long[] lows) {
+        if (highs.length != lows.length) {
+            throw new IllegalArgumentException("highs has length "
+                    + highs.length + ", lows has length " + lows.length);
+        }
+    }
+}
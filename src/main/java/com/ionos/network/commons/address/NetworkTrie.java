@@ -0,0 +1,291 @@
+package com.ionos.network.commons.address;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A map from {@linkplain Network networks} to values that finds the
+ * networks containing an IP address.
+ * The networks are stored in a path-compressed binary trie
+ * (PATRICIA trie). Each node carries the full prefix it stands for,
+ * so chains of nodes with only one child are skipped. This keeps the
+ * depth small for sparse IPv6 tables, too.
+ * <br>
+ * A lookup visits at most one node per prefix length of the
+ * IP version and does not allocate any objects, independent of the
+ * number of networks stored.
+ * <br>
+ * Objects of this class are not thread-safe.
+ * <br>
+ * Example:
+ * <pre>{@code
+ * NetworkTrie<IPv4, String> trie = new NetworkTrie<>();
+ * trie.put(new Network<>("10.0.0.0/8"), "private");
+ * trie.put(new Network<>("10.1.0.0/16"), "datacenter");
+ * trie.longestMatch(new IPv4("10.1.2.3")); // "datacenter"
+ * trie.longestMatch(new IPv4("10.2.2.3")); // "private"
+ * }</pre>
+ * @param <T> the IP address type of the networks.
+ * @param <V> the type of the values stored.
+ * @see Network#contains(IP)
+ * @author Stephan Fuhrmann
+ */
+public final class NetworkTrie<T extends IP<T>, V> {
+
+    /** The root node or {@code null} if the trie is empty. */
+    private Node<T, V> root;
+
+    /** The number of networks that have a value. */
+    private int size;
+
+    /** Creates a new empty trie. */
+    public NetworkTrie() {
+    }
+
+    /**
+     * Get the number of networks stored.
+     * @return the number of networks that have a value associated.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether there are no networks stored.
+     * @return {@code true} if there are no networks stored.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Removes all networks from the trie. */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Associates a value with a network.
+     * @param network the network to associate the value with.
+     * @param value the value to store for the network.
+     * @return the value that was previously stored for exactly
+     * this network, or {@code null} if there was none.
+     * @throws NullPointerException if the network or value is {@code null}.
+     */
+    public V put(final Network<T> network, final V value) {
+        Objects.requireNonNull(network, "network is null");
+        Objects.requireNonNull(value, "value is null");
+        final T key = network.getAddress();
+        final int prefix = network.getPrefix();
+
+        Node<T, V> parent = null;
+        Node<T, V> node = root;
+        while (node != null) {
+            final int common = Math.min(
+                    Math.min(node.address.commonPrefixLength(key), prefix),
+                    node.prefix);
+            if (common == node.prefix) {
+                if (prefix == node.prefix) {
+                    // exactly this network
+                    final V previous = node.value;
+                    node.value = value;
+                    if (previous == null) {
+                        size++;
+                    }
+                    return previous;
+                }
+                // the node contains the network, go deeper
+                parent = node;
+                node = node.child(key.testBit(node.prefix));
+                continue;
+            }
+
+            final Node<T, V> replacement;
+            if (common == prefix) {
+                // the network contains the node
+                replacement = new Node<>(key, prefix, value);
+                replacement.setChild(node.address.testBit(prefix), node);
+            } else {
+                // the network and the node differ at bit 'common'
+                replacement = new Node<>(key.clearHostBits(common),
+                        common, null);
+                replacement.setChild(node.address.testBit(common), node);
+                replacement.setChild(key.testBit(common),
+                        new Node<>(key, prefix, value));
+            }
+            replaceChild(parent, key, replacement);
+            size++;
+            return null;
+        }
+
+        replaceChild(parent, key, new Node<>(key, prefix, value));
+        size++;
+        return null;
+    }
+
+    /**
+     * Get the value associated with exactly the given network.
+     * @param network the network to get the value for.
+     * @return the value of the network, or {@code null} if there
+     * is no value for this network.
+     * @throws NullPointerException if the network is {@code null}.
+     */
+    public V get(final Network<T> network) {
+        return TrieLookup.get(root, network);
+    }
+
+    /**
+     * Removes the value associated with exactly the given network.
+     * Networks contained in the given network are not removed.
+     * @param network the network to remove.
+     * @return the value that was stored for the network, or {@code null}
+     * if there was none.
+     * @throws NullPointerException if the network is {@code null}.
+     */
+    public V remove(final Network<T> network) {
+        Objects.requireNonNull(network, "network is null");
+        final T key = network.getAddress();
+        final int prefix = network.getPrefix();
+
+        Node<T, V> grandParent = null;
+        Node<T, V> parent = null;
+        Node<T, V> node = root;
+        while (node != null
+                && node.prefix < prefix
+                && node.address.hasSamePrefix(key, node.prefix)) {
+            grandParent = parent;
+            parent = node;
+            node = node.child(key.testBit(node.prefix));
+        }
+        if (node == null
+                || node.prefix != prefix
+                || node.value == null
+                || !node.address.equals(key)) {
+            return null;
+        }
+
+        final V previous = node.value;
+        node.value = null;
+        size--;
+
+        if (node.left != null && node.right != null) {
+            // still needed for branching
+            return previous;
+        }
+        final Node<T, V> onlyChild = node.left != null
+                ? node.left : node.right;
+        replaceChild(parent, key, onlyChild);
+        if (onlyChild == null
+                && parent != null
+                && parent.value == null) {
+            // the parent was only branching and has one child left
+            final Node<T, V> sibling = parent.left != null
+                    ? parent.left : parent.right;
+            replaceChild(grandParent, key, sibling);
+        }
+        return previous;
+    }
+
+    /**
+     * Finds the value of the most specific network containing the IP.
+     * @param ip the IP address to find the network for.
+     * @return the value of the network with the longest prefix
+     * that contains the IP, or {@code null} if no network contains the IP.
+     * @throws NullPointerException if the IP is {@code null}.
+     */
+    public V longestMatch(final T ip) {
+        return TrieLookup.longestMatch(root, ip);
+    }
+
+    /**
+     * Finds the values of all networks containing the IP.
+     * @param ip the IP address to find the networks for.
+     * @return the values of the networks containing the IP, ordered
+     * from the shortest to the longest prefix. Is empty if no network
+     * contains the IP.
+     * @throws NullPointerException if the IP is {@code null}.
+     */
+    public List<V> allMatches(final T ip) {
+        return TrieLookup.allMatches(root, ip);
+    }
+
+    /** Replaces the child of a parent that is on the path to a key.
+     * @param parent the parent node, or {@code null} for the root.
+     * @param key the key that decides which child gets replaced.
+     * @param child the new child, may be {@code null}.
+     * */
+    private void replaceChild(final Node<T, V> parent,
+                              final T key,
+                              final Node<T, V> child) {
+        if (parent == null) {
+            root = child;
+        } else {
+            parent.setChild(key.testBit(parent.prefix), child);
+        }
+    }
+
+    /** A node in the trie.
+     * @param <T> the IP address type of the networks.
+     * @param <V> the type of the values stored.
+     * */
+    private static final class Node<T extends IP<T>, V>
+            implements TrieNode<T, V> {
+        /** The network address of this node. */
+        private final T address;
+
+        /** The prefix length of this node. */
+        private final int prefix;
+
+        /** The value or {@code null} if this node is only branching. */
+        private V value;
+
+        /** The child for a cleared bit after the prefix. */
+        private Node<T, V> left;
+
+        /** The child for a set bit after the prefix. */
+        private Node<T, V> right;
+
+        /** Creates a node.
+         * @param inAddress the network address.
+         * @param inPrefix the prefix length.
+         * @param inValue the value, or {@code null}.
+         * */
+        Node(final T inAddress, final int inPrefix, final V inValue) {
+            this.address = inAddress;
+            this.prefix = inPrefix;
+            this.value = inValue;
+        }
+
+        @Override
+        public T getAddress() {
+            return address;
+        }
+
+        @Override
+        public int getPrefix() {
+            return prefix;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public Node<T, V> child(final boolean bit) {
+            return bit ? right : left;
+        }
+
+        /** Set a child.
+         * @param bit the bit after the prefix.
+         * @param child the new child for the bit.
+         * */
+        void setChild(final boolean bit, final Node<T, V> child) {
+            if (bit) {
+                right = child;
+            } else {
+                left = child;
+            }
+        }
+    }
+}
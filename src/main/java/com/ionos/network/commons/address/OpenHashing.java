@@ -0,0 +1,83 @@
+package com.ionos.network.commons.address;
+
+/**
+ * Sizing and probing helpers for the open addressing maps.
+ * The maps use power of two capacities, linear probing and
+ * are filled up to three quarters.
+ * @see IPv4Map
+ * @see IPv4LongMap
+ * @see IPv6Map
+ * @author Stephan Fuhrmann
+ */
+final class OpenHashing {
+
+    /** The maximum number of slots. */
+    static final int MAX_CAPACITY = 1 << (Integer.SIZE - 2);
+
+    /** The minimum number of slots. */
+    private static final int MIN_CAPACITY = 4;
+
+    /** The divisor of the capacity giving the number of slots
+     * kept free. */
+    private static final int FREE_DIVISOR = 4;
+
+    /** No instance allowed. */
+    private OpenHashing() {
+    }
+
+    /** Get the capacity for a number of entries.
+     * @param expectedSize the number of entries to hold without growing.
+     * @return the smallest power of two keeping the fill below
+     * three quarters.
+     * @throws IllegalArgumentException if the expected size is negative
+     * or too big.
+     * */
+    static int capacityFor(final int expectedSize) {
+        if (expectedSize < 0
+                || expectedSize >= maxFill(MAX_CAPACITY)) {
+            throw new IllegalArgumentException("Illegal expected size "
+                    + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (maxFill(capacity) <= expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /** Get the number of entries at which a table grows.
+     * @param capacity the number of slots.
+     * @return the number of entries that triggers growing.
+     * */
+    static int maxFill(final int capacity) {
+        return capacity - capacity / FREE_DIVISOR;
+    }
+
+    /** Get the doubled capacity of a full table.
+     * @param capacity the number of slots.
+     * @return twice the capacity.
+     * @throws IllegalStateException if the table can not grow.
+     * */
+    static int grow(final int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Map is full");
+        }
+        return capacity << 1;
+    }
+
+    /** Checks whether an entry may move into a gap on deletion.
+     * An entry may move if its home slot is not cyclically
+     * between the gap and its current slot.
+     * @param home the slot the hash of the entry points to.
+     * @param gap the free slot.
+     * @param current the slot of the entry.
+     * @return {@code true} if the entry can move into the gap.
+     * */
+    static boolean canMove(final int home, final int gap,
+                           final int current) {
+        if (gap <= current) {
+            return home <= gap || home > current;
+        }
+        return home <= gap && home > current;
+    }
+}
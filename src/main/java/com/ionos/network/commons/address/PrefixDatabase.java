@@ -0,0 +1,676 @@
+package com.ionos.network.commons.address;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A read-only file of networks with values for longest-prefix-match
+ * lookups. The file is memory mapped, so opening it takes constant time
+ * and all JVMs on a host share the same pages in the page cache.
+ * Lookups read the mapped file directly and create no objects.
+ * <br>
+ * The files are created with a {@link Writer}:
+ * <pre>
+ * PrefixDatabase.writer(IPv4.class)
+ *     .put(new Network&lt;&gt;("10.0.0.0/8"), 1)
+ *     .put(new Network&lt;&gt;("10.1.0.0/16"), 2)
+ *     .write(path);
+ * PrefixDatabase&lt;IPv4&gt; db = PrefixDatabase.open(path);
+ * long value = db.longestMatch(new IPv4("10.1.2.3"), -1); // 2
+ * </pre>
+ * <br>
+ * The file consists of a header, a table of the networks sorted by
+ * start address, and a table of disjoint address ranges covering the
+ * whole address space. Each range refers to the most specific network
+ * that contains it, so a lookup is a binary search in the range table.
+ * All numbers are in network byte order.
+ * <br>
+ * Instances are immutable and thread safe.
+ * @param <T> the IP address type of the networks.
+ * @see NetworkTrie
+ * @author Stephan Fuhrmann
+ */
+public final class PrefixDatabase<T extends IP<T>> {
+
+    /** The magic number at the start of the files, {@code "IPDB"}. */
+    private static final int MAGIC = 0x49504442;
+
+    /** The version of the file format. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** The number of bytes of the file header. */
+    private static final int HEADER_BYTES = 16;
+
+    /** The owner of ranges not contained in any network. */
+    private static final int NO_PREFIX = -1;
+
+    /** The maximum number of bytes mapped in one buffer. */
+    private static final int MAX_SEGMENT_BYTES = 1 << (Integer.SIZE - 2);
+
+    /** The IP version of all networks. */
+    private final IPVersion ipVersion;
+
+    /** The number of networks. */
+    private final int prefixCount;
+
+    /** The number of ranges, at least one. */
+    private final int rangeCount;
+
+    /** The networks. Each record has the network address, the prefix
+     * length as int, the index of the next less specific network
+     * containing it as int, and the value as long.
+     * */
+    private final RecordTable prefixes;
+
+    /** The ranges. Each record has the start address and the index of
+     * the most specific network containing the range as int.
+     * */
+    private final RecordTable ranges;
+
+    /** Creates an instance.
+     * @param inIPVersion the IP version of all networks.
+     * @param inPrefixCount the number of networks.
+     * @param inRangeCount the number of ranges.
+     * @param inPrefixes the network table.
+     * @param inRanges the range table.
+     * */
+    private PrefixDatabase(final IPVersion inIPVersion,
+                           final int inPrefixCount,
+                           final int inRangeCount,
+                           final RecordTable inPrefixes,
+                           final RecordTable inRanges) {
+        this.ipVersion = inIPVersion;
+        this.prefixCount = inPrefixCount;
+        this.rangeCount = inRangeCount;
+        this.prefixes = inPrefixes;
+        this.ranges = inRanges;
+    }
+
+    /** Creates a writer for a new file.
+     * @param ipClass the IP address class of the networks, for example
+     *                {@code IPv4.class}. Decides the IP version of the
+     *                file even if no network is put.
+     * @param <T> the IP address type of the networks.
+     * @return a new writer.
+     * @throws NullPointerException if the class is {@code null}.
+     * @throws IllegalArgumentException if the class is not an IP
+     * address class of a known version.
+     * */
+    public static <T extends IP<T>> Writer<T> writer(
+            final Class<T> ipClass) {
+        Objects.requireNonNull(ipClass, "ipClass is null");
+        return new Writer<>(IP.getIPVersion(ipClass));
+    }
+
+    /** Opens a file by mapping it into memory.
+     * The file must not be changed while it is open.
+     * The mapping is released when the instance is garbage collected.
+     * @param path the file to open.
+     * @param <T> the IP address type of the networks.
+     * @return the database of the file.
+     * @throws IOException if the file can not be read or is not a valid
+     * prefix database.
+     * */
+    public static <T extends IP<T>> PrefixDatabase<T> open(final Path path)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            final ByteBuffer header = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(HEADER_BYTES, channel.size()));
+            if (header.remaining() < HEADER_BYTES
+                    || header.getInt() != MAGIC) {
+                throw new IOException("Not a prefix database: " + path);
+            }
+            final int version = header.get();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported version " + version
+                        + " of prefix database " + path);
+            }
+            final IPVersion ipVersion = ipVersionOf(header.get(), path);
+            header.getShort();
+            final int prefixCount = header.getInt();
+            final int rangeCount = header.getInt();
+            final int addressBytes = ipVersion.getAddressBytes();
+            final int prefixBytes = prefixRecordBytes(addressBytes);
+            final int rangeBytes = rangeRecordBytes(addressBytes);
+            final long prefixTableBytes = (long) prefixCount * prefixBytes;
+            final long expectedSize = HEADER_BYTES + prefixTableBytes
+                    + (long) rangeCount * rangeBytes;
+            if (prefixCount < 0 || rangeCount < 1
+                    || channel.size() != expectedSize) {
+                throw new IOException("Corrupt prefix database " + path);
+            }
+            return new PrefixDatabase<>(ipVersion, prefixCount, rangeCount,
+                    RecordTable.map(channel, HEADER_BYTES,
+                            prefixCount, prefixBytes),
+                    RecordTable.map(channel, HEADER_BYTES + prefixTableBytes,
+                            rangeCount, rangeBytes));
+        }
+    }
+
+    /** Get the IP version of an address length in the file header.
+     * @param addressBytes the number of bytes of an address.
+     * @param path the file, for the error message.
+     * @return the IP version with addresses of the given length.
+     * @throws IOException if no IP version has addresses of the given
+     * length.
+     * */
+    private static IPVersion ipVersionOf(final int addressBytes,
+                                         final Path path)
+            throws IOException {
+        for (final IPVersion candidate : IPVersion.values()) {
+            if (candidate.getAddressBytes() == addressBytes) {
+                return candidate;
+            }
+        }
+        throw new IOException("Corrupt prefix database " + path
+                + ", unknown address length " + addressBytes);
+    }
+
+    /** Get the IP version of the networks.
+     * @return the IP version.
+     * */
+    public IPVersion getIPVersion() {
+        return ipVersion;
+    }
+
+    /** Get the number of networks.
+     * @return the number of networks in the file.
+     * */
+    public int size() {
+        return prefixCount;
+    }
+
+    /** Finds the value of the most specific network containing an
+     * address. Creates no objects.
+     * @param ip the address to look up.
+     * @param defaultValue the value to return if no network contains
+     *                     the address.
+     * @return the value of the longest matching network, or
+     * {@code defaultValue}.
+     * @throws NullPointerException if the address is {@code null}.
+     * @throws IllegalArgumentException if the IP version of the address
+     * does not match the database.
+     * */
+    public long longestMatch(final T ip, final long defaultValue) {
+        final int prefix = rangeOwner(findRange(ip));
+        return prefix == NO_PREFIX ? defaultValue : prefixValue(prefix);
+    }
+
+    /** Finds the value of the most specific network containing a
+     * network. Creates no objects.
+     * @param network the network to look up.
+     * @param defaultValue the value to return if no network contains
+     *                     the network.
+     * @return the value of the longest matching network, or
+     * {@code defaultValue}.
+     * @throws NullPointerException if the network is {@code null}.
+     * @throws IllegalArgumentException if the IP version of the network
+     * does not match the database.
+     * */
+    public long longestMatch(final Network<T> network,
+                             final long defaultValue) {
+        final int prefix = findPrefix(network);
+        return prefix == NO_PREFIX ? defaultValue : prefixValue(prefix);
+    }
+
+    /** Finds the most specific network containing an address.
+     * @param ip the address to look up.
+     * @return the longest matching network, or {@code null} if no
+     * network contains the address.
+     * @throws NullPointerException if the address is {@code null}.
+     * @throws IllegalArgumentException if the IP version of the address
+     * does not match the database.
+     * */
+    public Network<T> longestMatchingNetwork(final T ip) {
+        final int prefix = rangeOwner(findRange(ip));
+        return prefix == NO_PREFIX ? null : prefixNetwork(prefix);
+    }
+
+    /** Finds the most specific network containing a network.
+     * @param network the network to look up.
+     * @return the longest matching network, or {@code null} if no
+     * network contains the network.
+     * @throws NullPointerException if the network is {@code null}.
+     * @throws IllegalArgumentException if the IP version of the network
+     * does not match the database.
+     * */
+    public Network<T> longestMatchingNetwork(final Network<T> network) {
+        final int prefix = findPrefix(network);
+        return prefix == NO_PREFIX ? null : prefixNetwork(prefix);
+    }
+
+    /** Finds the index of the most specific network containing a
+     * network.
+     * @param network the network to look up.
+     * @return the index in the network table, or {@link #NO_PREFIX}.
+     * */
+    private int findPrefix(final Network<T> network) {
+        int prefix = rangeOwner(findRange(network.getAddress()));
+        // the network containing the start may be too specific
+        while (prefix != NO_PREFIX
+                && prefixLength(prefix) > network.getPrefix()) {
+            prefix = prefixParent(prefix);
+        }
+        return prefix;
+    }
+
+    /** Finds the range containing an address.
+     * @param ip the address to look up.
+     * @return the index of the range in the range table.
+     * */
+    private int findRange(final T ip) {
+        if (ip.getIPVersion() != ipVersion) {
+            throw new IllegalArgumentException("IP version "
+                    + ip.getIPVersion() + " does not match " + ipVersion);
+        }
+        final long high = UInt128.high(ip);
+        final long low = UInt128.low(ip);
+        // the first range starts at the first address
+        int from = 0;
+        int to = rangeCount - 1;
+        while (from < to) {
+            final int mid = (from + to + 1) >>> 1;
+            if (compareRangeStart(mid, high, low) <= 0) {
+                from = mid;
+            } else {
+                to = mid - 1;
+            }
+        }
+        return from;
+    }
+
+    /** Compares the start of a range with an address.
+     * @param range the index of the range.
+     * @param high the upper bits of the address.
+     * @param low the lower bits of the address.
+     * @return a negative value, zero or a positive value if the start is
+     * less, equal or greater than the address.
+     * */
+    private int compareRangeStart(final int range,
+                                  final long high,
+                                  final long low) {
+        final ByteBuffer buffer = ranges.segment(range);
+        final int offset = ranges.offset(range);
+        if (ipVersion == IPVersion.IPV4) {
+            return Long.compare(buffer.getInt(offset) & UInt128.UINT_MASK,
+                    low);
+        }
+        return UInt128.compare(buffer.getLong(offset),
+                buffer.getLong(offset + Long.BYTES), high, low);
+    }
+
+    /** Get the most specific network containing a range.
+     * @param range the index of the range.
+     * @return the index in the network table, or {@link #NO_PREFIX}.
+     * */
+    private int rangeOwner(final int range) {
+        return ranges.segment(range).getInt(ranges.offset(range)
+                + ipVersion.getAddressBytes());
+    }
+
+    /** Get the prefix length of a network.
+     * @param prefix the index of the network.
+     * @return the prefix length.
+     * */
+    private int prefixLength(final int prefix) {
+        return prefixes.segment(prefix).getInt(prefixes.offset(prefix)
+                + ipVersion.getAddressBytes());
+    }
+
+    /** Get the next less specific network containing a network.
+     * @param prefix the index of the network.
+     * @return the index of the containing network, or {@link #NO_PREFIX}.
+     * */
+    private int prefixParent(final int prefix) {
+        return prefixes.segment(prefix).getInt(prefixes.offset(prefix)
+                + ipVersion.getAddressBytes() + Integer.BYTES);
+    }
+
+    /** Get the value of a network.
+     * @param prefix the index of the network.
+     * @return the value.
+     * */
+    private long prefixValue(final int prefix) {
+        return prefixes.segment(prefix).getLong(prefixes.offset(prefix)
+                + ipVersion.getAddressBytes() + 2 * Integer.BYTES);
+    }
+
+    /** Creates a network from the network table.
+     * @param prefix the index of the network.
+     * @return the network.
+     * */
+    private Network<T> prefixNetwork(final int prefix) {
+        final ByteBuffer buffer = prefixes.segment(prefix);
+        final int offset = prefixes.offset(prefix);
+        final T ip;
+        if (ipVersion == IPVersion.IPV4) {
+            ip = UInt128.toIP(ipVersion, 0L, buffer.getInt(offset));
+        } else {
+            ip = UInt128.toIP(ipVersion, buffer.getLong(offset),
+                    buffer.getLong(offset + Long.BYTES));
+        }
+        return new Network<>(ip, prefixLength(prefix));
+    }
+
+    /** Get the size of a network record.
+     * @param addressBytes the number of bytes of an address.
+     * @return the number of bytes of a network record.
+     * */
+    private static int prefixRecordBytes(final int addressBytes) {
+        return addressBytes + 2 * Integer.BYTES + Long.BYTES;
+    }
+
+    /** Get the size of a range record.
+     * @param addressBytes the number of bytes of an address.
+     * @return the number of bytes of a range record.
+     * */
+    private static int rangeRecordBytes(final int addressBytes) {
+        return addressBytes + Integer.BYTES;
+    }
+
+    /** Fixed size records in one or more mapped buffers.
+     * The number of records per buffer is a power of two.
+     * */
+    private static final class RecordTable {
+        /** The mapped buffers. */
+        private final ByteBuffer[] segments;
+
+        /** The number of bytes of one record. */
+        private final int recordBytes;
+
+        /** The binary logarithm of the records per buffer. */
+        private final int segmentShift;
+
+        /** Creates a table.
+         * @param inSegments the mapped buffers.
+         * @param inRecordBytes the number of bytes of one record.
+         * @param inSegmentShift the binary logarithm of the records per
+         *                       buffer.
+         * */
+        private RecordTable(final ByteBuffer[] inSegments,
+                            final int inRecordBytes,
+                            final int inSegmentShift) {
+            this.segments = inSegments;
+            this.recordBytes = inRecordBytes;
+            this.segmentShift = inSegmentShift;
+        }
+
+        /** Maps a table of a file.
+         * @param channel the channel of the file.
+         * @param position the file position of the first record.
+         * @param count the number of records.
+         * @param recordBytes the number of bytes of one record.
+         * @return the mapped table.
+         * @throws IOException if mapping fails.
+         * */
+        static RecordTable map(final FileChannel channel,
+                               final long position,
+                               final int count,
+                               final int recordBytes) throws IOException {
+            final int segmentShift = Integer.SIZE - 1
+                    - Integer.numberOfLeadingZeros(
+                            MAX_SEGMENT_BYTES / recordBytes);
+            final int perSegment = 1 << segmentShift;
+            final ByteBuffer[] segments =
+                    new ByteBuffer[(count + perSegment - 1) >>> segmentShift];
+            for (int i = 0; i < segments.length; i++) {
+                final long first = (long) i << segmentShift;
+                final long records = Math.min(perSegment, count - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position + first * recordBytes,
+                        records * recordBytes);
+            }
+            return new RecordTable(segments, recordBytes, segmentShift);
+        }
+
+        /** Get the buffer of a record.
+         * @param index the index of the record.
+         * @return the buffer containing the record.
+         * */
+        ByteBuffer segment(final int index) {
+            return segments[index >>> segmentShift];
+        }
+
+        /** Get the offset of a record in its buffer.
+         * @param index the index of the record.
+         * @return the offset of the record in its buffer.
+         * */
+        int offset(final int index) {
+            return (index & ((1 << segmentShift) - 1)) * recordBytes;
+        }
+    }
+
+    /**
+     * Writes the networks and values of a prefix database file.
+     * When a network is put more than once, the last value is written.
+     * @param <T> the IP address type of the networks.
+     * @see PrefixDatabase#writer(Class)
+     */
+    public static final class Writer<T extends IP<T>> {
+        /** The networks and their values. */
+        private final Map<Network<T>, Long> values = new HashMap<>();
+
+        /** The IP version of the networks. */
+        private final IPVersion ipVersion;
+
+        /** Creates a writer.
+         * @param inIPVersion the IP version of the networks.
+         * @see PrefixDatabase#writer(Class)
+         * */
+        private Writer(final IPVersion inIPVersion) {
+            this.ipVersion = inIPVersion;
+        }
+
+        /**
+         * Adds a network with a value.
+         * @param network the network to add.
+         * @param value the value of the network.
+         * @return this writer.
+         * @throws NullPointerException if the network is {@code null}.
+         * @throws IllegalArgumentException if the IP version differs
+         * from the version of the writer.
+         */
+        public Writer<T> put(final Network<T> network, final long value) {
+            Objects.requireNonNull(network, "network is null");
+            if (ipVersion != network.getIPVersion()) {
+                throw new IllegalArgumentException("IP version "
+                        + network.getIPVersion() + " does not match "
+                        + ipVersion);
+            }
+            values.put(network, value);
+            return this;
+        }
+
+        /**
+         * Writes the file.
+         * @param path the file to create or replace.
+         * @throws IOException if writing the file fails.
+         */
+        public void write(final Path path) throws IOException {
+            final List<Network<T>> sorted = new ArrayList<>(values.keySet());
+            sorted.sort((n1, n2) -> {
+                final int result = n1.getAddress().compareTo(n2.getAddress());
+                return result != 0 ? result : n1.getPrefix() - n2.getPrefix();
+            });
+
+            final int[] parents = new int[sorted.size()];
+            final RangeTable rangeTable = new RangeTable(ipVersion);
+            // the networks containing the current position, innermost last
+            final int[] stack = new int[ipVersion.getAddressBits() + 1];
+            int depth = 0;
+            for (int i = 0; i < sorted.size(); i++) {
+                final Network<T> network = sorted.get(i);
+                while (depth > 0 && !sorted.get(stack[depth - 1])
+                        .contains(network)) {
+                    final Network<T> closed = sorted.get(stack[--depth]);
+                    rangeTable.closeUntil(closed.getBroadcast(),
+                            stack[depth]);
+                }
+                final int parent = depth > 0 ? stack[depth - 1] : NO_PREFIX;
+                rangeTable.startAt(network.getAddress(), parent);
+                parents[i] = parent;
+                stack[depth++] = i;
+            }
+            while (depth > 0) {
+                final Network<T> closed = sorted.get(stack[--depth]);
+                rangeTable.closeUntil(closed.getBroadcast(), stack[depth]);
+            }
+            rangeTable.finish();
+
+            try (OutputStream file = Files.newOutputStream(path);
+                 DataOutputStream out = new DataOutputStream(
+                         new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeByte(FORMAT_VERSION);
+                out.writeByte(ipVersion.getAddressBytes());
+                out.writeShort(0);
+                out.writeInt(sorted.size());
+                out.writeInt(rangeTable.count);
+                for (int i = 0; i < sorted.size(); i++) {
+                    final Network<T> network = sorted.get(i);
+                    final T ip = network.getAddress();
+                    if (ipVersion == IPVersion.IPV4) {
+                        out.writeInt((int) UInt128.low(ip));
+                    } else {
+                        out.writeLong(UInt128.high(ip));
+                        out.writeLong(UInt128.low(ip));
+                    }
+                    out.writeInt(network.getPrefix());
+                    out.writeInt(parents[i]);
+                    out.writeLong(values.get(network));
+                }
+                rangeTable.write(out);
+            }
+        }
+    }
+
+    /** Builds the disjoint ranges covering the address space.
+     * A range starts at the current position and is owned by the
+     * network containing it.
+     * */
+    private static final class RangeTable {
+        /** The IP version of the ranges. */
+        private final IPVersion ipVersion;
+
+        /** The upper bits of the range starts. */
+        private long[] startHigh = new long[2];
+
+        /** The lower bits of the range starts. */
+        private long[] startLow = new long[2];
+
+        /** The owners of the ranges. */
+        private int[] owners = new int[2];
+
+        /** The number of ranges. */
+        private int count;
+
+        /** The upper bits of the start of the open range. */
+        private long positionHigh;
+
+        /** The lower bits of the start of the open range. */
+        private long positionLow;
+
+        /** Whether the open range was closed at the last address. */
+        private boolean complete;
+
+        /** Creates an empty table starting at the first address.
+         * @param inIPVersion the IP version of the ranges.
+         * */
+        RangeTable(final IPVersion inIPVersion) {
+            this.ipVersion = inIPVersion;
+        }
+
+        /** Closes the open range before a network starts.
+         * @param start the start of the network.
+         * @param owner the owner of the open range.
+         * */
+        void startAt(final IP<?> start, final int owner) {
+            final long high = UInt128.high(start);
+            final long low = UInt128.low(start);
+            if (UInt128.compare(positionHigh, positionLow, high, low) < 0) {
+                add(owner);
+            }
+            positionHigh = high;
+            positionLow = low;
+        }
+
+        /** Closes the open range at the end of a network.
+         * @param end the last address of the network.
+         * @param owner the network.
+         * */
+        void closeUntil(final IP<?> end, final int owner) {
+            final long high = UInt128.high(end);
+            final long low = UInt128.low(end);
+            if (complete
+                    || UInt128.compare(positionHigh, positionLow,
+                        high, low) > 0) {
+                return;
+            }
+            add(owner);
+            positionLow = low + 1;
+            positionHigh = positionLow == 0 ? high + 1 : high;
+            if (ipVersion == IPVersion.IPV4
+                    ? positionLow > UInt128.UINT_MASK
+                    : positionLow == 0 && positionHigh == 0) {
+                complete = true;
+            }
+        }
+
+        /** Closes the open range at the end of the address space. */
+        void finish() {
+            if (!complete) {
+                add(NO_PREFIX);
+            }
+        }
+
+        /** Adds the open range, joining it with the last range if it
+         * has the same owner.
+         * @param owner the owner of the open range.
+         * */
+        private void add(final int owner) {
+            if (count > 0 && owners[count - 1] == owner) {
+                return;
+            }
+            if (count == owners.length) {
+                startHigh = Arrays.copyOf(startHigh, 2 * count);
+                startLow = Arrays.copyOf(startLow, 2 * count);
+                owners = Arrays.copyOf(owners, 2 * count);
+            }
+            startHigh[count] = positionHigh;
+            startLow[count] = positionLow;
+            owners[count] = owner;
+            count++;
+        }
+
+        /** Writes the range records.
+         * @param out the output to write to.
+         * @throws IOException if writing fails.
+         * */
+        void write(final DataOutputStream out) throws IOException {
+            for (int i = 0; i < count; i++) {
+                if (ipVersion == IPVersion.IPV4) {
+                    out.writeInt((int) startLow[i]);
+                } else {
+                    out.writeLong(startHigh[i]);
+                    out.writeLong(startLow[i]);
+                }
+                out.writeInt(owners[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ionos.network.commons.address;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The lookups shared by {@link NetworkTrie} and
+ * {@link ConcurrentNetworkTrie}. They only read the nodes, so they work
+ * for the mutable and the persistent trie alike.
+ * @see TrieNode
+ * @author Stephan Fuhrmann
+ */
+final class TrieLookup {
+
+    /** No instance allowed. */
+    private TrieLookup() {
+    }
+
+    /**
+     * Get the value associated with exactly the given network.
+     * @param root the root node, or {@code null} for an empty trie.
+     * @param network the network to get the value for.
+     * @param <T> the IP address type of the networks.
+     * @param <V> the type of the values stored.
+     * @return the value of the network, or {@code null} if there
+     * is no value for this network.
+     * @throws NullPointerException if the network is {@code null}.
+     */
+    static <T extends IP<T>, V> V get(final TrieNode<T, V> root,
+                                      final Network<T> network) {
+        Objects.requireNonNull(network, "network is null");
+        final T key = network.getAddress();
+        final int prefix = network.getPrefix();
+        TrieNode<T, V> node = root;
+        while (node != null
+                && node.getPrefix() < prefix
+                && node.getAddress().hasSamePrefix(key, node.getPrefix())) {
+            node = node.child(key.testBit(node.getPrefix()));
+        }
+        if (node != null
+                && node.getPrefix() == prefix
+                && node.getAddress().equals(key)) {
+            return node.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the value of the most specific network containing the IP.
+     * @param root the root node, or {@code null} for an empty trie.
+     * @param ip the IP address to find the network for.
+     * @param <T> the IP address type of the networks.
+     * @param <V> the type of the values stored.
+     * @return the value of the network with the longest prefix
+     * that contains the IP, or {@code null} if no network contains the IP.
+     * @throws NullPointerException if the IP is {@code null}.
+     */
+    static <T extends IP<T>, V> V longestMatch(final TrieNode<T, V> root,
+                                               final T ip) {
+        Objects.requireNonNull(ip, "ip is null");
+        final int bits = ip.getIPVersion().getAddressBits();
+        V result = null;
+        TrieNode<T, V> node = root;
+        while (node != null
+                && node.getAddress().hasSamePrefix(ip, node.getPrefix())) {
+            if (node.getValue() != null) {
+                result = node.getValue();
+            }
+            if (node.getPrefix() == bits) {
+                break;
+            }
+            node = node.child(ip.testBit(node.getPrefix()));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the values of all networks containing the IP.
+     * @param root the root node, or {@code null} for an empty trie.
+     * @param ip the IP address to find the networks for.
+     * @param <T> the IP address type of the networks.
+     * @param <V> the type of the values stored.
+     * @return the values of the networks containing the IP, ordered
+     * from the shortest to the longest prefix. Is empty if no network
+     * contains the IP.
+     * @throws NullPointerException if the IP is {@code null}.
+     */
+    static <T extends IP<T>, V> List<V> allMatches(
+            final TrieNode<T, V> root, final T ip) {
+        Objects.requireNonNull(ip, "ip is null");
+        final int bits = ip.getIPVersion().getAddressBits();
+        final List<V> result = new ArrayList<>();
+        TrieNode<T, V> node = root;
+        while (node != null
+                && node.getAddress().hasSamePrefix(ip, node.getPrefix())) {
+            if (node.getValue() != null) {
+                result.add(node.getValue());
+            }
+            if (node.getPrefix() == bits) {
+                break;
+            }
+            node = node.child(ip.testBit(node.getPrefix()));
+        }
+        return result;
+    }
+}
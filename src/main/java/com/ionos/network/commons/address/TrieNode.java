@@ -0,0 +1,34 @@
+package com.ionos.network.commons.address;
+
+/**
+ * The read-only view of a node in a path-compressed binary trie of
+ * networks. {@link TrieLookup} walks tries through this view.
+ * @param <T> the IP address type of the networks.
+ * @param <V> the type of the values stored.
+ * @see NetworkTrie
+ * @see ConcurrentNetworkTrie
+ * @author Stephan Fuhrmann
+ */
+interface TrieNode<T extends IP<T>, V> {
+
+    /** Get the network address of this node.
+     * @return the network address.
+     * */
+    T getAddress();
+
+    /** Get the prefix length of this node.
+     * @return the prefix length.
+     * */
+    int getPrefix();
+
+    /** Get the value of this node.
+     * @return the value or {@code null} if this node is only branching.
+     * */
+    V getValue();
+
+    /** Get a child.
+     * @param bit the bit after the prefix.
+     * @return the child for the bit, or {@code null}.
+     * */
+    TrieNode<T, V> child(boolean bit);
+}
@@ -0,0 +1,72 @@
+package com.ionos.network.commons.address;
+
+/**
+ * Helpers for IP addresses as unsigned 128 bit values in two longs.
+ * IPv4 addresses have zero upper bits and the address as an unsigned
+ * int in the lower bits. IPv6 addresses are split into the upper and
+ * the lower 64 bits.
+ * @author Stephan Fuhrmann
+ */
+final class UInt128 {
+
+    /** Mask for the 32 bits of an unsigned int in a long. */
+    static final long UINT_MASK = 0xffffffffL;
+
+    /** No instance allowed. */
+    private UInt128() {
+    }
+
+    /** Get the upper 64 bits of an IP address.
+     * @param ip the IPv4 or IPv6 address.
+     * @return the upper bits, always 0 for IPv4.
+     * */
+    static long high(final IP<?> ip) {
+        return ip instanceof IPv6 ? ((IPv6) ip).getHighBits() : 0L;
+    }
+
+    /** Get the lower 64 bits of an IP address.
+     * @param ip the IPv4 or IPv6 address.
+     * @return the lower bits, the unsigned address for IPv4.
+     * */
+    static long low(final IP<?> ip) {
+        if (ip instanceof IPv6) {
+            return ((IPv6) ip).getLowBits();
+        }
+        return ((IPv4) ip).toInt() & UINT_MASK;
+    }
+
+    /** Creates an IP address from its bits.
+     * @param ipVersion the IP version of the address.
+     * @param high the upper bits, ignored for IPv4.
+     * @param low the lower bits.
+     * @param <T> the IP address type.
+     * @return a new IPv4 or IPv6 address.
+     * */
+    @SuppressWarnings("unchecked")
+    static <T extends IP<T>> T toIP(final IPVersion ipVersion,
+                                    final long high,
+                                    final long low) {
+        if (ipVersion == IPVersion.IPV4) {
+            return (T) new IPv4((int) low);
+        }
+        return (T) new IPv6(high, low);
+    }
+
+    /** Compares two 128 bit unsigned values.
+     * @param leftHigh the upper bits of the left value.
+     * @param leftLow the lower bits of the left value.
+     * @param rightHigh the upper bits of the right value.
+     * @param rightLow the lower bits of the right value.
+     * @return a negative value, zero or a positive value if the left
+     * value is less, equal or greater than the right value.
+     * */
+    static int compare(final long leftHigh,
+                       final long leftLow,
+                       final long rightHigh,
+                       final long rightLow) {
+        if (leftHigh != rightHigh) {
+            return Long.compareUnsigned(leftHigh, rightHigh);
+        }
+        return Long.compareUnsigned(leftLow, rightLow);
+    }
+}
@@ -17,9 +17,32 @@
  *     </li>
  *     <li>{@link com.ionos.network.commons.address.Network}:
  *     An IP network containing network addresses.</li>
+ *     <li>{@link com.ionos.network.commons.address.IPRange}:
+ *     A range of consecutive IP addresses that can be converted
+ *     to networks.</li>
  *     <li>{@link com.ionos.network.commons.address.MAC}:
  *     A Media-Access-Control address.</li>
  * </ul>
+ * <h2>Looking up networks</h2>
+ * There are classes for finding the networks an address is contained in:
+ * <ul>
+ *     <li>{@link com.ionos.network.commons.address.NetworkTrie}:
+ *     A map from networks to values with longest-prefix-match
+ *     lookups.</li>
+ *     <li>{@link com.ionos.network.commons.address.ConcurrentNetworkTrie}:
+ *     A thread-safe variant of the trie with lock-free lookups
+ *     and atomic batch updates.</li>
+ *     <li>{@link com.ionos.network.commons.address.IPSet}:
+ *     An immutable set of addresses stored as sorted ranges,
+ *     with set operations.</li>
+ *     <li>{@link com.ionos.network.commons.address.PrefixDatabase}:
+ *     A memory mapped read-only file of networks with values for
+ *     longest-prefix-match lookups.</li>
+ *     <li>{@link com.ionos.network.commons.address.IPv4Map},
+ *     {@link com.ionos.network.commons.address.IPv4LongMap} and
+ *     {@link com.ionos.network.commons.address.IPv6Map}:
+ *     Hash maps keyed by the primitive values of IP addresses.</li>
+ * </ul>
  * <h2>Formatting addresses</h2>
  * There are classes for formatting the addresses into multiple
  * string representations:
@@ -42,11 +65,24 @@
  *     Parser implementations for converting Strings into a
  *     {@linkplain com.ionos.network.commons.address.MAC}
  *     address.</li>
+ *     <li>{@link com.ionos.network.commons.address.NetworkListReader}:
+ *     Reads files with one address or network per line from
+ *     channels or buffers without creating objects per line.</li>
+ *     <li>{@link com.ionos.network.commons.address.NetworkListLoader}:
+ *     Loads such files in parallel chunks into sorted lists
+ *     of distinct networks.</li>
  * </ul>
  *
+ * <h2>Binary encoding</h2>
+ * The {@link com.ionos.network.commons.address.AddressCodec} writes and
+ * reads IPs, networks and MACs and collections of them in a compact
+ * binary form, independent of Java serialization.
+ *
  * <h3>Miscellaneous</h3>
  * There's a {@link com.ionos.network.commons.address.EUI64} conversion class
  * that can convert MAC addresses
  * into the corresponding IPv6 addresses using the EUI-64 / SLAAC mechanism.
+ * {@link com.ionos.network.commons.address.IPSorts} sorts big arrays of
+ * addresses and networks in linear time.
  * */
 package com.ionos.network.commons.address;
@@ -0,0 +1,181 @@
+package com.ionos.network.commons.address;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The loops of {@link BatchMatching} with the Vector API.
+ * Each loop tests as many addresses at once as fit into the widest
+ * vector register of the CPU and finishes the remaining addresses with
+ * scalar code.
+ * <br>
+ * Only loaded if the {@code jdk.incubator.vector} module is present.
+ * @author Stephan Fuhrmann
+ */
+final class VectorMatching {
+
+    /** The vector shape for IPv4 addresses. */
+    private static final VectorSpecies<Integer> INTS =
+            IntVector.SPECIES_PREFERRED;
+
+    /** The vector shape for IPv6 address halves. */
+    private static final VectorSpecies<Long> LONGS =
+            LongVector.SPECIES_PREFERRED;
+
+    /** No instances. */
+    private VectorMatching() {
+    }
+
+    /** Tests an array of IPv4 addresses.
+     * @param ips the addresses.
+     * @param mask the subnet mask.
+     * @param base the network address.
+     * @param out receives at each index whether the address matches.
+     * */
+    static void containsAll(final int[] ips,
+                            final int mask,
+                            final int base,
+                            final boolean[] out) {
+        final int bound = INTS.loopBound(ips.length);
+        int i = 0;
+        for (; i < bound; i += INTS.length()) {
+            IntVector.fromArray(INTS, ips, i).and(mask).eq(base)
+                    .intoArray(out, i);
+        }
+        for (; i < ips.length; i++) {
+            out[i] = (ips[i] & mask) == base;
+        }
+    }
+
+    /** Tests an array of IPv4 addresses.
+     * @param ips the addresses.
+     * @param mask the subnet mask.
+     * @param base the network address.
+     * @param words receives the bit of each matching index, in the
+     *              layout of {@link java.util.BitSet#valueOf(long[])}.
+     * */
+    static void containsAll(final int[] ips,
+                            final int mask,
+                            final int base,
+                            final long[] words) {
+        final int bound = INTS.loopBound(ips.length);
+        int i = 0;
+        // the lane count divides 64, so no vector spans two words
+        for (; i < bound; i += INTS.length()) {
+            final long lanes = IntVector.fromArray(INTS, ips, i)
+                    .and(mask).eq(base).toLong();
+            words[i / Long.SIZE] |= lanes << i;
+        }
+        for (; i < ips.length; i++) {
+            if ((ips[i] & mask) == base) {
+                words[i / Long.SIZE] |= 1L << i;
+            }
+        }
+    }
+
+    /** Counts the matching IPv4 addresses.
+     * @param ips the addresses.
+     * @param mask the subnet mask.
+     * @param base the network address.
+     * @return the number of matching addresses.
+     * */
+    static int count(final int[] ips, final int mask, final int base) {
+        final int bound = INTS.loopBound(ips.length);
+        int result = 0;
+        int i = 0;
+        for (; i < bound; i += INTS.length()) {
+            result += IntVector.fromArray(INTS, ips, i).and(mask).eq(base)
+                    .trueCount();
+        }
+        for (; i < ips.length; i++) {
+            if ((ips[i] & mask) == base) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /** Tests arrays of IPv6 addresses.
+     * @param highs the upper 64 bits of the addresses.
+     * @param lows the lower 64 bits of the addresses.
+     * @param maskHigh the upper 64 bits of the subnet mask.
+     * @param maskLow the lower 64 bits of the subnet mask.
+     * @param baseHigh the upper 64 bits of the network address.
+     * @param baseLow the lower 64 bits of the network address.
+     * @param out receives at each index whether the address matches.
+     * */
+    static void containsAll(final long[] highs,
+                            final long[] lows,
+                            final long maskHigh,
+                            final long maskLow,
+                            final long baseHigh,
+                            final long baseLow,
+                            final boolean[] out) {
+        final int bound = LONGS.loopBound(highs.length);
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            matches(highs, lows, i, maskHigh, maskLow, baseHigh, baseLow)
+                    .intoArray(out, i);
+        }
+        for (; i < highs.length; i++) {
+            out[i] = (highs[i] & maskHigh) == baseHigh
+                    && (lows[i] & maskLow) == baseLow;
+        }
+    }
+
+    /** Counts the matching IPv6 addresses.
+     * @param highs the upper 64 bits of the addresses.
+     * @param lows the lower 64 bits of the addresses.
+     * @param maskHigh the upper 64 bits of the subnet mask.
+     * @param maskLow the lower 64 bits of the subnet mask.
+     * @param baseHigh the upper 64 bits of the network address.
+     * @param baseLow the lower 64 bits of the network address.
+     * @return the number of matching addresses.
+     * */
+    static int count(final long[] highs,
+                     final long[] lows,
+                     final long maskHigh,
+                     final long maskLow,
+                     final long baseHigh,
+                     final long baseLow) {
+        final int bound = LONGS.loopBound(highs.length);
+        int result = 0;
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            result += matches(highs, lows, i,
+                    maskHigh, maskLow, baseHigh, baseLow).trueCount();
+        }
+        for (; i < highs.length; i++) {
+            if ((highs[i] & maskHigh) == baseHigh
+                    && (lows[i] & maskLow) == baseLow) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /** Tests one vector of IPv6 addresses.
+     * @param highs the upper 64 bits of the addresses.
+     * @param lows the lower 64 bits of the addresses.
+     * @param offset the index of the first address to test.
+     * @param maskHigh the upper 64 bits of the subnet mask.
+     * @param maskLow the lower 64 bits of the subnet mask.
+     * @param baseHigh the upper 64 bits of the network address.
+     * @param baseLow the lower 64 bits of the network address.
+     * @return the lanes of the matching addresses.
+     * */
+    private static VectorMask<Long> matches(final long[] highs,
+                                            final long[] lows,
+                                            final int offset,
+                                            final long maskHigh,
+                                            final long maskLow,
+                                            final long baseHigh,
+                                            final long baseLow) {
+        return LongVector.fromArray(LONGS, highs, offset)
+                .and(maskHigh).eq(baseHigh)
+                .and(LongVector.fromArray(LONGS, lows, offset)
+                        .and(maskLow).eq(baseLow));
+    }
+}
@@ -0,0 +1,80 @@
+package com.ionos.network.commons.address;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/** Reads, writes and compares primitive values in byte arrays.
+ * <br>
+ * This is the version for Java 9 and newer. The var handles view the
+ * byte arrays as big endian ints and longs, so each access is a single
+ * memory access. The comparison uses the intrinsic of
+ * {@link Arrays#compareUnsigned(byte[], byte[])}, which finds the first
+ * differing byte with vector instructions.
+ * @author Stephan Fuhrmann
+ */
+final class ByteArrays {
+
+    /** Views byte arrays as big endian ints. */
+    private static final VarHandle INTS =
+            MethodHandles.byteArrayViewVarHandle(int[].class,
+                    ByteOrder.BIG_ENDIAN);
+
+    /** Views byte arrays as big endian longs. */
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class,
+                    ByteOrder.BIG_ENDIAN);
+
+    /** No instances. */
+    private ByteArrays() {
+    }
+
+    /** Reads a big endian int from a byte array.
+     * @param data the array to read from.
+     * @param offset the offset of the most significant byte.
+     * @return the int made up of the four bytes at {@code offset}.
+     * */
+    static int getInt(final byte[] data, final int offset) {
+        return (int) INTS.get(data, offset);
+    }
+
+    /** Reads a big endian long from a byte array.
+     * @param data the array to read from.
+     * @param offset the offset of the most significant byte.
+     * @return the long made up of the eight bytes at {@code offset}.
+     * */
+    static long getLong(final byte[] data, final int offset) {
+        return (long) LONGS.get(data, offset);
+    }
+
+    /** Writes an int to a byte array in big endian byte order.
+     * @param data the array to write to.
+     * @param offset the offset to write the most significant byte to.
+     * @param value the value to write.
+     * */
+    static void putInt(final byte[] data, final int offset, final int value) {
+        INTS.set(data, offset, value);
+    }
+
+    /** Writes a long to a byte array in big endian byte order.
+     * @param data the array to write to.
+     * @param offset the offset to write the most significant byte to.
+     * @param value the value to write.
+     * */
+    static void putLong(final byte[] data, final int offset, final long value) {
+        LONGS.set(data, offset, value);
+    }
+
+    /** Compares two byte arrays lexicographically, each byte
+     * regarded as unsigned. If one array is a prefix of the other, the
+     * shorter array is less.
+     * @param left the first array.
+     * @param right the second array.
+     * @return a negative number, zero or a positive number if
+     * {@code left} is less than, equal to or greater than {@code right}.
+     * */
+    static int compareUnsigned(final byte[] left, final byte[] right) {
+        return Arrays.compareUnsigned(left, right);
+    }
+}
@@ -0,0 +1,218 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for {@link AddressCodec}.
+ */
+public class AddressCodecTest {
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        buffer.flip();
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
+    @Test
+    public void testWireFormat() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        AddressCodec.write(new IPv4("192.168.1.2"), buffer);
+        AddressCodec.write(new Network<IPv4>("10.0.0.0/8"), buffer);
+        AddressCodec.write(new MAC("00:11:22:33:44:55"), buffer);
+        AddressCodec.write(new Network<IPv6>("2001:db8::/32"), buffer);
+        assertArrayEquals(new byte[] {
+                1, (byte) 192, (byte) 168, 1, 2,
+                3, 10, 0, 0, 0, 8,
+                5, 0, 0x11, 0x22, 0x33, 0x44, 0x55,
+                4, 0x20, 0x01, 0x0d, (byte) 0xb8, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 32},
+                toBytes(buffer));
+    }
+
+    @Test
+    public void testEncodedSize() {
+        assertEquals(5, AddressCodec.encodedSize(new IPv4("1.2.3.4")));
+        assertEquals(17, AddressCodec.encodedSize(new IPv6("::1")));
+        assertEquals(6, AddressCodec.encodedSize(new Network<IPv4>("1.2.3.0/24")));
+        assertEquals(18, AddressCodec.encodedSize(new Network<IPv6>("::/0")));
+    }
+
+    @Test
+    public void testByteBufferRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(128).order(ByteOrder.LITTLE_ENDIAN);
+        AddressCodec.write(new IPv6("2001:db8::1"), buffer);
+        AddressCodec.write(new Network<IPv4>("192.168.0.0/16"), buffer);
+        AddressCodec.write(new MAC("00:11:22:33:44:55"), buffer);
+        buffer.flip();
+        assertEquals(2, buffer.get(0));
+        assertEquals(0x20, buffer.get(1));
+        assertEquals(new IPv6("2001:db8::1"), AddressCodec.readIP(buffer, IPv6.class));
+        assertEquals(new Network<IPv4>("192.168.0.0/16"), AddressCodec.readNetwork(buffer, IPv4.class));
+        assertEquals(new MAC("00:11:22:33:44:55"), AddressCodec.readMAC(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void testDataOutputRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        AddressCodec.write(new IPv4("1.2.3.4"), out);
+        AddressCodec.write(new Network<IPv6>("fe80::/10"), out);
+        AddressCodec.write(new MAC("aa:bb:cc:dd:ee:ff"), out);
+        out.flush();
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        AddressCodec.write(new IPv4("1.2.3.4"), buffer);
+        AddressCodec.write(new Network<IPv6>("fe80::/10"), buffer);
+        AddressCodec.write(new MAC("aa:bb:cc:dd:ee:ff"), buffer);
+        assertArrayEquals(toBytes(buffer), bytes.toByteArray());
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(new IPv4("1.2.3.4"), AddressCodec.readIP(in, IPv4.class));
+        assertEquals(new Network<IPv6>("fe80::/10"), AddressCodec.readNetwork(in, IPv6.class));
+        assertEquals(new MAC("aa:bb:cc:dd:ee:ff"), AddressCodec.readMAC(in));
+        Assertions.assertThrows(EOFException.class, () -> AddressCodec.readIP(in));
+    }
+
+    @Test
+    public void testCollectionsRoundTrip() throws IOException {
+        Random random = new Random(1);
+        List<Network<IPv4>> networks = new ArrayList<>();
+        List<IP<?>> ips = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            networks.add(new Network<>(new IPv4(random.nextInt()), random.nextInt(33)));
+            ips.add(new IPv4(random.nextInt()));
+            ips.add(new IPv6(random.nextLong(), random.nextLong()));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        AddressCodec.writeNetworks(networks, buffer);
+        AddressCodec.writeIPs(ips, buffer);
+        assertEquals(4 + 6 * 1000 + 4 + 22 * 1000, buffer.position());
+        buffer.flip();
+        assertEquals(networks, AddressCodec.readNetworks(buffer, IPv4.class));
+        assertEquals(ips, AddressCodec.readIPs(buffer));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        AddressCodec.writeNetworks(networks, out);
+        AddressCodec.writeIPs(ips, out);
+        assertArrayEquals(Arrays.copyOf(buffer.array(), buffer.limit()), bytes.toByteArray());
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(networks, AddressCodec.readNetworks(in, IPv4.class));
+        assertEquals(ips, AddressCodec.readIPs(in));
+    }
+
+    @Test
+    public void testWriteWithoutSpaceLeavesBufferUnchanged() {
+        ByteBuffer buffer = ByteBuffer.allocate(11);
+        buffer.put((byte) 42);
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> AddressCodec.write(new IPv6("::1"), buffer));
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> AddressCodec.writeNetworks(Arrays.asList(
+                        new Network<IPv4>("10.0.0.0/8"), new Network<IPv4>("11.0.0.0/8")), buffer));
+        assertEquals(1, buffer.position());
+        AddressCodec.writeNetworks(Collections.singletonList(new Network<IPv4>("10.0.0.0/8")), buffer);
+        assertEquals(11, buffer.position());
+    }
+
+    @Test
+    public void testReadWrongTag() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        AddressCodec.write(new IPv4("1.2.3.4"), buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readNetwork(buffer));
+        buffer.rewind();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readMAC(buffer));
+        buffer.rewind();
+        buffer.put(0, (byte) 99);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readIP(buffer));
+    }
+
+    @Test
+    public void testReadUnexpectedClassKeepsPosition() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        AddressCodec.write(new IPv4("1.2.3.4"), buffer);
+        AddressCodec.write(new Network<IPv6>("2001:db8::/32"), buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readIP(buffer, IPv6.class));
+        assertEquals(0, buffer.position());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readNetwork(buffer, IPv4.class));
+        assertEquals(0, buffer.position());
+        assertEquals(new IPv4("1.2.3.4"), AddressCodec.readIP(buffer, IPv4.class));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readNetwork(buffer, IPv4.class));
+        assertEquals(5, buffer.position());
+        Network<?> network = AddressCodec.readNetwork(buffer);
+        assertEquals(new Network<IPv6>("2001:db8::/32"), network);
+        assertEquals(IPVersion.IPV6, network.getIPVersion());
+    }
+
+    @Test
+    public void testReadCollectionOfUnexpectedClassKeepsPosition() {
+        List<IP<?>> ips = Arrays.asList(new IPv4("1.2.3.4"), new IPv6("::1"));
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        AddressCodec.writeIPs(ips, buffer);
+        buffer.flip();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readIPs(buffer, IPv4.class));
+        assertEquals(0, buffer.position());
+        assertEquals(ips, AddressCodec.readIPs(buffer));
+    }
+
+    @Test
+    public void testReadUnexpectedClassFromInput() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AddressCodec.writeIPs(Arrays.asList(new IPv4("1.2.3.4"), new IPv6("::1")),
+                new DataOutputStream(bytes));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readIPs(in, IPv6.class));
+    }
+
+    @Test
+    public void testReadInvalidPrefix() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {3, 10, 0, 0, 0, 33});
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readNetwork(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testReadTruncated() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {2, 1, 2, 3});
+        Assertions.assertThrows(BufferUnderflowException.class,
+                () -> AddressCodec.readIP(buffer));
+        ByteBuffer negative = ByteBuffer.wrap(new byte[] {-1, -1, -1, -1});
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> AddressCodec.readNetworks(negative));
+        ByteBuffer tooMany = ByteBuffer.wrap(new byte[] {0x7f, -1, -1, -1, 1, 1, 2, 3, 4});
+        Assertions.assertThrows(BufferUnderflowException.class,
+                () -> AddressCodec.readIPs(tooMany));
+    }
+}
@@ -22,6 +22,16 @@ public class AddressComparatorsTest {
         assertEquals(0, AddressComparators.UNSIGNED_BYTE_COMPARATOR.compare(first, first));
     }
 
+    @Test
+    public void testComponentComparatorWithDifferentLengths() {
+        IP<?> ipv4 = new IPv4("255.255.255.255");
+        IP<?> ipv6 = new IPv6("ffff:ffff::");
+
+        assertEquals(-1, AddressComparators.UNSIGNED_BYTE_COMPARATOR.compare(ipv4, ipv6));
+        assertEquals(1, AddressComparators.UNSIGNED_BYTE_COMPARATOR.compare(ipv6, ipv4));
+        assertEquals(1, AddressComparators.UNSIGNED_BYTE_COMPARATOR.compare(ipv4, new TestAddress()));
+    }
+
     private static class TestAddress implements Address {
 
         @Override
@@ -0,0 +1,84 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test cases for {@link AddressInterner}.
+ */
+public class AddressInternerTest {
+
+    @Test
+    public void testCapacity() {
+        assertEquals(1, new AddressInterner<IPv4>(1).capacity());
+        assertEquals(1024, new AddressInterner<IPv4>(1000).capacity());
+        assertEquals(1024, new AddressInterner<IPv4>(1024).capacity());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new AddressInterner<IPv4>(0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new AddressInterner<IPv4>(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testIntern() {
+        AddressInterner<IPv4> interner = new AddressInterner<>(16);
+        IPv4 first = new IPv4("192.168.1.1");
+        IPv4 second = new IPv4("192.168.1.1");
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        interner.clear();
+        assertSame(second, interner.intern(second));
+        Assertions.assertThrows(NullPointerException.class,
+                () -> interner.intern(null));
+    }
+
+    @Test
+    public void testEviction() {
+        AddressInterner<IPv4> interner = new AddressInterner<>(1);
+        IPv4 first = new IPv4("10.0.0.1");
+        IPv4 other = new IPv4("10.0.0.2");
+        assertSame(first, interner.intern(first));
+        assertSame(other, interner.intern(other));
+        IPv4 again = new IPv4("10.0.0.1");
+        assertSame(again, interner.intern(again));
+    }
+
+    @Test
+    public void testManyAddressesStayEqual() {
+        AddressInterner<IPv6> interner = new AddressInterner<>(256);
+        for (int i = 0; i < 10000; i++) {
+            IPv6 ip = new IPv6(0x20010db8L << 32, i % 300);
+            assertEquals(ip, interner.intern(ip));
+        }
+    }
+
+    @Test
+    public void testInterningParser() {
+        AddressInterner<IPv4> interner = new AddressInterner<>(64);
+        AddressParser<IPv4> parser = interner.interning(IPParsers.DOTTED_DECIMAL);
+        IPv4 first = parser.parse("1.2.3.4");
+        assertSame(first, parser.parse("1.2.3.4"));
+        assertSame(first, parser.tryParse("1.2.3.4").get());
+        assertEquals(Optional.empty(), parser.tryParse("1.2.3"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> parser.parse("1.2.3"));
+        byte[] bytes = new byte[4];
+        assertEquals(4, parser.tryParseAsBytes("1.2.3.4", 0, 7, bytes, 0));
+        assertEquals(new IPv4(bytes), first);
+    }
+
+    @Test
+    public void testInterningMACParser() {
+        AddressInterner<MAC> interner = new AddressInterner<>(64);
+        AddressParser<MAC> parser = interner.interning(MACParsers.DEFAULT);
+        MAC first = parser.parse("00:11:22:33:44:55");
+        assertSame(first, parser.parse("0011.2233.4455"));
+        assertNotSame(first, MACParsers.DEFAULT.parse("00:11:22:33:44:55"));
+    }
+}
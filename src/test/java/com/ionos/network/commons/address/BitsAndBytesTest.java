@@ -23,98 +23,6 @@ public class BitsAndBytesTest {
         assertArrayEquals(expected, actual);
     }
 
-    @Test
-    public void getLowestBitSetWithZeroArray() {
-        int actual = BitsAndBytes.getLowestBitSet(new byte[0]);
-        assertEquals(-1, actual);
-    }
-
-    @Test
-    public void getLowestBitSetWithNoBitSet() {
-        int actual = BitsAndBytes.getLowestBitSet(new byte[1]);
-        assertEquals(-1, actual);
-    }
-
-    @Test
-    public void getLowestBitSetWithLowestBitSet() {
-        byte[] array = new byte[2];
-        array[1] = 1;
-        int actual = BitsAndBytes.getLowestBitSet(array);
-        assertEquals(0, actual);
-    }
-
-    @Test
-    public void getLowestBitSetWithHighestBitSet() {
-        byte[] array = new byte[2];
-        array[0] = (byte) 0x80;
-        int actual = BitsAndBytes.getLowestBitSet(array);
-        assertEquals(15, actual);
-    }
-
-    @Test
-    public void getLowestBitSetWithTwoBitsSet() {
-        byte[] array = new byte[2];
-        array[0] = (byte) 0x80;
-        array[1] = 1;
-        int actual = BitsAndBytes.getLowestBitSet(array);
-        assertEquals(0, actual);
-    }
-
-    @Test
-    public void getLowestBitSetWithAllBitsSet() {
-        byte[] array = new byte[2];
-        array[0] = (byte) 0xff;
-        array[1] = (byte) 0xff;
-        int actual = BitsAndBytes.getLowestBitSet(array);
-        assertEquals(0, actual);
-    }
-
-    @Test
-    public void getHighestBitSetWithZeroArray() {
-        int actual = BitsAndBytes.getHighestBitSet(new byte[0]);
-        assertEquals(-1, actual);
-    }
-
-    @Test
-    public void getHighestBitSetWithNoBitSet() {
-        int actual = BitsAndBytes.getHighestBitSet(new byte[1]);
-        assertEquals(-1, actual);
-    }
-
-    @Test
-    public void getHighestBitSetWithLowestBitSet() {
-        byte[] array = new byte[2];
-        array[1] = 1;
-        int actual = BitsAndBytes.getHighestBitSet(array);
-        assertEquals(0, actual);
-    }
-
-    @Test
-    public void getHighestBitSetWithHighestBitSet() {
-        byte[] array = new byte[2];
-        array[0] = (byte) 0x80;
-        int actual = BitsAndBytes.getHighestBitSet(array);
-        assertEquals(15, actual);
-    }
-
-    @Test
-    public void getHighestBitSetWithTwoBitsSet() {
-        byte[] array = new byte[2];
-        array[0] = (byte) 0x80;
-        array[1] = 1;
-        int actual = BitsAndBytes.getHighestBitSet(array);
-        assertEquals(15, actual);
-    }
-
-    @Test
-    public void getHighestBitSetWithAllBitsSet() {
-        byte[] array = new byte[2];
-        array[0] = (byte) 0xff;
-        array[1] = (byte) 0xff;
-        int actual = BitsAndBytes.getHighestBitSet(array);
-        assertEquals(15, actual);
-    }
-
     @Test
     public void toHexDigitWith0() {
         char actual = BitsAndBytes.toHexDigit(0);
@@ -211,6 +119,26 @@ public class BitsAndBytesTest {
         assertEquals("1ff", actual.toString());
     }
 
+    @Test
+    public void appendHexAllValues() throws IOException {
+        for (int i = 0; i <= 0xffff; i++) {
+            StringBuilder actual = new StringBuilder();
+            BitsAndBytes.appendHex(actual, (byte) (i >>> 8), (byte) i);
+            assertEquals(Integer.toHexString(i), actual.toString());
+            actual.setLength(0);
+            BitsAndBytes.appendHexWithLeadingZeros(actual, (byte) (i >>> 8), (byte) i);
+            assertEquals(String.format("%04x", i), actual.toString());
+        }
+    }
+
+    @Test
+    public void hexDigitHighAndLow() {
+        assertEquals('a', BitsAndBytes.hexDigitHigh(0xa5));
+        assertEquals('5', BitsAndBytes.hexDigitLow(0xa5));
+        assertEquals('f', BitsAndBytes.hexDigitHigh((byte) 0xf0));
+        assertEquals('0', BitsAndBytes.hexDigitLow((byte) 0xf0));
+    }
+
     @Test
     public void appendHexWithLeadingZerosWith0() throws IOException {
         StringBuilder actual = new StringBuilder();
@@ -280,4 +208,35 @@ public class BitsAndBytesTest {
         BitsAndBytes.setLeadingBits(data, 23);
         assertArrayEquals(new byte[]{(byte)0xFF, (byte)0xFF, (byte)0xFE}, data);
     }
+
+    @Test
+    public void getAndPutInt() {
+        byte[] data = new byte[5];
+        BitsAndBytes.putInt(data, 1, 0xc0a80001);
+        assertArrayEquals(new byte[]{0, (byte) 0xc0, (byte) 0xa8, 0, 1}, data);
+        assertEquals(0xc0a80001, BitsAndBytes.getInt(data, 1));
+    }
+
+    @Test
+    public void getAndPutLong() {
+        byte[] data = new byte[8];
+        BitsAndBytes.putLong(data, 0, 0x8000000000000001L);
+        assertArrayEquals(new byte[]{(byte) 0x80, 0, 0, 0, 0, 0, 0, 1}, data);
+        assertEquals(0x8000000000000001L, BitsAndBytes.getLong(data, 0));
+    }
+
+    @Test
+    public void leadingBitsInt() {
+        assertEquals(0, BitsAndBytes.leadingBitsInt(0));
+        assertEquals(0x80000000, BitsAndBytes.leadingBitsInt(1));
+        assertEquals(0xffffff00, BitsAndBytes.leadingBitsInt(24));
+        assertEquals(-1, BitsAndBytes.leadingBitsInt(32));
+    }
+
+    @Test
+    public void leadingBitsLong() {
+        assertEquals(0L, BitsAndBytes.leadingBitsLong(0));
+        assertEquals(0x8000000000000000L, BitsAndBytes.leadingBitsLong(1));
+        assertEquals(-1L, BitsAndBytes.leadingBitsLong(64));
+    }
 }
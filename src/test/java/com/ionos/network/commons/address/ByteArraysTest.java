@@ -0,0 +1,104 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link ByteArrays}.
+ * The tests also run against the multi-release JAR, so they cover
+ * the Java 8 and the Java 9 version of the class.
+ */
+public class ByteArraysTest {
+
+    @Test
+    public void testGetAndPutInt() {
+        byte[] data = new byte[6];
+        ByteArrays.putInt(data, 1, 0x80ff0102);
+        assertArrayEquals(new byte[] {0, (byte) 0x80, (byte) 0xff, 1, 2, 0},
+                data);
+        assertEquals(0x80ff0102, ByteArrays.getInt(data, 1));
+        assertEquals(0xff010200, ByteArrays.getInt(data, 2));
+    }
+
+    @Test
+    public void testGetAndPutLong() {
+        byte[] data = new byte[10];
+        ByteArrays.putLong(data, 1, 0x8001020304050607L);
+        assertArrayEquals(new byte[] {0, (byte) 0x80, 1, 2, 3, 4, 5, 6, 7, 0},
+                data);
+        assertEquals(0x8001020304050607L, ByteArrays.getLong(data, 1));
+        assertEquals(0x0102030405060700L, ByteArrays.getLong(data, 2));
+    }
+
+    @Test
+    public void testGetOutOfBounds() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> ByteArrays.getLong(new byte[8], 1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> ByteArrays.putInt(new byte[4], -1, 0));
+    }
+
+    @Test
+    public void testCompareUnsigned() {
+        byte[] small = {1, 2, 3};
+        byte[] large = {1, 2, (byte) 0x80};
+        assertEquals(0, ByteArrays.compareUnsigned(small, small.clone()));
+        assertTrue(ByteArrays.compareUnsigned(small, large) < 0);
+        assertTrue(ByteArrays.compareUnsigned(large, small) > 0);
+        assertTrue(ByteArrays.compareUnsigned(new byte[] {1, 2}, small) < 0);
+        assertTrue(ByteArrays.compareUnsigned(small, new byte[] {1, 2}) > 0);
+        assertEquals(0, ByteArrays.compareUnsigned(new byte[0], new byte[0]));
+    }
+
+    @Test
+    public void testCompareUnsignedLikeUInt128() {
+        Random random = new Random(1);
+        byte[] left = new byte[16];
+        byte[] right = new byte[16];
+        for (int i = 0; i < 1000; i++) {
+            random.nextBytes(left);
+            System.arraycopy(left, 0, right, 0, 16);
+            right[random.nextInt(16)] = (byte) random.nextInt();
+            int expected = Integer.signum(UInt128.compare(
+                    ByteArrays.getLong(left, 0), ByteArrays.getLong(left, 8),
+                    ByteArrays.getLong(right, 0),
+                    ByteArrays.getLong(right, 8)));
+            assertEquals(expected,
+                    Integer.signum(ByteArrays.compareUnsigned(left, right)));
+        }
+    }
+
+    @Test
+    public void testCompareUnsignedLikeBytes() {
+        Random random = new Random(2);
+        for (int i = 0; i < 1000; i++) {
+            byte[] left = new byte[random.nextInt(20)];
+            byte[] right = new byte[random.nextInt(20)];
+            random.nextBytes(left);
+            System.arraycopy(left, 0, right, 0,
+                    Math.min(left.length, right.length));
+            if (right.length > 0 && random.nextBoolean()) {
+                right[random.nextInt(right.length)] = (byte) random.nextInt();
+            }
+            assertEquals(Integer.signum(compareBytes(left, right)),
+                    Integer.signum(ByteArrays.compareUnsigned(left, right)));
+        }
+    }
+
+    /** Compares unsigned byte by byte as a reference. */
+    private static int compareBytes(byte[] left, byte[] right) {
+        for (int i = 0; i < Math.min(left.length, right.length); i++) {
+            int difference = (left[i] & 0xff) - (right[i] & 0xff);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return left.length - right.length;
+    }
+}
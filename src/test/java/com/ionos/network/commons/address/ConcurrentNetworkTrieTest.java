@@ -0,0 +1,133 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link ConcurrentNetworkTrie}.
+ */
+public class ConcurrentNetworkTrieTest {
+
+    @Test
+    public void testEmpty() {
+        ConcurrentNetworkTrie<IPv4, String> trie = new ConcurrentNetworkTrie<>();
+        assertTrue(trie.isEmpty());
+        assertNull(trie.longestMatch(new IPv4("10.0.0.1")));
+        assertTrue(trie.allMatches(new IPv4("10.0.0.1")).isEmpty());
+        assertNull(trie.remove(new Network<>("10.0.0.0/8")));
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        ConcurrentNetworkTrie<IPv4, String> trie = new ConcurrentNetworkTrie<>();
+        assertNull(trie.put(new Network<>("10.0.0.0/8"), "a"));
+        assertNull(trie.put(new Network<>("10.1.0.0/16"), "b"));
+        assertEquals("b", trie.put(new Network<>("10.1.0.0/16"), "c"));
+        assertEquals(2, trie.size());
+        assertEquals("c", trie.longestMatch(new IPv4("10.1.2.3")));
+        assertEquals("a", trie.longestMatch(new IPv4("10.2.2.3")));
+        assertEquals("a", trie.get(new Network<>("10.0.0.0/8")));
+        assertNull(trie.get(new Network<>("10.0.0.0/9")));
+        assertEquals("a", trie.remove(new Network<>("10.0.0.0/8")));
+        assertEquals("c", trie.longestMatch(new IPv4("10.1.2.3")));
+        assertNull(trie.longestMatch(new IPv4("10.2.2.3")));
+        assertEquals(1, trie.size());
+        Assertions.assertThrows(NullPointerException.class,
+                () -> trie.put(new Network<>("10.0.0.0/8"), null));
+        trie.clear();
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    public void testSnapshotIsImmutable() {
+        ConcurrentNetworkTrie<IPv6, String> trie = new ConcurrentNetworkTrie<>();
+        trie.put(new Network<>("2001:db8::/32"), "doc");
+        ConcurrentNetworkTrie.Snapshot<IPv6, String> before = trie.snapshot();
+        trie.batch()
+                .put(new Network<>("2001:db8:1::/48"), "site")
+                .remove(new Network<>("2001:db8::/32"))
+                .apply();
+        IPv6 ip = new IPv6("2001:db8:1::1");
+        assertEquals("doc", before.longestMatch(ip));
+        assertEquals(1, before.size());
+        assertEquals("site", trie.longestMatch(ip));
+        assertEquals(Collections.singletonList("site"), trie.allMatches(ip));
+    }
+
+    @Test
+    public void testRandomAgainstNetworkTrie() {
+        Random random = new Random(1);
+        ConcurrentNetworkTrie<IPv4, Network<IPv4>> trie =
+                new ConcurrentNetworkTrie<>();
+        NetworkTrie<IPv4, Network<IPv4>> expected = new NetworkTrie<>();
+        for (int round = 0; round < 50; round++) {
+            ConcurrentNetworkTrie.Batch<IPv4, Network<IPv4>> batch = trie.batch();
+            for (int i = 0; i < 100; i++) {
+                Network<IPv4> network = new Network<>(
+                        new IPv4(random.nextInt() & 0xff00ffff), random.nextInt(33));
+                if (random.nextInt(3) == 0) {
+                    batch.remove(network);
+                    expected.remove(network);
+                } else {
+                    batch.put(network, network);
+                    expected.put(network, network);
+                }
+            }
+            assertEquals(100, batch.size());
+            batch.apply();
+            assertEquals(expected.size(), trie.size());
+        }
+        for (int i = 0; i < 10000; i++) {
+            IPv4 ip = new IPv4(random.nextInt() & 0xff00ffff);
+            assertEquals(expected.allMatches(ip), trie.allMatches(ip));
+            assertEquals(expected.longestMatch(ip), trie.longestMatch(ip));
+        }
+    }
+
+    @Test
+    public void testReadersSeeWholeBatches() throws InterruptedException {
+        ConcurrentNetworkTrie<IPv4, Integer> trie = new ConcurrentNetworkTrie<>();
+        List<Network<IPv4>> networks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            networks.add(new Network<>(new IPv4(i << 24), 8));
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                ConcurrentNetworkTrie.Snapshot<IPv4, Integer> snapshot =
+                        trie.snapshot();
+                Integer first = snapshot.longestMatch(new IPv4(1));
+                for (int i = 1; i < 16; i++) {
+                    Integer other = snapshot.longestMatch(new IPv4(i << 24 | 1));
+                    if (first == null ? other != null : !first.equals(other)) {
+                        failure.set("batch " + first + " seen partially");
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int generation = 0; generation < 2000; generation++) {
+            ConcurrentNetworkTrie.Batch<IPv4, Integer> batch = trie.batch();
+            for (Network<IPv4> network : networks) {
+                batch.put(network, generation);
+            }
+            batch.apply();
+        }
+        done.set(true);
+        reader.join();
+        assertNull(failure.get());
+        assertEquals(16, trie.size());
+    }
+}
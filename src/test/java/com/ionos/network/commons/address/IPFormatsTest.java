@@ -1,6 +1,16 @@
 package com.ionos.network.commons.address;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static com.ionos.network.commons.address.IPFormats.COLON_SEPARATED_HEXTETS;
 import static com.ionos.network.commons.address.IPFormats.DOTTED_DECIMAL;
 import static com.ionos.network.commons.address.IPFormats.RFC_5952;
 import static com.ionos.network.commons.address.IPFormats.COLON_SEPARATED_ZEROED_HEXTETS;
@@ -89,4 +99,129 @@ public class IPFormatsTest {
         assertEquals("14 40 23 25 50 01",
                 SYSTEM_ID_NOTATION.format(new IPv4("144.23.255.1")));
     }
+
+    @Test
+    public void testFormatToByteArray() {
+        byte[] to = new byte[20];
+        assertEquals(10, DOTTED_DECIMAL.format(new IPv4("10.0.100.1"), to, 2));
+        assertEquals("10.0.100.1", new String(to, 2, 10, StandardCharsets.US_ASCII));
+        assertEquals(0, to[12]);
+        assertEquals(11, RFC_5952.format(new IPv6("2001:db8::1"), to, 0));
+        assertEquals("2001:db8::1", new String(to, 0, 11, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testFormatToCharArray() {
+        char[] to = new char[40];
+        assertEquals(39, COLON_SEPARATED_HEXTETS.format(
+                new IPv6("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"), to, 1));
+        assertEquals("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff", new String(to, 1, 39));
+        assertEquals(2, RFC_5952.format(new IPv6("::"), to, 0));
+        assertEquals("::", new String(to, 0, 2));
+    }
+
+    @Test
+    public void testFormatToByteBuffer() {
+        for (ByteBuffer to : new ByteBuffer[] {ByteBuffer.allocate(32), ByteBuffer.allocateDirect(32)}) {
+            to.put((byte) 'x');
+            assertEquals(7, DOTTED_DECIMAL.format(new IPv4("1.2.3.4"), to));
+            assertEquals(7, RFC_5952.format(new IPv6("fe80::1"), to));
+            assertEquals(15, to.position());
+            to.flip();
+            assertEquals("x1.2.3.4fe80::1", StandardCharsets.US_ASCII.decode(to).toString());
+        }
+    }
+
+    @Test
+    public void testFormatToTooSmallTarget() {
+        IPv4 ip = new IPv4("192.168.100.200");
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> DOTTED_DECIMAL.format(ip, new byte[14], 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> DOTTED_DECIMAL.format(ip, new char[20], 6));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.position(2);
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> DOTTED_DECIMAL.format(ip, buffer));
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    public void testFormatDefaultTargets() {
+        IPv6 ip = new IPv6("2001:7f8::9be8:0:1");
+        String expected = "2001:07f8:0000:0000:0000:9be8:0000:0001";
+        byte[] bytes = new byte[39];
+        assertEquals(39, COLON_SEPARATED_ZEROED_HEXTETS.format(ip, bytes, 0));
+        assertEquals(expected, new String(bytes, StandardCharsets.US_ASCII));
+        char[] chars = new char[39];
+        assertEquals(39, COLON_SEPARATED_ZEROED_HEXTETS.format(ip, chars, 0));
+        assertEquals(expected, new String(chars));
+        ByteBuffer buffer = ByteBuffer.allocate(38);
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> COLON_SEPARATED_ZEROED_HEXTETS.format(ip, buffer));
+        assertEquals(0, buffer.position());
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> COLON_SEPARATED_ZEROED_HEXTETS.format(ip, bytes, 1));
+    }
+
+    @Test
+    public void testSYSTEM_ID_NOTATIONToTargets() {
+        IPv4 ip = new IPv4("144.23.255.1");
+        byte[] bytes = new byte[17];
+        assertEquals(17, SYSTEM_ID_NOTATION.format(ip, bytes, 0));
+        assertEquals("14 40 23 25 50 01", new String(bytes, StandardCharsets.US_ASCII));
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> SYSTEM_ID_NOTATION.format(ip, buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testFormatToStringBuilder() throws IOException {
+        StringBuilder builder = new StringBuilder("ip=");
+        assertEquals("ip=192.168.0.1", DOTTED_DECIMAL.format(new IPv4("192.168.0.1"), builder).toString());
+        assertEquals("ip=192.168.0.1 ::1", RFC_5952.format(new IPv6("::1"), builder.append(' ')).toString());
+        StringBuffer buffer = new StringBuffer("ip=");
+        assertEquals("ip=10.0.0.1", DOTTED_DECIMAL.format(new IPv4("10.0.0.1"), buffer).toString());
+    }
+
+    @Test
+    public void testFormatInParallel() {
+        // every thread formats into its own scratch array
+        long mismatches = IntStream.range(0, 100_000).parallel()
+                .filter(i -> {
+                    IPv6 ip = new IPv6(i * 0x9e3779b97f4a7c15L, i);
+                    char[] chars = new char[39];
+                    int length = RFC_5952.format(ip, chars, 0);
+                    return !new IPv6(RFC_5952.format(ip)).equals(ip)
+                            || !RFC_5952.format(ip).equals(new String(chars, 0, length));
+                })
+                .count();
+        assertEquals(0, mismatches);
+    }
+
+    @Test
+    public void testFormatTargetsRandom() throws IOException {
+        Random random = new Random(1);
+        byte[] bytes = new byte[39];
+        char[] chars = new char[39];
+        for (int i = 0; i < 10000; i++) {
+            // zero hextets are likely to get runs of them
+            long high = random.nextLong() & random.nextLong() & random.nextLong();
+            long low = random.nextLong() & random.nextLong() & random.nextLong();
+            IPv6 ip = new IPv6(high, low);
+            String expected = RFC_5952.format(ip);
+            assertEquals(expected, RFC_5952.format(ip, new StringBuilder()).toString());
+            assertEquals(expected, new String(bytes, 0,
+                    RFC_5952.format(ip, bytes, 0), StandardCharsets.US_ASCII));
+            assertEquals(expected, new String(chars, 0, RFC_5952.format(ip, chars, 0)));
+            assertEquals(ip, new IPv6(expected));
+
+            IPv4 ipv4 = new IPv4(random.nextInt());
+            assertEquals(DOTTED_DECIMAL.format(ipv4), new String(bytes, 0,
+                    DOTTED_DECIMAL.format(ipv4, bytes, 0), StandardCharsets.US_ASCII));
+            assertEquals(ipv4, new IPv4(DOTTED_DECIMAL.format(ipv4)));
+            assertEquals(ipv4.toInetAddress().getHostAddress(), DOTTED_DECIMAL.format(ipv4));
+        }
+    }
 }
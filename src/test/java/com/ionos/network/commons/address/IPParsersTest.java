@@ -2,7 +2,13 @@ package com.ionos.network.commons.address;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /** JUnit test for {@link IPParsers}.
  * @author Stephan Fuhrmann
@@ -56,6 +62,39 @@ public class IPParsersTest {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
             IPParsers.DOTTED_DECIMAL.parse("a.a.a.a");
         });
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            IPParsers.DOTTED_DECIMAL.parse("1..2.3.4");
+        });
+    }
+
+    @Test
+    public void testParseIPv4WithOffsets() {
+        assertEquals(0x01020304, IPParsers.parseIPv4("ip=1.2.3.4;", 3, 10));
+        assertEquals(0xffffffff, IPParsers.parseIPv4(new StringBuilder("255.255.255.255"), 0, 15));
+        assertEquals(0x0a000001, IPParsers.parseIPv4("010.0.0.001", 0, 11));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> IPParsers.parseIPv4("ip=1.2.3.4;", 0, 11));
+    }
+
+    @Test
+    public void testTryParseIPv4() {
+        assertEquals(0xc0a80001L, IPParsers.tryParseIPv4("192.168.0.1", 0, 11));
+        assertEquals(0xc0a80001L, IPParsers.tryParseIPv4("x192.168.0.1".toCharArray(), 1, 12));
+        assertEquals(0xc0a80001L, IPParsers.tryParseIPv4("192.168.0.1 ".getBytes(StandardCharsets.US_ASCII), 0, 11));
+        assertEquals(0xffffffffL, IPParsers.tryParseIPv4("255.255.255.255".getBytes(StandardCharsets.US_ASCII), 0, 15));
+        assertEquals(0L, IPParsers.tryParseIPv4("0.0.0.0", 0, 7));
+        assertEquals(0x01000002L, IPParsers.tryParseIPv4("0000001.0.00.2".toCharArray(), 0, 14));
+        assertEquals(IPParsers.INVALID_IPV4, IPParsers.tryParseIPv4(new byte[] {'1', '.', '2', '.', '3', '.', (byte) 0xb4}, 0, 7));
+
+        for (String invalid : new String[] {"", "1", "1.2.3", "1.2.3.4.", "1.2.3.4.5", ".1.2.3",
+                "1..2.3", "1.2.3.", "256.1.1.1", "1.1.1.1000", "-1.1.1.1", "+1.1.1.1", "a.b.c.d", "1.2.3.4 ",
+                "1.2.3.256", "1.2.3.4x", "1.2.3.4.."}) {
+            assertEquals(IPParsers.INVALID_IPV4, IPParsers.tryParseIPv4(invalid, 0, invalid.length()), invalid);
+            assertEquals(IPParsers.INVALID_IPV4, IPParsers.tryParseIPv4(invalid.toCharArray(), 0, invalid.length()), invalid);
+            assertEquals(IPParsers.INVALID_IPV4,
+                    IPParsers.tryParseIPv4(invalid.getBytes(StandardCharsets.US_ASCII), 0, invalid.length()), invalid);
+        }
     }
 
     @Test
@@ -224,4 +263,86 @@ public class IPParsersTest {
             IPParsers.DEFAULT.parse("1::2:3:4:5:6:7:8");
         });
     }
+
+    @Test
+    public void testParseIPV6AllForms() {
+        assertEquals(new IPv6("2001:db8:0:0:0:0:0:1"),
+                IPParsers.IPV6.parse("2001:db8::1"));
+        assertEquals(new IPv6("0:0:0:0:0:ffff:c000:0201"),
+                IPParsers.IPV6.parse("::ffff:192.0.2.1"));
+        assertEquals(new IPv6("1:2:3:4:5:6:c000:0201"),
+                IPParsers.IPV6.parse("1:2:3:4:5:6:192.0.2.1"));
+        assertEquals(new IPv6("1:0:0:0:0:0:c000:0201"),
+                IPParsers.IPV6.parse("1::192.0.2.1"));
+        assertEquals(new IPv6("1:2:3:4:5:6:7:0"),
+                IPParsers.IPV6.parse("1:2:3:4:5:6:7::"));
+        assertEquals(new IPv6("0:2:3:4:5:6:7:8"),
+                IPParsers.IPV6.parse("::2:3:4:5:6:7:8"));
+        assertEquals(new IPv6("ABCD:EF01:0:0:0:0:0:0"),
+                IPParsers.IPV6.parse("abcd:ef01::"));
+        assertEquals(new IPv6("2001:db8:0:0:0:0:0:1"),
+                IPParsers.DEFAULT.parse("2001:db8::1"));
+        assertEquals(new IPv4("192.0.2.1"),
+                IPParsers.DEFAULT.parse("192.0.2.1"));
+    }
+
+    @Test
+    public void testParseIPV6AllFormsErrors() {
+        for (String address : new String[] {
+                "", ":", "::::", "1:", ":1", "1:2:3:4:5:6:7:8:",
+                ":1:2:3:4:5:6:7:8", "1:2:3:4:5:6:7::8", "::1.2.3.4:1",
+                "1.2.3.4", "::1.2.3", "::1.2.3.4.5", "::ffff1.2.3.4",
+                "1:2:3:4:5:6:7:1.2.3.4", "::g", "1::2 "}) {
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> IPParsers.IPV6.parse(address), address);
+        }
+    }
+
+    @Test
+    public void testParseIPV6FormMismatch() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> IPParsers.RFC4291_1.parse("1::2"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> IPParsers.RFC4291_2.parse("1:2:3:4:5:6:7:8"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> IPParsers.RFC4291_3_FULL.parse("::1.2.3.4"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> IPParsers.RFC4291_3_COMPRESSED.parse("1::2"));
+    }
+
+    @Test
+    public void testTryParse() {
+        assertEquals(Optional.of(new IPv4("1.2.3.4")),
+                IPParsers.DOTTED_DECIMAL.tryParse("1.2.3.4"));
+        assertEquals(Optional.empty(),
+                IPParsers.DOTTED_DECIMAL.tryParse("1.2.3.256"));
+        assertEquals(Optional.of(new IPv6("::1")),
+                IPParsers.IPV6.tryParse("0::1"));
+        assertEquals(Optional.empty(), IPParsers.IPV6.tryParse("::1::"));
+        assertEquals(Optional.empty(), IPParsers.RFC4291_1.tryParse("::1"));
+        assertEquals(Optional.of(new IPv6("::1")),
+                IPParsers.DEFAULT.tryParse("::1"));
+        assertEquals(Optional.of(new IPv4("1.2.3.4")),
+                IPParsers.DEFAULT.tryParse("1.2.3.4"));
+        assertEquals(Optional.empty(), IPParsers.DEFAULT.tryParse("hello"));
+        assertEquals(Optional.empty(), IPParsers.DEFAULT.tryParse("1.2:3"));
+    }
+
+    @Test
+    public void testTryParseAsBytes() {
+        final byte[] buffer = new byte[17];
+        final String line = "from 2001:db8::1 to 10.0.0.1";
+        assertEquals(16, IPParsers.DEFAULT.tryParseAsBytes(
+                line, 5, 16, buffer, 1));
+        assertArrayEquals(new IPv6("2001:db8::1").getBytes(),
+                Arrays.copyOfRange(buffer, 1, 17));
+        assertEquals(4, IPParsers.DEFAULT.tryParseAsBytes(
+                line, 20, line.length(), buffer, 0));
+        assertArrayEquals(new byte[]{10, 0, 0, 1},
+                Arrays.copyOfRange(buffer, 0, 4));
+        assertEquals(AddressParser.INVALID, IPParsers.DEFAULT.tryParseAsBytes(
+                line, 0, line.length(), buffer, 0));
+        assertEquals(AddressParser.INVALID, IPParsers.IPV6.tryParseAsBytes(
+                line, 20, line.length(), buffer, 0));
+    }
 }
@@ -0,0 +1,157 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link IPRange}.
+ */
+public class IPRangeTest {
+
+    private static IPRange<IPv4> ipv4(String first, String last) {
+        return new IPRange<>(new IPv4(first), new IPv4(last));
+    }
+
+    @Test
+    public void testCreate() {
+        IPRange<IPv4> range = ipv4("10.0.0.1", "10.0.0.6");
+        assertEquals(new IPv4("10.0.0.1"), range.getFirst());
+        assertEquals(new IPv4("10.0.0.6"), range.getLast());
+        assertEquals(IPVersion.IPV4, range.getIPVersion());
+        assertEquals("10.0.0.1-10.0.0.6", range.toString());
+        assertEquals(range, ipv4("10.0.0.1", "10.0.0.6"));
+        assertEquals(range.hashCode(), ipv4("10.0.0.1", "10.0.0.6").hashCode());
+        assertEquals(ipv4("10.0.0.0", "10.0.0.255"),
+                new IPRange<>(new Network<IPv4>("10.0.0.0/24")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ipv4("10.0.0.2", "10.0.0.1"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ipv4("128.0.0.0", "127.0.0.0"));
+        Assertions.assertThrows(NullPointerException.class,
+                () -> new IPRange<>(null, new IPv4("10.0.0.1")));
+    }
+
+    @Test
+    public void testSize() {
+        assertEquals(BigInteger.ONE, ipv4("1.2.3.4", "1.2.3.4").getSize());
+        assertEquals(6, ipv4("10.0.0.1", "10.0.0.6").getSizeSaturated());
+        assertEquals(BigInteger.ONE.shiftLeft(32),
+                ipv4("0.0.0.0", "255.255.255.255").getSize());
+        assertEquals(1L << 32,
+                ipv4("0.0.0.0", "255.255.255.255").getSizeSaturated());
+        IPRange<IPv6> all = new IPRange<>(IPv6.IPV6_ALL_ZERO, IPv6.IPV6_ALL_ONE);
+        assertEquals(BigInteger.ONE.shiftLeft(128), all.getSize());
+        assertEquals(Long.MAX_VALUE, all.getSizeSaturated());
+        IPRange<IPv6> crossing = new IPRange<>(
+                new IPv6("::ffff:ffff:ffff:ffff"), new IPv6("::1:0:0:0:1"));
+        assertEquals(3, crossing.getSizeSaturated());
+        assertEquals(BigInteger.valueOf(3), crossing.getSize());
+    }
+
+    @Test
+    public void testContainsAndOverlaps() {
+        IPRange<IPv4> range = ipv4("10.0.0.10", "10.0.0.20");
+        assertTrue(range.contains(new IPv4("10.0.0.10")));
+        assertTrue(range.contains(new IPv4("10.0.0.20")));
+        assertFalse(range.contains(new IPv4("10.0.0.21")));
+        assertFalse(range.contains(new IPv4("200.0.0.15")));
+        assertTrue(range.contains(ipv4("10.0.0.11", "10.0.0.12")));
+        assertFalse(range.contains(ipv4("10.0.0.11", "10.0.0.21")));
+        assertTrue(range.overlaps(ipv4("10.0.0.20", "10.0.0.30")));
+        assertFalse(range.overlaps(ipv4("10.0.0.21", "10.0.0.30")));
+        assertEquals(Optional.of(ipv4("10.0.0.15", "10.0.0.20")),
+                range.intersection(ipv4("10.0.0.15", "200.0.0.0")));
+        assertEquals(Optional.of(range),
+                range.intersection(ipv4("0.0.0.0", "255.255.255.255")));
+        assertEquals(Optional.empty(),
+                range.intersection(ipv4("10.0.0.0", "10.0.0.9")));
+    }
+
+    @Test
+    public void testToNetworks() {
+        assertEquals(Arrays.asList(
+                new Network<IPv4>("10.0.0.1/32"),
+                new Network<IPv4>("10.0.0.2/31"),
+                new Network<IPv4>("10.0.0.4/31"),
+                new Network<IPv4>("10.0.0.6/32")),
+                ipv4("10.0.0.1", "10.0.0.6").toNetworks());
+        assertEquals(Collections.singletonList(new Network<IPv4>("0.0.0.0/0")),
+                ipv4("0.0.0.0", "255.255.255.255").toNetworks());
+        assertEquals(Collections.singletonList(new Network<IPv6>("::/0")),
+                new IPRange<>(IPv6.IPV6_ALL_ZERO, IPv6.IPV6_ALL_ONE).toNetworks());
+        assertEquals(Arrays.asList(
+                new Network<IPv6>("::/1"),
+                new Network<IPv6>("8000::/2")),
+                new IPRange<>(IPv6.IPV6_ALL_ZERO,
+                        new IPv6("bfff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"))
+                        .networkStream()
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testToNetworksAcrossLongBoundary() {
+        IPRange<IPv6> range = new IPRange<>(
+                new IPv6("::ffff:ffff:ffff:ffff"), new IPv6("::2:0:0:0:0"));
+        assertEquals(Arrays.asList(
+                new Network<IPv6>("::ffff:ffff:ffff:ffff/128"),
+                new Network<IPv6>("::1:0:0:0:0/64"),
+                new Network<IPv6>("::2:0:0:0:0/128")),
+                range.toNetworks());
+    }
+
+    @Test
+    public void testToNetworksRandom() {
+        Random random = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            int a = random.nextInt();
+            int b = random.nextInt(4) == 0 ? a + random.nextInt(1000) : random.nextInt();
+            IPv4 first = new IPv4(Integer.compareUnsigned(a, b) <= 0 ? a : b);
+            IPv4 last = new IPv4(Integer.compareUnsigned(a, b) <= 0 ? b : a);
+            List<Network<IPv4>> networks = new IPRange<>(first, last).toNetworks();
+
+            // the networks cover the range without gaps
+            assertEquals(first, networks.get(0).getAddress());
+            assertEquals(last, networks.get(networks.size() - 1).getBroadcast());
+            long covered = 0;
+            for (int j = 0; j < networks.size(); j++) {
+                Network<IPv4> network = networks.get(j);
+                covered += 1L << (32 - network.getPrefix());
+                if (j > 0) {
+                    assertEquals(networks.get(j - 1).getBroadcast().add(1),
+                            network.getAddress());
+                    // minimal: no two neighbors form a bigger network
+                    Network<IPv4> previous = networks.get(j - 1);
+                    assertFalse(previous.getPrefix() == network.getPrefix()
+                            && previous.getPrefix() > 0
+                            && new Network<>(previous.getAddress(),
+                            previous.getPrefix() - 1).getBroadcast()
+                            .equals(network.getBroadcast()));
+                }
+            }
+            assertEquals(new IPRange<>(first, last).getSizeSaturated(), covered);
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        assertEquals(Arrays.asList(
+                new IPv4("10.0.0.254"),
+                new IPv4("10.0.0.255"),
+                new IPv4("10.0.1.0")),
+                ipv4("10.0.0.254", "10.0.1.0").stream()
+                        .collect(Collectors.toList()));
+        assertEquals(3, ipv4("10.0.0.254", "10.0.1.0").stream().parallel().count());
+    }
+}
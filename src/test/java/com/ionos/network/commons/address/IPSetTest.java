@@ -0,0 +1,172 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link IPSet}.
+ */
+public class IPSetTest {
+
+    @Test
+    public void testEmpty() {
+        IPSet<IPv4> set = IPSet.<IPv4>builder().build();
+        assertTrue(set.isEmpty());
+        assertEquals(IPSet.empty(), set);
+        assertFalse(set.contains(new IPv4("1.2.3.4")));
+        assertFalse(set.contains(new Network<>("1.2.3.0/24")));
+        assertEquals(Collections.emptyList(), set.toNetworks());
+        assertEquals("[]", set.toString());
+    }
+
+    @Test
+    public void testJoinsNeighborsAndOverlaps() {
+        IPSet<IPv4> set = IPSet.<IPv4>builder()
+                .add(new Network<>("10.0.0.128/25"))
+                .add(new Network<>("192.168.0.0/16"))
+                .add(new Network<>("10.0.0.0/25"))
+                .add(new IPv4("10.0.1.0"))
+                .add(new Network<>("192.168.1.0/24"))
+                .build();
+        assertEquals(2, set.getRangeCount());
+        assertEquals(new IPv4("10.0.0.0"), set.getRangeStart(0));
+        assertEquals(new IPv4("10.0.1.0"), set.getRangeEnd(0));
+        assertEquals(new IPv4("192.168.0.0"), set.getRangeStart(1));
+        assertEquals(new IPv4("192.168.255.255"), set.getRangeEnd(1));
+        assertEquals(Arrays.asList(
+                new Network<>("10.0.0.0/24"),
+                new Network<>("10.0.1.0/32"),
+                new Network<>("192.168.0.0/16")),
+                set.toNetworks());
+        assertEquals("[10.0.0.0-10.0.1.0, 192.168.0.0-192.168.255.255]",
+                set.toString());
+    }
+
+    @Test
+    public void testContains() {
+        IPSet<IPv4> set = IPSet.of(Arrays.asList(
+                new Network<IPv4>("10.0.0.0/8"),
+                new Network<IPv4>("192.168.1.0/24")));
+        assertTrue(set.contains(new IPv4("10.0.0.0")));
+        assertTrue(set.contains(new IPv4("10.255.255.255")));
+        assertFalse(set.contains(new IPv4("11.0.0.0")));
+        assertFalse(set.contains(new IPv4("9.255.255.255")));
+        assertTrue(set.contains(new IPv4("192.168.1.1")));
+        assertFalse(set.contains(new IPv4("192.168.2.1")));
+        assertTrue(set.contains(new Network<>("10.1.0.0/16")));
+        assertFalse(set.contains(new Network<>("192.168.0.0/16")));
+        assertFalse(set.contains(new Network<>("0.0.0.0/0")));
+    }
+
+    @Test
+    public void testFullRange() {
+        IPSet<IPv6> set = IPSet.<IPv6>builder()
+                .add(new Network<>("::/1"))
+                .add(new Network<>("8000::/1"))
+                .build();
+        assertEquals(1, set.getRangeCount());
+        assertTrue(set.contains(IPv6.IPV6_ALL_ONE));
+        assertTrue(set.contains(new Network<>("::/0")));
+        assertEquals(IPSet.empty(), set.difference(set));
+
+        IPSet<IPv4> all = IPSet.<IPv4>builder()
+                .add(IPv4.IPV4_ALL_ZERO, IPv4.IPV4_ALL_ONE).build();
+        assertTrue(all.contains(IPv4.IPV4_ALL_ONE));
+        IPSet<IPv4> rest = all.difference(IPSet.<IPv4>builder()
+                .add(IPv4.IPV4_ALL_ONE).add(IPv4.IPV4_ALL_ZERO).build());
+        assertEquals(new IPv4("0.0.0.1"), rest.getRangeStart(0));
+        assertEquals(new IPv4("255.255.255.254"), rest.getRangeEnd(0));
+    }
+
+    @Test
+    public void testIPv6SetOperations() {
+        IPSet<IPv6> a = IPSet.<IPv6>builder()
+                .add(new Network<>("2001:db8::/32"))
+                .add(new IPv6("fe80::1"))
+                .build();
+        IPSet<IPv6> b = IPSet.<IPv6>builder()
+                .add(new Network<>("2001:db8:1::/48"))
+                .add(new Network<>("2001:db9::/32"))
+                .build();
+        IPSet<IPv6> union = a.union(b);
+        assertEquals(2, union.getRangeCount());
+        assertEquals(new IPv6("2001:db9:ffff:ffff:ffff:ffff:ffff:ffff"),
+                union.getRangeEnd(0));
+        assertEquals(IPSet.<IPv6>builder()
+                .add(new Network<>("2001:db8:1::/48")).build(),
+                a.intersection(b));
+        IPSet<IPv6> difference = a.difference(b);
+        assertEquals(3, difference.getRangeCount());
+        assertFalse(difference.contains(new IPv6("2001:db8:1::1")));
+        assertTrue(difference.contains(new IPv6("2001:db8:2::1")));
+        assertTrue(difference.contains(new IPv6("fe80::1")));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testMixedVersions() {
+        IPSet.Builder builder = IPSet.builder();
+        builder.add((IP) new IPv4("1.2.3.4"));
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                builder.add((IP) new IPv6("::1")));
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                IPSet.<IPv4>builder().add(new IPv4("1.2.3.4"),
+                        new IPv4("1.2.3.3")));
+    }
+
+    @Test
+    public void testRandomAgainstBitSet() {
+        Random random = new Random(1);
+        for (int round = 0; round < 50; round++) {
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            IPSet<IPv4> a = randomSet(random, expectedA);
+            IPSet<IPv4> b = randomSet(random, expectedB);
+
+            BitSet union = (BitSet) expectedA.clone();
+            union.or(expectedB);
+            BitSet intersection = (BitSet) expectedA.clone();
+            intersection.and(expectedB);
+            BitSet difference = (BitSet) expectedA.clone();
+            difference.andNot(expectedB);
+
+            assertSetEquals(expectedA, a);
+            assertSetEquals(union, a.union(b));
+            assertSetEquals(intersection, a.intersection(b));
+            assertSetEquals(difference, a.difference(b));
+            assertEquals(a, IPSet.of(a.toNetworks()));
+        }
+    }
+
+    private static IPSet<IPv4> randomSet(Random random, BitSet expected) {
+        IPSet.Builder<IPv4> builder = IPSet.builder();
+        int count = random.nextInt(20);
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(1000);
+            int end = start + random.nextInt(50);
+            builder.add(new IPv4(start), new IPv4(end));
+            expected.set(start, end + 1);
+        }
+        return builder.build();
+    }
+
+    private static void assertSetEquals(BitSet expected, IPSet<IPv4> set) {
+        for (int i = 0; i < 1100; i++) {
+            assertEquals(expected.get(i), set.contains(new IPv4(i)), "IP " + i);
+        }
+        // the ranges are disjoint and not adjacent
+        for (int i = 1; i < set.getRangeCount(); i++) {
+            assertTrue(set.getRangeEnd(i - 1).add(1)
+                    .compareTo(set.getRangeStart(i)) < 0);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for {@link IPSorts}.
+ */
+public class IPSortsTest {
+
+    /** Sizes below, at and above the insertion sort and parallel
+     * thresholds. */
+    private static final int[] SIZES = {0, 1, 2, 63, 64, 1000, 70000};
+
+    private static final Comparator<Network<?>> NETWORK_ORDER =
+            Comparator.<Network<?>, IP<?>>comparing(Network::getAddress,
+                    AddressComparators.UNSIGNED_BYTE_COMPARATOR)
+                    .thenComparingInt(Network::getPrefix);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    /** Random ints, half of them with a common upper half. */
+    private static int[] ints(Random random, int size) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = random.nextBoolean()
+                    ? random.nextInt()
+                    : 0x0a000000 | random.nextInt(0x10000);
+        }
+        return result;
+    }
+
+    /** Random addresses in 2001:db8::/32 with few distinct lows. */
+    private static IPv6[] ipv6(Random random, int size) {
+        IPv6[] result = new IPv6[size];
+        for (int i = 0; i < size; i++) {
+            long high = 0x20010db800000000L | random.nextInt() & 0xffffffffL;
+            long low = random.nextBoolean() ? random.nextLong()
+                    : random.nextInt(4);
+            result[i] = new IPv6(high, low);
+        }
+        return result;
+    }
+
+    @Test
+    public void testIntsLikeUnsignedSort() {
+        Random random = new Random(1);
+        for (int size : SIZES) {
+            int[] ips = ints(random, size);
+            Integer[] expected = Arrays.stream(ips).boxed()
+                    .sorted(Integer::compareUnsigned).toArray(Integer[]::new);
+            int[] serial = ips.clone();
+            IPSorts.radixSort(serial);
+            IPSorts.radixSort(ips, POOL);
+            assertArrayEquals(Arrays.stream(expected).mapToInt(i -> i)
+                    .toArray(), serial);
+            assertArrayEquals(serial, ips);
+        }
+    }
+
+    @Test
+    public void testIPv4LikeComparator() {
+        Random random = new Random(2);
+        for (int size : SIZES) {
+            IPv4[] ips = Arrays.stream(ints(random, size))
+                    .mapToObj(IPv4::new).toArray(IPv4[]::new);
+            IPv4[] expected = ips.clone();
+            Arrays.sort(expected, AddressComparators.UNSIGNED_BYTE_COMPARATOR);
+            IPv4[] serial = ips.clone();
+            IPSorts.radixSort(serial);
+            IPSorts.radixSort(ips, POOL);
+            assertArrayEquals(expected, serial);
+            assertArrayEquals(expected, ips);
+        }
+    }
+
+    @Test
+    public void testIPv6LikeComparator() {
+        Random random = new Random(3);
+        for (int size : SIZES) {
+            IPv6[] ips = ipv6(random, size);
+            IPv6[] expected = ips.clone();
+            Arrays.sort(expected, AddressComparators.UNSIGNED_BYTE_COMPARATOR);
+            IPv6[] serial = ips.clone();
+            IPSorts.radixSort(serial);
+            IPSorts.radixSort(ips, POOL);
+            assertArrayEquals(expected, serial);
+            assertArrayEquals(expected, ips);
+        }
+    }
+
+    @Test
+    public void testLongPairsLikeComparator() {
+        Random random = new Random(4);
+        for (int size : SIZES) {
+            IPv6[] ips = ipv6(random, size);
+            for (int i = 0; i < size; i += 3) {
+                ips[i] = new IPv6(random.nextLong(), random.nextLong());
+            }
+            long[] highs = Arrays.stream(ips)
+                    .mapToLong(IPv6::getHighBits).toArray();
+            long[] lows = Arrays.stream(ips)
+                    .mapToLong(IPv6::getLowBits).toArray();
+            Arrays.sort(ips, AddressComparators.UNSIGNED_BYTE_COMPARATOR);
+            long[] parallelHighs = highs.clone();
+            long[] parallelLows = lows.clone();
+            IPSorts.radixSort(highs, lows);
+            IPSorts.radixSort(parallelHighs, parallelLows, POOL);
+            for (int i = 0; i < size; i++) {
+                assertEquals(ips[i], new IPv6(highs[i], lows[i]));
+            }
+            assertArrayEquals(highs, parallelHighs);
+            assertArrayEquals(lows, parallelLows);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIPv4NetworksByAddressAndPrefix() {
+        Random random = new Random(5);
+        for (int size : SIZES) {
+            Network<IPv4>[] networks = new Network[size];
+            for (int i = 0; i < size; i++) {
+                // few distinct addresses, so prefixes decide
+                networks[i] = new Network<>(new IPv4(random.nextInt(8) << 24),
+                        random.nextInt(33));
+            }
+            Network<IPv4>[] expected = networks.clone();
+            Arrays.sort(expected, NETWORK_ORDER);
+            Network<IPv4>[] serial = networks.clone();
+            IPSorts.radixSort(serial);
+            IPSorts.radixSort(networks, POOL);
+            assertArrayEquals(expected, serial);
+            assertArrayEquals(expected, networks);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIPv6NetworksByAddressAndPrefix() {
+        Random random = new Random(6);
+        for (int size : SIZES) {
+            IPv6[] ips = ipv6(random, size);
+            Network<IPv6>[] networks = new Network[size];
+            for (int i = 0; i < size; i++) {
+                networks[i] = new Network<>(ips[i], random.nextInt(129));
+            }
+            Network<IPv6>[] expected = networks.clone();
+            Arrays.sort(expected, NETWORK_ORDER);
+            Network<IPv6>[] serial = networks.clone();
+            IPSorts.radixSort(serial);
+            IPSorts.radixSort(networks, POOL);
+            assertArrayEquals(expected, serial);
+            assertArrayEquals(expected, networks);
+        }
+    }
+
+    @Test
+    public void testStable() {
+        IPv4[] ips = new IPv4[100];
+        for (int i = 0; i < ips.length; i++) {
+            ips[i] = new IPv4(i % 2);
+        }
+        IPv4[] copy = ips.clone();
+        IPSorts.radixSort(ips);
+        for (int i = 0; i < 50; i++) {
+            assertSame(copy[2 * i], ips[i]);
+            assertSame(copy[2 * i + 1], ips[50 + i]);
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testIllegalArguments() {
+        Network[] mixed = {new Network<>("10.0.0.0/8"),
+                new Network<>("2001:db8::/32")};
+        assertThrows(IllegalArgumentException.class,
+                () -> IPSorts.radixSort(mixed));
+        assertThrows(IllegalArgumentException.class,
+                () -> IPSorts.radixSort(new long[2], new long[1]));
+        assertThrows(NullPointerException.class,
+                () -> IPSorts.radixSort(new int[1], null));
+        assertThrows(NullPointerException.class,
+                () -> IPSorts.radixSort(new IPv4[] {null}));
+    }
+}
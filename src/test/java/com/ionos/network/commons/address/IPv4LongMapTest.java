@@ -0,0 +1,66 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link IPv4LongMap}.
+ */
+public class IPv4LongMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        IPv4LongMap map = new IPv4LongMap();
+        IPv4 ip = new IPv4("10.0.0.1");
+        assertEquals(-1L, map.get(ip, -1L));
+        map.put(ip, 42L);
+        assertEquals(42L, map.get(ip, -1L));
+        assertTrue(map.containsKey(ip));
+        assertTrue(map.remove(ip));
+        assertFalse(map.remove(ip));
+        assertFalse(map.containsKey(ip));
+    }
+
+    @Test
+    public void testAddTo() {
+        IPv4LongMap map = new IPv4LongMap();
+        assertEquals(5L, map.addTo(7, 5L));
+        assertEquals(8L, map.addTo(7, 3L));
+        assertEquals(2L, map.addTo(0, 2L));
+        assertEquals(4L, map.addTo(IPv4.IPV4_ALL_ZERO, 2L));
+        assertEquals(2, map.size());
+        map.put(0, 0L);
+        assertTrue(map.containsKey(0));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testRandomOperationsLikeHashMap() {
+        Random random = new Random(2);
+        IPv4LongMap map = new IPv4LongMap(0);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(4096) - 2048;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                assertEquals((long) expected.merge(key, 1L, Long::sum),
+                        map.addTo(key, 1L));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Map<Integer, Long> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(-1L, map.get(0, -1L));
+    }
+}
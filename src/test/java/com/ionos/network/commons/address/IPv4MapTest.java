@@ -0,0 +1,107 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link IPv4Map}.
+ */
+public class IPv4MapTest {
+
+    @Test
+    public void testPutAndGet() {
+        IPv4Map<String> map = new IPv4Map<>();
+        IPv4 ip = new IPv4("192.168.1.1");
+        assertTrue(map.isEmpty());
+        assertNull(map.put(ip, "a"));
+        assertEquals("a", map.put(ip, "b"));
+        assertEquals("b", map.get(ip));
+        assertEquals("b", map.get(ip.toInt()));
+        assertTrue(map.containsKey(ip));
+        assertFalse(map.containsKey(new IPv4("192.168.1.2")));
+        assertEquals(1, map.size());
+        Assertions.assertThrows(NullPointerException.class,
+                () -> map.put(ip, null));
+    }
+
+    @Test
+    public void testZeroKey() {
+        IPv4Map<String> map = new IPv4Map<>();
+        assertNull(map.get(IPv4.IPV4_ALL_ZERO));
+        assertNull(map.put(IPv4.IPV4_ALL_ZERO, "zero"));
+        assertEquals("zero", map.get(0));
+        assertEquals(1, map.size());
+        Map<IPv4, String> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals("zero", seen.get(IPv4.IPV4_ALL_ZERO));
+        assertEquals("zero", map.remove(0));
+        assertNull(map.remove(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        IPv4Map<StringBuilder> map = new IPv4Map<>();
+        StringBuilder first = map.computeIfAbsent(1,
+                address -> new StringBuilder());
+        assertTrue(first == map.computeIfAbsent(1,
+                address -> new StringBuilder()));
+    }
+
+    @Test
+    public void testRandomOperationsLikeHashMap() {
+        Random random = new Random(1);
+        IPv4Map<Integer> map = new IPv4Map<>(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            // a small key range forces collisions and removals
+            int key = random.nextInt(4096) - 2048;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -2048; key < 2048; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        Map<IPv4, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected.size(), iterated.size());
+        expected.forEach((key, value) ->
+                assertEquals(value, iterated.get(new IPv4(key))));
+    }
+
+    @Test
+    public void testGrowAndClear() {
+        IPv4Map<Integer> map = new IPv4Map<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i << 8, i);
+        }
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, map.get(i << 8));
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1 << 8));
+    }
+
+    @Test
+    public void testIllegalExpectedSize() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new IPv4Map<String>(-1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new IPv4Map<String>(Integer.MAX_VALUE));
+    }
+}
@@ -68,6 +68,25 @@ public class IPv4Test {
         assertEquals(new IPv4("36.168.1.2"), new IPv4("192.168.1.2").add(0x64000000));
     }
 
+    @Test
+    public void testAddLongWithOverflow() {
+        assertEquals(new IPv4("0.0.0.0"), new IPv4("255.255.255.255").add(1));
+        assertEquals(new IPv4("192.168.1.1"), new IPv4("192.168.1.2").add(-1));
+    }
+
+    @Test
+    public void testAnd() {
+        assertEquals(new IPv4("192.168.1.0"), new IPv4("192.168.1.1").and(new byte[]{(byte) 255, 0}));
+        assertEquals(new IPv4("0.168.0.1"), new IPv4("192.168.1.1").and(new byte[]{0, (byte) 255, 0, (byte) 255}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new IPv4("192.168.1.1").and(new byte[5]));
+    }
+
+    @Test
+    public void testInvert() {
+        assertEquals(new IPv4("0.0.255.255"), new IPv4("255.255.0.0").invert());
+    }
+
     @Test
     public void testCompareTo() {
         assertEquals(0, new IPv4("192.168.1.1").compareTo(new IPv4("192.168.1.1")));
@@ -83,6 +102,7 @@ public class IPv4Test {
         assertEquals(+1, new IPv4("192.168.255.0").compareTo(new IPv4("192.168.1.1")));
         assertEquals(+1, new IPv4("255.255.255.255").compareTo(new IPv4("192.168.1.1")));
         assertEquals(+1, new IPv4("255.255.0.0").compareTo(new IPv4("192.168.1.1")));
+        assertEquals(+1, new IPv4("128.0.0.0").compareTo(new IPv4("127.255.255.255")));
     }
 
     @Test
@@ -0,0 +1,56 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link IPv6Map}.
+ */
+public class IPv6MapTest {
+
+    @Test
+    public void testPutAndGet() {
+        IPv6Map<String> map = new IPv6Map<>();
+        IPv6 ip = new IPv6("2001:db8::1");
+        assertNull(map.put(ip, "a"));
+        assertEquals("a", map.get(ip.getHighBits(), ip.getLowBits()));
+        assertTrue(map.containsKey(ip));
+        assertFalse(map.containsKey(new IPv6("2001:db8::2")));
+        assertNull(map.put(IPv6.IPV6_ALL_ZERO, "zero"));
+        assertEquals("zero", map.get(0L, 0L));
+        assertEquals(2, map.size());
+        assertEquals("zero", map.remove(IPv6.IPV6_ALL_ZERO));
+        assertEquals("a", map.remove(ip));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRandomOperationsLikeHashMap() {
+        Random random = new Random(3);
+        IPv6Map<Integer> map = new IPv6Map<>(0);
+        Map<IPv6, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            // only a few distinct halves to force collisions
+            IPv6 key = new IPv6(random.nextInt(64), random.nextInt(64));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Map<IPv6, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+}
@@ -3,6 +3,7 @@ package com.ionos.network.commons.address;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -38,6 +39,32 @@ public class IPv6Test {
         assertEquals(new IPv6("ff:0:0:0:1100:0:0:ff"), new IPv6("ff::ff").add(0x1100000000000000L));
     }
 
+    @Test
+    public void testAddLongWithCarry() {
+        assertEquals(new IPv6("0:0:0:1::"), new IPv6("::ffff:ffff:ffff:ffff").add(1));
+        assertEquals(new IPv6("::"), new IPv6("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff").add(1));
+        // the offset is regarded as unsigned
+        assertEquals(new IPv6("0:0:0:1:0:0:ffff:fffe"), new IPv6("::ffff:ffff").add(-1L));
+    }
+
+    @Test
+    public void testAddArray() {
+        assertEquals(new IPv6("::1:0:0:0:0"), new IPv6("::ffff:ffff:ffff:ffff").add(new byte[]{1}));
+        assertEquals(new IPv6("1::1"), new IPv6("::1").add(new byte[]{0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}));
+    }
+
+    @Test
+    public void testAnd() {
+        assertEquals(new IPv6("ffff::ff00"), new IPv6("ffff::ffff").and(new byte[]{(byte) 0xff, 0}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new IPv6("::").and(new byte[17]));
+    }
+
+    @Test
+    public void testInvert() {
+        assertEquals(new IPv6("ffff:ffff:ffff:ffff:ffff:ffff:ffff:fffe"), new IPv6("::1").invert());
+    }
+
     @Test
     public void testCompareTo() {
         assertEquals(0, new IPv6("::").compareTo(new IPv6("0:0:0:0:0:0:0:0")));
@@ -130,6 +157,21 @@ public class IPv6Test {
         assertNotEquals(0, data.length);
     }
 
+    @Test
+    public void testSerializeRoundTrip() throws IOException, ClassNotFoundException {
+        IPv6 ip = new IPv6("2001:7f8::9be8:0:1");
+        byte[] data;
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+             ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(ip);
+            objectOutputStream.close();
+            data = byteArrayOutputStream.toByteArray();
+        }
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            assertEquals(ip, objectInputStream.readObject());
+        }
+    }
+
     @Test
     public void testDeserialize() throws IOException, ClassNotFoundException {
         try (
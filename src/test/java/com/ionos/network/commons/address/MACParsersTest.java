@@ -2,7 +2,10 @@ package com.ionos.network.commons.address;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static com.ionos.network.commons.address.MACParsers.DEFAULT;
 import static com.ionos.network.commons.address.MACParsers.COLON_SEPARATED_HEX_FORMAT;
 import static com.ionos.network.commons.address.MACParsers.CISCO_CUSTOM_FORMAT;
@@ -63,4 +66,26 @@ public class MACParsersTest {
         Assertions.assertThrows(IllegalArgumentException.class, () ->
                 CISCO_CUSTOM_FORMAT.parse("0000.1111.2222.33333"));
     }
+
+    @Test
+    public void tryParse() {
+        assertEquals(Optional.of(new MAC("6c:88:14:6f:d8:91")),
+                DEFAULT.tryParse("6c88.146f.d891"));
+        assertEquals(Optional.empty(), DEFAULT.tryParse("6c88.146f.d89"));
+        assertEquals(Optional.empty(),
+                COLON_SEPARATED_HEX_FORMAT.tryParse("11:22:33:44:FF:bx"));
+        assertEquals(Optional.empty(),
+                COLON_SEPARATED_HEX_FORMAT.tryParse("11:22:33-44:FF:bb"));
+    }
+
+    @Test
+    public void tryParseAsBytes() {
+        final byte[] buffer = new byte[8];
+        assertEquals(6, DEFAULT.tryParseAsBytes(
+                "mac=11:22:33:44:FF:bb;", 4, 21, buffer, 1));
+        assertArrayEquals(new byte[]{0, 0x11, 0x22, 0x33, 0x44, (byte)0xff, (byte)0xbb, 0},
+                buffer);
+        assertEquals(AddressParser.INVALID, DEFAULT.tryParseAsBytes(
+                "mac=11:22:33:44:FF:bb;", 4, 22, buffer, 1));
+    }
 }
@@ -0,0 +1,104 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link NetworkListLoader}.
+ */
+public class NetworkListLoaderTest {
+
+    private static <T extends IP<T>> Comparator<Network<T>> order() {
+        return Comparator.<Network<T>, T>comparing(Network::getAddress)
+                .thenComparingInt(Network::getPrefix);
+    }
+
+    @Test
+    public void testLoadSmall(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("list.txt");
+        Files.write(file, Arrays.asList(
+                "# comment",
+                "10.0.0.0/8",
+                "192.168.0.0/16",
+                "10.0.0.1/8",
+                "10.0.0.0",
+                "2001:db8::/32",
+                "::1",
+                "2001:db8::1/32",
+                "garbage"), StandardCharsets.US_ASCII);
+        NetworkListLoader.Result result = NetworkListLoader.load(file);
+        assertEquals(Arrays.asList(
+                new Network<IPv4>("10.0.0.0/8"),
+                new Network<IPv4>("10.0.0.0/32"),
+                new Network<IPv4>("192.168.0.0/16")),
+                result.getIPv4Networks());
+        assertEquals(Arrays.asList(
+                new Network<IPv6>("::1/128"),
+                new Network<IPv6>("2001:db8::/32")),
+                result.getIPv6Networks());
+        assertEquals(9, result.getLineCount());
+        assertEquals(1, result.getErrorCount());
+    }
+
+    @Test
+    public void testLoadEmpty(@TempDir Path dir) throws IOException {
+        Path file = Files.createFile(dir.resolve("empty.txt"));
+        NetworkListLoader.Result result = NetworkListLoader.load(file);
+        assertTrue(result.getIPv4Networks().isEmpty());
+        assertTrue(result.getIPv6Networks().isEmpty());
+        assertEquals(0, result.getLineCount());
+    }
+
+    @Test
+    public void testLoadInSmallChunks(@TempDir Path dir) throws IOException {
+        Random random = new Random(1);
+        List<String> lines = new ArrayList<>();
+        TreeSet<Network<IPv4>> ipv4 = new TreeSet<>(order());
+        TreeSet<Network<IPv6>> ipv6 = new TreeSet<>(order());
+        for (int i = 0; i < 5000; i++) {
+            if (random.nextInt(4) == 0) {
+                Network<IPv6> network = new Network<>(new IPv6(
+                        random.nextInt(16), random.nextLong()), random.nextInt(129));
+                ipv6.add(network);
+                lines.add(network.toString());
+            } else {
+                // few distinct values give duplicates
+                Network<IPv4> network = new Network<>(new IPv4(
+                        random.nextInt(1024) << 16), 8 + random.nextInt(25));
+                ipv4.add(network);
+                lines.add(network.toString());
+            }
+        }
+        Path file = dir.resolve("list.txt");
+        Files.write(file, lines, StandardCharsets.US_ASCII);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long chunkSize : new long[] {1, 100, 4096, 1 << 20}) {
+                NetworkListLoader.Result result =
+                        NetworkListLoader.load(file, pool, chunkSize);
+                assertEquals(new ArrayList<>(ipv4), result.getIPv4Networks());
+                assertEquals(new ArrayList<>(ipv6), result.getIPv6Networks());
+                assertEquals(5000, result.getLineCount());
+                assertEquals(0, result.getErrorCount());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for {@link NetworkListReader}.
+ */
+public class NetworkListReaderTest {
+
+    /** Collects everything a reader passes to its sink as strings. */
+    private static final class CollectingSink implements NetworkListReader.Sink {
+        private final List<String> networks = new ArrayList<>();
+        private final List<Long> malformed = new ArrayList<>();
+
+        @Override
+        public void ipv4(int address, int prefix) {
+            networks.add(new Network<>(new IPv4(address), prefix).toString());
+        }
+
+        @Override
+        public void ipv6(long high, long low, int prefix) {
+            networks.add(new Network<>(new IPv6(high, low), prefix).toString());
+        }
+
+        @Override
+        public void malformed(long line) {
+            malformed.add(line);
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testReadBuffer() {
+        CollectingSink sink = new CollectingSink();
+        NetworkListReader reader = new NetworkListReader(sink);
+        reader.read(ByteBuffer.wrap(ascii(
+                "# block list\n"
+                + "10.0.0.0/8\n"
+                + "\n"
+                + "  192.168.1.1  # a single host\r\n"
+                + "2001:db8::/32\n"
+                + "10.1.2.3/16\n"
+                + "300.1.2.3\n"
+                + "10.0.0.0/33\n"
+                + "10.0.0.0/\n"
+                + "2001:db8::1/129\n"
+                + "::ffff:1.2.3.4/128\n"
+                + "\t::/0")));
+        assertEquals(Arrays.asList(
+                "10.0.0.0/8",
+                "192.168.1.1/32",
+                "2001:db8:0:0:0:0:0:0/32",
+                "10.1.0.0/16",
+                "0:0:0:0:0:ffff:102:304/128",
+                "0:0:0:0:0:0:0:0/0"), sink.networks);
+        assertEquals(Arrays.asList(7L, 8L, 9L, 10L), sink.malformed);
+        assertEquals(12, reader.getLineCount());
+        assertEquals(6, reader.getNetworkCount());
+        assertEquals(4, reader.getErrorCount());
+    }
+
+    @Test
+    public void testReadBufferRange() {
+        CollectingSink sink = new CollectingSink();
+        ByteBuffer buffer = ByteBuffer.wrap(ascii("1.1.1.1\n2.2.2.2\n3.3.3.3\n"));
+        buffer.position(8).limit(16);
+        new NetworkListReader(sink).read(buffer);
+        assertEquals(Collections.singletonList("2.2.2.2/32"), sink.networks);
+        assertEquals(16, buffer.position());
+    }
+
+    @Test
+    public void testReadChannelLikeBuffer() throws IOException {
+        Random random = new Random(1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            if (random.nextBoolean()) {
+                text.append(new IPv4(random.nextInt())).append('/')
+                        .append(random.nextInt(33)).append('\n');
+            } else {
+                text.append(new IPv6(random.nextLong(), random.nextLong()))
+                        .append('/').append(random.nextInt(129)).append('\n');
+            }
+        }
+        byte[] bytes = ascii(text.toString());
+
+        CollectingSink expected = new CollectingSink();
+        new NetworkListReader(expected).read(ByteBuffer.wrap(bytes));
+        CollectingSink actual = new CollectingSink();
+        NetworkListReader reader = new NetworkListReader(actual);
+        reader.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+
+        assertEquals(20000, expected.networks.size());
+        assertEquals(expected.networks, actual.networks);
+        assertEquals(20000, reader.getLineCount());
+        assertEquals(0, reader.getErrorCount());
+    }
+
+    @Test
+    public void testReadChannelWithOverlongLine() throws IOException {
+        char[] filler = new char[100_000];
+        Arrays.fill(filler, '1');
+        byte[] bytes = ascii("1.2.3.4\n" + new String(filler)
+                + "\n5.6.7.8\n" + new String(filler));
+        CollectingSink sink = new CollectingSink();
+        NetworkListReader reader = new NetworkListReader(sink);
+        reader.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+        assertEquals(Arrays.asList("1.2.3.4/32", "5.6.7.8/32"), sink.networks);
+        assertEquals(Arrays.asList(2L, 4L), sink.malformed);
+        assertEquals(4, reader.getLineCount());
+    }
+
+    @Test
+    public void testForNetworks() {
+        List<Network<IPv4>> ipv4 = new ArrayList<>();
+        List<Network<IPv6>> ipv6 = new ArrayList<>();
+        new NetworkListReader(NetworkListReader.forNetworks(ipv4::add, ipv6::add))
+                .read(ByteBuffer.wrap(ascii("10.0.0.0/8\nfe80::/10\n")));
+        assertEquals(Collections.singletonList(new Network<IPv4>("10.0.0.0/8")), ipv4);
+        assertEquals(Collections.singletonList(new Network<IPv6>("fe80::/10")), ipv6);
+    }
+}
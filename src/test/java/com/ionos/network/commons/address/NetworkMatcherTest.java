@@ -0,0 +1,127 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link NetworkMatcher}.
+ */
+public class NetworkMatcherTest {
+
+    @Test
+    public void testContainsIPv4() {
+        NetworkMatcher matcher = new Network<IPv4>("10.0.0.0/8").matcher();
+        assertEquals(IPVersion.IPV4, matcher.getIPVersion());
+        assertTrue(matcher.contains(new IPv4("10.1.2.3")));
+        assertTrue(matcher.contains(new IPv4("10.255.255.255").toInt()));
+        assertFalse(matcher.contains(new IPv4("11.0.0.0")));
+        assertFalse(matcher.contains(new IPv6("::a01:203")));
+        assertFalse(matcher.contains(0L, new IPv4("10.1.2.3").toInt()));
+        Assertions.assertThrows(NullPointerException.class,
+                () -> matcher.contains((IP<?>) null));
+    }
+
+    @Test
+    public void testContainsIPv6() {
+        NetworkMatcher matcher = new Network<IPv6>("2001:db8::/32").matcher();
+        IPv6 inside = new IPv6("2001:db8:1::1");
+        assertTrue(matcher.contains(inside));
+        assertTrue(matcher.contains(inside.getHighBits(), inside.getLowBits()));
+        assertFalse(matcher.contains(new IPv6("2001:db9::")));
+        assertFalse(matcher.contains(new IPv4("32.1.13.184")));
+        assertFalse(matcher.contains(0));
+        assertTrue(new Network<IPv6>("::/0").matcher().contains(inside));
+        assertTrue(new Network<IPv6>("2001:db8:1::1/128").matcher().contains(inside));
+    }
+
+    @Test
+    public void testBatchesLikeNetworkContains() {
+        Random random = new Random(1);
+        int[] ips = new int[1000];
+        for (int i = 0; i < ips.length; i++) {
+            ips[i] = random.nextInt() & 0xc0ffffff;
+        }
+        for (int prefix = 0; prefix <= 32; prefix++) {
+            Network<IPv4> network = new Network<>(new IPv4(ips[prefix]), prefix);
+            NetworkMatcher matcher = network.matcher();
+            boolean[] out = new boolean[ips.length];
+            matcher.containsAll(ips, out);
+            BitSet bits = matcher.containsAll(ips);
+            int count = 0;
+            for (int i = 0; i < ips.length; i++) {
+                boolean expected = network.contains(new IPv4(ips[i]));
+                assertEquals(expected, out[i]);
+                assertEquals(expected, bits.get(i));
+                assertEquals(expected, matcher.contains(ips[i]));
+                count += expected ? 1 : 0;
+            }
+            assertEquals(count, matcher.count(ips));
+            assertEquals(count, bits.cardinality());
+        }
+    }
+
+    @Test
+    public void testBatchesForIPv6Network() {
+        NetworkMatcher matcher = new Network<IPv6>("::/0").matcher();
+        int[] ips = {0, 1, -1};
+        boolean[] out = {true, true, true, true};
+        matcher.containsAll(ips, out);
+        assertFalse(out[0] || out[1] || out[2]);
+        assertTrue(out[3]);
+        assertTrue(matcher.containsAll(ips).isEmpty());
+        assertEquals(0, matcher.count(ips));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> matcher.containsAll(ips, new boolean[2]));
+    }
+
+    @Test
+    public void testIPv6BatchesLikeNetworkContains() {
+        Random random = new Random(2);
+        long[] highs = new long[1001];
+        long[] lows = new long[highs.length];
+        for (int i = 0; i < highs.length; i++) {
+            highs[i] = random.nextLong() & 0xc0ffffffffffffffL;
+            lows[i] = random.nextLong() & 0xc0ffffffffffffffL;
+        }
+        for (int prefix = 0; prefix <= 128; prefix++) {
+            IPv6 address = new IPv6(highs[prefix], lows[prefix]);
+            Network<IPv6> network = new Network<>(address, prefix);
+            NetworkMatcher matcher = network.matcher();
+            boolean[] out = new boolean[highs.length];
+            matcher.containsAll(highs, lows, out);
+            int count = 0;
+            for (int i = 0; i < highs.length; i++) {
+                boolean expected = network.contains(
+                        new IPv6(highs[i], lows[i]));
+                assertEquals(expected, out[i]);
+                count += expected ? 1 : 0;
+            }
+            assertEquals(count, matcher.count(highs, lows));
+        }
+    }
+
+    @Test
+    public void testIPv6BatchesForIPv4Network() {
+        NetworkMatcher matcher = new Network<IPv4>("0.0.0.0/0").matcher();
+        long[] highs = {0, 1, -1};
+        long[] lows = {0, 1, -1};
+        boolean[] out = {true, true, true, true};
+        matcher.containsAll(highs, lows, out);
+        assertFalse(out[0] || out[1] || out[2]);
+        assertTrue(out[3]);
+        assertEquals(0, matcher.count(highs, lows));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> matcher.containsAll(highs, lows, new boolean[2]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> matcher.containsAll(highs, new long[2], out));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> matcher.count(highs, new long[2]));
+    }
+}
@@ -20,8 +20,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -218,6 +221,70 @@ public class NetworkTest {
         assertEquals(new Network("192.168.2.16/32"), test.get(0));
     }
 
+    @Test
+    public void testSplitStream() {
+        Network<IPv4> n = new Network<>("10.0.0.0/8");
+        assertEquals(n.split(12), n.splitStream(12).collect(Collectors.toList()));
+        assertEquals(256, n.splitStream(16).parallel().count());
+        assertEquals(new HashSet<>(n.split(20)),
+                n.splitStream(20).parallel().collect(Collectors.toSet()));
+        assertEquals(Collections.singletonList(new Network<>("0.0.0.0/0")),
+                new Network<>("0.0.0.0/0").splitStream(0)
+                        .collect(Collectors.toList()));
+
+        Iterator<Network<IPv4>> iterator = n.splitIterator(32);
+        assertEquals(new Network<>("10.0.0.0/32"), iterator.next());
+        assertEquals(new Network<>("10.0.0.1/32"), iterator.next());
+        assertTrue(iterator.hasNext());
+    }
+
+    @Test
+    public void testSplitStreamSized() {
+        Spliterator<Network<IPv4>> spliterator =
+                new Network<IPv4>("0.0.0.0/0").splitStream(32).spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(1L << 32, spliterator.getExactSizeIfKnown());
+        Spliterator<Network<IPv4>> prefix = spliterator.trySplit();
+        assertEquals(1L << 31, prefix.getExactSizeIfKnown());
+        assertEquals(1L << 31, spliterator.getExactSizeIfKnown());
+        Optional<Network<IPv4>> first = StreamSupport.stream(spliterator, false)
+                .findFirst();
+        assertEquals(Optional.of(new Network<>("128.0.0.0/32")), first);
+
+        // 2^96 networks don't fit into a long
+        Spliterator<Network<IPv6>> huge =
+                new Network<IPv6>("2001:db8::/32").splitStream(128).spliterator();
+        assertFalse(huge.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(Long.MAX_VALUE, huge.estimateSize());
+        for (int i = 0; i < 34; i++) {
+            huge = huge.trySplit();
+        }
+        assertTrue(huge.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(1L << 62, huge.estimateSize());
+        assertEquals(Arrays.asList(
+                new Network<>("2001:db8::/128"), new Network<>("2001:db8::1/128")),
+                StreamSupport.stream(huge, false).limit(2)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSplitStreamIPv6() {
+        Network<IPv6> n = new Network<>("2001:db8::/32");
+        assertEquals(Arrays.asList(
+                new Network<>("2001:db8::/64"),
+                new Network<>("2001:db8:0:1::/64")),
+                n.splitStream(64).limit(2).collect(Collectors.toList()));
+        assertEquals(new Network<>("2001:db8:0:ffff::/64"),
+                new Network<IPv6>("2001:db8::/48").splitStream(64)
+                        .parallel().reduce((a, b) -> b).get());
+        assertEquals(Arrays.asList(
+                new Network<>("::/1"), new Network<>("8000::/1")),
+                new Network<>("::/0").split(1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> n.split(64));
+    }
+
     @Test
     public void testRangeFromWithIPv6OneNetworkSlash32() {
         // start + stop are the same -> one /32
@@ -548,6 +615,46 @@ public class NetworkTest {
                 list);
     }
 
+    @Test
+    public void testMergeNeighborsCascade() {
+        // the four /26 only collapse after the /25 halves were formed
+        List<Network<IPv4>> list = Network.mergeNeighbors(
+                Arrays.asList(
+                        new Network<IPv4>("10.0.0.192/26"),
+                        new Network<IPv4>("10.0.0.0/26"),
+                        new Network<IPv4>("10.0.1.0/24"),
+                        new Network<IPv4>("10.0.0.64/26"),
+                        new Network<IPv4>("10.0.0.128/26")));
+        assertEquals(
+                Collections.singletonList(new Network<IPv4>("10.0.0.0/23")),
+                list);
+    }
+
+    @Test
+    public void testMergeRandomAgainstIPSet() {
+        Random random = new Random(1);
+        for (int round = 0; round < 100; round++) {
+            List<Network<IPv4>> networks = new ArrayList<>();
+            int count = random.nextInt(200);
+            for (int i = 0; i < count; i++) {
+                networks.add(new Network<>(new IPv4(random.nextInt(4096)),
+                        20 + random.nextInt(13)));
+            }
+            IPSet<IPv4> expected = IPSet.of(networks);
+            assertEquals(expected.toNetworks(),
+                    Network.mergeNeighbors(networks));
+
+            Set<Network<IPv4>> containing = Network.mergeContaining(networks);
+            assertEquals(expected, IPSet.of(containing));
+            for (Network<IPv4> network : networks) {
+                assertEquals(containing.contains(network),
+                        networks.stream().noneMatch(other ->
+                                !other.equals(network)
+                                && other.contains(network)));
+            }
+        }
+    }
+
     @Test
     public void testGetSubnetMask() {
         assertEquals(new IPv4("255.255.255.0"), Network.getSubnetMask(IPv4.class, 24));
@@ -627,15 +734,12 @@ public class NetworkTest {
 
     @Test
     public void testStreamWithBigCount() {
-        String javaVersionString = System.getProperty("java.version");
-
-        // disabled  for Java 8-9 since this can take very long
-        if (javaVersionString.matches("1\\.[4-9]\\..*")) {
-            return;
-        }
-
         Network<IPv6> network = new Network<>(new IPv6("::"), 64);
-        assertEquals(Long.MAX_VALUE, network.stream().count());
+        Spliterator<IPv6> spliterator = network.stream().spliterator();
+        // 2^64 addresses do not fit a long, so the size is only estimated
+        assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+        assertEquals(-1, spliterator.getExactSizeIfKnown());
+        assertEquals(10, network.stream().limit(10).count());
     }
 
     @Test
@@ -669,6 +773,50 @@ public class NetworkTest {
         assertEquals(new HashSet<>(toIps(network)), network.stream().parallel().collect(Collectors.toSet()));
     }
 
+    @Test
+    public void testStreamSpliteratorSized() {
+        Spliterator<IPv4> spliterator =
+                new Network<IPv4>("0.0.0.0/0").stream().spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED));
+        assertEquals(1L << 32, spliterator.getExactSizeIfKnown());
+        Spliterator<IPv4> prefix = spliterator.trySplit();
+        assertEquals(1L << 31, prefix.getExactSizeIfKnown());
+        assertEquals(1L << 31, spliterator.getExactSizeIfKnown());
+        assertEquals(Optional.of(new IPv4("128.0.0.0")),
+                StreamSupport.stream(spliterator, false).findFirst());
+
+        Spliterator<IPv6> huge =
+                new Network<IPv6>("2001:db8::/32").stream().spliterator();
+        assertFalse(huge.hasCharacteristics(Spliterator.SIZED));
+        assertFalse(huge.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(-1, huge.getExactSizeIfKnown());
+        assertEquals(Long.MAX_VALUE, huge.estimateSize());
+        Spliterator<IPv6> hugePrefix = huge.trySplit();
+        assertFalse(hugePrefix.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(Long.MAX_VALUE, hugePrefix.estimateSize());
+        assertEquals(Optional.of(new IPv6("2001:db8:8000::")),
+                StreamSupport.stream(huge, false).findFirst());
+    }
+
+    @Test
+    public void testStreamWithParallelCount() {
+        Network<IPv4> network = new Network<>("10.0.0.0/12");
+        assertEquals(1L << 20, network.stream().parallel()
+                .filter(ip -> (ip.toInt() & 1) == 0).count() * 2);
+    }
+
+    @Test
+    public void testStreamAndIteratorAtEndOfAddressSpace() {
+        Network<IPv4> network = new Network<>("255.255.255.252/30");
+        List<IPv4> expected = Arrays.asList(new IPv4("255.255.255.252"),
+                new IPv4("255.255.255.253"), new IPv4("255.255.255.254"),
+                new IPv4("255.255.255.255"));
+        assertEquals(expected, toIps(network));
+        assertEquals(expected, network.stream().collect(Collectors.toList()));
+        assertEquals(Collections.singletonList(new IPv6("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff")),
+                toIps(new Network<IPv6>("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff/128")));
+    }
+
     @Test
     public void testToStringWithIPv4() {
         Network<IPv4> network = new Network<>(new IPv4("192.168.1.0"), 20);
@@ -0,0 +1,146 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link NetworkTrie}.
+ */
+public class NetworkTrieTest {
+
+    @Test
+    public void testEmpty() {
+        NetworkTrie<IPv4, String> trie = new NetworkTrie<>();
+        assertTrue(trie.isEmpty());
+        assertNull(trie.longestMatch(new IPv4("1.2.3.4")));
+        assertEquals(Collections.emptyList(), trie.allMatches(new IPv4("1.2.3.4")));
+    }
+
+    @Test
+    public void testLongestMatch() {
+        NetworkTrie<IPv4, String> trie = new NetworkTrie<>();
+        trie.put(new Network<>("10.0.0.0/8"), "a");
+        trie.put(new Network<>("10.1.0.0/16"), "b");
+        trie.put(new Network<>("10.1.2.0/24"), "c");
+        trie.put(new Network<>("192.168.0.0/16"), "d");
+
+        assertEquals(4, trie.size());
+        assertEquals("c", trie.longestMatch(new IPv4("10.1.2.3")));
+        assertEquals("b", trie.longestMatch(new IPv4("10.1.3.3")));
+        assertEquals("a", trie.longestMatch(new IPv4("10.2.3.3")));
+        assertEquals("d", trie.longestMatch(new IPv4("192.168.255.255")));
+        assertNull(trie.longestMatch(new IPv4("11.0.0.0")));
+    }
+
+    @Test
+    public void testAllMatches() {
+        NetworkTrie<IPv4, String> trie = new NetworkTrie<>();
+        trie.put(new Network<>("10.1.2.0/24"), "c");
+        trie.put(new Network<>("0.0.0.0/0"), "default");
+        trie.put(new Network<>("10.0.0.0/8"), "a");
+        trie.put(new Network<>("10.1.2.3/32"), "host");
+
+        assertEquals(Arrays.asList("default", "a", "c", "host"),
+                trie.allMatches(new IPv4("10.1.2.3")));
+        assertEquals(Arrays.asList("default", "a", "c"),
+                trie.allMatches(new IPv4("10.1.2.4")));
+        assertEquals(Collections.singletonList("default"),
+                trie.allMatches(new IPv4("11.0.0.0")));
+    }
+
+    @Test
+    public void testPutReplaces() {
+        NetworkTrie<IPv4, String> trie = new NetworkTrie<>();
+        assertNull(trie.put(new Network<>("10.0.0.0/8"), "a"));
+        assertEquals("a", trie.put(new Network<>("10.0.0.0/8"), "b"));
+        assertEquals(1, trie.size());
+        assertEquals("b", trie.get(new Network<>("10.0.0.0/8")));
+        assertNull(trie.get(new Network<>("10.0.0.0/9")));
+    }
+
+    @Test
+    public void testPutNullValue() {
+        NetworkTrie<IPv4, String> trie = new NetworkTrie<>();
+        Assertions.assertThrows(NullPointerException.class,
+                () -> trie.put(new Network<>("10.0.0.0/8"), null));
+    }
+
+    @Test
+    public void testRemove() {
+        NetworkTrie<IPv4, String> trie = new NetworkTrie<>();
+        trie.put(new Network<>("10.0.0.0/8"), "a");
+        trie.put(new Network<>("10.1.0.0/16"), "b");
+        trie.put(new Network<>("10.128.0.0/16"), "c");
+
+        assertNull(trie.remove(new Network<>("10.0.0.0/9")));
+        assertEquals("a", trie.remove(new Network<>("10.0.0.0/8")));
+        assertEquals(2, trie.size());
+        assertEquals("b", trie.longestMatch(new IPv4("10.1.0.1")));
+        assertNull(trie.longestMatch(new IPv4("10.2.0.1")));
+
+        assertEquals("b", trie.remove(new Network<>("10.1.0.0/16")));
+        assertEquals("c", trie.longestMatch(new IPv4("10.128.0.1")));
+        assertEquals("c", trie.remove(new Network<>("10.128.0.0/16")));
+        assertTrue(trie.isEmpty());
+        assertNull(trie.longestMatch(new IPv4("10.128.0.1")));
+    }
+
+    @Test
+    public void testIPv6() {
+        NetworkTrie<IPv6, String> trie = new NetworkTrie<>();
+        trie.put(new Network<>("2001:db8::/32"), "doc");
+        trie.put(new Network<>("2001:db8:1::/48"), "site");
+        trie.put(new Network<>("2001:db8:1::1/128"), "host");
+
+        assertEquals("host", trie.longestMatch(new IPv6("2001:db8:1::1")));
+        assertEquals("site", trie.longestMatch(new IPv6("2001:db8:1::2")));
+        assertEquals("doc", trie.longestMatch(new IPv6("2001:db8:2::1")));
+        assertNull(trie.longestMatch(new IPv6("fe80::1")));
+    }
+
+    @Test
+    public void testRandomAgainstLinearScan() {
+        Random random = new Random(1);
+        NetworkTrie<IPv4, Network<IPv4>> trie = new NetworkTrie<>();
+        Map<Network<IPv4>, Network<IPv4>> networks = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            Network<IPv4> network = new Network<>(
+                    new IPv4(random.nextInt() & 0xff00ffff), random.nextInt(33));
+            trie.put(network, network);
+            networks.put(network, network);
+        }
+        List<Network<IPv4>> removals = new ArrayList<>(networks.keySet());
+        Collections.shuffle(removals, random);
+        for (Network<IPv4> network : removals.subList(0, removals.size() / 2)) {
+            assertEquals(network, trie.remove(network));
+            networks.remove(network);
+        }
+        assertEquals(networks.size(), trie.size());
+
+        for (int i = 0; i < 10000; i++) {
+            IPv4 ip = new IPv4(random.nextInt() & 0xff00ffff);
+            List<Network<IPv4>> expected = new ArrayList<>();
+            for (Network<IPv4> network : networks.keySet()) {
+                if (network.contains(ip)) {
+                    expected.add(network);
+                }
+            }
+            expected.sort((a, b) -> a.getPrefix() - b.getPrefix());
+            assertEquals(expected, trie.allMatches(ip));
+            assertEquals(expected.isEmpty() ? null : expected.get(expected.size() - 1),
+                    trie.longestMatch(ip));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.ionos.network.commons.address;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for {@link PrefixDatabase}.
+ */
+public class PrefixDatabaseTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testEmpty() throws IOException {
+        Path path = tempDir.resolve("empty.db");
+        PrefixDatabase.writer(IPv4.class).write(path);
+        PrefixDatabase<IPv4> db = PrefixDatabase.open(path);
+        assertEquals(0, db.size());
+        assertEquals(-1, db.longestMatch(new IPv4("1.2.3.4"), -1));
+        assertNull(db.longestMatchingNetwork(new IPv4("1.2.3.4")));
+    }
+
+    @Test
+    public void testEmptyIPv6() throws IOException {
+        Path path = tempDir.resolve("empty6.db");
+        PrefixDatabase.writer(IPv6.class).write(path);
+        PrefixDatabase<IPv6> db = PrefixDatabase.open(path);
+        assertEquals(IPVersion.IPV6, db.getIPVersion());
+        assertEquals(0, db.size());
+        assertEquals(-1, db.longestMatch(new IPv6("::1"), -1));
+        assertEquals(-1, db.longestMatch(new Network<IPv6>("2001:db8::/32"), -1));
+        assertNull(db.longestMatchingNetwork(new IPv6("::1")));
+    }
+
+    @Test
+    public void testLongestMatch() throws IOException {
+        Path path = tempDir.resolve("v4.db");
+        PrefixDatabase.writer(IPv4.class)
+                .put(new Network<>("10.0.0.0/8"), 1)
+                .put(new Network<>("10.1.0.0/16"), 2)
+                .put(new Network<>("10.1.2.0/24"), 3)
+                .put(new Network<>("192.168.0.0/16"), 4)
+                .put(new Network<>("10.1.0.0/16"), 5)
+                .write(path);
+        PrefixDatabase<IPv4> db = PrefixDatabase.open(path);
+        assertEquals(IPVersion.IPV4, db.getIPVersion());
+        assertEquals(4, db.size());
+        assertEquals(3, db.longestMatch(new IPv4("10.1.2.3"), -1));
+        assertEquals(5, db.longestMatch(new IPv4("10.1.3.3"), -1));
+        assertEquals(1, db.longestMatch(new IPv4("10.2.3.3"), -1));
+        assertEquals(1, db.longestMatch(new IPv4("10.255.255.255"), -1));
+        assertEquals(4, db.longestMatch(new IPv4("192.168.255.255"), -1));
+        assertEquals(-1, db.longestMatch(new IPv4("11.0.0.0"), -1));
+        assertEquals(-1, db.longestMatch(new IPv4("0.0.0.0"), -1));
+        assertEquals(new Network<IPv4>("10.1.2.0/24"),
+                db.longestMatchingNetwork(new IPv4("10.1.2.3")));
+
+        assertEquals(5, db.longestMatch(new Network<IPv4>("10.1.2.0/23"), -1));
+        assertEquals(3, db.longestMatch(new Network<IPv4>("10.1.2.128/25"), -1));
+        assertEquals(1, db.longestMatch(new Network<IPv4>("10.1.0.0/15"), -1));
+        assertEquals(-1, db.longestMatch(new Network<IPv4>("10.0.0.0/7"), -1));
+        assertEquals(new Network<IPv4>("10.0.0.0/8"),
+                db.longestMatchingNetwork(new Network<IPv4>("10.0.0.0/9")));
+    }
+
+    @Test
+    public void testEndOfAddressSpace() throws IOException {
+        Path path = tempDir.resolve("end.db");
+        PrefixDatabase.writer(IPv6.class)
+                .put(new Network<>("::/0"), 1)
+                .put(new Network<>("ffff::/16"), 2)
+                .put(new Network<>("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff/128"), 3)
+                .write(path);
+        PrefixDatabase<IPv6> db = PrefixDatabase.open(path);
+        assertEquals(3, db.longestMatch(new IPv6("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"), -1));
+        assertEquals(2, db.longestMatch(new IPv6("ffff:ffff:ffff:ffff:ffff:ffff:ffff:fffe"), -1));
+        assertEquals(1, db.longestMatch(new IPv6("fffe::"), -1));
+        assertEquals(1, db.longestMatch(new IPv6("::"), -1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> longestMatchOfOtherVersion(db, new IPv4("1.2.3.4")));
+    }
+
+    @Test
+    public void testRandomAgainstTrie() throws IOException {
+        Random random = new Random(1);
+        PrefixDatabase.Writer<IPv4> writer = PrefixDatabase.writer(IPv4.class);
+        NetworkTrie<IPv4, Long> trie = new NetworkTrie<>();
+        List<Network<IPv4>> networks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Network<IPv4> network = new Network<>(
+                    new IPv4(random.nextInt() & 0xff00ffff), random.nextInt(33));
+            long value = random.nextLong();
+            writer.put(network, value);
+            trie.put(network, value);
+            networks.add(network);
+        }
+        Path path = tempDir.resolve("random.db");
+        writer.write(path);
+        PrefixDatabase<IPv4> db = PrefixDatabase.open(path);
+        assertEquals(trie.size(), db.size());
+
+        for (int i = 0; i < 20000; i++) {
+            IPv4 ip = new IPv4(random.nextInt() & 0xff00ffff);
+            Long expected = trie.longestMatch(ip);
+            assertEquals(expected == null ? Long.MIN_VALUE : expected,
+                    db.longestMatch(ip, Long.MIN_VALUE), ip.toString());
+
+            Network<IPv4> lookup = new Network<>(ip, random.nextInt(33));
+            Network<IPv4> longest = null;
+            for (Network<IPv4> network : networks) {
+                if (network.contains(lookup)
+                        && (longest == null || network.getPrefix() > longest.getPrefix())) {
+                    longest = network;
+                }
+            }
+            assertEquals(longest, db.longestMatchingNetwork(lookup), lookup.toString());
+        }
+    }
+
+    @Test
+    public void testRandomIPv6AgainstTrie() throws IOException {
+        Random random = new Random(2);
+        PrefixDatabase.Writer<IPv6> writer = PrefixDatabase.writer(IPv6.class);
+        NetworkTrie<IPv6, Long> trie = new NetworkTrie<>();
+        for (int i = 0; i < 2000; i++) {
+            Network<IPv6> network = new Network<>(
+                    new IPv6(random.nextLong() & 0xffff00ffffffffffL, random.nextLong()),
+                    random.nextInt(65));
+            writer.put(network, i);
+            trie.put(network, (long) i);
+        }
+        Path path = tempDir.resolve("random6.db");
+        writer.write(path);
+        PrefixDatabase<IPv6> db = PrefixDatabase.open(path);
+        for (int i = 0; i < 20000; i++) {
+            IPv6 ip = new IPv6(random.nextLong() & 0xffff00ffffffffffL, random.nextLong());
+            Long expected = trie.longestMatch(ip);
+            assertEquals(expected == null ? -1 : expected, db.longestMatch(ip, -1));
+        }
+    }
+
+    @Test
+    public void testMixedVersions() {
+        PrefixDatabase.Writer<IPv4> writer = PrefixDatabase.writer(IPv4.class);
+        writer.put(new Network<>("10.0.0.0/8"), 1);
+        Network<IPv6> network = new Network<>("2001:db8::/32");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> putOfOtherVersion(writer, network));
+    }
+
+    @Test
+    public void testWriterWithInvalidClass() {
+        Assertions.assertThrows(NullPointerException.class,
+                () -> PrefixDatabase.writer(null));
+    }
+
+    @Test
+    public void testOpenInvalidFile() throws IOException {
+        Path path = tempDir.resolve("invalid.db");
+        Files.write(path, new byte[] {1, 2, 3});
+        Assertions.assertThrows(IOException.class, () -> PrefixDatabase.open(path));
+        Files.write(path, new byte[32]);
+        Assertions.assertThrows(IOException.class, () -> PrefixDatabase.open(path));
+
+        PrefixDatabase.writer(IPv4.class).put(new Network<>("10.0.0.0/8"), 1).write(path);
+        byte[] data = Files.readAllBytes(path);
+        Files.write(path, java.util.Arrays.copyOf(data, data.length - 1));
+        Assertions.assertThrows(IOException.class, () -> PrefixDatabase.open(path));
+    }
+
+    @Test
+    public void testOpenUnknownAddressLength() throws IOException {
+        Path path = tempDir.resolve("length.db");
+        PrefixDatabase.writer(IPv4.class).put(new Network<>("10.0.0.0/8"), 1).write(path);
+        byte[] data = Files.readAllBytes(path);
+        for (byte length : new byte[] {0, 6, 8, 15, 17, (byte) 0xff}) {
+            // the address length follows the magic and the format version
+            data[5] = length;
+            Files.write(path, data);
+            IOException exception = Assertions.assertThrows(IOException.class,
+                    () -> PrefixDatabase.open(path));
+            Assertions.assertTrue(exception.getMessage().startsWith(
+                    "Corrupt prefix database"), exception.getMessage());
+        }
+    }
+
+    /** Looks up an address the compiler would reject for the database. */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static long longestMatchOfOtherVersion(PrefixDatabase db, IP ip) {
+        return db.longestMatch(ip, -1);
+    }
+
+    /** Puts a network the compiler would reject for the writer. */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void putOfOtherVersion(PrefixDatabase.Writer writer, Network network) {
+        writer.put(network, 2);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ionos.network.commons.usage;
+
+import com.ionos.network.commons.address.IPSorts;
+import com.ionos.network.commons.address.IPv6;
+import com.ionos.network.commons.address.IPv6Map;
+import com.ionos.network.commons.address.Network;
+import com.ionos.network.commons.address.NetworkListReader;
+import com.ionos.network.commons.address.NetworkMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the IPv6 APIs with {@code long} address halves,
+ * used from outside the address package like an application would.
+ */
+public class LongPairApiTest {
+
+    @Test
+    public void testIPv6FromLongs() {
+        IPv6 ip = new IPv6(0x20010db800000000L, 1L);
+        assertEquals(new IPv6("2001:db8::1"), ip);
+        assertEquals(0x20010db800000000L, ip.getHighBits());
+        assertEquals(1L, ip.getLowBits());
+    }
+
+    @Test
+    public void testIPv6MapWithLongs() {
+        IPv6Map<String> map = new IPv6Map<>();
+        IPv6 ip = new IPv6("2001:db8::1");
+        assertNull(map.put(ip.getHighBits(), ip.getLowBits(), "a"));
+        assertEquals("a", map.get(ip));
+        assertTrue(map.containsKey(0x20010db800000000L, 1L));
+        assertEquals("a", map.remove(ip.getHighBits(), ip.getLowBits()));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testNetworkListReaderSink() {
+        List<Network<IPv6>> networks = new ArrayList<>();
+        NetworkListReader reader = new NetworkListReader(
+                new NetworkListReader.Sink() {
+            @Override
+            public void ipv4(int address, int prefix) {
+            }
+
+            @Override
+            public void ipv6(long high, long low, int prefix) {
+                networks.add(new Network<>(new IPv6(high, low), prefix));
+            }
+        });
+        reader.read(ByteBuffer.wrap("2001:db8::/32\n10.0.0.0/8\n"
+                .getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(1, networks.size());
+        assertEquals(new Network<IPv6>("2001:db8::/32"), networks.get(0));
+    }
+
+    @Test
+    public void testNetworkMatcherWithLongs() {
+        NetworkMatcher matcher =
+                new Network<IPv6>("2001:db8::/32").matcher();
+        IPv6 inside = new IPv6("2001:db8::1");
+        IPv6 outside = new IPv6("2001:db9::1");
+        assertTrue(matcher.contains(inside.getHighBits(),
+                inside.getLowBits()));
+        assertFalse(matcher.contains(outside.getHighBits(),
+                outside.getLowBits()));
+
+        long[] highs = {inside.getHighBits(), outside.getHighBits()};
+        long[] lows = {inside.getLowBits(), outside.getLowBits()};
+        boolean[] out = new boolean[2];
+        matcher.containsAll(highs, lows, out);
+        assertArrayEquals(new boolean[] {true, false}, out);
+        assertEquals(1, matcher.count(highs, lows));
+    }
+
+    @Test
+    public void testRadixSortLongPairs() {
+        IPv6[] ips = {
+                new IPv6("ffff::1"),
+                new IPv6("2001:db8::2"),
+                new IPv6("::1"),
+                new IPv6("2001:db8::1")};
+        long[] highs = new long[ips.length];
+        long[] lows = new long[ips.length];
+        for (int i = 0; i < ips.length; i++) {
+            highs[i] = ips[i].getHighBits();
+            lows[i] = ips[i].getLowBits();
+        }
+        IPSorts.radixSort(highs, lows, ForkJoinPool.commonPool());
+        IPv6[] sorted = new IPv6[ips.length];
+        for (int i = 0; i < ips.length; i++) {
+            sorted[i] = new IPv6(highs[i], lows[i]);
+        }
+        assertArrayEquals(new IPv6[] {
+                new IPv6("::1"),
+                new IPv6("2001:db8::1"),
+                new IPv6("2001:db8::2"),
+                new IPv6("ffff::1")}, sorted);
+    }
+}